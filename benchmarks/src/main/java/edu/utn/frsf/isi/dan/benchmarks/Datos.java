@@ -0,0 +1,83 @@
+package edu.utn.frsf.isi.dan.benchmarks;
+
+import edu.utn.frsf.isi.dan.reservas_svc.model.EstadoReserva;
+import edu.utn.frsf.isi.dan.reservas_svc.model.Habitacion;
+import edu.utn.frsf.isi.dan.shared.HabitacionDTO;
+import edu.utn.frsf.isi.dan.shared.HabitacionEvent;
+import edu.utn.frsf.isi.dan.shared.HotelDTO;
+import edu.utn.frsf.isi.dan.shared.TipoEvento;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/** Datos de prueba deterministas (semilla fija) compartidos por los benchmarks. */
+final class Datos {
+
+    static final Instant INICIO = Instant.parse("2026-01-01T00:00:00Z");
+    private static final EstadoReserva[] ESTADOS = EstadoReserva.values();
+
+    private Datos() {
+    }
+
+    static HotelDTO hotel() {
+        return HotelDTO.builder()
+                .id(7)
+                .nombre("Hotel Costanera")
+                .cuit("30-71234567-8")
+                .domicilio("Av. Costanera 1234, Santa Fe")
+                .latitud(-31.6333)
+                .longitud(-60.7000)
+                .telefono("0342-4561234")
+                .correoContacto("reservas@costanera.example")
+                .categoria(4)
+                .build();
+    }
+
+    static List<String> amenities() {
+        return List.of("WIFI", "PILETA", "GIMNASIO", "ESTACIONAMIENTO", "SPA");
+    }
+
+    static HabitacionDTO habitacionDto() {
+        return HabitacionDTO.builder()
+                .habitacionId(1234L)
+                .numero(305)
+                .tipoHabitacionId(3)
+                .tipoHabitacion("Doble superior")
+                .tipoHabitacionDescripcion("Dos camas, vista al río")
+                .capacidad(2)
+                .precioNoche(85_000.0)
+                .amenities(amenities())
+                .hotel(hotel())
+                .build();
+    }
+
+    static HabitacionEvent evento() {
+        return HabitacionEvent.builder()
+                .tipoEvento(TipoEvento.ACTUALIZAR_DATOS)
+                .habitacion(habitacionDto())
+                .build();
+    }
+
+    /**
+     * <code>cantidad</code> reservas de 1 a 7 noches repartidas en un año, con estados al azar, como las que
+     * acumula una habitación con historial.
+     */
+    static List<Habitacion.ReservaSimple> reservas(int cantidad, long semilla) {
+        Random random = new Random(semilla);
+        List<Habitacion.ReservaSimple> reservas = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            Instant checkIn = INICIO.plus(Duration.ofDays(random.nextInt(365)));
+            reservas.add(Habitacion.ReservaSimple.builder()
+                    ._id("r" + i)
+                    .checkIn(checkIn)
+                    .checkOut(checkIn.plus(Duration.ofDays(1 + random.nextInt(7))))
+                    .precioTotal(100_000.0)
+                    .estadoReserva(ESTADOS[random.nextInt(ESTADOS.length)])
+                    .build());
+        }
+        return reservas;
+    }
+}
@@ -0,0 +1,60 @@
+package edu.utn.frsf.isi.dan.benchmarks;
+
+import edu.utn.frsf.isi.dan.reservas_svc.model.Habitacion;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chequeo de solapamiento de {@link Solapamiento#disponibleEntre} sobre la lista embebida de reservas, según
+ * cuántas tenga la habitación. Se consulta un intervalo libre (recorre toda la lista) y uno ocupado (corta en
+ * la primera reserva que se solapa).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DisponibilidadBenchmark {
+
+    @Param({ "0", "10", "100", "1000" })
+    private int reservas;
+
+    private Habitacion habitacion;
+    private Instant libreDesde;
+    private Instant libreHasta;
+    private Instant ocupadoDesde;
+    private Instant ocupadoHasta;
+
+    @Setup
+    public void preparar() {
+        habitacion = Habitacion.builder().habitacionId(1L).reservas(Datos.reservas(reservas, 42)).build();
+        // Las reservas de prueba caen dentro del primer año: el año siguiente está libre
+        libreDesde = Datos.INICIO.plus(Duration.ofDays(400));
+        libreHasta = libreDesde.plus(Duration.ofDays(3));
+        Habitacion.ReservaSimple ocupada = habitacion.getReservas().stream()
+                .filter(r -> Habitacion.ESTADOS_QUE_OCUPAN.contains(r.getEstadoReserva()))
+                .reduce((primera, siguiente) -> siguiente)
+                .orElse(null);
+        ocupadoDesde = ocupada == null ? libreDesde : ocupada.getCheckIn();
+        ocupadoHasta = ocupada == null ? libreHasta : ocupada.getCheckOut();
+    }
+
+    @Benchmark
+    public boolean intervaloLibre() {
+        return Solapamiento.disponibleEntre(habitacion, libreDesde, libreHasta);
+    }
+
+    @Benchmark
+    public boolean intervaloOcupado() {
+        return Solapamiento.disponibleEntre(habitacion, ocupadoDesde, ocupadoHasta);
+    }
+}
@@ -0,0 +1,51 @@
+package edu.utn.frsf.isi.dan.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Punto de entrada de <code>benchmarks.jar</code>: acepta las mismas opciones que JMH y, si no se indica otro
+ * formato, deja el resultado en JSON en <code>resultados/&lt;fecha&gt;.json</code> para compararlo entre commits
+ * con <code>infra/scripts/comparar-jmh.sh</code>.
+ *
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar                       # todos
+ * java -jar benchmarks/target/benchmarks.jar Disponibilidad -p reservas=100
+ * java -jar benchmarks/target/benchmarks.jar -rff base.json        # nombre fijo
+ * </pre>
+ */
+public class EjecutarBenchmarks {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions opciones = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(opciones);
+        if (!opciones.getWarmupIterations().hasValue()) {
+            builder.warmupIterations(3).warmupTime(TimeValue.seconds(2));
+        }
+        if (!opciones.getMeasurementIterations().hasValue()) {
+            builder.measurementIterations(5).measurementTime(TimeValue.seconds(2));
+        }
+        if (!opciones.getForkCount().hasValue()) {
+            builder.forks(1);
+        }
+        if (!opciones.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!opciones.getResult().hasValue()) {
+            Path directorio = Path.of("resultados");
+            Files.createDirectories(directorio);
+            String nombre = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json";
+            builder.result(directorio.resolve(nombre).toString());
+        }
+        new Runner(builder.build()).run();
+    }
+}
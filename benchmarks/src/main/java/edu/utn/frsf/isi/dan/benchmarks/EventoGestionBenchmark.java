@@ -0,0 +1,76 @@
+package edu.utn.frsf.isi.dan.benchmarks;
+
+import edu.utn.frsf.isi.dan.gestion.model.Amenity;
+import edu.utn.frsf.isi.dan.gestion.model.AmenityHotel;
+import edu.utn.frsf.isi.dan.gestion.model.Habitacion;
+import edu.utn.frsf.isi.dan.gestion.model.Hotel;
+import edu.utn.frsf.isi.dan.gestion.model.TipoHabitacion;
+import edu.utn.frsf.isi.dan.gestion.service.HabitacionService;
+import edu.utn.frsf.isi.dan.shared.HabitacionEvent;
+import edu.utn.frsf.isi.dan.shared.HotelDTO;
+import edu.utn.frsf.isi.dan.shared.TipoEvento;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Armado en gestion-svc del evento de una habitación a partir de las entidades ya cargadas: mapeo del hotel,
+ * nombres de amenities y construcción del DTO y el evento. Es la parte de CPU de cada publicación y de cada
+ * página de onboarding y de catálogo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventoGestionBenchmark {
+
+    private HabitacionService habitacionService;
+    private Habitacion habitacion;
+    private TipoHabitacion tipoHabitacion;
+    private Hotel hotel;
+    private HotelDTO hotelDto;
+    private List<String> amenities;
+
+    @Setup
+    public void preparar() {
+        habitacionService = new HabitacionService();
+        tipoHabitacion = TipoHabitacion.builder().id(3).nombre("Doble superior")
+                .descripcion("Dos camas, vista al río").capacidad(2).build();
+        hotel = Hotel.builder().id(7).nombre("Hotel Costanera").cuit("30-71234567-8")
+                .domicilio("Av. Costanera 1234, Santa Fe").latitud(-31.6333).longitud(-60.7000)
+                .telefono("0342-4561234").correoContacto("reservas@costanera.example").categoria(4).build();
+        hotel.setAmenities(List.of(Amenity.WIFI, Amenity.PILETA, Amenity.GIMNASIO, Amenity.ESTACIONAMIENTO, Amenity.SPA)
+                .stream()
+                .map(a -> AmenityHotel.builder().hotel(hotel).amenity(a).build())
+                .toList());
+        habitacion = Habitacion.builder().id(1234).numero(305).piso(3).tipoHabitacion(tipoHabitacion).hotel(hotel).build();
+        hotelDto = habitacionService.mapHotel(hotel);
+        amenities = habitacionService.amenitiesDe(hotel);
+    }
+
+    /** Evento completo, como en <code>enviarHabitacionJms</code> una vez leídas las entidades. */
+    @Benchmark
+    public HabitacionEvent eventoCompleto() {
+        return habitacionService.construirEvento(habitacion, tipoHabitacion, habitacionService.mapHotel(hotel),
+                habitacionService.amenitiesDe(hotel), 85_000.0, TipoEvento.ACTUALIZAR_DATOS);
+    }
+
+    /** Evento con el hotel y las amenities ya resueltos, como en las páginas del catálogo. */
+    @Benchmark
+    public HabitacionEvent eventoConHotelResuelto() {
+        return habitacionService.construirEvento(habitacion, tipoHabitacion, hotelDto, amenities, 85_000.0,
+                TipoEvento.ACTUALIZAR_DATOS);
+    }
+
+    @Benchmark
+    public HotelDTO mapHotel() {
+        return habitacionService.mapHotel(hotel);
+    }
+}
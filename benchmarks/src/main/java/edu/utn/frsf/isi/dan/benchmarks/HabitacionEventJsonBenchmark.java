@@ -0,0 +1,63 @@
+package edu.utn.frsf.isi.dan.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import edu.utn.frsf.isi.dan.shared.HabitacionEvent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización de {@link HabitacionEvent} como la hace gestion-svc al publicar y lectura como la hace
+ * reservas-svc al consumir. El {@link ObjectMapper} replica la configuración de Spring Boot (módulos
+ * registrados, fechas como ISO-8601).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HabitacionEventJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private HabitacionEvent evento;
+    private String json;
+    private byte[] bytes;
+
+    @Setup
+    public void preparar() throws Exception {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        evento = Datos.evento();
+        json = objectMapper.writeValueAsString(evento);
+        bytes = objectMapper.writeValueAsBytes(evento);
+    }
+
+    @Benchmark
+    public String escribirString() throws Exception {
+        return objectMapper.writeValueAsString(evento);
+    }
+
+    @Benchmark
+    public byte[] escribirBytes() throws Exception {
+        return objectMapper.writeValueAsBytes(evento);
+    }
+
+    @Benchmark
+    public HabitacionEvent leerString() throws Exception {
+        return objectMapper.readValue(json, HabitacionEvent.class);
+    }
+
+    @Benchmark
+    public HabitacionEvent leerBytes() throws Exception {
+        return objectMapper.readValue(bytes, HabitacionEvent.class);
+    }
+}
@@ -0,0 +1,85 @@
+package edu.utn.frsf.isi.dan.benchmarks;
+
+import edu.utn.frsf.isi.dan.reservas_svc.dto.HabitacionSearchCriteria;
+import edu.utn.frsf.isi.dan.reservas_svc.model.Habitacion;
+import edu.utn.frsf.isi.dan.reservas_svc.model.Hotel;
+import edu.utn.frsf.isi.dan.reservas_svc.service.HabitacionService;
+import edu.utn.frsf.isi.dan.shared.HabitacionDTO;
+import edu.utn.frsf.isi.dan.shared.HotelDTO;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lado de reservas-svc de cada evento de gestion-svc y de cada búsqueda: el mapeo de los DTO a documentos y
+ * el armado de la consulta de disponibilidad (sin ejecutarla). Los métodos medidos no usan los campos
+ * inyectados del servicio, así que alcanza con instanciarlo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapeoReservasBenchmark {
+
+    private HabitacionService habitacionService;
+    private HabitacionDTO habitacionDto;
+    private HotelDTO hotelDto;
+    private HabitacionSearchCriteria criteriosCompletos;
+    private HabitacionSearchCriteria criteriosMinimos;
+
+    @Setup
+    public void preparar() {
+        habitacionService = new HabitacionService();
+        habitacionDto = Datos.habitacionDto();
+        hotelDto = Datos.hotel();
+        criteriosCompletos = HabitacionSearchCriteria.builder()
+                .fechaCheckIn(Datos.INICIO)
+                .fechaCheckOut(Datos.INICIO.plus(Duration.ofDays(3)))
+                .cantidadHuespedes(2)
+                .precioMinimo(50_000.0)
+                .precioMaximo(120_000.0)
+                .categoriaMinima(3)
+                .categoriaMaxima(5)
+                .amenities(List.of("WIFI", "PILETA"))
+                .latitud(-31.63)
+                .longitud(-60.70)
+                .distanciaMaximaMetros(5_000.0)
+                .build();
+        criteriosMinimos = HabitacionSearchCriteria.builder().cantidadHuespedes(2).build();
+    }
+
+    @Benchmark
+    public Habitacion mapFromHabitacion() {
+        return habitacionService.mapFromHabitacion(habitacionDto);
+    }
+
+    @Benchmark
+    public Hotel mapFromDto() {
+        return habitacionService.mapFromDto(hotelDto);
+    }
+
+    @Benchmark
+    public Query construirConsultaCompleta() {
+        return habitacionService.construirConsulta(criteriosCompletos);
+    }
+
+    @Benchmark
+    public Query construirConsultaMinima() {
+        return habitacionService.construirConsulta(criteriosMinimos);
+    }
+
+    /** Incluye la conversión a BSON que hace el driver antes de enviar la consulta. */
+    @Benchmark
+    public Object construirConsultaCompletaComoDocumento() {
+        return habitacionService.construirConsulta(criteriosCompletos).getQueryObject();
+    }
+}
@@ -0,0 +1,35 @@
+package edu.utn.frsf.isi.dan.benchmarks;
+
+import edu.utn.frsf.isi.dan.reservas_svc.model.Habitacion;
+
+import java.time.Instant;
+
+/**
+ * Equivalente en memoria del filtro de disponibilidad de la búsqueda de reservas-svc, que hoy solo existe
+ * como predicado de Mongo. Sirve para medir cuánto costaría resolverlo sobre la lista embebida.
+ */
+final class Solapamiento {
+
+    private Solapamiento() {
+    }
+
+    /** Ninguna reserva de la habitación que la ocupe se solapa con [desde, hasta). */
+    static boolean disponibleEntre(Habitacion habitacion, Instant desde, Instant hasta) {
+        if (habitacion.getReservas() == null) {
+            return true;
+        }
+        for (Habitacion.ReservaSimple reserva : habitacion.getReservas()) {
+            if (ocupaEntre(reserva, desde, hasta)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** La reserva ocupa la habitación y su intervalo [checkIn, checkOut) se solapa con [desde, hasta). */
+    static boolean ocupaEntre(Habitacion.ReservaSimple reserva, Instant desde, Instant hasta) {
+        return reserva.getEstadoReserva() != null && Habitacion.ESTADOS_QUE_OCUPAN.contains(reserva.getEstadoReserva())
+                && reserva.getCheckIn() != null && reserva.getCheckOut() != null
+                && reserva.getCheckIn().isBefore(hasta) && reserva.getCheckOut().isAfter(desde);
+    }
+}
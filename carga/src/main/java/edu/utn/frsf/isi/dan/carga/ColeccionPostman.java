@@ -0,0 +1,62 @@
+package edu.utn.frsf.isi.dan.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Los pedidos de una colección Postman (formato v2.1) indexados por carpeta y nombre, por ejemplo
+ * <code>Reservas/Crear</code>. La carga reutiliza método, ruta y cuerpo de ejemplo de cada pedido; así un
+ * cambio de contrato se corrige en un solo lugar y la colección sigue sirviendo para probar a mano.
+ */
+final class ColeccionPostman {
+
+    private final Path archivo;
+    private final Map<String, Plantilla> plantillas = new LinkedHashMap<>();
+
+    private ColeccionPostman(Path archivo) {
+        this.archivo = archivo;
+    }
+
+    static ColeccionPostman cargar(Path archivo, ObjectMapper mapper) throws IOException {
+        ColeccionPostman coleccion = new ColeccionPostman(archivo);
+        coleccion.recorrer("", mapper.readTree(archivo.toFile()).path("item"), mapper);
+        return coleccion;
+    }
+
+    private void recorrer(String carpeta, JsonNode items, ObjectMapper mapper) {
+        for (JsonNode item : items) {
+            String nombre = carpeta + item.path("name").asText();
+            if (item.has("item")) {
+                recorrer(nombre + "/", item.path("item"), mapper);
+                continue;
+            }
+            JsonNode pedido = item.path("request");
+            JsonNode url = pedido.path("url");
+            String cruda = url.isTextual() ? url.asText() : url.path("raw").asText();
+            String cuerpo = pedido.path("body").path("raw").asText(null);
+            plantillas.put(nombre, new Plantilla(nombre, pedido.path("method").asText("GET"), sinOrigen(cruda),
+                    cuerpo == null || cuerpo.isBlank() ? null : cuerpo, mapper));
+        }
+    }
+
+    /** <code>http://localhost:8082/reservas?x=1</code> → <code>/reservas?x=1</code>: el destino lo fija la corrida. */
+    private static String sinOrigen(String url) {
+        int esquema = url.indexOf("://");
+        int ruta = url.indexOf('/', esquema < 0 ? 0 : esquema + 3);
+        return ruta < 0 ? "/" : url.substring(ruta);
+    }
+
+    Plantilla plantilla(String nombre) {
+        Plantilla plantilla = plantillas.get(nombre);
+        if (plantilla == null) {
+            throw new IllegalArgumentException("La colección " + archivo + " no tiene el pedido '" + nombre
+                    + "'; tiene " + plantillas.keySet());
+        }
+        return plantilla;
+    }
+}
@@ -0,0 +1,160 @@
+package edu.utn.frsf.isi.dan.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import edu.utn.frsf.isi.dan.generador.Catalogo;
+import edu.utn.frsf.isi.dan.generador.ParametrosGeneracion;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * Los escenarios de la mezcla, armados con los pedidos de las colecciones Postman y con ids, nombres y
+ * coordenadas del {@link Catalogo} del generador de datos (mismos parámetros y semilla con que se cargaron las
+ * bases), para que cada pedido apunte a datos que existen.
+ *
+ * <ul>
+ * <li><code>busqueda</code>: búsqueda de habitaciones disponibles cerca de un hotel, en fechas dentro de la
+ * ventana de reservas cargada.</li>
+ * <li><code>reserva</code>: el ciclo completo de una reserva: crear, pagar el total, check-in y check-out.
+ * Las fechas caen después de la ventana cargada, para no chocar con las reservas existentes.</li>
+ * <li><code>usuarioDni</code> y <code>usuarioNombre</code>: consultas de user-svc.</li>
+ * </ul>
+ */
+final class Escenarios {
+
+    @FunctionalInterface
+    interface Escenario {
+        void ejecutar(Sesion sesion) throws InterruptedException;
+    }
+
+    private final ParametrosCarga parametros;
+    private final Catalogo catalogo;
+    private final Plantilla buscar;
+    private final Plantilla crear;
+    private final Plantilla pagar;
+    private final Plantilla checkIn;
+    private final Plantilla checkOut;
+    private final Plantilla porDni;
+    private final Plantilla porNombre;
+    private final Map<String, Escenario> escenarios;
+
+    Escenarios(ParametrosCarga parametros, Catalogo catalogo, ColeccionPostman usuarios, ColeccionPostman reservas) {
+        this.parametros = parametros;
+        this.catalogo = catalogo;
+        this.buscar = reservas.plantilla("Habitaciones/Buscar disponibles");
+        this.crear = reservas.plantilla("Reservas/Crear");
+        this.pagar = reservas.plantilla("Reservas/Registrar pago");
+        this.checkIn = reservas.plantilla("Reservas/Check-in");
+        this.checkOut = reservas.plantilla("Reservas/Check-out");
+        this.porDni = usuarios.plantilla("Buscar usuario por DNI exacto");
+        this.porNombre = usuarios.plantilla("Buscar usuarios por nombre");
+        this.escenarios = Map.of(
+                "busqueda", this::busqueda,
+                "reserva", this::reserva,
+                "usuarioDni", this::usuarioDni,
+                "usuarioNombre", this::usuarioNombre);
+    }
+
+    Escenario escenario(String nombre) {
+        Escenario escenario = escenarios.get(nombre);
+        if (escenario == null) {
+            throw new IllegalArgumentException("Escenario desconocido: " + nombre + "; los disponibles son " + escenarios.keySet());
+        }
+        return escenario;
+    }
+
+    private void busqueda(Sesion sesion) throws InterruptedException {
+        SplittableRandom r = sesion.random();
+        ParametrosGeneracion datos = catalogo.parametros();
+        int hotel = 1 + r.nextInt(datos.hoteles());
+        Instant entrada = llegada(datos.hoy().plusDays(1 + r.nextInt(Math.max(1, datos.diasFuturos()))));
+        Map<String, Object> campos = new HashMap<>();
+        campos.put("/fechaCheckIn", entrada.toString());
+        campos.put("/fechaCheckOut", salida(entrada, 1 + r.nextInt(7)).toString());
+        campos.put("/cantidadHuespedes", 1 + r.nextInt(4));
+        campos.put("/latitud", catalogo.latitud(hotel));
+        campos.put("/longitud", catalogo.longitud(hotel));
+        campos.put("/distanciaMaximaMetros", 5_000.0 + r.nextInt(45_000));
+        if (r.nextBoolean()) {
+            campos.put("/precioMinimo", 40_000.0);
+            campos.put("/precioMaximo", 40_000.0 + r.nextInt(80_000));
+        }
+        if (r.nextInt(3) == 0) {
+            campos.put("/categoriaMinima", 1 + r.nextInt(3));
+        }
+        if (r.nextInt(4) == 0) {
+            campos.put("/amenities", List.of(Catalogo.AMENITIES[r.nextInt(Catalogo.AMENITIES.length)]));
+        }
+        sesion.paso("reservas.buscar", buscar.pedido(parametros.urlReservas(), parametros.timeout(), Map.of(), campos));
+    }
+
+    private void reserva(Sesion sesion) throws InterruptedException {
+        SplittableRandom r = sesion.random();
+        ParametrosGeneracion datos = catalogo.parametros();
+        int habitacion = 1 + r.nextInt(datos.habitaciones());
+        int usuario = 1 + r.nextInt(datos.usuarios());
+        int noches = 1 + r.nextInt(5);
+        LocalDate dia = catalogo.finVentana().plusDays(1 + r.nextInt(730));
+        Instant entrada = llegada(dia);
+        double precio = Catalogo.precio(catalogo.tipoDe(habitacion), dia);
+        double total = precio * noches;
+
+        Map<String, Object> campos = new HashMap<>();
+        campos.put("/idHabitacion", Catalogo.idHabitacionMongo(habitacion));
+        campos.put("/hotelId", catalogo.hotelDe(habitacion));
+        campos.put("/checkIn", entrada.toString());
+        campos.put("/checkOut", salida(entrada, noches).toString());
+        campos.put("/precioNoche", precio);
+        campos.put("/precioTotal", total);
+        campos.put("/huesped/idUsuario", String.valueOf(usuario));
+        campos.put("/huesped/nombreApellido", Catalogo.nombreUsuario(usuario));
+        campos.put("/huesped/email", Catalogo.email(usuario));
+        Optional<String> id = sesion.paso("reservas.crear", crear.pedido(parametros.urlReservas(), parametros.timeout(), Map.of(), campos))
+                .map(creada -> creada.path("_id"))
+                .filter(JsonNode::isTextual)
+                .map(JsonNode::asText);
+        if (id.isEmpty()) {
+            return;
+        }
+        Map<String, String> variables = Map.of("reservaId", id.get());
+        if (sesion.paso("reservas.pago", pagar.pedido(parametros.urlReservas(), parametros.timeout(), variables,
+                Map.of("/amount", total, "/transactionId", "TX-" + id.get()))).isEmpty()) {
+            return;
+        }
+        if (sesion.paso("reservas.check-in", checkIn.pedido(parametros.urlReservas(), parametros.timeout(), variables, Map.of())).isEmpty()) {
+            return;
+        }
+        sesion.paso("reservas.check-out", checkOut.pedido(parametros.urlReservas(), parametros.timeout(), variables,
+                Map.of("/rating", 1 + r.nextInt(5))));
+    }
+
+    private void usuarioDni(Sesion sesion) throws InterruptedException {
+        String dni = Catalogo.dni(1 + sesion.random().nextInt(catalogo.parametros().usuarios()));
+        sesion.paso("usuarios.dni", porDni.pedido(parametros.urlUsuarios(), parametros.timeout(), Map.of("dni", dni), Map.of()));
+    }
+
+    /** Nombre y comienzo de apellido, o un prefijo de apellido de al menos tres letras. */
+    private void usuarioNombre(Sesion sesion) throws InterruptedException {
+        SplittableRandom r = sesion.random();
+        String apellido = Catalogo.APELLIDOS[r.nextInt(Catalogo.APELLIDOS.length)];
+        String consulta = r.nextBoolean()
+                ? Catalogo.NOMBRES[r.nextInt(Catalogo.NOMBRES.length)] + " " + apellido.substring(0, 3)
+                : apellido.substring(0, 3 + r.nextInt(apellido.length() - 2));
+        sesion.paso("usuarios.nombre", porNombre.pedido(parametros.urlUsuarios(), parametros.timeout(), Map.of("nombre", consulta), Map.of()));
+    }
+
+    private static Instant llegada(LocalDate dia) {
+        return dia.atStartOfDay(ZoneOffset.UTC).toInstant().plus(14, ChronoUnit.HOURS);
+    }
+
+    private static Instant salida(Instant llegada, int noches) {
+        return llegada.plus(noches, ChronoUnit.DAYS).minus(4, ChronoUnit.HOURS);
+    }
+}
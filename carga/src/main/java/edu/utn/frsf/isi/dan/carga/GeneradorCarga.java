@@ -0,0 +1,176 @@
+package edu.utn.frsf.isi.dan.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import edu.utn.frsf.isi.dan.generador.Catalogo;
+import edu.utn.frsf.isi.dan.generador.GeneradorDatos;
+import edu.utn.frsf.isi.dan.generador.ParametrosGeneracion;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga de lazo abierto para pruebas de capacidad: lanza sesiones a una tasa fija, cada una en su
+ * hilo virtual, sin esperar a que terminen las anteriores. Así una degradación de los servicios se ve como
+ * latencia (medida desde el momento previsto de cada sesión) y no como una tasa menor.
+ *
+ * <pre>
+ * java -jar carga/target/dan-carga-*-ejecutable.jar --tasa=200 --duracion=5m \
+ *     --mezcla=busqueda:50,usuarioDni:20,usuarioNombre:15,reserva:15 --habitaciones=50000 --usuarios=1000000
+ * </pre>
+ *
+ * <p>Los pedidos salen de <code>services/*&#47;*.postman_collection.json</code>; los ids, de los mismos parámetros
+ * de {@link ParametrosGeneracion} (<code>--habitaciones</code>, <code>--usuarios</code>, <code>--semilla</code>,
+ * <code>--hoy</code>, ...) con que se cargaron los datos. El resto de las opciones están en
+ * {@link ParametrosCarga}. Escribe <code>resultado.json</code> y <code>latencias.hlog</code> en
+ * <code>--salida</code>; dos resultados se comparan con <code>infra/scripts/comparar-carga.sh</code>.</p>
+ */
+@Log4j2
+public class GeneradorCarga {
+
+    private final ParametrosCarga parametros;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient http;
+    private final Escenarios escenarios;
+    private final String[] nombres;
+    private final int[] pesoAcumulado;
+
+    GeneradorCarga(ParametrosCarga parametros, Catalogo catalogo) throws IOException {
+        this.parametros = parametros;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.escenarios = new Escenarios(parametros, catalogo,
+                ColeccionPostman.cargar(parametros.colecciones().resolve("user-svc/user-svc.postman_collection.json"), mapper),
+                ColeccionPostman.cargar(parametros.colecciones().resolve("reservas-svc/reservas-svc.postman_collection.json"), mapper));
+        this.nombres = parametros.mezcla().keySet().toArray(String[]::new);
+        this.pesoAcumulado = new int[nombres.length];
+        int acumulado = 0;
+        for (int i = 0; i < nombres.length; i++) {
+            escenarios.escenario(nombres[i]);
+            acumulado += parametros.mezcla().get(nombres[i]);
+            pesoAcumulado[i] = acumulado;
+        }
+        if (acumulado == 0) {
+            throw new IllegalArgumentException("La suma de pesos de la mezcla debe ser positiva");
+        }
+    }
+
+    Informe ejecutar() throws IOException, InterruptedException {
+        Files.createDirectories(parametros.salida());
+        long periodoNanos = Math.round(1e9 / parametros.tasa());
+        long sesionesCalentamiento = parametros.calentamiento().toNanos() / periodoNanos;
+        long sesionesTotales = sesionesCalentamiento + parametros.duracion().toNanos() / periodoNanos;
+        SplittableRandom random = new SplittableRandom(parametros.semilla());
+        Semaphore enVuelo = new Semaphore(parametros.maxEnVuelo());
+
+        try (Registro registro = new Registro(parametros.salida().resolve("latencias.hlog"));
+                ScheduledExecutorService reportes = Executors.newSingleThreadScheduledExecutor()) {
+            log.info("{} sesiones/s durante {} (más {} de calentamiento), mezcla {}", parametros.tasa(),
+                    parametros.duracion(), parametros.calentamiento(), parametros.mezcla());
+            long inicio = System.nanoTime();
+            for (long i = 0; i < sesionesTotales; i++) {
+                long previsto = inicio + i * periodoNanos;
+                long espera = previsto - System.nanoTime();
+                if (espera > 0) {
+                    LockSupport.parkNanos(espera);
+                }
+                boolean medida = i >= sesionesCalentamiento;
+                if (i == sesionesCalentamiento) {
+                    registro.empezarMedicion();
+                    long intervalo = parametros.intervalo().toMillis();
+                    reportes.scheduleAtFixedRate(registro::cerrarIntervalo, intervalo, intervalo, TimeUnit.MILLISECONDS);
+                }
+                Escenarios.Escenario escenario = escenarios.escenario(elegir(random));
+                SplittableRandom aleatorioSesion = random.split();
+                if (!enVuelo.tryAcquire()) {
+                    if (medida) {
+                        registro.sesionDescartada();
+                    }
+                    continue;
+                }
+                if (medida) {
+                    registro.sesionIniciada(System.nanoTime() - previsto);
+                }
+                Thread.ofVirtual().name("sesion-", i).start(() -> {
+                    try {
+                        escenario.ejecutar(new Sesion(http, mapper, registro, aleatorioSesion, previsto, medida));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (RuntimeException e) {
+                        log.warn("Sesión interrumpida por un error del generador", e);
+                    } finally {
+                        enVuelo.release();
+                    }
+                });
+            }
+            // Las sesiones en vuelo terminan o vencen su timeout; las que quedan colgadas no entran en el informe
+            if (!enVuelo.tryAcquire(parametros.maxEnVuelo(), parametros.timeout().toMillis() * 4 + 5_000, TimeUnit.MILLISECONDS)) {
+                log.warn("Quedaron sesiones sin terminar al cerrar la corrida");
+            }
+            reportes.shutdownNow();
+            registro.cerrarIntervalo();
+            Informe informe = registro.informe(parametros);
+            mapper.copy().enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(parametros.salida().resolve("resultado.json").toFile(), informe);
+            return informe;
+        }
+    }
+
+    private String elegir(SplittableRandom random) {
+        int valor = random.nextInt(pesoAcumulado[pesoAcumulado.length - 1]);
+        for (int i = 0; i < pesoAcumulado.length; i++) {
+            if (valor < pesoAcumulado[i]) {
+                return nombres[i];
+            }
+        }
+        throw new IllegalStateException("Peso fuera de rango: " + valor);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opciones = opciones(args);
+        ParametrosCarga parametros = ParametrosCarga.desde(opciones);
+        Catalogo catalogo = new GeneradorDatos(ParametrosGeneracion.desde(opciones)).catalogo();
+        Informe informe = new GeneradorCarga(parametros, catalogo).ejecutar();
+
+        log.info(String.format(Locale.ROOT, "%d sesiones en %.0f s, %d descartadas, atraso máximo del programador %.1f ms",
+                informe.sesiones(), informe.segundosMedidos(), informe.sesionesDescartadas(), informe.atrasoMaximoMs()));
+        informe.endpoints().forEach((nombre, endpoint) -> log.info(String.format(Locale.ROOT,
+                "%-20s %9d ops %7d err %9.1f/s  p50 %8.1f  p90 %8.1f  p99 %8.1f  p99.9 %8.1f  máx %8.1f ms",
+                nombre, endpoint.operaciones(), endpoint.errores(), endpoint.porSegundo(), endpoint.p50(), endpoint.p90(),
+                endpoint.p99(), endpoint.p999(), endpoint.maximo())));
+        informe.endpoints().forEach((nombre, endpoint) -> {
+            if (endpoint.primerError() != null) {
+                log.warn("Primer error de {}: {}", nombre, endpoint.primerError());
+            }
+        });
+        log.info("Resultado en {}", parametros.salida().resolve("resultado.json").toAbsolutePath());
+    }
+
+    /** <code>--clave=valor</code>, como en {@link GeneradorDatos}. */
+    private static Map<String, String> opciones(String[] args) {
+        Map<String, String> opciones = new HashMap<>();
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (!arg.startsWith("--") || igual < 0) {
+                throw new IllegalArgumentException("Opción inválida: " + arg + " (se espera --clave=valor)");
+            }
+            opciones.put(arg.substring(2, igual), arg.substring(igual + 1));
+        }
+        return opciones;
+    }
+}
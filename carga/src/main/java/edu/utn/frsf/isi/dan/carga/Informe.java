@@ -0,0 +1,23 @@
+package edu.utn.frsf.isi.dan.carga;
+
+import java.util.Map;
+
+/**
+ * Resultado de una corrida en <code>resultado.json</code>. Los campos y unidades son fijos (latencias en ms,
+ * medidas desde el momento previsto de cada sesión) para que <code>infra/scripts/comparar-carga.sh</code> pueda
+ * comparar dos corridas endpoint por endpoint.
+ *
+ * @param sesionesDescartadas sesiones no enviadas por el tope de sesiones en vuelo
+ * @param atrasoMaximoMs mayor demora del programador en lanzar una sesión; si es grande, la máquina que genera
+ *                       la carga no sostuvo la tasa y las latencias incluyen esa demora
+ */
+record Informe(double tasa, long duracionSegundos, Map<String, Integer> mezcla, double segundosMedidos, long sesiones,
+        long sesionesDescartadas, double atrasoMaximoMs, Map<String, Endpoint> endpoints) {
+
+    /**
+     * @param operaciones pasos con respuesta 2xx; los percentiles incluyen también los fallidos
+     */
+    record Endpoint(long operaciones, long errores, double porSegundo, double p50, double p90, double p99, double p999,
+            double maximo, String primerError) {
+    }
+}
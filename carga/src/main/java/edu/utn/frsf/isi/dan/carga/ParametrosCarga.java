@@ -0,0 +1,68 @@
+package edu.utn.frsf.isi.dan.carga;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Configuración de una corrida. La tasa es de sesiones por segundo y no depende de cuánto tarden los
+ * servicios (modelo abierto): si responden más lento, crecen las sesiones en vuelo, no baja la tasa.
+ *
+ * @param mezcla       peso relativo de cada escenario (ver {@link Escenarios})
+ * @param calentamiento tiempo inicial a la misma tasa cuyas latencias no se informan
+ * @param intervalo    cada cuánto se muestran percentiles parciales y se escribe un intervalo en el log HdrHistogram
+ * @param maxEnVuelo   tope de sesiones simultáneas: por encima, las nuevas se descartan y se informan aparte
+ *                     como <code>sesionesDescartadas</code>, sin latencia ni error de endpoint
+ */
+record ParametrosCarga(double tasa, Duration duracion, Duration calentamiento, Duration intervalo, Duration timeout,
+        int maxEnVuelo, Map<String, Integer> mezcla, URI urlUsuarios, URI urlReservas, Path colecciones, Path salida,
+        long semilla) {
+
+    static final String MEZCLA_POR_DEFECTO = "busqueda:50,usuarioDni:20,usuarioNombre:15,reserva:15";
+
+    static ParametrosCarga desde(Map<String, String> opciones) {
+        return new ParametrosCarga(
+                Double.parseDouble(opciones.getOrDefault("tasa", "50")),
+                duracion(opciones.getOrDefault("duracion", "2m")),
+                duracion(opciones.getOrDefault("calentamiento", "30s")),
+                duracion(opciones.getOrDefault("intervalo", "10s")),
+                duracion(opciones.getOrDefault("timeout", "30s")),
+                Integer.parseInt(opciones.getOrDefault("maxEnVuelo", "10000")),
+                mezcla(opciones.getOrDefault("mezcla", MEZCLA_POR_DEFECTO)),
+                URI.create(opciones.getOrDefault("urlUsuarios", "http://localhost:8081")),
+                URI.create(opciones.getOrDefault("urlReservas", "http://localhost:8082")),
+                Path.of(opciones.getOrDefault("colecciones", "services")),
+                Path.of(opciones.getOrDefault("salida", "carga/resultados")),
+                Long.parseLong(opciones.getOrDefault("semillaCarga", "1")));
+    }
+
+    ParametrosCarga {
+        if (tasa <= 0 || maxEnVuelo <= 0) {
+            throw new IllegalArgumentException("La tasa y el máximo de sesiones en vuelo deben ser positivos");
+        }
+        if (mezcla.isEmpty() || mezcla.values().stream().anyMatch(peso -> peso < 0)) {
+            throw new IllegalArgumentException("La mezcla necesita al menos un escenario y pesos no negativos");
+        }
+    }
+
+    /** <code>30s</code>, <code>2m</code>, <code>1h</code>. */
+    private static Duration duracion(String valor) {
+        return Duration.parse("PT" + valor.toUpperCase(Locale.ROOT));
+    }
+
+    /** <code>escenario:peso,escenario:peso</code>, en el orden dado. */
+    private static Map<String, Integer> mezcla(String valor) {
+        Map<String, Integer> mezcla = new LinkedHashMap<>();
+        for (String parte : valor.split(",")) {
+            String[] escenarioPeso = parte.trim().split(":");
+            if (escenarioPeso.length != 2) {
+                throw new IllegalArgumentException("Mezcla inválida: " + parte + " (se espera escenario:peso)");
+            }
+            mezcla.put(escenarioPeso[0], Integer.parseInt(escenarioPeso[1]));
+        }
+        return mezcla;
+    }
+}
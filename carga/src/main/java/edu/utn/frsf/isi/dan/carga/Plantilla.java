@@ -0,0 +1,84 @@
+package edu.utn.frsf.isi.dan.carga;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Un pedido de la colección Postman listo para instanciar: las variables <code>{{nombre}}</code> de la ruta se
+ * reemplazan por valores de la sesión y los campos del cuerpo de ejemplo se pisan por puntero JSON
+ * (<code>/huesped/idUsuario</code>); un valor <code>null</code> quita el campo.
+ */
+final class Plantilla {
+
+    private static final Pattern VARIABLE = Pattern.compile("\\{\\{(\\w+)}}");
+
+    private final String nombre;
+    private final String metodo;
+    private final String ruta;
+    private final JsonNode cuerpo;
+    private final ObjectMapper mapper;
+
+    Plantilla(String nombre, String metodo, String ruta, String cuerpo, ObjectMapper mapper) {
+        this.nombre = nombre;
+        this.metodo = metodo;
+        this.ruta = ruta;
+        this.mapper = mapper;
+        try {
+            this.cuerpo = cuerpo == null ? null : mapper.readTree(cuerpo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("El cuerpo de '" + nombre + "' no es JSON válido", e);
+        }
+    }
+
+    HttpRequest pedido(URI base, Duration timeout, Map<String, String> variables, Map<String, Object> campos) {
+        Matcher matcher = VARIABLE.matcher(ruta);
+        String destino = matcher.replaceAll(variable -> {
+            String valor = variables.get(variable.group(1));
+            if (valor == null) {
+                throw new IllegalArgumentException("Falta la variable " + variable.group(1) + " de '" + nombre + "'");
+            }
+            return Matcher.quoteReplacement(URLEncoder.encode(valor, StandardCharsets.UTF_8));
+        });
+        String origen = base.toString().endsWith("/") ? base.toString().substring(0, base.toString().length() - 1) : base.toString();
+        HttpRequest.Builder pedido = HttpRequest.newBuilder(URI.create(origen + destino)).timeout(timeout);
+        if (cuerpo == null) {
+            return pedido.method(metodo, HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return pedido.header("Content-Type", "application/json")
+                .method(metodo, HttpRequest.BodyPublishers.ofString(cuerpoCon(campos)))
+                .build();
+    }
+
+    private String cuerpoCon(Map<String, Object> campos) {
+        JsonNode copia = cuerpo.deepCopy();
+        campos.forEach((puntero, valor) -> {
+            JsonPointer camino = JsonPointer.compile(puntero);
+            if (!(copia.at(camino.head()) instanceof ObjectNode padre)) {
+                throw new IllegalArgumentException("'" + nombre + "' no tiene un objeto en " + camino.head());
+            }
+            String campo = camino.last().getMatchingProperty();
+            if (valor == null) {
+                padre.remove(campo);
+            } else {
+                padre.set(campo, mapper.valueToTree(valor));
+            }
+        });
+        try {
+            return mapper.writeValueAsString(copia);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el cuerpo de '" + nombre + "'", e);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package edu.utn.frsf.isi.dan.carga;
+
+import lombok.extern.log4j.Log4j2;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.FileNotFoundException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias por endpoint en microsegundos, de todos los pasos: los fallidos también se graban, para que un timeout
+ * o un rechazo lento aparezca en la cola y no quede solo como un error contado aparte. Las sesiones graban en un {@link Recorder} sin bloquearse entre sí;
+ * cada intervalo se toma el histograma parcial, se acumula en el total, se muestra y se escribe en
+ * <code>latencias.hlog</code> (formato de log de HdrHistogram, con el endpoint como tag) para poder graficar la
+ * evolución con HistogramLogAnalyzer o compararla entre corridas.
+ */
+@Log4j2
+final class Registro implements AutoCloseable {
+
+    private static final long MAXIMO_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final int DIGITOS_SIGNIFICATIVOS = 3;
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentSkipListMap<>();
+    private final LongAdder sesiones = new LongAdder();
+    private final LongAdder descartadas = new LongAdder();
+    private final LongAccumulator atrasoMaximoNanos = new LongAccumulator(Math::max, 0);
+    private final HistogramLogWriter escritor;
+    private long inicioMedicionMillis;
+    private long finMedicionMillis;
+
+    Registro(Path logHistogramas) throws FileNotFoundException {
+        this.escritor = new HistogramLogWriter(logHistogramas.toFile());
+    }
+
+    /** Desde acá cuentan las sesiones; lo anterior fue calentamiento. */
+    synchronized void empezarMedicion() {
+        inicioMedicionMillis = System.currentTimeMillis();
+        escritor.outputLogFormatVersion();
+        escritor.outputStartTime(inicioMedicionMillis);
+        escritor.setBaseTime(inicioMedicionMillis);
+        escritor.outputBaseTime(inicioMedicionMillis);
+        escritor.outputLegend();
+    }
+
+    void sesionIniciada(long atrasoNanos) {
+        sesiones.increment();
+        atrasoMaximoNanos.accumulate(atrasoNanos);
+    }
+
+    /**
+     * Con el tope de sesiones en vuelo alcanzado, la sesión no se envía: los servicios ya no sostienen la tasa.
+     * Se informa aparte en <code>sesionesDescartadas</code>, no como error de un endpoint.
+     */
+    void sesionDescartada() {
+        descartadas.increment();
+    }
+
+    void registrar(String endpoint, long nanos, boolean exito, String detalleError) {
+        Endpoint registro = endpoints.computeIfAbsent(endpoint, Endpoint::new);
+        registro.recorder.recordValue(Math.min(MAXIMO_MICROS, Math.max(1, nanos / 1_000)));
+        if (exito) {
+            registro.exitos.increment();
+        } else {
+            registro.errores.increment();
+            registro.primerError.compareAndSet(null, detalleError);
+        }
+    }
+
+    /** Cierra el intervalo en curso: lo acumula, lo escribe en el log y muestra una línea por endpoint. */
+    synchronized void cerrarIntervalo() {
+        finMedicionMillis = System.currentTimeMillis();
+        for (Endpoint endpoint : endpoints.values()) {
+            endpoint.intervalo = endpoint.recorder.getIntervalHistogram(endpoint.intervalo);
+            endpoint.intervalo.setTag(endpoint.nombre);
+            endpoint.total.add(endpoint.intervalo);
+            escritor.outputIntervalHistogram(endpoint.intervalo);
+            long exitos = endpoint.exitos.sumThenReset();
+            long errores = endpoint.errores.sumThenReset();
+            endpoint.exitosTotales += exitos;
+            endpoint.erroresTotales += errores;
+            log.info(String.format(Locale.ROOT, "%-20s %8d ok %6d err  p50 %8.1f  p99 %8.1f  máx %8.1f ms",
+                    endpoint.nombre, exitos, errores,
+                    milis(endpoint.intervalo.getValueAtPercentile(50)), milis(endpoint.intervalo.getValueAtPercentile(99)),
+                    milis(endpoint.intervalo.getMaxValue())));
+        }
+    }
+
+    synchronized Informe informe(ParametrosCarga parametros) {
+        double segundos = Math.max(1, finMedicionMillis - inicioMedicionMillis) / 1000.0;
+        Map<String, Informe.Endpoint> resultado = new LinkedHashMap<>();
+        for (Endpoint endpoint : endpoints.values()) {
+            Histogram total = endpoint.total;
+            resultado.put(endpoint.nombre, new Informe.Endpoint(endpoint.exitosTotales, endpoint.erroresTotales,
+                    endpoint.exitosTotales / segundos,
+                    milis(total.getValueAtPercentile(50)), milis(total.getValueAtPercentile(90)),
+                    milis(total.getValueAtPercentile(99)), milis(total.getValueAtPercentile(99.9)),
+                    milis(total.getMaxValue()), endpoint.primerError.get()));
+        }
+        return new Informe(parametros.tasa(), parametros.duracion().toSeconds(), parametros.mezcla(), segundos,
+                sesiones.sum(), descartadas.sum(), atrasoMaximoNanos.get() / 1e6, resultado);
+    }
+
+    private static double milis(long micros) {
+        return micros / 1000.0;
+    }
+
+    @Override
+    public void close() {
+        escritor.close();
+    }
+
+    private static final class Endpoint {
+
+        private final String nombre;
+        private final Recorder recorder = new Recorder(MAXIMO_MICROS, DIGITOS_SIGNIFICATIVOS);
+        private final Histogram total = new Histogram(MAXIMO_MICROS, DIGITOS_SIGNIFICATIVOS);
+        private final LongAdder exitos = new LongAdder();
+        private final LongAdder errores = new LongAdder();
+        private final AtomicReference<String> primerError = new AtomicReference<>();
+        private Histogram intervalo;
+        private long exitosTotales;
+        private long erroresTotales;
+
+        Endpoint(String nombre) {
+            this.nombre = nombre;
+        }
+    }
+}
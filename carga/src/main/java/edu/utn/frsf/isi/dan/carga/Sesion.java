@@ -0,0 +1,71 @@
+package edu.utn.frsf.isi.dan.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * Una ejecución de un escenario en su propio hilo virtual. La latencia del primer paso se mide desde el momento
+ * en que la sesión debía empezar según la tasa, no desde que se envió: si el generador o el pool de conexiones
+ * se demoran, esa espera se cuenta (sin omisión coordinada). Cada paso siguiente depende de la respuesta del
+ * anterior, así que se mide desde que el anterior terminó.
+ */
+final class Sesion {
+
+    private static final int LARGO_DETALLE = 200;
+
+    private final HttpClient http;
+    private final ObjectMapper mapper;
+    private final Registro registro;
+    private final SplittableRandom random;
+    private final boolean medida;
+    private long previsto;
+
+    Sesion(HttpClient http, ObjectMapper mapper, Registro registro, SplittableRandom random, long previsto, boolean medida) {
+        this.http = http;
+        this.mapper = mapper;
+        this.registro = registro;
+        this.random = random;
+        this.previsto = previsto;
+        this.medida = medida;
+    }
+
+    SplittableRandom random() {
+        return random;
+    }
+
+    /** Envía el pedido y registra su latencia; devuelve el cuerpo de la respuesta si fue 2xx. */
+    Optional<JsonNode> paso(String endpoint, HttpRequest pedido) throws InterruptedException {
+        long inicio = previsto;
+        JsonNode cuerpo = null;
+        String error = null;
+        try {
+            HttpResponse<String> respuesta = http.send(pedido, HttpResponse.BodyHandlers.ofString());
+            if (respuesta.statusCode() / 100 == 2) {
+                cuerpo = respuesta.body().isEmpty() ? NullNode.getInstance() : mapper.readTree(respuesta.body());
+            } else {
+                error = "HTTP " + respuesta.statusCode() + ": " + recortar(respuesta.body());
+            }
+        } catch (IOException e) {
+            // Timeout, conexión rechazada o cuerpo ilegible: cuenta como error del endpoint
+            error = e.toString();
+        }
+        long fin = System.nanoTime();
+        previsto = fin;
+        if (medida) {
+            registro.registrar(endpoint, fin - inicio, cuerpo != null, error);
+        }
+        return Optional.ofNullable(cuerpo);
+    }
+
+    private static String recortar(String texto) {
+        return texto.length() <= LARGO_DETALLE ? texto : texto.substring(0, LARGO_DETALLE) + "...";
+    }
+}
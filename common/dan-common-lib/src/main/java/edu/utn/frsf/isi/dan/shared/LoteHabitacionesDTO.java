@@ -0,0 +1,20 @@
+package edu.utn.frsf.isi.dan.shared;
+import java.util.List;
+
+import lombok.*;
+
+/**
+ * Página del catálogo completo de habitaciones, recorrido por id ascendente (keyset).
+ * Para pedir la página siguiente se envía <code>siguienteId</code> como cursor.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoteHabitacionesDTO {
+
+    private List<HabitacionDTO> habitaciones;
+    private Integer siguienteId;
+    private boolean ultimo;
+
+}
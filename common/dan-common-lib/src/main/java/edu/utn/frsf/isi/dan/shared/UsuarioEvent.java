@@ -0,0 +1,20 @@
+package edu.utn.frsf.isi.dan.shared;
+import lombok.*;
+
+/**
+ * Cambio de los datos de un usuario que otros servicios copian (nombre y email). <code>version</code> es la
+ * versión persistida del usuario en user-svc (columna <code>@Version</code>), que crece con cada UPDATE
+ * confirmado: el consumidor descarta los eventos con una versión menor a la que ya aplicó.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UsuarioEvent {
+        private Long idUsuario;
+        private String nombre;
+        private String email;
+        private Long version;
+        private TipoEvento tipoEvento;
+
+}
@@ -0,0 +1,271 @@
+package edu.utn.frsf.isi.dan.shared.calentamiento;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fase de calentamiento al arrancar: repite las {@link TareaCalentamiento} del servicio por rondas, con varios
+ * hilos a la vez (así también se abren las conexiones de los pools), hasta que la mediana de cada tarea varía
+ * menos que <code>calentamiento.tolerancia</code> durante <code>calentamiento.rondas-estables</code> rondas
+ * seguidas, o hasta <code>calentamiento.duracion-maxima</code>. Mientras tanto el indicador
+ * <code>calentamiento</code> responde {@link CalentamientoHealthIndicator#CALENTANDO} y, con él en el grupo de
+ * readiness, el servicio no recibe tráfico estando frío.
+ *
+ * <p>Por tarea publica la mediana de la última ronda en <code>calentamiento.mediana</code> y las rondas
+ * corridas en <code>calentamiento.rondas</code> (solo con el tag tarea, así las series no crecen con las
+ * rondas); la curva completa queda en el detalle del indicador. Cada operación va en
+ * <code>calentamiento.operacion</code> y, al terminar, la duración total en
+ * <code>calentamiento.duracion</code>.</p>
+ */
+@Log4j2
+public class Calentamiento implements ApplicationListener<ApplicationReadyEvent> {
+
+    public enum Estado {
+        PENDIENTE, EN_CURSO, CONVERGIO, SIN_CONVERGER, DESACTIVADO
+    }
+
+    private final List<TareaCalentamiento> tareas;
+    private final MeterRegistry meterRegistry;
+    private final boolean habilitado;
+    private final Duration duracionMaxima;
+    private final Duration esperaMaxima;
+    private final int operacionesPorRonda;
+    private final int hilos;
+    private final double tolerancia;
+    private final int rondasEstables;
+    private final int rondasMaximas;
+
+    private final AtomicBoolean iniciado = new AtomicBoolean();
+    private final Map<String, List<Double>> medianasMs = new ConcurrentHashMap<>();
+    private volatile Estado estado = Estado.PENDIENTE;
+    private volatile Duration duracion;
+
+    public Calentamiento(List<TareaCalentamiento> tareas, MeterRegistry meterRegistry, boolean habilitado,
+            Duration duracionMaxima, Duration esperaMaxima, int operacionesPorRonda, int hilos, double tolerancia,
+            int rondasEstables, int rondasMaximas) {
+        this.tareas = tareas;
+        this.meterRegistry = meterRegistry;
+        this.habilitado = habilitado;
+        this.duracionMaxima = duracionMaxima;
+        this.esperaMaxima = esperaMaxima;
+        this.operacionesPorRonda = Math.max(1, operacionesPorRonda);
+        this.hilos = Math.max(1, hilos);
+        this.tolerancia = tolerancia;
+        this.rondasEstables = Math.max(1, rondasEstables);
+        this.rondasMaximas = Math.max(this.rondasEstables + 1, rondasMaximas);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!iniciado.compareAndSet(false, true)) {
+            return;
+        }
+        if (!habilitado || tareas.isEmpty()) {
+            estado = Estado.DESACTIVADO;
+            return;
+        }
+        estado = Estado.EN_CURSO;
+        Thread.ofVirtual().name("calentamiento").start(this::ejecutar);
+    }
+
+    public Estado estado() {
+        return estado;
+    }
+
+    /** Terminó, convergiera o no: desde acá el servicio puede recibir tráfico. */
+    public boolean terminado() {
+        return estado != Estado.PENDIENTE && estado != Estado.EN_CURSO;
+    }
+
+    public Duration duracion() {
+        return duracion;
+    }
+
+    /** Mediana en ms de cada ronda, por tarea. */
+    public Map<String, List<Double>> medianasMs() {
+        Map<String, List<Double>> copia = new LinkedHashMap<>();
+        medianasMs.forEach((tarea, medianas) -> copia.put(tarea, List.copyOf(medianas)));
+        return copia;
+    }
+
+    void ejecutar() {
+        long inicio = System.nanoTime();
+        long limite = inicio + duracionMaxima.toNanos();
+        boolean convergio = false;
+        List<Progreso> pendientes = new ArrayList<>();
+        try (ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (TareaCalentamiento tarea : listas(inicio + esperaMaxima.toNanos())) {
+                try {
+                    tarea.preparar();
+                    pendientes.add(new Progreso(tarea));
+                } catch (RuntimeException e) {
+                    log.warn("No se pudo preparar la tarea de calentamiento {}: {}", tarea.nombre(), e.getMessage());
+                }
+            }
+            List<Progreso> todas = List.copyOf(pendientes);
+            for (int ronda = 1; ronda <= rondasMaximas && !pendientes.isEmpty() && System.nanoTime() < limite; ronda++) {
+                for (Progreso progreso : List.copyOf(pendientes)) {
+                    if (progreso.ronda(ronda, ejecutor)) {
+                        pendientes.remove(progreso);
+                    }
+                }
+            }
+            convergio = !todas.isEmpty() && pendientes.isEmpty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("El calentamiento se interrumpió por un error", e);
+        } finally {
+            terminar(convergio, Duration.ofNanos(System.nanoTime() - inicio), pendientes);
+        }
+    }
+
+    /** Espera a que las tareas estén listas; las que no lo están al vencer la espera quedan afuera. */
+    private List<TareaCalentamiento> listas(long limite) throws InterruptedException {
+        List<TareaCalentamiento> esperando = new ArrayList<>(tareas);
+        List<TareaCalentamiento> listas = new ArrayList<>();
+        while (true) {
+            for (TareaCalentamiento tarea : List.copyOf(esperando)) {
+                if (tarea.lista()) {
+                    esperando.remove(tarea);
+                    listas.add(tarea);
+                }
+            }
+            if (esperando.isEmpty() || System.nanoTime() >= limite) {
+                break;
+            }
+            Thread.sleep(500);
+        }
+        esperando.forEach(tarea -> log.warn("La tarea de calentamiento {} no estuvo lista a tiempo; se omite", tarea.nombre()));
+        return listas;
+    }
+
+    private void terminar(boolean convergio, Duration total, List<Progreso> sinConverger) {
+        duracion = total;
+        String resultado = convergio ? "convergio" : "sin_converger";
+        Gauge.builder("calentamiento.duracion", () -> total.toNanos() / 1e9)
+                .description("Duración de la fase de calentamiento al arrancar")
+                .tag("resultado", resultado)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        StringBuilder resumen = new StringBuilder();
+        medianasMs.forEach((tarea, medianas) -> {
+            if (!medianas.isEmpty()) {
+                resumen.append(String.format(Locale.ROOT, " %s: %d rondas, mediana %.2f -> %.2f ms;", tarea,
+                        medianas.size(), medianas.get(0), medianas.get(medianas.size() - 1)));
+            }
+        });
+        if (convergio) {
+            log.info("Calentamiento completo en {} ms:{}", total.toMillis(), resumen);
+        } else {
+            log.warn("Calentamiento terminado sin converger en {} ms (sin converger: {}):{}", total.toMillis(),
+                    sinConverger.stream().map(p -> p.tarea.nombre()).toList(), resumen);
+        }
+        estado = convergio ? Estado.CONVERGIO : Estado.SIN_CONVERGER;
+    }
+
+    private static double mediana(long[] nanos) {
+        long[] ordenados = nanos.clone();
+        Arrays.sort(ordenados);
+        int medio = ordenados.length / 2;
+        long valor = ordenados.length % 2 == 1 ? ordenados[medio] : (ordenados[medio - 1] + ordenados[medio]) / 2;
+        return valor / 1e6;
+    }
+
+    /** Rondas de una tarea y cuántas lleva seguidas dentro de la tolerancia. */
+    private final class Progreso {
+
+        private final TareaCalentamiento tarea;
+        private final Timer exitos;
+        private final Timer errores;
+        private final List<Double> medianas = new CopyOnWriteArrayList<>();
+        private final AtomicReference<String> primerError = new AtomicReference<>();
+        private int estables;
+
+        Progreso(TareaCalentamiento tarea) {
+            this.tarea = tarea;
+            this.exitos = timer("ok");
+            this.errores = timer("error");
+            medianasMs.put(tarea.nombre(), medianas);
+            Gauge.builder("calentamiento.mediana", () -> medianas.isEmpty() ? Double.NaN : medianas.get(medianas.size() - 1) / 1e3)
+                    .description("Mediana de la latencia en la última ronda de calentamiento")
+                    .tag("tarea", tarea.nombre())
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder("calentamiento.rondas", medianas::size)
+                    .description("Rondas de calentamiento corridas hasta converger o agotar el tiempo")
+                    .tag("tarea", tarea.nombre())
+                    .register(meterRegistry);
+        }
+
+        private Timer timer(String resultado) {
+            return Timer.builder("calentamiento.operacion")
+                    .description("Operaciones sintéticas de la fase de calentamiento")
+                    .tag("tarea", tarea.nombre())
+                    .tag("resultado", resultado)
+                    .register(meterRegistry);
+        }
+
+        /** Corre una ronda repartida entre los hilos; devuelve <code>true</code> si la tarea convergió. */
+        boolean ronda(int ronda, ExecutorService ejecutor) throws InterruptedException {
+            int porHilo = Math.max(1, operacionesPorRonda / hilos);
+            long[] nanos = new long[porHilo * hilos];
+            List<Callable<Void>> trabajos = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                int desde = h * porHilo;
+                trabajos.add(() -> {
+                    for (int i = desde; i < desde + porHilo; i++) {
+                        nanos[i] = operacion(ronda * nanos.length + i);
+                    }
+                    return null;
+                });
+            }
+            ejecutor.invokeAll(trabajos);
+
+            double actual = mediana(nanos);
+            double anterior = medianas.isEmpty() ? Double.NaN : medianas.get(medianas.size() - 1);
+            medianas.add(actual);
+            estables = !Double.isNaN(anterior) && Math.abs(actual - anterior) <= tolerancia * anterior ? estables + 1 : 0;
+            log.debug("Calentamiento {} ronda {}: mediana {} ms", tarea.nombre(), ronda, actual);
+            return estables >= rondasEstables;
+        }
+
+        private long operacion(int iteracion) {
+            long inicio = System.nanoTime();
+            try {
+                tarea.ejecutar(iteracion);
+                long nanos = System.nanoTime() - inicio;
+                exitos.record(nanos, TimeUnit.NANOSECONDS);
+                return nanos;
+            } catch (Exception e) {
+                long nanos = System.nanoTime() - inicio;
+                errores.record(nanos, TimeUnit.NANOSECONDS);
+                if (primerError.compareAndSet(null, e.toString())) {
+                    log.warn("Error en la tarea de calentamiento {}: {}", tarea.nombre(), e.toString());
+                }
+                return nanos;
+            }
+        }
+    }
+}
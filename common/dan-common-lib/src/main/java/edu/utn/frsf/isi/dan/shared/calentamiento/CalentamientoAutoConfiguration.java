@@ -0,0 +1,46 @@
+package edu.utn.frsf.isi.dan.shared.calentamiento;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.health.ConditionalOnEnabledHealthIndicator;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+/**
+ * Calentamiento al arrancar para todos los servicios que usan la librería común: junta los beans
+ * {@link TareaCalentamiento} del servicio en un {@link Calentamiento} y publica el indicador de salud
+ * <code>calentamiento</code>. No depende de <code>calentamiento.habilitado</code> para que el indicador exista
+ * siempre (el grupo de readiness lo referencia); deshabilitado, o sin tareas, el indicador queda UP al arrancar.
+ */
+@AutoConfiguration(afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+@ConditionalOnClass(MeterRegistry.class)
+public class CalentamientoAutoConfiguration {
+
+    @Bean
+    @ConditionalOnBean(MeterRegistry.class)
+    public Calentamiento calentamiento(ObjectProvider<TareaCalentamiento> tareas, MeterRegistry meterRegistry,
+            @Value("${calentamiento.habilitado:true}") boolean habilitado,
+            @Value("${calentamiento.duracion-maxima:60s}") Duration duracionMaxima,
+            @Value("${calentamiento.espera-maxima:30s}") Duration esperaMaxima,
+            @Value("${calentamiento.operaciones-por-ronda:200}") int operacionesPorRonda,
+            @Value("${calentamiento.hilos:8}") int hilos,
+            @Value("${calentamiento.tolerancia:0.1}") double tolerancia,
+            @Value("${calentamiento.rondas-estables:5}") int rondasEstables,
+            @Value("${calentamiento.rondas-maximas:100}") int rondasMaximas) {
+        return new Calentamiento(tareas.orderedStream().toList(), meterRegistry, habilitado, duracionMaxima,
+                esperaMaxima, operacionesPorRonda, hilos, tolerancia, rondasEstables, rondasMaximas);
+    }
+
+    @Bean
+    @ConditionalOnBean(Calentamiento.class)
+    @ConditionalOnEnabledHealthIndicator("calentamiento")
+    public CalentamientoHealthIndicator calentamientoHealthIndicator(Calentamiento calentamiento) {
+        return new CalentamientoHealthIndicator(calentamiento);
+    }
+}
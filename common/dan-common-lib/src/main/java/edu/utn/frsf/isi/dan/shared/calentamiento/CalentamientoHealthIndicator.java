@@ -0,0 +1,43 @@
+package edu.utn.frsf.isi.dan.shared.calentamiento;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * {@link #CALENTANDO} mientras el {@link Calentamiento} no terminó; el detalle muestra la curva de medianas por
+ * ronda de cada tarea. El estado es propio para que afecte solo a readiness: el agregado de
+ * <code>/actuator/health</code> ignora los estados que no están en su
+ * <code>management.endpoint.health.status.order</code>, y el grupo de readiness lo agrega a su orden y lo
+ * mapea a 503:
+ *
+ * <pre>
+ * management.endpoint.health.group.readiness.include=readinessState,calentamiento
+ * management.endpoint.health.group.readiness.status.order=down,out-of-service,calentando,up,unknown
+ * management.endpoint.health.group.readiness.status.http-mapping.down=503
+ * management.endpoint.health.group.readiness.status.http-mapping.out-of-service=503
+ * management.endpoint.health.group.readiness.status.http-mapping.calentando=503
+ * </pre>
+ *
+ * Así el servicio no recibe tráfico estando frío pero liveness y la salud general siguen en 200.
+ */
+public class CalentamientoHealthIndicator implements HealthIndicator {
+
+    public static final Status CALENTANDO = new Status("CALENTANDO", "El servicio todavía no está listo para recibir tráfico");
+
+    private final Calentamiento calentamiento;
+
+    public CalentamientoHealthIndicator(Calentamiento calentamiento) {
+        this.calentamiento = calentamiento;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder salud = calentamiento.terminado() ? Health.up() : Health.status(CALENTANDO);
+        salud.withDetail("estado", calentamiento.estado());
+        if (calentamiento.duracion() != null) {
+            salud.withDetail("duracionMs", calentamiento.duracion().toMillis());
+        }
+        return salud.withDetail("medianasMs", calentamiento.medianasMs()).build();
+    }
+}
@@ -0,0 +1,31 @@
+package edu.utn.frsf.isi.dan.shared.calentamiento;
+
+/**
+ * Una operación sintética que {@link Calentamiento} repite al arrancar, antes de aceptar tráfico, hasta que su
+ * latencia se estabiliza. Tiene que recorrer el mismo código que los pedidos reales (consultas, mapeo,
+ * serialización) sin dejar efectos visibles: nada de escrituras ni de eventos publicados. Cada servicio
+ * declara las suyas como beans.
+ */
+public interface TareaCalentamiento {
+
+    /** Nombre corto; va como tag de las métricas. */
+    String nombre();
+
+    /**
+     * Si la tarea ya puede correr, por ejemplo cuando existen los índices que usa. El calentamiento la espera
+     * hasta <code>calentamiento.espera-maxima</code> y, si no está lista, sigue sin ella.
+     */
+    default boolean lista() {
+        return true;
+    }
+
+    /** Se llama una vez antes de la primera ronda, por ejemplo para leer datos de muestra. */
+    default void preparar() {
+    }
+
+    /**
+     * Ejecuta la operación número {@code iteracion}, que la tarea usa para variar los parámetros. Se llama
+     * desde varios hilos a la vez.
+     */
+    void ejecutar(int iteracion) throws Exception;
+}
@@ -0,0 +1,60 @@
+package edu.utn.frsf.isi.dan.shared.consultas;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Registro de consultas por forma para todos los servicios que usan la librería común: crea el
+ * {@link RegistroConsultas}, envuelve los {@link DataSource} con {@link JdbcMedido} y publica el endpoint
+ * <code>consultas</code>. Se desactiva con <code>consultas.habilitado=false</code>. reservas-svc registra
+ * además su listener de comandos de Mongo sobre el mismo registro.
+ */
+@AutoConfiguration(afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnProperty(prefix = "consultas", name = "habilitado", havingValue = "true", matchIfMissing = true)
+public class ConsultasAutoConfiguration {
+
+    @Bean
+    @ConditionalOnBean(MeterRegistry.class)
+    public RegistroConsultas registroConsultas(MeterRegistry meterRegistry,
+            @Value("${consultas.maximo-formas:200}") int maximoFormas,
+            @Value("${consultas.lentas.umbral:100ms}") Duration umbralLenta,
+            @Value("${consultas.lentas.muestras:50}") int maximoMuestras) {
+        return new RegistroConsultas(meterRegistry, maximoFormas, umbralLenta, maximoMuestras);
+    }
+
+    /** Estático para no adelantar la creación de la configuración; el registro se resuelve al envolver. */
+    @Bean
+    public static BeanPostProcessor dataSourceMedido(ObjectProvider<RegistroConsultas> registro) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof DataSource dataSource) {
+                    RegistroConsultas disponible = registro.getIfAvailable();
+                    return disponible == null ? bean : JdbcMedido.envolver(dataSource, disponible);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnBean(RegistroConsultas.class)
+    @ConditionalOnAvailableEndpoint
+    public ConsultasEndpoint consultasEndpoint(RegistroConsultas registro) {
+        return new ConsultasEndpoint(registro);
+    }
+}
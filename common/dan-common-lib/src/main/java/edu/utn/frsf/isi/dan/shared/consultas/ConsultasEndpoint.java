@@ -0,0 +1,37 @@
+package edu.utn.frsf.isi.dan.shared.consultas;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * <code>GET /actuator/consultas?limite=20</code>: las formas de consulta con más tiempo total acumulado y las
+ * últimas consultas lentas. <code>DELETE</code> reinicia los totales para medir una ventana puntual.
+ */
+@Endpoint(id = "consultas")
+public class ConsultasEndpoint {
+
+    private static final int LIMITE_POR_DEFECTO = 20;
+
+    private final RegistroConsultas registro;
+
+    public ConsultasEndpoint(RegistroConsultas registro) {
+        this.registro = registro;
+    }
+
+    public record Resumen(List<RegistroConsultas.ResumenForma> formas, List<RegistroConsultas.MuestraLenta> lentas) {
+    }
+
+    @ReadOperation
+    public Resumen consultas(@Nullable Integer limite) {
+        return new Resumen(registro.top(limite == null || limite <= 0 ? LIMITE_POR_DEFECTO : limite), registro.lentas());
+    }
+
+    @DeleteOperation
+    public void reiniciar() {
+        registro.reiniciar();
+    }
+}
@@ -0,0 +1,100 @@
+package edu.utn.frsf.isi.dan.shared.consultas;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normaliza sentencias SQL a su "forma": sin comentarios, con los literales reemplazados por <code>?</code>,
+ * las listas <code>IN (?, ?, ...)</code> colapsadas y los espacios unificados. Dos sentencias que solo
+ * difieren en los valores tienen la misma forma y se agregan juntas.
+ */
+public final class FormaConsulta {
+
+    static final int LARGO_MAXIMO = 1000;
+
+    private static final Pattern LISTA = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern FILAS = Pattern.compile("(\\(\\?\\.\\.\\.\\))(\\s*,\\s*\\(\\?(\\.\\.\\.)?\\))+");
+
+    private FormaConsulta() {
+    }
+
+    public static String normalizarSql(String sql) {
+        StringBuilder forma = new StringBuilder(Math.min(sql.length(), LARGO_MAXIMO * 2));
+        int n = sql.length();
+        int i = 0;
+        while (i < n) {
+            char c = sql.charAt(i);
+            if (c == '-' && i + 1 < n && sql.charAt(i + 1) == '-') {
+                while (i < n && sql.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (c == '/' && i + 1 < n && sql.charAt(i + 1) == '*') {
+                int fin = sql.indexOf("*/", i + 2);
+                i = fin < 0 ? n : fin + 2;
+                espacio(forma);
+            } else if (c == '\'') {
+                // Literal de texto, con '' como comilla escapada
+                i++;
+                while (i < n) {
+                    if (sql.charAt(i) == '\'' && (i + 1 >= n || sql.charAt(i + 1) != '\'')) {
+                        break;
+                    }
+                    i += sql.charAt(i) == '\'' || sql.charAt(i) == '\\' ? 2 : 1;
+                }
+                i++;
+                forma.append('?');
+            } else if (Character.isDigit(c) && !parteDeIdentificador(forma)) {
+                while (i < n && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                forma.append('?');
+            } else if (Character.isWhitespace(c)) {
+                espacio(forma);
+                i++;
+            } else {
+                forma.append(c);
+                i++;
+            }
+        }
+        String resultado = LISTA.matcher(forma.toString().strip()).replaceAll("(?...)");
+        resultado = FILAS.matcher(resultado).replaceAll("$1, ...");
+        return resultado.length() > LARGO_MAXIMO ? resultado.substring(0, LARGO_MAXIMO) + "..." : resultado;
+    }
+
+    /** Primera palabra de la forma (<code>select</code>, <code>insert</code>, <code>update</code>...). */
+    public static String operacion(String forma) {
+        int fin = 0;
+        while (fin < forma.length() && Character.isLetter(forma.charAt(fin))) {
+            fin++;
+        }
+        return fin == 0 ? "otra" : forma.substring(0, fin).toLowerCase(Locale.ROOT);
+    }
+
+    /** Identificador corto y estable de una forma, para usar como tag de métricas. */
+    public static String id(String fuente, String forma) {
+        long h = 0xCBF29CE484222325L;
+        for (String parte : new String[] { fuente, forma }) {
+            for (int i = 0; i < parte.length(); i++) {
+                h ^= parte.charAt(i);
+                h *= 0x100000001B3L;
+            }
+            h ^= 0xFF;
+            h *= 0x100000001B3L;
+        }
+        return String.format("%08x", (int) (h ^ (h >>> 32)));
+    }
+
+    private static void espacio(StringBuilder forma) {
+        if (forma.length() > 0 && forma.charAt(forma.length() - 1) != ' ') {
+            forma.append(' ');
+        }
+    }
+
+    private static boolean parteDeIdentificador(StringBuilder forma) {
+        if (forma.length() == 0) {
+            return false;
+        }
+        char anterior = forma.charAt(forma.length() - 1);
+        return Character.isLetterOrDigit(anterior) || anterior == '_' || anterior == '$' || anterior == '`' || anterior == '"';
+    }
+}
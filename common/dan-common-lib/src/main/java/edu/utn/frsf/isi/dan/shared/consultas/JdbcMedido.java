@@ -0,0 +1,175 @@
+package edu.utn.frsf.isi.dan.shared.consultas;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Envuelve un {@link DataSource} para medir cada sentencia en {@link RegistroConsultas}, sin depender de
+ * Hibernate: también cubre los <code>JdbcTemplate</code> de los servicios.
+ *
+ * <p>Se mide el tiempo de <code>execute*</code> (el envío y la primera respuesta, no la lectura del resultado),
+ * las filas afectadas que informa el driver y las filas leídas de cada <code>ResultSet</code>, que se suman al
+ * cerrarlo. Todo lo demás se delega sin cambios, incluido <code>unwrap</code>.</p>
+ */
+public final class JdbcMedido {
+
+    public static final String FUENTE = "jdbc";
+
+    private JdbcMedido() {
+    }
+
+    public static DataSource envolver(DataSource dataSource, RegistroConsultas registro) {
+        if (Proxy.isProxyClass(dataSource.getClass()) && Proxy.getInvocationHandler(dataSource) instanceof Delegado) {
+            return dataSource;
+        }
+        return proxy(DataSource.class, new Delegado(dataSource) {
+            @Override
+            Object invocar(Object proxy, Method method, Object[] args) throws Throwable {
+                Object resultado = delegar(method, args);
+                return resultado instanceof Connection conexion ? conexion(conexion, registro) : resultado;
+            }
+        });
+    }
+
+    private static Connection conexion(Connection conexion, RegistroConsultas registro) {
+        return proxy(Connection.class, new Delegado(conexion) {
+            @Override
+            Object invocar(Object proxy, Method method, Object[] args) throws Throwable {
+                Object resultado = delegar(method, args);
+                if (resultado instanceof Statement sentencia) {
+                    String sql = method.getName().startsWith("prepare") && args != null && args[0] instanceof String s ? s : null;
+                    Class<? extends Statement> tipo = sentencia instanceof CallableStatement ? CallableStatement.class
+                            : sentencia instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                    return sentencia(tipo, sentencia, sql, registro);
+                }
+                return resultado;
+            }
+        });
+    }
+
+    private static <T extends Statement> T sentencia(Class<T> tipo, Statement sentencia, String sqlPreparado,
+            RegistroConsultas registro) {
+        return proxy(tipo, new Delegado(sentencia) {
+            private String ultimoSql = sqlPreparado;
+
+            @Override
+            Object invocar(Object proxy, Method method, Object[] args) throws Throwable {
+                String nombre = method.getName();
+                if (nombre.equals("addBatch") && args != null && args.length == 1 && args[0] instanceof String s) {
+                    ultimoSql = s;
+                }
+                if (!nombre.startsWith("execute")) {
+                    Object resultado = delegar(method, args);
+                    return resultado instanceof ResultSet rs && nombre.equals("getResultSet") ? resultSet(rs, formaDe(null)) : resultado;
+                }
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : ultimoSql;
+                ultimoSql = sql;
+                RegistroConsultas.Forma forma = formaDe(sql);
+                long inicio = System.nanoTime();
+                Object resultado;
+                try {
+                    resultado = delegar(method, args);
+                } catch (Throwable e) {
+                    forma.error(System.nanoTime() - inicio);
+                    throw e;
+                }
+                long nanos = System.nanoTime() - inicio;
+                long afectadas = afectadas(resultado);
+                forma.ejecucion(nanos, afectadas);
+                forma.afectadas(afectadas);
+                return resultado instanceof ResultSet rs ? resultSet(rs, forma) : resultado;
+            }
+
+            private RegistroConsultas.Forma formaDe(String sql) {
+                String texto = sql != null ? sql : ultimoSql != null ? ultimoSql : "(sin sql)";
+                return registro.forma(FUENTE, texto, FormaConsulta::normalizarSql);
+            }
+        });
+    }
+
+    private static long afectadas(Object resultado) {
+        if (resultado instanceof Integer n) {
+            return n;
+        }
+        if (resultado instanceof Long n) {
+            return n;
+        }
+        long total = 0;
+        if (resultado instanceof int[] lote) {
+            for (int n : lote) {
+                total += Math.max(n, 0);
+            }
+        } else if (resultado instanceof long[] lote) {
+            for (long n : lote) {
+                total += Math.max(n, 0);
+            }
+        }
+        return total;
+    }
+
+    private static ResultSet resultSet(ResultSet resultSet, RegistroConsultas.Forma forma) {
+        return proxy(ResultSet.class, new Delegado(resultSet) {
+            private long filas;
+            private boolean informado;
+
+            @Override
+            Object invocar(Object proxy, Method method, Object[] args) throws Throwable {
+                String nombre = method.getName();
+                if (nombre.equals("next")) {
+                    boolean hay = (Boolean) delegar(method, args);
+                    if (hay) {
+                        filas++;
+                    }
+                    return hay;
+                }
+                if (nombre.equals("close") && !informado) {
+                    informado = true;
+                    forma.devueltas(filas);
+                }
+                return delegar(method, args);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> tipo, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(JdbcMedido.class.getClassLoader(), new Class<?>[] { tipo }, handler);
+    }
+
+    /** Delega en el objeto real y resuelve <code>equals</code>/<code>hashCode</code> sobre el proxy. */
+    private abstract static class Delegado implements InvocationHandler {
+        private final Object destino;
+
+        Delegado(Object destino) {
+            this.destino = destino;
+        }
+
+        @Override
+        public final Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> args.length == 1 && proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> "medido:" + destino;
+                default -> invocar(proxy, method, args);
+            };
+        }
+
+        abstract Object invocar(Object proxy, Method method, Object[] args) throws Throwable;
+
+        Object delegar(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(destino, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package edu.utn.frsf.isi.dan.shared.consultas;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Estadísticas de las consultas a la base agrupadas por forma (ver {@link FormaConsulta}).
+ *
+ * <p>Cada forma tiene un timer <code>db.consultas</code> (tags <code>fuente</code>, <code>forma</code> con el
+ * id corto y <code>operacion</code>) y contadores de filas/documentos devueltos y afectados; el histograma de
+ * latencia va en <code>db.latencia</code>, que solo se abre por fuente y operación, para que los buckets no se
+ * multipliquen por cada forma. Además se guardan en memoria los totales que lista el endpoint
+ * <code>consultas</code> y una muestra de las últimas consultas que superaron el umbral de lentitud, con su
+ * forma y no el texto enviado (los literales pueden traer datos personales). La cantidad de formas está
+ * acotada: pasado el máximo, las nuevas se agregan bajo una forma común para no multiplicar las series.</p>
+ */
+public class RegistroConsultas {
+
+    static final String OTRAS = "(otras formas)";
+    private static final int MAXIMO_TEXTOS = 10_000;
+
+    private final MeterRegistry meterRegistry;
+    private final int maximoFormas;
+    private final long umbralLentaNanos;
+    private final int maximoMuestras;
+
+    private final Map<String, Forma> formas = new ConcurrentHashMap<>();
+    /** Texto original a forma, para no normalizar de nuevo las sentencias preparadas que se repiten. */
+    private final Map<String, Forma> porTexto = new ConcurrentHashMap<>();
+    private final Deque<MuestraLenta> lentas = new ArrayDeque<>();
+    /** Timers con histograma por fuente y operación, compartidos por todas las formas. */
+    private final Map<String, Timer> latencias = new ConcurrentHashMap<>();
+
+    public RegistroConsultas(MeterRegistry meterRegistry, int maximoFormas, Duration umbralLenta, int maximoMuestras) {
+        this.meterRegistry = meterRegistry;
+        this.maximoFormas = maximoFormas;
+        this.umbralLentaNanos = umbralLenta.toNanos();
+        this.maximoMuestras = maximoMuestras;
+    }
+
+    public record MuestraLenta(String id, String fuente, String forma, double milisegundos, long filas, Instant instante) {
+    }
+
+    public record ResumenForma(String id, String fuente, String operacion, String forma, long ejecuciones, long errores,
+            double totalMs, double promedioMs, double maximoMs, long devueltas, long afectadas) {
+    }
+
+    /** Estadísticas de una forma. Los métodos son seguros para usar desde varios hilos. */
+    public final class Forma {
+        private final String id;
+        private final String fuente;
+        private final String texto;
+        private final String operacion;
+        private final Timer timer;
+        private final Timer latencia;
+        private final Counter contadorDevueltas;
+        private final Counter contadorAfectadas;
+        private final Counter contadorErrores;
+        private final LongAdder ejecuciones = new LongAdder();
+        private final LongAdder errores = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maximoNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder devueltas = new LongAdder();
+        private final LongAdder afectadas = new LongAdder();
+
+        private Forma(String fuente, String texto, String operacion) {
+            this.id = FormaConsulta.id(fuente, texto);
+            this.fuente = fuente;
+            this.texto = texto;
+            this.operacion = operacion;
+            this.timer = Timer.builder("db.consultas")
+                    .description("Duración de las consultas a la base por forma")
+                    .tags("fuente", fuente, "forma", id, "operacion", operacion)
+                    .register(meterRegistry);
+            this.latencia = latencias.computeIfAbsent(fuente + '\u0000' + operacion, k -> Timer.builder("db.latencia")
+                    .description("Duración de las consultas a la base por operación, con histograma")
+                    .tags("fuente", fuente, "operacion", operacion)
+                    .register(meterRegistry));
+            this.contadorDevueltas = filas("devueltas");
+            this.contadorAfectadas = filas("afectadas");
+            this.contadorErrores = Counter.builder("db.consultas.errores")
+                    .tags("fuente", fuente, "forma", id, "operacion", operacion)
+                    .register(meterRegistry);
+        }
+
+        private Counter filas(String tipo) {
+            return Counter.builder("db.consultas.filas")
+                    .description("Filas o documentos devueltos y afectados por forma")
+                    .tags("fuente", fuente, "forma", id, "operacion", operacion, "tipo", tipo)
+                    .register(meterRegistry);
+        }
+
+        /** Registra una ejecución; si supera el umbral queda además como muestra lenta. */
+        public void ejecucion(long nanos, long filas) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            latencia.record(nanos, TimeUnit.NANOSECONDS);
+            ejecuciones.increment();
+            totalNanos.add(nanos);
+            maximoNanos.accumulate(nanos);
+            if (nanos >= umbralLentaNanos) {
+                muestra(this, nanos, filas);
+            }
+        }
+
+        public void error(long nanos) {
+            ejecuciones.increment();
+            errores.increment();
+            totalNanos.add(nanos);
+            contadorErrores.increment();
+        }
+
+        public void devueltas(long cantidad) {
+            if (cantidad > 0) {
+                devueltas.add(cantidad);
+                contadorDevueltas.increment(cantidad);
+            }
+        }
+
+        public void afectadas(long cantidad) {
+            if (cantidad > 0) {
+                afectadas.add(cantidad);
+                contadorAfectadas.increment(cantidad);
+            }
+        }
+
+        ResumenForma resumen() {
+            long cantidad = ejecuciones.sum();
+            double total = totalNanos.sum() / 1e6;
+            return new ResumenForma(id, fuente, operacion, texto, cantidad, errores.sum(), total,
+                    cantidad == 0 ? 0 : total / cantidad, maximoNanos.get() / 1e6, devueltas.sum(), afectadas.sum());
+        }
+    }
+
+    /**
+     * Forma de una sentencia, normalizándola con <code>normalizador</code> solo la primera vez que se ve el
+     * mismo texto. Pensado para SQL, donde las sentencias preparadas se repiten literalmente.
+     */
+    public Forma forma(String fuente, String texto, Function<String, String> normalizador) {
+        Forma forma = porTexto.get(texto);
+        if (forma != null) {
+            return forma;
+        }
+        String normalizada = normalizador.apply(texto);
+        forma = formaNormalizada(fuente, normalizada, FormaConsulta.operacion(normalizada));
+        if (porTexto.size() < MAXIMO_TEXTOS) {
+            porTexto.putIfAbsent(texto, forma);
+        }
+        return forma;
+    }
+
+    /** Forma ya normalizada por el llamador (por ejemplo, un comando de Mongo). */
+    public Forma formaNormalizada(String fuente, String normalizada, String operacion) {
+        String clave = fuente + '\u0000' + normalizada;
+        Forma forma = formas.get(clave);
+        if (forma != null) {
+            return forma;
+        }
+        if (formas.size() >= maximoFormas) {
+            return formas.computeIfAbsent(fuente + '\u0000' + OTRAS, k -> new Forma(fuente, OTRAS, "otra"));
+        }
+        return formas.computeIfAbsent(clave, k -> new Forma(fuente, normalizada, operacion));
+    }
+
+    private void muestra(Forma forma, long nanos, long filas) {
+        MuestraLenta muestra = new MuestraLenta(forma.id, forma.fuente, forma.texto, nanos / 1e6, filas, Instant.now());
+        synchronized (lentas) {
+            if (lentas.size() == maximoMuestras) {
+                lentas.removeFirst();
+            }
+            lentas.addLast(muestra);
+        }
+    }
+
+    /** Las <code>limite</code> formas con más tiempo total acumulado. */
+    public List<ResumenForma> top(int limite) {
+        return formas.values().stream()
+                .map(Forma::resumen)
+                .sorted(Comparator.comparingDouble(ResumenForma::totalMs).reversed())
+                .limit(limite)
+                .toList();
+    }
+
+    /** Consultas lentas más recientes primero. */
+    public List<MuestraLenta> lentas() {
+        synchronized (lentas) {
+            List<MuestraLenta> copia = new ArrayList<>(lentas);
+            return copia.reversed();
+        }
+    }
+
+    /** Descarta los totales en memoria y las muestras; las métricas de Micrometer no se tocan. */
+    public void reiniciar() {
+        formas.values().forEach(f -> {
+            f.ejecuciones.reset();
+            f.errores.reset();
+            f.totalNanos.reset();
+            f.maximoNanos.reset();
+            f.devueltas.reset();
+            f.afectadas.reset();
+        });
+        synchronized (lentas) {
+            lentas.clear();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package edu.utn.frsf.isi.dan.shared.jfr;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Recorre un volcado de JFR una sola vez y agrupa lo que hace falta para una primera mirada: métodos en CPU,
+ * sitios de asignación, contención de locks y los eventos propios de los servicios. Para el detalle fino está
+ * el archivo completo en JDK Mission Control.
+ */
+final class AnalizadorJfr {
+
+    static final String PREFIJO_EVENTOS_PROPIOS = "dan.";
+
+    private static final String[] PAQUETES_JDK = { "java.", "javax.", "jdk.", "sun.", "com.sun." };
+
+    private final Instant desde;
+    private final Map<String, Acumulado> metodos = new HashMap<>();
+    private final Map<String, Acumulado> asignaciones = new HashMap<>();
+    private final Map<String, Acumulado> contencion = new HashMap<>();
+    private final Map<String, Acumulado> eventos = new HashMap<>();
+    private long muestrasCpu;
+    private long bytesAsignados;
+    private Instant hasta;
+
+    private AnalizadorJfr(Instant desde) {
+        this.desde = desde;
+        this.hasta = desde;
+    }
+
+    static ResumenJfr analizar(Path archivo, Instant desde, int limite) throws IOException {
+        AnalizadorJfr analizador = new AnalizadorJfr(desde);
+        if (Files.size(archivo) > 0) {
+            try (RecordingFile grabacion = new RecordingFile(archivo)) {
+                while (grabacion.hasMoreEvents()) {
+                    analizador.agregar(grabacion.readEvent());
+                }
+            }
+        }
+        return analizador.resumen(limite);
+    }
+
+    private void agregar(RecordedEvent evento) {
+        if (evento.getEndTime().isBefore(desde)) {
+            return;
+        }
+        if (evento.getEndTime().isAfter(hasta)) {
+            hasta = evento.getEndTime();
+        }
+        String tipo = evento.getEventType().getName();
+        switch (tipo) {
+            case "jdk.ExecutionSample" -> {
+                muestrasCpu++;
+                RecordedFrame tope = tope(evento.getStackTrace());
+                acumular(metodos, tope == null ? "(sin pila)" : metodo(tope), null, 1, Duration.ZERO);
+            }
+            case "jdk.ObjectAllocationSample" -> {
+                long peso = evento.getLong("weight");
+                bytesAsignados += peso;
+                RecordedFrame tope = tope(evento.getStackTrace());
+                String clase = nombre(evento.getClass("objectClass"));
+                String origen = origen(evento.getStackTrace());
+                acumular(asignaciones, clase + '|' + (tope == null ? "" : metodo(tope)) + '|' + origen,
+                        new String[] { clase, tope == null ? null : metodo(tope), origen }, peso, Duration.ZERO);
+            }
+            case "jdk.JavaMonitorEnter" -> contencion(evento, "monitor", evento.getClass("monitorClass"));
+            case "jdk.ThreadPark" -> contencion(evento, "park", evento.getClass("parkedClass"));
+            default -> {
+                if (tipo.startsWith(PREFIJO_EVENTOS_PROPIOS)) {
+                    acumular(eventos, tipo, null, 1, evento.getDuration());
+                }
+            }
+        }
+    }
+
+    private void contencion(RecordedEvent evento, String tipo, RecordedClass clase) {
+        String nombre = nombre(clase);
+        String origen = origen(evento.getStackTrace());
+        acumular(contencion, tipo + '|' + nombre + '|' + origen, new String[] { tipo, nombre, origen }, 1,
+                evento.getDuration());
+    }
+
+    private static void acumular(Map<String, Acumulado> destino, String clave, String[] partes, long cantidad,
+            Duration duracion) {
+        Acumulado acumulado = destino.computeIfAbsent(clave, c -> new Acumulado(partes == null ? new String[] { c } : partes));
+        acumulado.cantidad += cantidad;
+        acumulado.eventos++;
+        acumulado.totalNanos += duracion.toNanos();
+        acumulado.maximoNanos = Math.max(acumulado.maximoNanos, duracion.toNanos());
+    }
+
+    private ResumenJfr resumen(int limite) {
+        return new ResumenJfr(desde, hasta, muestrasCpu, bytesAsignados,
+                top(metodos, limite, a -> a.cantidad).stream()
+                        .map(a -> new ResumenJfr.MetodoCaliente(a.partes[0], a.cantidad, porcentaje(a.cantidad, muestrasCpu)))
+                        .toList(),
+                top(asignaciones, limite, a -> a.cantidad).stream()
+                        .map(a -> new ResumenJfr.SitioAsignacion(a.partes[0], a.partes[1], a.partes[2], a.cantidad,
+                                porcentaje(a.cantidad, bytesAsignados)))
+                        .toList(),
+                top(contencion, limite, a -> a.totalNanos).stream()
+                        .map(a -> new ResumenJfr.Contencion(a.partes[0], a.partes[1], a.partes[2], a.eventos,
+                                milis(a.totalNanos), milis(a.maximoNanos)))
+                        .toList(),
+                top(eventos, Integer.MAX_VALUE, a -> a.cantidad).stream()
+                        .map(a -> new ResumenJfr.EventoPropio(a.partes[0], a.cantidad, milis(a.totalNanos), milis(a.maximoNanos)))
+                        .toList());
+    }
+
+    private static List<Acumulado> top(Map<String, Acumulado> acumulados, int limite, ToLongFunction<Acumulado> orden) {
+        return acumulados.values().stream()
+                .sorted(Comparator.comparingLong(orden).reversed())
+                .limit(limite)
+                .toList();
+    }
+
+    private static RecordedFrame tope(RecordedStackTrace pila) {
+        return pila == null || pila.getFrames().isEmpty() ? null : pila.getFrames().get(0);
+    }
+
+    /** Primer marco de código propio o de librerías; <code>null</code> si la pila entera es del JDK o se truncó. */
+    private static String origen(RecordedStackTrace pila) {
+        if (pila == null) {
+            return null;
+        }
+        for (RecordedFrame marco : pila.getFrames()) {
+            if (marco.isJavaFrame() && !delJdk(marco.getMethod().getType().getName())) {
+                return metodo(marco) + ':' + marco.getLineNumber();
+            }
+        }
+        return null;
+    }
+
+    private static boolean delJdk(String clase) {
+        for (String paquete : PAQUETES_JDK) {
+            if (clase.startsWith(paquete)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String metodo(RecordedFrame marco) {
+        return marco.getMethod().getType().getName() + '.' + marco.getMethod().getName();
+    }
+
+    private static String nombre(RecordedClass clase) {
+        return clase == null ? null : clase.getName();
+    }
+
+    private static double porcentaje(long parte, long total) {
+        return total == 0 ? 0 : Math.round(parte * 1000.0 / total) / 10.0;
+    }
+
+    private static double milis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static final class Acumulado {
+
+        private final String[] partes;
+        private long cantidad;
+        private long eventos;
+        private long totalNanos;
+        private long maximoNanos;
+
+        Acumulado(String[] partes) {
+            this.partes = partes;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package edu.utn.frsf.isi.dan.shared.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import lombok.extern.log4j.Log4j2;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Grabación de Java Flight Recorder que corre mientras vive el servicio, con la configuración
+ * <code>default</code> del JDK (pensada para producción, alrededor de 1% de sobrecosto) más los eventos propios
+ * de cada servicio. Guarda en disco solo los últimos {@code retencion} o {@code tamanioMaximo}, lo que se cumpla
+ * primero, así que siempre hay datos de lo que pasó antes de que alguien mire.
+ */
+@Log4j2
+public class GrabacionContinua implements InitializingBean, DisposableBean {
+
+    private final String configuracion;
+    private final Duration retencion;
+    private final long tamanioMaximo;
+    private Recording grabacion;
+
+    public GrabacionContinua(String configuracion, Duration retencion, long tamanioMaximo) {
+        this.configuracion = configuracion;
+        this.retencion = retencion;
+        this.tamanioMaximo = tamanioMaximo;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException, ParseException {
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("JFR no está disponible en esta JVM; el servicio sigue sin grabación continua");
+            return;
+        }
+        grabacion = new Recording(Configuration.getConfiguration(configuracion));
+        grabacion.setName("dan-continua");
+        grabacion.setToDisk(true);
+        grabacion.setMaxAge(retencion);
+        grabacion.setMaxSize(tamanioMaximo);
+        grabacion.start();
+        log.info("Grabación JFR continua iniciada (configuración {}, últimos {} o {} MB)", configuracion, retencion,
+                tamanioMaximo / (1024 * 1024));
+    }
+
+    public Duration retencion() {
+        return retencion;
+    }
+
+    /**
+     * Vuelca lo grabado desde {@code desde} hasta ahora en un archivo temporal que debe borrar quien lo pide; si
+     * no hay nada grabado en ese lapso el archivo queda vacío. Se vuelca una copia para no detener la grabación;
+     * JFR escribe por fragmentos, así que el archivo puede empezar algo antes de {@code desde}.
+     */
+    public synchronized Path volcar(Instant desde) throws IOException {
+        if (grabacion == null) {
+            throw new IllegalStateException("La grabación JFR no está iniciada");
+        }
+        Path archivo = Files.createTempFile("dan-jfr-", ".jfr");
+        try (Recording copia = grabacion.copy(true);
+                InputStream fragmentos = copia.getStream(desde, Instant.now())) {
+            if (fragmentos != null) {
+                Files.copy(fragmentos, archivo, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(archivo);
+            throw e;
+        }
+        return archivo;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (grabacion != null) {
+            grabacion.close();
+            grabacion = null;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package edu.utn.frsf.isi.dan.shared.jfr;
+
+import jdk.jfr.Recording;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Perfilado continuo para todos los servicios que usan la librería común: una {@link GrabacionContinua} de JFR
+ * con buffer rotativo en disco y el endpoint <code>jfr</code> para resumirla o descargarla, protegido por
+ * {@link TokenJfrFiltro}. Se desactiva con <code>jfr.habilitado=false</code>. Los eventos propios de cada
+ * servicio (<code>dan.*</code>) entran en la grabación sin configuración extra.
+ */
+@AutoConfiguration
+@ConditionalOnClass(Recording.class)
+@ConditionalOnProperty(prefix = "jfr", name = "habilitado", havingValue = "true", matchIfMissing = true)
+public class JfrAutoConfiguration {
+
+    @Bean
+    public GrabacionContinua grabacionContinua(@Value("${jfr.configuracion:default}") String configuracion,
+            @Value("${jfr.retencion:30m}") Duration retencion,
+            @Value("${jfr.tamanio-maximo:256MB}") DataSize tamanioMaximo) {
+        return new GrabacionContinua(configuracion, retencion, tamanioMaximo.toBytes());
+    }
+
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    public JfrEndpoint jfrEndpoint(GrabacionContinua grabacion) {
+        return new JfrEndpoint(grabacion);
+    }
+
+    @Bean
+    @ConditionalOnAvailableEndpoint(endpoint = JfrEndpoint.class)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<TokenJfrFiltro> tokenJfrFiltro(@Value("${jfr.token:}") String token,
+            @Value("${management.endpoints.web.base-path:/actuator}") String basePath) {
+        FilterRegistrationBean<TokenJfrFiltro> registro = new FilterRegistrationBean<>(new TokenJfrFiltro(token));
+        registro.addUrlPatterns(basePath + "/jfr", basePath + "/jfr/*");
+        return registro;
+    }
+}
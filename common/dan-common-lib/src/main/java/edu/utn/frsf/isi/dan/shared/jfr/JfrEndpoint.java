@@ -0,0 +1,102 @@
+package edu.utn.frsf.isi.dan.shared.jfr;
+
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * <code>GET /actuator/jfr?minutos=5&amp;limite=20</code>: resumen de los últimos minutos de la grabación continua
+ * (métodos en CPU, sitios de asignación, contención de locks y eventos propios). <code>GET
+ * /actuator/jfr/grabacion?minutos=5</code> descarga esos minutos como <code>.jfr</code> para abrirlos en JDK
+ * Mission Control. Ambos piden <code>Authorization: Bearer ${jfr.token}</code> (ver {@link TokenJfrFiltro}).
+ */
+@WebEndpoint(id = "jfr")
+public class JfrEndpoint {
+
+    private static final int MINUTOS_POR_DEFECTO = 5;
+    private static final int LIMITE_POR_DEFECTO = 20;
+
+    private final GrabacionContinua grabacion;
+
+    public JfrEndpoint(GrabacionContinua grabacion) {
+        this.grabacion = grabacion;
+    }
+
+    @ReadOperation
+    public ResumenJfr resumen(@Nullable Integer minutos, @Nullable Integer limite) {
+        Instant desde = desde(minutos);
+        try {
+            Path archivo = grabacion.volcar(desde);
+            try {
+                return AnalizadorJfr.analizar(archivo, desde, limite == null || limite <= 0 ? LIMITE_POR_DEFECTO : limite);
+            } finally {
+                Files.deleteIfExists(archivo);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo volcar la grabación JFR", e);
+        }
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> descargar(@Selector String nombre, @Nullable Integer minutos) {
+        if (!"grabacion".equals(nombre)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        try {
+            return new WebEndpointResponse<>(new ArchivoTemporal(grabacion.volcar(desde(minutos))));
+        } catch (IOException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /** Entre un minuto y lo que retiene la grabación. */
+    private Instant desde(Integer minutos) {
+        long maximo = Math.max(1, grabacion.retencion().toMinutes());
+        long pedidos = minutos == null || minutos <= 0 ? MINUTOS_POR_DEFECTO : minutos;
+        return Instant.now().minusSeconds(Math.min(pedidos, maximo) * 60);
+    }
+
+    /** Se borra al terminar de enviarse; por eso no se expone como archivo y se lee como stream. */
+    private static final class ArchivoTemporal extends FileSystemResource {
+
+        ArchivoTemporal(Path archivo) {
+            super(archivo);
+        }
+
+        @Override
+        public boolean isFile() {
+            return false;
+        }
+
+        @Override
+        public String getFilename() {
+            return "dan-" + Instant.now().getEpochSecond() + ".jfr";
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package edu.utn.frsf.isi.dan.shared.jfr;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Lo que devuelve <code>GET /actuator/jfr</code> para una ventana de la grabación continua. Los porcentajes son
+ * sobre el total de la ventana; {@code origen} es el primer marco de la pila fuera del JDK, que suele decir más
+ * que el marco superior (un <code>Arrays.copyOf</code> o un <code>LockSupport.park</code>).
+ *
+ * @param muestrasCpu muestras de ejecución (<code>jdk.ExecutionSample</code>) en la ventana
+ * @param bytesAsignados estimación de bytes asignados según <code>jdk.ObjectAllocationSample</code>
+ */
+public record ResumenJfr(Instant desde, Instant hasta, long muestrasCpu, long bytesAsignados,
+        List<MetodoCaliente> metodosCalientes, List<SitioAsignacion> asignaciones, List<Contencion> contencion,
+        List<EventoPropio> eventos) {
+
+    /** Método en el tope de la pila en las muestras de CPU. */
+    public record MetodoCaliente(String metodo, long muestras, double porcentaje) {
+    }
+
+    public record SitioAsignacion(String clase, String metodo, String origen, long bytes, double porcentaje) {
+    }
+
+    /**
+     * Esperas por un monitor (<code>synchronized</code>) o estacionamientos de hilos (locks de
+     * <code>java.util.concurrent</code>) por encima del umbral de la configuración de JFR (20 ms en
+     * <code>default</code>).
+     *
+     * @param tipo <code>monitor</code> o <code>park</code>
+     * @param clase clase del monitor o del objeto por el que se estacionó el hilo, si JFR la conoce
+     */
+    public record Contencion(String tipo, String clase, String origen, long eventos, double totalMs, double maximoMs) {
+    }
+
+    /** Eventos propios de los servicios (<code>dan.*</code>), con su duración. */
+    public record EventoPropio(String evento, long cantidad, double totalMs, double maximoMs) {
+    }
+}
@@ -0,0 +1,46 @@
+package edu.utn.frsf.isi.dan.shared.jfr;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Protege <code>/actuator/jfr</code>: un volcado expone nombres de clases, pilas y parámetros de los eventos, y
+ * generarlo cuesta CPU. Los servicios no tienen Spring Security, así que se pide un token compartido en
+ * <code>Authorization: Bearer</code>. Sin <code>jfr.token</code> configurado el endpoint queda cerrado.
+ */
+public class TokenJfrFiltro extends OncePerRequestFilter {
+
+    private static final String PREFIJO = "Bearer ";
+
+    private final byte[] token;
+
+    public TokenJfrFiltro(String token) {
+        this.token = token == null || token.isBlank() ? null : token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (token == null) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Definir jfr.token para habilitar /actuator/jfr");
+            return;
+        }
+        String autorizacion = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (autorizacion == null || !autorizacion.startsWith(PREFIJO)
+                || !MessageDigest.isEqual(token, autorizacion.substring(PREFIJO.length()).getBytes(StandardCharsets.UTF_8))) {
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
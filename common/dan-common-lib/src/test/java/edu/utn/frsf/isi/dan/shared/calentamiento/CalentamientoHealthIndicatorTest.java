@@ -0,0 +1,61 @@
+package edu.utn.frsf.isi.dan.shared.calentamiento;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.SimpleHttpCodeStatusMapper;
+import org.springframework.boot.actuate.health.SimpleStatusAggregator;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalentamientoHealthIndicatorTest {
+
+    @Test
+    public void testCalentandoHastaQueTermina() {
+        Calentamiento calentamiento = new Calentamiento(List.of(new TareaCalentamiento() {
+            @Override
+            public String nombre() {
+                return "busqueda";
+            }
+
+            @Override
+            public void ejecutar(int iteracion) {
+            }
+        }), new SimpleMeterRegistry(), true, Duration.ofMinutes(1), Duration.ofSeconds(1), 4, 2, 1e9, 1, 10);
+        CalentamientoHealthIndicator indicador = new CalentamientoHealthIndicator(calentamiento);
+
+        assertEquals(CalentamientoHealthIndicator.CALENTANDO, indicador.health().getStatus());
+
+        calentamiento.ejecutar();
+
+        Health salud = indicador.health();
+        assertEquals(Status.UP, salud.getStatus());
+        assertEquals(Calentamiento.Estado.CONVERGIO, salud.getDetails().get("estado"));
+        assertTrue(salud.getDetails().containsKey("duracionMs"));
+    }
+
+    /** Los mismos valores que management.endpoint.health.* en el application.properties de los servicios. */
+    @Test
+    public void testCalentandoSoloAfectaAReadiness() {
+        Set<Status> estados = Set.of(Status.UP, CalentamientoHealthIndicator.CALENTANDO);
+
+        Status general = new SimpleStatusAggregator().getAggregateStatus(estados);
+        Status readiness = new SimpleStatusAggregator("down", "out-of-service", "calentando", "up", "unknown")
+                .getAggregateStatus(estados);
+
+        assertEquals(Status.UP, general);
+        assertEquals(200, new SimpleHttpCodeStatusMapper().getStatusCode(general));
+        assertEquals(CalentamientoHealthIndicator.CALENTANDO, readiness);
+        SimpleHttpCodeStatusMapper mapeoReadiness = new SimpleHttpCodeStatusMapper(
+                Map.of("down", 503, "out-of-service", 503, "calentando", 503));
+        assertEquals(503, mapeoReadiness.getStatusCode(readiness));
+        assertEquals(503, mapeoReadiness.getStatusCode(Status.OUT_OF_SERVICE));
+        assertEquals(200, mapeoReadiness.getStatusCode(Status.UP));
+    }
+}
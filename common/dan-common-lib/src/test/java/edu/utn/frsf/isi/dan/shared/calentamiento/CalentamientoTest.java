@@ -0,0 +1,210 @@
+package edu.utn.frsf.isi.dan.shared.calentamiento;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalentamientoTest {
+
+    /** Con esta tolerancia toda ronda después de la primera es estable; con una negativa, ninguna. */
+    private static final double SIEMPRE_ESTABLE = 1e9;
+    private static final double NUNCA_ESTABLE = -1;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void testConvergeTrasLasRondasEstables() {
+        Tarea tarea = new Tarea("busqueda");
+        Calentamiento calentamiento = calentamiento(List.of(tarea), SIEMPRE_ESTABLE, Duration.ofMinutes(1), 100);
+
+        calentamiento.ejecutar();
+
+        assertEquals(Calentamiento.Estado.CONVERGIO, calentamiento.estado());
+        assertTrue(calentamiento.terminado());
+        // la primera ronda no tiene con qué compararse: 1 + 3 rondas estables
+        assertEquals(4, calentamiento.medianasMs().get("busqueda").size());
+        assertEquals(1, tarea.preparaciones.get());
+        assertEquals(4 * 8, tarea.ejecuciones.get());
+        assertEquals(32, meterRegistry.get("calentamiento.operacion").tag("resultado", "ok").timer().count());
+        assertEquals(4.0, meterRegistry.get("calentamiento.rondas").tag("tarea", "busqueda").gauge().value());
+        assertNotNull(meterRegistry.get("calentamiento.duracion").tag("resultado", "convergio").gauge());
+    }
+
+    @Test
+    public void testLasMetricasNoCrecenConLasRondas() {
+        Calentamiento calentamiento = calentamiento(List.of(new Tarea("busqueda")), NUNCA_ESTABLE, Duration.ofMinutes(1), 20);
+
+        calentamiento.ejecutar();
+
+        assertEquals(20, calentamiento.medianasMs().get("busqueda").size());
+        assertEquals(1, meterRegistry.find("calentamiento.mediana").gauges().size());
+        assertEquals(1, meterRegistry.find("calentamiento.rondas").gauges().size());
+        double ultimaMs = calentamiento.medianasMs().get("busqueda").get(19);
+        assertEquals(ultimaMs / 1e3, meterRegistry.get("calentamiento.mediana").gauge().value(), 1e-12);
+    }
+
+    @Test
+    public void testSinConvergerAlAgotarLasRondas() {
+        Calentamiento calentamiento = calentamiento(List.of(new Tarea("busqueda")), NUNCA_ESTABLE, Duration.ofMinutes(1), 6);
+
+        calentamiento.ejecutar();
+
+        assertEquals(Calentamiento.Estado.SIN_CONVERGER, calentamiento.estado());
+        assertEquals(6, calentamiento.medianasMs().get("busqueda").size());
+        assertNotNull(meterRegistry.get("calentamiento.duracion").tag("resultado", "sin_converger").gauge());
+    }
+
+    @Test
+    public void testSinConvergerAlVencerLaDuracionMaxima() {
+        Tarea lenta = new Tarea("lenta") {
+            @Override
+            public void ejecutar(int iteracion) throws Exception {
+                super.ejecutar(iteracion);
+                Thread.sleep(10);
+            }
+        };
+        Calentamiento calentamiento = calentamiento(List.of(lenta), NUNCA_ESTABLE, Duration.ofMillis(300), 10_000);
+
+        calentamiento.ejecutar();
+
+        assertEquals(Calentamiento.Estado.SIN_CONVERGER, calentamiento.estado());
+        assertTrue(calentamiento.duracion().compareTo(Duration.ofMillis(300)) >= 0, () -> "duró " + calentamiento.duracion());
+        assertTrue(calentamiento.duracion().compareTo(Duration.ofSeconds(5)) < 0, () -> "duró " + calentamiento.duracion());
+        assertTrue(calentamiento.medianasMs().get("lenta").size() < 10_000);
+    }
+
+    @Test
+    public void testTareaQueNuncaEstaListaSeOmite() {
+        Tarea nunca = new Tarea("sin-indices") {
+            @Override
+            public boolean lista() {
+                return false;
+            }
+        };
+        Tarea busqueda = new Tarea("busqueda");
+        Calentamiento calentamiento = new Calentamiento(List.of(nunca, busqueda), meterRegistry, true,
+                Duration.ofMinutes(1), Duration.ofMillis(600), 8, 2, SIEMPRE_ESTABLE, 3, 100);
+
+        calentamiento.ejecutar();
+
+        assertEquals(Calentamiento.Estado.CONVERGIO, calentamiento.estado());
+        assertEquals(0, nunca.preparaciones.get());
+        assertEquals(0, nunca.ejecuciones.get());
+        assertFalse(calentamiento.medianasMs().containsKey("sin-indices"));
+        assertTrue(calentamiento.medianasMs().containsKey("busqueda"));
+        assertTrue(calentamiento.duracion().compareTo(Duration.ofMillis(600)) >= 0);
+    }
+
+    @Test
+    public void testSinTareasListasTerminaSinConverger() {
+        Tarea nunca = new Tarea("sin-indices") {
+            @Override
+            public boolean lista() {
+                return false;
+            }
+        };
+        Calentamiento calentamiento = new Calentamiento(List.of(nunca), meterRegistry, true,
+                Duration.ofMinutes(1), Duration.ZERO, 8, 2, SIEMPRE_ESTABLE, 3, 100);
+
+        calentamiento.ejecutar();
+
+        assertEquals(Calentamiento.Estado.SIN_CONVERGER, calentamiento.estado());
+        assertTrue(calentamiento.terminado());
+    }
+
+    @Test
+    public void testTareaQueFallaSeCuentaYNoFrenaElCalentamiento() {
+        Tarea falla = new Tarea("falla") {
+            @Override
+            public void ejecutar(int iteracion) throws Exception {
+                super.ejecutar(iteracion);
+                throw new IllegalStateException("sin conexión");
+            }
+        };
+        Tarea busqueda = new Tarea("busqueda");
+        Calentamiento calentamiento = calentamiento(List.of(falla, busqueda), SIEMPRE_ESTABLE, Duration.ofMinutes(1), 100);
+
+        calentamiento.ejecutar();
+
+        assertTrue(calentamiento.terminado());
+        assertEquals(falla.ejecuciones.get(),
+                meterRegistry.get("calentamiento.operacion").tag("tarea", "falla").tag("resultado", "error").timer().count());
+        assertEquals(0, meterRegistry.get("calentamiento.operacion").tag("tarea", "falla").tag("resultado", "ok").timer().count());
+        assertEquals(busqueda.ejecuciones.get(),
+                meterRegistry.get("calentamiento.operacion").tag("tarea", "busqueda").tag("resultado", "ok").timer().count());
+    }
+
+    @Test
+    public void testTareaQueFallaAlPrepararSeOmite() {
+        Tarea falla = new Tarea("falla") {
+            @Override
+            public void preparar() {
+                throw new IllegalStateException("sin datos de muestra");
+            }
+        };
+        Tarea busqueda = new Tarea("busqueda");
+        Calentamiento calentamiento = calentamiento(List.of(falla, busqueda), SIEMPRE_ESTABLE, Duration.ofMinutes(1), 100);
+
+        calentamiento.ejecutar();
+
+        assertEquals(Calentamiento.Estado.CONVERGIO, calentamiento.estado());
+        assertEquals(0, falla.ejecuciones.get());
+        assertFalse(calentamiento.medianasMs().containsKey("falla"));
+    }
+
+    @Test
+    public void testDeshabilitadoQuedaTerminadoSinCorrer() {
+        Tarea tarea = new Tarea("busqueda");
+        Calentamiento calentamiento = new Calentamiento(List.of(tarea), meterRegistry, false,
+                Duration.ofMinutes(1), Duration.ofSeconds(30), 8, 2, SIEMPRE_ESTABLE, 3, 100);
+
+        calentamiento.onApplicationEvent(null);
+
+        assertEquals(Calentamiento.Estado.DESACTIVADO, calentamiento.estado());
+        assertTrue(calentamiento.terminado());
+        assertEquals(0, tarea.ejecuciones.get());
+    }
+
+    private Calentamiento calentamiento(List<TareaCalentamiento> tareas, double tolerancia, Duration duracionMaxima,
+            int rondasMaximas) {
+        return new Calentamiento(tareas, meterRegistry, true, duracionMaxima, Duration.ofSeconds(30), 8, 2,
+                tolerancia, 3, rondasMaximas);
+    }
+
+    private static class Tarea implements TareaCalentamiento {
+
+        private final String nombre;
+        final AtomicInteger preparaciones = new AtomicInteger();
+        final AtomicInteger ejecuciones = new AtomicInteger();
+
+        Tarea(String nombre) {
+            this.nombre = nombre;
+        }
+
+        @Override
+        public String nombre() {
+            return nombre;
+        }
+
+        @Override
+        public void preparar() {
+            preparaciones.incrementAndGet();
+        }
+
+        @Override
+        public void ejecutar(int iteracion) throws Exception {
+            ejecuciones.incrementAndGet();
+        }
+    }
+}
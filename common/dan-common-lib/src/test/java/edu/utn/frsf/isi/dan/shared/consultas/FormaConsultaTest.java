@@ -0,0 +1,75 @@
+package edu.utn.frsf.isi.dan.shared.consultas;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FormaConsultaTest {
+
+    @Test
+    public void testLiteralesYNumerosSeReemplazan() {
+        assertEquals("select * from t where a = ? and b = ? and c = ?",
+                FormaConsulta.normalizarSql("select * from t where a = 'x''y' and b = 42 and c = 3.5e2"));
+        assertEquals("update usuarios set nombre = ? where dni = ?",
+                FormaConsulta.normalizarSql("update usuarios set nombre = 'Ana' where dni = '30111222'"));
+    }
+
+    @Test
+    public void testIdentificadoresConDigitosNoCambian() {
+        assertEquals("SELECT col1, t2.x from t2 where id = ?",
+                FormaConsulta.normalizarSql("SELECT col1, t2.x from t2 where id = 7"));
+    }
+
+    @Test
+    public void testComentariosYEspaciosSeDescartan() {
+        assertEquals("select ? from dual where x=?",
+                FormaConsulta.normalizarSql("-- comentario\nselect 1 /* hint */ from   dual\n where\tx='a'"));
+    }
+
+    @Test
+    public void testListaInDeCualquierLargoEsLaMismaForma() {
+        String uno = FormaConsulta.normalizarSql("select * from t where id in (?)");
+        String dos = FormaConsulta.normalizarSql("select * from t where id in (?, ?)");
+        String muchos = FormaConsulta.normalizarSql("select * from t where id in (1, 2,3, 4)");
+
+        assertEquals("select * from t where id in (?)", uno);
+        assertEquals("select * from t where id in (?...)", dos);
+        assertEquals(dos, muchos);
+    }
+
+    @Test
+    public void testInsertDeVariasFilasEsLaMismaForma() {
+        String dos = FormaConsulta.normalizarSql("insert into t (a, b) values (?, ?), (?, ?)");
+        String tres = FormaConsulta.normalizarSql("insert into t (a, b) values (1, 'a'), (2, 'b'), (3, 'c')");
+
+        assertEquals("insert into t (a, b) values (?...), ...", dos);
+        assertEquals(dos, tres);
+        assertEquals("insert into t (a, b) values (?...)", FormaConsulta.normalizarSql("insert into t (a, b) values (?, ?)"));
+    }
+
+    @Test
+    public void testTextoLargoSeRecorta() {
+        String sql = "select " + "columna, ".repeat(500) + "x from t";
+
+        String forma = FormaConsulta.normalizarSql(sql);
+
+        assertEquals(FormaConsulta.LARGO_MAXIMO + 3, forma.length());
+        assertTrue(forma.endsWith("..."));
+    }
+
+    @Test
+    public void testOperacion() {
+        assertEquals("select", FormaConsulta.operacion("SELECT * from t"));
+        assertEquals("insert", FormaConsulta.operacion("insert into t values (?)"));
+        assertEquals("otra", FormaConsulta.operacion(""));
+    }
+
+    @Test
+    public void testIdEstableYPorFuente() {
+        String id = FormaConsulta.id("jdbc", "select ? from dual");
+
+        assertEquals(8, id.length());
+        assertEquals(id, FormaConsulta.id("jdbc", "select ? from dual"));
+        assertNotEquals(id, FormaConsulta.id("mongo", "select ? from dual"));
+    }
+}
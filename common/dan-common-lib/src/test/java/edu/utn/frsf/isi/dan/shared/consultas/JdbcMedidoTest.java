@@ -0,0 +1,152 @@
+package edu.utn.frsf.isi.dan.shared.consultas;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class JdbcMedidoTest {
+
+    private static final String SQL = "select * from reserva where id_habitacion = ?";
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection conexion;
+
+    @Mock
+    private PreparedStatement preparada;
+
+    @Mock
+    private Statement sentencia;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RegistroConsultas registro;
+    private DataSource medido;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        registro = new RegistroConsultas(meterRegistry, 200, Duration.ofHours(1), 10);
+        medido = JdbcMedido.envolver(dataSource, registro);
+        when(dataSource.getConnection()).thenReturn(conexion);
+        when(conexion.prepareStatement(anyString())).thenReturn(preparada);
+        when(conexion.createStatement()).thenReturn(sentencia);
+        when(preparada.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, true, false);
+    }
+
+    @Test
+    public void testConsultaCuentaEjecucionYFilasDevueltasAlCerrar() throws Exception {
+        try (Connection c = medido.getConnection(); PreparedStatement ps = c.prepareStatement(SQL)) {
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                // lectura
+            }
+            assertEquals(0, unico().devueltas());
+            rs.close();
+            rs.close();
+        }
+
+        RegistroConsultas.ResumenForma resumen = unico();
+        assertEquals(SQL, resumen.forma());
+        assertEquals("select", resumen.operacion());
+        assertEquals(1, resumen.ejecuciones());
+        assertEquals(3, resumen.devueltas());
+        assertEquals(3.0, meterRegistry.get("db.consultas.filas").tag("tipo", "devueltas").counter().count());
+        verify(resultSet, times(2)).close();
+    }
+
+    @Test
+    public void testSentenciasConDistintosLiteralesCompartenForma() throws Exception {
+        when(sentencia.executeUpdate(anyString())).thenReturn(2);
+        try (Connection c = medido.getConnection(); Statement st = c.createStatement()) {
+            st.executeUpdate("delete from reserva where id = 1");
+            st.executeUpdate("delete from reserva where id = 25");
+        }
+
+        RegistroConsultas.ResumenForma resumen = unico();
+        assertEquals("delete from reserva where id = ?", resumen.forma());
+        assertEquals(2, resumen.ejecuciones());
+        assertEquals(4, resumen.afectadas());
+    }
+
+    @Test
+    public void testLoteSumaLasFilasAfectadas() throws Exception {
+        when(preparada.executeBatch()).thenReturn(new int[] { 1, 1, Statement.SUCCESS_NO_INFO });
+        try (Connection c = medido.getConnection();
+                PreparedStatement ps = c.prepareStatement("insert into reserva (id) values (?)")) {
+            ps.addBatch();
+            ps.executeBatch();
+        }
+
+        assertEquals(2, unico().afectadas());
+    }
+
+    @Test
+    public void testErrorSeCuentaYSePropaga() throws Exception {
+        SQLException falla = new SQLException("sin conexión");
+        when(preparada.executeQuery()).thenThrow(falla);
+
+        try (Connection c = medido.getConnection(); PreparedStatement ps = c.prepareStatement(SQL)) {
+            assertSame(falla, assertThrows(SQLException.class, ps::executeQuery));
+        }
+
+        RegistroConsultas.ResumenForma resumen = unico();
+        assertEquals(1, resumen.ejecuciones());
+        assertEquals(1, resumen.errores());
+        assertEquals(1.0, meterRegistry.get("db.consultas.errores").counter().count());
+    }
+
+    @Test
+    public void testEnvolverDosVecesNoAnidaProxies() {
+        assertSame(medido, JdbcMedido.envolver(medido, registro));
+    }
+
+    @Test
+    public void testUnwrapLlegaAlObjetoReal() throws Exception {
+        when(conexion.unwrap(Connection.class)).thenReturn(conexion);
+
+        try (Connection c = medido.getConnection()) {
+            assertNotSame(conexion, c);
+            assertSame(conexion, c.unwrap(Connection.class));
+        }
+        verify(conexion).close();
+    }
+
+    @Test
+    public void testMuestraLentaGuardaLaFormaYNoLosLiterales() throws Exception {
+        registro = new RegistroConsultas(meterRegistry, 200, Duration.ZERO, 10);
+        when(sentencia.executeQuery(anyString())).thenReturn(resultSet);
+        try (Connection c = JdbcMedido.envolver(dataSource, registro).getConnection(); Statement st = c.createStatement()) {
+            st.executeQuery("select * from usuario where dni = '30111222'").close();
+        }
+
+        RegistroConsultas.MuestraLenta muestra = registro.lentas().get(0);
+        assertEquals("select * from usuario where dni = ?", muestra.forma());
+        assertEquals(JdbcMedido.FUENTE, muestra.fuente());
+    }
+
+    private RegistroConsultas.ResumenForma unico() {
+        assertEquals(1, registro.top(10).size());
+        return registro.top(10).get(0);
+    }
+}
@@ -0,0 +1,71 @@
+package edu.utn.frsf.isi.dan.shared.consultas;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegistroConsultasTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RegistroConsultas registro;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        registro = new RegistroConsultas(meterRegistry, 3, Duration.ofMillis(100), 2);
+    }
+
+    @Test
+    public void testPasadoElMaximoLasFormasNuevasVanAOtras() {
+        for (int i = 0; i < 5; i++) {
+            registro.formaNormalizada("jdbc", "select ? from t" + i, "select").ejecucion(1_000, 0);
+        }
+
+        assertEquals(4, registro.top(10).size());
+        RegistroConsultas.ResumenForma otras = registro.top(10).stream()
+                .filter(r -> r.forma().equals(RegistroConsultas.OTRAS)).findFirst().orElseThrow();
+        assertEquals(2, otras.ejecuciones());
+        assertEquals(4, meterRegistry.find("db.consultas").timers().size());
+    }
+
+    @Test
+    public void testHistogramaSoloPorFuenteYOperacion() {
+        registro.formaNormalizada("jdbc", "select ? from a", "select").ejecucion(1_000, 0);
+        registro.formaNormalizada("jdbc", "select ? from b", "select").ejecucion(1_000, 0);
+        registro.formaNormalizada("jdbc", "delete from a", "delete").ejecucion(1_000, 0);
+
+        assertEquals(2, meterRegistry.find("db.latencia").timers().size());
+        assertEquals(2, meterRegistry.get("db.latencia").tag("operacion", "select").timer().count());
+        assertEquals(3, meterRegistry.find("db.consultas").timers().size());
+    }
+
+    @Test
+    public void testMuestrasLentasAcotadasYRecientesPrimero() {
+        RegistroConsultas.Forma forma = registro.formaNormalizada("mongo", "{\"find\": \"reservas\"}", "find");
+        forma.ejecucion(TimeUnit.MILLISECONDS.toNanos(5), 1);
+        forma.ejecucion(TimeUnit.MILLISECONDS.toNanos(150), 1);
+        forma.ejecucion(TimeUnit.MILLISECONDS.toNanos(200), 2);
+        forma.ejecucion(TimeUnit.MILLISECONDS.toNanos(300), 3);
+
+        assertEquals(2, registro.lentas().size());
+        assertEquals(300.0, registro.lentas().get(0).milisegundos());
+        assertEquals("{\"find\": \"reservas\"}", registro.lentas().get(0).forma());
+        assertEquals(200.0, registro.lentas().get(1).milisegundos());
+    }
+
+    @Test
+    public void testReiniciarDescartaTotalesYMuestras() {
+        registro.formaNormalizada("jdbc", "select ? from a", "select").ejecucion(TimeUnit.SECONDS.toNanos(1), 0);
+
+        registro.reiniciar();
+
+        assertEquals(0, registro.top(1).get(0).ejecuciones());
+        assertTrue(registro.lentas().isEmpty());
+        assertEquals(1, meterRegistry.get("db.consultas").timer().count());
+    }
+}
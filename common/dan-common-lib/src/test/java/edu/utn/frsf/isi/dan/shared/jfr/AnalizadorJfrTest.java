@@ -0,0 +1,161 @@
+package edu.utn.frsf.isi.dan.shared.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnalizadorJfrTest {
+
+    @TempDir
+    private Path directorio;
+
+    @Name("dan.prueba.Operacion")
+    static class Operacion extends Event {
+    }
+
+    @Name("dan.prueba.Otra")
+    static class Otra extends Event {
+    }
+
+    /** Clase por la que se estacionan los hilos en la prueba de contención. */
+    static final class Cerrojo {
+    }
+
+    @Test
+    public void testEventosPropiosSeAgrupanPorTipo() throws Exception {
+        Path archivo = grabar(() -> {
+            operacion(Operacion::new, 5);
+            operacion(Operacion::new, 20);
+            operacion(Otra::new, 0);
+        });
+
+        ResumenJfr resumen = AnalizadorJfr.analizar(archivo, Instant.EPOCH, 10);
+
+        assertEquals(2, resumen.eventos().size());
+        ResumenJfr.EventoPropio operaciones = resumen.eventos().get(0);
+        assertEquals("dan.prueba.Operacion", operaciones.evento());
+        assertEquals(2, operaciones.cantidad());
+        assertTrue(operaciones.maximoMs() >= 20, () -> "máximo " + operaciones.maximoMs());
+        assertTrue(operaciones.totalMs() >= 25, () -> "total " + operaciones.totalMs());
+        assertTrue(operaciones.totalMs() >= operaciones.maximoMs());
+        assertEquals("dan.prueba.Otra", resumen.eventos().get(1).evento());
+        assertEquals(1, resumen.eventos().get(1).cantidad());
+    }
+
+    @Test
+    public void testContencionSeAgrupaPorClaseYOrigen() throws Exception {
+        Cerrojo cerrojo = new Cerrojo();
+        Path archivo = grabar(() -> {
+            for (int i = 0; i < 3; i++) {
+                estacionar(cerrojo);
+            }
+        });
+
+        ResumenJfr resumen = AnalizadorJfr.analizar(archivo, Instant.EPOCH, 10);
+
+        ResumenJfr.Contencion contencion = resumen.contencion().stream()
+                .filter(c -> Cerrojo.class.getName().equals(c.clase()))
+                .findFirst().orElseThrow();
+        assertEquals("park", contencion.tipo());
+        assertTrue(contencion.eventos() >= 3, () -> "eventos " + contencion.eventos());
+        assertTrue(contencion.origen().startsWith(AnalizadorJfrTest.class.getName() + ".estacionar:"), contencion.origen());
+        assertTrue(contencion.totalMs() >= 3 * 10 * 0.9, () -> "total " + contencion.totalMs());
+        assertTrue(contencion.maximoMs() <= contencion.totalMs());
+    }
+
+    @Test
+    public void testEventosAnterioresADesdeSeDescartan() throws Exception {
+        Instant[] corte = new Instant[1];
+        Path archivo = grabar(() -> {
+            operacion(Operacion::new, 0);
+            operacion(Operacion::new, 0);
+            Thread.sleep(50);
+            corte[0] = Instant.now();
+            Thread.sleep(50);
+            operacion(Otra::new, 0);
+        });
+
+        ResumenJfr resumen = AnalizadorJfr.analizar(archivo, corte[0], 10);
+
+        assertEquals(1, resumen.eventos().size());
+        assertEquals("dan.prueba.Otra", resumen.eventos().get(0).evento());
+        assertEquals(corte[0], resumen.desde());
+        assertTrue(resumen.hasta().isAfter(corte[0]));
+    }
+
+    @Test
+    public void testLimiteNoAcotaLosEventosPropios() throws Exception {
+        Cerrojo cerrojo = new Cerrojo();
+        Path archivo = grabar(() -> {
+            estacionar(cerrojo);
+            estacionar(new Object());
+            operacion(Operacion::new, 0);
+            operacion(Otra::new, 0);
+        });
+
+        ResumenJfr resumen = AnalizadorJfr.analizar(archivo, Instant.EPOCH, 1);
+
+        assertEquals(1, resumen.contencion().size());
+        assertEquals(2, resumen.eventos().size());
+    }
+
+    @Test
+    public void testArchivoVacio() throws Exception {
+        Path archivo = Files.createFile(directorio.resolve("vacio.jfr"));
+        Instant desde = Instant.now();
+
+        ResumenJfr resumen = AnalizadorJfr.analizar(archivo, desde, 10);
+
+        assertEquals(desde, resumen.hasta());
+        assertEquals(0, resumen.muestrasCpu());
+        assertEquals(0, resumen.bytesAsignados());
+        assertTrue(resumen.metodosCalientes().isEmpty());
+        assertTrue(resumen.contencion().isEmpty());
+        assertTrue(resumen.eventos().isEmpty());
+    }
+
+    private interface Accion {
+        void ejecutar() throws Exception;
+    }
+
+    private Path grabar(Accion accion) throws Exception {
+        Path archivo = directorio.resolve("grabacion.jfr");
+        try (Recording grabacion = new Recording()) {
+            grabacion.enable(Operacion.class);
+            grabacion.enable(Otra.class);
+            grabacion.enable("jdk.ThreadPark").withThreshold(Duration.ZERO).withStackTrace();
+            grabacion.start();
+            accion.ejecutar();
+            grabacion.stop();
+            grabacion.dump(archivo);
+        }
+        return archivo;
+    }
+
+    private static void operacion(Supplier<Event> tipo, long milis) throws InterruptedException {
+        Event evento = tipo.get();
+        evento.begin();
+        if (milis > 0) {
+            Thread.sleep(milis);
+        }
+        evento.commit();
+    }
+
+    private static void estacionar(Object bloqueante) {
+        long limite = System.nanoTime() + Duration.ofMillis(10).toNanos();
+        while (System.nanoTime() < limite) {
+            LockSupport.parkNanos(bloqueante, limite - System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package edu.utn.frsf.isi.dan.shared.jfr;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenJfrFiltroTest {
+
+    private static final String TOKEN = "s3creto";
+
+    @Test
+    public void testSinTokenConfiguradoRespondeForbidden() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = filtrar(new TokenJfrFiltro(" "), "Bearer " + TOKEN, chain);
+
+        assertEquals(403, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    public void testSinAutorizacionRespondeUnauthorized() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = filtrar(new TokenJfrFiltro(TOKEN), null, chain);
+
+        assertEquals(401, response.getStatus());
+        assertEquals("Bearer", response.getHeader(HttpHeaders.WWW_AUTHENTICATE));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    public void testTokenIncorrectoRespondeUnauthorized() throws Exception {
+        for (String autorizacion : new String[] { "Bearer otro", "Bearer " + TOKEN + "x", "Basic " + TOKEN, TOKEN }) {
+            MockFilterChain chain = new MockFilterChain();
+
+            MockHttpServletResponse response = filtrar(new TokenJfrFiltro(TOKEN), autorizacion, chain);
+
+            assertEquals(401, response.getStatus(), autorizacion);
+            assertNull(chain.getRequest(), autorizacion);
+        }
+    }
+
+    @Test
+    public void testTokenCorrectoContinuaLaCadena() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = filtrar(new TokenJfrFiltro(TOKEN), "Bearer " + TOKEN, chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+    }
+
+    private static MockHttpServletResponse filtrar(TokenJfrFiltro filtro, String autorizacion, MockFilterChain chain)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/jfr");
+        if (autorizacion != null) {
+            request.addHeader(HttpHeaders.AUTHORIZATION, autorizacion);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(request, response, chain);
+        return response;
+    }
+}
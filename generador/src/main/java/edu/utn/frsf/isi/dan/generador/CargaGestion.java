@@ -0,0 +1,165 @@
+package edu.utn.frsf.isi.dan.generador;
+
+import lombok.extern.log4j.Log4j2;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * Hoteles, amenities, habitaciones y tarifas de gestion-svc con <code>COPY ... FROM STDIN</code>: un solo
+ * flujo por tabla, sin sentencias ni viajes por fila. Las tarifas son mensuales y cubren la ventana de
+ * reservas y un año más, así que <code>preciosVigentes()</code> devuelve la del mes en curso.
+ */
+@Log4j2
+final class CargaGestion {
+
+    private static final int TAMANIO_BUFFER = 1 << 20;
+
+    private final Catalogo catalogo;
+
+    CargaGestion(Catalogo catalogo) {
+        this.catalogo = catalogo;
+    }
+
+    ResumenCarga cargar(ConexionJdbc datosConexion, boolean vaciar) throws SQLException {
+        long inicio = System.nanoTime();
+        long filas = 0;
+        try (Connection conexion = datosConexion.abrir()) {
+            conexion.setAutoCommit(false);
+            prepararDestino(conexion, vaciar);
+            CopyManager copia = conexion.unwrap(PGConnection.class).getCopyAPI();
+            ParametrosGeneracion parametros = catalogo.parametros();
+            int hoteles = parametros.hoteles();
+
+            try (Flujo hotel = new Flujo(copia, "tp_dan.hotel (id, nombre, cuit, domicilio, latitud, longitud, "
+                    + "telefono, correo_contacto, categoria)")) {
+                for (int h = 1; h <= hoteles; h++) {
+                    hotel.fila(h, Catalogo.nombreHotel(h), "30-" + (50_000_000 + h) + "-7", Catalogo.domicilioHotel(h),
+                            String.format(Locale.ROOT, "%.7f", catalogo.latitud(h)),
+                            String.format(Locale.ROOT, "%.7f", catalogo.longitud(h)),
+                            "342" + (4_500_000 + h), "hotel" + h + "@generado.test", catalogo.categoria(h));
+                }
+                filas += hotel.filas();
+            }
+            int amenities = 0;
+            try (Flujo amenity = new Flujo(copia, "tp_dan.amenity_hotel (id, id_hotel, amenity)")) {
+                for (int h = 1; h <= hoteles; h++) {
+                    for (String nombre : Catalogo.amenitiesDe(h)) {
+                        amenity.fila(++amenities, h, nombre);
+                    }
+                }
+                filas += amenity.filas();
+            }
+            try (Flujo habitacion = new Flujo(copia, "tp_dan.habitacion (id, numero, piso, id_tipo, id_hotel)")) {
+                for (int id = 1; id <= parametros.habitaciones(); id++) {
+                    habitacion.fila(id, catalogo.numeroDe(id), catalogo.pisoDe(id), catalogo.tipoDe(id), catalogo.hotelDe(id));
+                }
+                filas += habitacion.filas();
+            }
+            try (Flujo tarifa = new Flujo(copia, "tp_dan.tarifa (fecha_inicio, fecha_fin, id_tipo_habitacion, precio_noche)")) {
+                LocalDate hasta = catalogo.finVentana().plusYears(1);
+                for (LocalDate mes = catalogo.inicioVentana().withDayOfMonth(1); mes.isBefore(hasta); mes = mes.plusMonths(1)) {
+                    LocalDate finMes = mes.with(TemporalAdjusters.lastDayOfMonth());
+                    for (int tipo = 1; tipo <= Catalogo.TIPOS; tipo++) {
+                        tarifa.fila(mes, finMes, tipo, Catalogo.precio(tipo, mes));
+                    }
+                }
+                filas += tarifa.filas();
+            }
+
+            ajustarSecuencia(conexion, "tp_dan.hotel_id_seq", hoteles);
+            ajustarSecuencia(conexion, "tp_dan.amenity_hotel_id_seq", amenities);
+            ajustarSecuencia(conexion, "tp_dan.habitacion_id_seq", parametros.habitaciones());
+            conexion.commit();
+            try (Statement sentencia = conexion.createStatement()) {
+                sentencia.execute("analyze tp_dan.hotel, tp_dan.amenity_hotel, tp_dan.habitacion, tp_dan.tarifa");
+            }
+            conexion.commit();
+        }
+        return new ResumenCarga("gestion (Postgres)", filas, Duration.ofNanos(System.nanoTime() - inicio));
+    }
+
+    private static void prepararDestino(Connection conexion, boolean vaciar) throws SQLException {
+        try (Statement sentencia = conexion.createStatement()) {
+            if (vaciar) {
+                sentencia.execute("truncate tp_dan.amenity_hotel, tp_dan.habitacion, tp_dan.tarifa, tp_dan.hotel restart identity");
+                log.info("Tablas de gestion vaciadas");
+                return;
+            }
+            try (ResultSet existentes = sentencia.executeQuery(
+                    "select exists (select 1 from tp_dan.hotel) or exists (select 1 from tp_dan.habitacion)")) {
+                existentes.next();
+                if (existentes.getBoolean(1)) {
+                    throw new IllegalStateException("gestion ya tiene hoteles o habitaciones; usar --vaciar para reemplazarlos");
+                }
+            }
+            // Las tarifas son por tipo y no por hotel: las previas se reemplazan para que no se superpongan con las nuevas
+            sentencia.execute("truncate tp_dan.tarifa restart identity");
+        }
+    }
+
+    /** Con incremento 50 y optimizador pooled, el próximo bloque de Hibernate arranca en valor + 1. */
+    private static void ajustarSecuencia(Connection conexion, String secuencia, int maximo) throws SQLException {
+        try (PreparedStatement setval = conexion.prepareStatement("select setval(?::regclass, ?)")) {
+            setval.setString(1, secuencia);
+            setval.setLong(2, Math.max(1, maximo));
+            setval.execute();
+        }
+    }
+
+    /**
+     * Un <code>COPY</code> en formato texto: columnas separadas por tabulador. Ningún valor generado contiene
+     * tabuladores, saltos de línea ni barras invertidas, así que no hace falta escaparlos.
+     */
+    private static final class Flujo implements AutoCloseable {
+
+        private final CopyIn copia;
+        private final StringBuilder buffer = new StringBuilder(TAMANIO_BUFFER + 1024);
+        private long filas;
+
+        Flujo(CopyManager copia, String tabla) throws SQLException {
+            this.copia = copia.copyIn("copy " + tabla + " from stdin");
+        }
+
+        void fila(Object... valores) throws SQLException {
+            for (int i = 0; i < valores.length; i++) {
+                if (i > 0) {
+                    buffer.append('\t');
+                }
+                buffer.append(valores[i]);
+            }
+            buffer.append('\n');
+            filas++;
+            if (buffer.length() >= TAMANIO_BUFFER) {
+                vaciarBuffer();
+            }
+        }
+
+        long filas() {
+            return filas;
+        }
+
+        private void vaciarBuffer() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copia.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            vaciarBuffer();
+            copia.endCopy();
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package edu.utn.frsf.isi.dan.generador;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.InsertManyOptions;
+import lombok.extern.log4j.Log4j2;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Habitaciones de reservas-svc con su historial embebido y la colección <code>reserva</code>.
+ *
+ * <p>La popularidad sigue una distribución de Zipf por hotel (con ruido por habitación): las reservas se
+ * reparten proporcionalmente al peso de cada habitación, hasta un tope de ocupación, y lo que excede el tope
+ * pasa a las siguientes. En cada habitación las estadías (1 a 7 noches) se encadenan sin solaparse con huecos
+ * aleatorios dentro de la ventana; el estado, los pagos y las reseñas dependen de si la estadía ya terminó,
+ * está en curso o es futura respecto de <code>hoy</code>. Los huéspedes también se eligen con Zipf.</p>
+ *
+ * <p>Las habitaciones se reparten en rangos entre hilos; cada hilo arma sus documentos con generadores
+ * derivados del id de la habitación y los escribe con <code>insertMany</code> no ordenado.</p>
+ */
+@Log4j2
+final class CargaReservas {
+
+    private static final int LOTE_HABITACIONES = 500;
+    private static final int DIAS_POR_RESERVA = 5;
+    private static final String[] METODOS_PAGO = { "TARJETA", "TRANSFERENCIA", "EFECTIVO" };
+    private static final String[] COMENTARIOS = { "Excelente atención", "Muy buena ubicación", "Habitación limpia y cómoda",
+            "Buena relación precio calidad", "El desayuno podría mejorar", "Ruidoso de noche", "Volvería sin dudarlo" };
+
+    private final Catalogo catalogo;
+    private final int[] reservasPorHabitacion;
+    private final Zipf huespedes;
+
+    CargaReservas(Catalogo catalogo) {
+        this.catalogo = catalogo;
+        ParametrosGeneracion parametros = catalogo.parametros();
+        this.reservasPorHabitacion = repartir(parametros);
+        this.huespedes = new Zipf(parametros.usuarios(), parametros.sesgoHuespedes(), parametros.semilla() + 2);
+    }
+
+    /** Cuántas reservas recibe cada habitación (indexado por id de gestion-svc). */
+    private int[] repartir(ParametrosGeneracion parametros) {
+        int habitaciones = parametros.habitaciones();
+        // En promedio cuatro noches por estadía más un día de recambio
+        int tope = Math.max(1, parametros.diasVentana() / DIAS_POR_RESERVA);
+        if ((long) tope * habitaciones < parametros.reservas()) {
+            throw new IllegalArgumentException(String.format(
+                    "%d reservas no entran en %d habitaciones con una ventana de %d días (máximo %d)",
+                    parametros.reservas(), habitaciones, parametros.diasVentana(), (long) tope * habitaciones));
+        }
+        double[] pesoHotel = new Zipf(parametros.hoteles(), parametros.sesgoHoteles(), parametros.semilla() + 1).pesos();
+        SplittableRandom random = new SplittableRandom(parametros.semilla() + 3);
+        double[] peso = new double[habitaciones + 1];
+        double pesoRestante = 0;
+        for (int id = 1; id <= habitaciones; id++) {
+            peso[id] = pesoHotel[catalogo.hotelDe(id) - 1] * (0.5 + random.nextDouble());
+            pesoRestante += peso[id];
+        }
+        Integer[] orden = new Integer[habitaciones];
+        Arrays.setAll(orden, i -> i + 1);
+        Arrays.sort(orden, Comparator.comparingDouble((Integer id) -> peso[id]).reversed());
+
+        int[] cantidad = new int[habitaciones + 1];
+        long restantes = parametros.reservas();
+        for (int id : orden) {
+            long parte = pesoRestante > 0 ? Math.round(restantes * peso[id] / pesoRestante) : restantes;
+            cantidad[id] = (int) Math.min(tope, Math.min(restantes, parte));
+            restantes -= cantidad[id];
+            pesoRestante -= peso[id];
+        }
+        // Redondeos: lo que quedó se completa en orden de popularidad hasta el tope
+        for (int i = 0; restantes > 0; i++) {
+            int id = orden[i];
+            int agregadas = (int) Math.min(restantes, tope - cantidad[id]);
+            cantidad[id] += agregadas;
+            restantes -= agregadas;
+        }
+        return cantidad;
+    }
+
+    ResumenCarga cargar(MongoDatabase base, boolean vaciar) throws InterruptedException {
+        long inicio = System.nanoTime();
+        prepararDestino(base, vaciar);
+        ParametrosGeneracion parametros = catalogo.parametros();
+        int hilos = Math.min(parametros.hilos(), parametros.habitaciones());
+        AtomicLong documentos = new AtomicLong();
+        List<Future<?>> tareas = new ArrayList<>();
+        try (ExecutorService ejecutor = Executors.newFixedThreadPool(hilos)) {
+            int porHilo = (parametros.habitaciones() + hilos - 1) / hilos;
+            for (int desde = 1; desde <= parametros.habitaciones(); desde += porHilo) {
+                int primera = desde;
+                int ultima = Math.min(parametros.habitaciones(), desde + porHilo - 1);
+                tareas.add(ejecutor.submit(() -> documentos.addAndGet(cargarRango(base, primera, ultima))));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló la carga de reservas", e.getCause());
+        }
+        return new ResumenCarga("reservas (MongoDB)", documentos.get(), Duration.ofNanos(System.nanoTime() - inicio));
+    }
+
+    private static void prepararDestino(MongoDatabase base, boolean vaciar) {
+        if (vaciar) {
+            // deleteMany y no drop: los índices que crea reservas-svc al arrancar se conservan
+            base.getCollection("habitacion").deleteMany(new Document());
+            base.getCollection("reserva").deleteMany(new Document());
+            log.info("Colecciones de reservas vaciadas");
+            return;
+        }
+        if (base.getCollection("habitacion").estimatedDocumentCount() > 0
+                || base.getCollection("reserva").estimatedDocumentCount() > 0) {
+            throw new IllegalStateException("reservas ya tiene habitaciones o reservas; usar --vaciar para reemplazarlas");
+        }
+    }
+
+    private long cargarRango(MongoDatabase base, int primera, int ultima) {
+        MongoCollection<Document> habitaciones = base.getCollection("habitacion");
+        MongoCollection<Document> reservas = base.getCollection("reserva");
+        InsertManyOptions desordenado = new InsertManyOptions().ordered(false);
+        int loteReservas = catalogo.parametros().tamanioLote();
+        List<Document> pendientesHabitaciones = new ArrayList<>(LOTE_HABITACIONES);
+        List<Document> pendientesReservas = new ArrayList<>(loteReservas);
+        long documentos = 0;
+        for (int id = primera; id <= ultima; id++) {
+            List<Document> embebidas = new ArrayList<>(reservasPorHabitacion[id]);
+            generarReservas(id, pendientesReservas, embebidas);
+            pendientesHabitaciones.add(habitacion(id, embebidas));
+            documentos += 1 + embebidas.size();
+            if (pendientesReservas.size() >= loteReservas) {
+                reservas.insertMany(pendientesReservas, desordenado);
+                pendientesReservas.clear();
+            }
+            if (pendientesHabitaciones.size() == LOTE_HABITACIONES) {
+                habitaciones.insertMany(pendientesHabitaciones, desordenado);
+                pendientesHabitaciones.clear();
+            }
+        }
+        if (!pendientesReservas.isEmpty()) {
+            reservas.insertMany(pendientesReservas, desordenado);
+        }
+        if (!pendientesHabitaciones.isEmpty()) {
+            habitaciones.insertMany(pendientesHabitaciones, desordenado);
+        }
+        return documentos;
+    }
+
+    private Document habitacion(int id, List<Document> embebidas) {
+        int tipo = catalogo.tipoDe(id);
+        int hotel = catalogo.hotelDe(id);
+        return new Document("_id", new ObjectId(Catalogo.idHabitacionMongo(id)))
+                .append("habitacionId", (long) id)
+                .append("capacidad", Catalogo.capacidadTipo(tipo))
+                .append("precioNoche", catalogo.precioVigente(tipo))
+                .append("amenities", Catalogo.amenitiesDe(hotel))
+                .append("reservas", embebidas)
+                .append("hotel", new Document("id", hotel)
+                        .append("nombre", Catalogo.nombreHotel(hotel))
+                        .append("categoria", catalogo.categoria(hotel))
+                        .append("domicilio", Catalogo.domicilioHotel(hotel))
+                        .append("ubicacion", new Document("type", "Point")
+                                .append("coordinates", List.of(catalogo.longitud(hotel), catalogo.latitud(hotel)))))
+                .append("idTipoHabitacion", tipo)
+                .append("tipoHabitacion", Catalogo.nombreTipo(tipo));
+    }
+
+    /** Las reservas de la habitación, en orden cronológico, a la colección y a la copia embebida. */
+    private void generarReservas(int id, List<Document> coleccion, List<Document> embebidas) {
+        int cantidad = reservasPorHabitacion[id];
+        if (cantidad == 0) {
+            return;
+        }
+        ParametrosGeneracion parametros = catalogo.parametros();
+        SplittableRandom random = new SplittableRandom((parametros.semilla() + 4) * 0x9E3779B97F4A7C15L + id);
+        int dias = parametros.diasVentana();
+
+        int[] noches = new int[cantidad];
+        int ocupados = 0;
+        for (int k = 0; k < cantidad; k++) {
+            noches[k] = 1 + random.nextInt(7);
+            ocupados += noches[k];
+        }
+        // El tope de reservas por habitación garantiza que acortando estadías siempre entran
+        for (int k = 0; ocupados > dias; k = (k + 1) % cantidad) {
+            if (noches[k] > 1) {
+                noches[k]--;
+                ocupados--;
+            }
+        }
+        double[] huecos = new double[cantidad + 1];
+        double sumaHuecos = 0;
+        for (int k = 0; k <= cantidad; k++) {
+            huecos[k] = random.nextDouble();
+            sumaHuecos += huecos[k];
+        }
+        int libres = dias - ocupados;
+
+        String idHabitacion = Catalogo.idHabitacionMongo(id);
+        int tipo = catalogo.tipoDe(id);
+        Instant inicioVentana = catalogo.inicioVentana().atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant hoy = parametros.hoy().atStartOfDay(ZoneOffset.UTC).toInstant();
+        long dia = (long) (libres * huecos[0] / sumaHuecos);
+        for (int k = 0; k < cantidad; k++) {
+            Instant checkIn = inicioVentana.plus(dia, ChronoUnit.DAYS).plus(14, ChronoUnit.HOURS);
+            Instant checkOut = inicioVentana.plus(dia + noches[k], ChronoUnit.DAYS).plus(10, ChronoUnit.HOURS);
+            dia += noches[k] + (long) (libres * huecos[k + 1] / sumaHuecos);
+
+            ObjectId idReserva = new ObjectId(Catalogo.idReservaMongo(id, k));
+            double precio = Catalogo.precio(tipo, LocalDate.ofInstant(checkIn, ZoneOffset.UTC));
+            double total = precio * noches[k];
+            String estado = estado(random, checkIn, checkOut, hoy);
+            Instant creada = min(checkIn.minus(1 + random.nextInt(90), ChronoUnit.DAYS), hoy.minus(1, ChronoUnit.HOURS));
+            int usuario = huespedes.muestra(random);
+
+            Document reserva = new Document("_id", idReserva)
+                    .append("idHabitacion", idHabitacion)
+                    .append("hotelId", (long) catalogo.hotelDe(id))
+                    .append("createdAt", Date.from(creada))
+                    .append("checkIn", Date.from(checkIn))
+                    .append("checkOut", Date.from(checkOut))
+                    .append("precioNoche", precio)
+                    .append("precioTotal", total)
+                    .append("status", estado)
+                    .append("huesped", new Document("idUsuario", String.valueOf(usuario))
+                            .append("nombreApellido", Catalogo.nombreUsuario(usuario))
+                            .append("email", Catalogo.email(usuario)))
+                    .append("pago", pagos(random, estado, total, creada, idReserva))
+                    .append("estadoReserva", estado);
+            if ("FINALIZADA".equals(estado)) {
+                reserva.append("clientReview", resenia(random, checkOut));
+                if (random.nextInt(10) < 7) {
+                    reserva.append("hostReview", resenia(random, checkOut));
+                }
+            }
+            coleccion.add(reserva);
+            embebidas.add(new Document("_id", idReserva.toHexString())
+                    .append("checkIn", Date.from(checkIn))
+                    .append("checkOut", Date.from(checkOut))
+                    .append("precioTotal", total)
+                    .append("estadoReserva", estado));
+        }
+    }
+
+    private static String estado(SplittableRandom random, Instant checkIn, Instant checkOut, Instant hoy) {
+        int dado = random.nextInt(100);
+        if (!checkOut.isAfter(hoy)) {
+            return dado < 85 ? "FINALIZADA" : dado < 93 ? "ADEUDADA" : "CANCELADA";
+        }
+        if (!checkIn.isAfter(hoy)) {
+            return "EFECTUADA";
+        }
+        return dado < 60 ? "CONFIRMADA" : dado < 90 ? "RESERVADA" : dado < 97 ? "CANCELADA" : "BLOQUEADA";
+    }
+
+    /** Pago total si la estadía se cumplió, seña si está confirmada, parcial si quedó adeudada. */
+    private static List<Document> pagos(SplittableRandom random, String estado, double total, Instant creada, ObjectId idReserva) {
+        double proporcion = switch (estado) {
+            case "FINALIZADA", "EFECTUADA" -> 1.0;
+            case "CONFIRMADA" -> 0.3;
+            case "ADEUDADA" -> 0.5;
+            default -> 0;
+        };
+        if (proporcion == 0) {
+            return List.of();
+        }
+        return List.of(new Document("method", METODOS_PAGO[random.nextInt(METODOS_PAGO.length)])
+                .append("transactionId", "TX-" + idReserva.toHexString())
+                .append("amount", Math.round(total * proporcion * 100) / 100.0)
+                .append("status", "APPROVED")
+                .append("fecha", Date.from(creada.plus(random.nextInt(48), ChronoUnit.HOURS))));
+    }
+
+    private static Document resenia(SplittableRandom random, Instant checkOut) {
+        // Mayormente buenas: 3 a 5 en el 90 % de los casos
+        int rating = random.nextInt(10) < 9 ? 3 + random.nextInt(3) : 1 + random.nextInt(2);
+        return new Document("rating", (double) rating)
+                .append("comment", COMENTARIOS[random.nextInt(COMENTARIOS.length)])
+                .append("createdAt", checkOut.plus(1 + random.nextInt(10), ChronoUnit.DAYS).toString());
+    }
+
+    private static Instant min(Instant a, Instant b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -0,0 +1,169 @@
+package edu.utn.frsf.isi.dan.generador;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Huéspedes de user-svc con entre una y tres tarjetas (una principal). Los ids se reparten en rangos
+ * contiguos, uno por hilo y con su propia conexión; cada hilo inserta en lotes que el driver reescribe como
+ * INSERT de varias filas (<code>rewriteBatchedStatements</code>) y sin verificar claves foráneas ni
+ * unicidad durante la carga, porque los ids y los DNI generados ya son únicos.
+ */
+@Log4j2
+final class CargaUsuarios {
+
+    static final int MAX_TARJETAS = 3;
+
+    private final Catalogo catalogo;
+
+    CargaUsuarios(Catalogo catalogo) {
+        this.catalogo = catalogo;
+    }
+
+    ResumenCarga cargar(ConexionJdbc datosConexion, boolean vaciar) throws SQLException, InterruptedException {
+        long inicio = System.nanoTime();
+        ConexionJdbc conexionLotes = datosConexion.conParametro("rewriteBatchedStatements", "true");
+        int[] bancos;
+        try (Connection conexion = conexionLotes.abrir()) {
+            prepararDestino(conexion, vaciar);
+            bancos = bancos(conexion);
+        }
+
+        ParametrosGeneracion parametros = catalogo.parametros();
+        int hilos = Math.min(parametros.hilos(), parametros.usuarios());
+        AtomicLong filas = new AtomicLong();
+        List<Future<?>> tareas = new ArrayList<>();
+        try (ExecutorService ejecutor = Executors.newFixedThreadPool(hilos)) {
+            int porHilo = (parametros.usuarios() + hilos - 1) / hilos;
+            for (int desde = 1; desde <= parametros.usuarios(); desde += porHilo) {
+                int primero = desde;
+                int ultimo = Math.min(parametros.usuarios(), desde + porHilo - 1);
+                tareas.add(ejecutor.submit(() -> {
+                    filas.addAndGet(cargarRango(conexionLotes, bancos, primero, ultimo));
+                    return null;
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló la carga de usuarios", e.getCause());
+        }
+
+        try (Connection conexion = conexionLotes.abrir(); Statement sentencia = conexion.createStatement()) {
+            // El TableGenerator de Hibernate continúa desde MAX(id) + 50 (ver comentario de secuencias en 01_schema.sql)
+            sentencia.executeUpdate("update secuencias set valor = " + (parametros.usuarios() + 50L) + " where nombre = 'usuarios'");
+            sentencia.executeUpdate("update secuencias set valor = " + ((long) parametros.usuarios() * MAX_TARJETAS + 50)
+                    + " where nombre = 'tarjetas_credito'");
+            sentencia.execute("analyze table usuarios, tarjetas_credito");
+        }
+        return new ResumenCarga("usuarios (MySQL)", filas.get(), Duration.ofNanos(System.nanoTime() - inicio));
+    }
+
+    private static void prepararDestino(Connection conexion, boolean vaciar) throws SQLException {
+        try (Statement sentencia = conexion.createStatement()) {
+            if (vaciar) {
+                sentencia.execute("set foreign_key_checks = 0");
+                sentencia.execute("truncate table tarjetas_credito");
+                sentencia.execute("truncate table usuarios");
+                sentencia.execute("set foreign_key_checks = 1");
+                log.info("Tablas de usuarios vaciadas");
+                return;
+            }
+            try (ResultSet existentes = sentencia.executeQuery("select exists (select 1 from usuarios)")) {
+                existentes.next();
+                if (existentes.getBoolean(1)) {
+                    throw new IllegalStateException("users ya tiene usuarios; usar --vaciar para reemplazarlos");
+                }
+            }
+        }
+    }
+
+    private static int[] bancos(Connection conexion) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Statement sentencia = conexion.createStatement();
+                ResultSet bancos = sentencia.executeQuery("select id from bancos order by id")) {
+            while (bancos.next()) {
+                ids.add(bancos.getInt(1));
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No hay bancos cargados: las tarjetas necesitan al menos uno (ver 02_seed.sql)");
+        }
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Inserta los usuarios <code>primero..ultimo</code> y sus tarjetas. Cada usuario usa un generador derivado
+     * de su id, así que el resultado no depende de cómo se repartan los rangos entre hilos.
+     */
+    private long cargarRango(ConexionJdbc datosConexion, int[] bancos, int primero, int ultimo) throws SQLException {
+        int lote = catalogo.parametros().tamanioLote();
+        long semilla = catalogo.parametros().semilla();
+        long filas = 0;
+        try (Connection conexion = datosConexion.abrir()) {
+            try (Statement sentencia = conexion.createStatement()) {
+                sentencia.execute("set foreign_key_checks = 0");
+                sentencia.execute("set unique_checks = 0");
+            }
+            conexion.setAutoCommit(false);
+            try (PreparedStatement usuarios = conexion.prepareStatement("insert into usuarios "
+                    + "(id, nombre, dni, email, telefono, tipo, fecha_nacimiento) values (?, ?, ?, ?, ?, 'HUESPED', ?)");
+                    PreparedStatement tarjetas = conexion.prepareStatement("insert into tarjetas_credito "
+                            + "(id, numero_tarjeta, nombre_titular, fecha_vencimiento, codigo_seguridad, es_principal, usuario_id, banco_id) "
+                            + "values (?, ?, ?, ?, ?, ?, ?, ?)")) {
+                for (int id = primero; id <= ultimo; id++) {
+                    SplittableRandom random = new SplittableRandom(semilla * 0x9E3779B97F4A7C15L + id);
+                    String nombre = Catalogo.nombreUsuario(id);
+                    usuarios.setInt(1, id);
+                    usuarios.setString(2, nombre);
+                    usuarios.setString(3, Catalogo.dni(id));
+                    usuarios.setString(4, Catalogo.email(id));
+                    usuarios.setString(5, "342" + (4_000_000 + random.nextInt(5_000_000)));
+                    usuarios.setDate(6, Date.valueOf(LocalDate.of(1950, 1, 1).plusDays(random.nextInt(20_000))));
+                    usuarios.addBatch();
+                    filas++;
+
+                    // 70 % con una tarjeta, 20 % con dos y 10 % con tres
+                    int dado = random.nextInt(10);
+                    int cantidad = dado < 7 ? 1 : dado < 9 ? 2 : 3;
+                    for (int k = 0; k < cantidad; k++) {
+                        tarjetas.setInt(1, (id - 1) * MAX_TARJETAS + k + 1);
+                        tarjetas.setString(2, String.valueOf(4_000_000_000_000_000L + random.nextLong(999_999_999_999_999L)));
+                        tarjetas.setString(3, nombre);
+                        tarjetas.setString(4, String.format("%02d/%02d", 1 + random.nextInt(12), 27 + random.nextInt(5)));
+                        tarjetas.setString(5, String.valueOf(100 + random.nextInt(900)));
+                        tarjetas.setBoolean(6, k == 0);
+                        tarjetas.setInt(7, id);
+                        tarjetas.setInt(8, bancos[random.nextInt(bancos.length)]);
+                        tarjetas.addBatch();
+                        filas++;
+                    }
+
+                    if ((id - primero + 1) % lote == 0 || id == ultimo) {
+                        usuarios.executeBatch();
+                        tarjetas.executeBatch();
+                        conexion.commit();
+                    }
+                }
+            }
+        }
+        return filas;
+    }
+}
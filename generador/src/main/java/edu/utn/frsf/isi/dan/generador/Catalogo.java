@@ -0,0 +1,172 @@
+package edu.utn.frsf.isi.dan.generador;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * La parte del conjunto de datos que comparten las tres bases y que quien lo use necesita conocer para armar
+ * pedidos válidos: hoteles (ubicación, categoría, amenities), tipo y numeración de cada habitación, tarifas y
+ * la identidad de los usuarios. Todo se deriva de los parámetros, sin leer las bases.
+ *
+ * <p>Las habitaciones se numeran 1..habitaciones en gestion-svc y se agrupan de a
+ * <code>habitacionesPorHotel</code> por hotel; en MongoDB la habitación n tiene el <code>_id</code>
+ * {@link #idHabitacionMongo(int)}.</p>
+ */
+public final class Catalogo {
+
+    public static final String[] NOMBRES = { "Juan", "María", "Carlos", "Lucía", "Pedro", "Sofía", "Martín",
+            "Valentina", "Diego", "Camila", "Javier", "Florencia", "Pablo", "Agustina", "Nicolás", "Julieta",
+            "Federico", "Paula", "Gonzalo", "Carolina" };
+    public static final String[] APELLIDOS = { "González", "Rodríguez", "Gómez", "Fernández", "López", "Díaz",
+            "Martínez", "Pérez", "García", "Sánchez", "Romero", "Sosa", "Torres", "Álvarez", "Ruiz", "Ramírez",
+            "Flores", "Benítez", "Acosta", "Medina", "Herrera", "Suárez", "Aguirre", "Giménez", "Gutiérrez",
+            "Pereyra", "Rojas", "Molina", "Castro", "Ortiz" };
+    /** Valores del enum <code>Amenity</code> de gestion-svc, que los lee con <code>EnumType.STRING</code>. */
+    public static final String[] AMENITIES = { "WIFI", "PILETA", "ESTACIONAMIENTO", "GIMNASIO", "SPA", "RESTAURANTE",
+            "BAR", "AIRE_ACONDICIONADO", "TV_CABLE", "SERVICIO_HABITACIONES", "LIMPIEZA_DIARIA",
+            "TRANSPORTE_AEROPUERTO" };
+    public static final int DNI_BASE = 20_000_000;
+
+    /** Capacidad, nombre y precio base por id de tipo de habitación (los tipos los carga 01_schema.sql de Postgres). */
+    private static final int[] CAPACIDAD_TIPO = { 0, 1, 2, 2, 3, 3, 4, 2, 3, 4 };
+    private static final String[] NOMBRE_TIPO = { "", "SINGLE", "DOBLE INDIVIDUAL", "DOBLE", "TRIPLE INDIVIDUAL",
+            "TRIPLE", "CUADRUPLE", "DOBLE SUPERIOR", "TRIPLE SUPERIOR", "CUADRUPLE SUPERIOR" };
+    private static final double[] PRECIO_BASE_TIPO = { 0, 35_000, 52_000, 55_000, 68_000, 70_000, 85_000, 75_000,
+            92_000, 110_000 };
+    static final int TIPOS = CAPACIDAD_TIPO.length - 1;
+    private static final int HABITACIONES_POR_PISO = 20;
+
+    private final ParametrosGeneracion parametros;
+    private final double[] latitud;
+    private final double[] longitud;
+    private final int[] categoria;
+    private final byte[] tipo;
+
+    Catalogo(ParametrosGeneracion parametros) {
+        this.parametros = parametros;
+        SplittableRandom random = new SplittableRandom(parametros.semilla());
+        int hoteles = parametros.hoteles();
+        latitud = new double[hoteles + 1];
+        longitud = new double[hoteles + 1];
+        categoria = new int[hoteles + 1];
+        // Territorio continental aproximado: latitudes -22 a -50, longitudes -72 a -57
+        for (int h = 1; h <= hoteles; h++) {
+            latitud[h] = -22 - random.nextDouble() * 28;
+            longitud[h] = -72 + random.nextDouble() * 15;
+            categoria[h] = 1 + random.nextInt(5);
+        }
+        tipo = new byte[parametros.habitaciones() + 1];
+        for (int id = 1; id <= parametros.habitaciones(); id++) {
+            tipo[id] = (byte) (1 + random.nextInt(TIPOS));
+        }
+    }
+
+    public ParametrosGeneracion parametros() {
+        return parametros;
+    }
+
+    public LocalDate inicioVentana() {
+        return parametros.hoy().minusDays(parametros.diasPasados());
+    }
+
+    public LocalDate finVentana() {
+        return parametros.hoy().plusDays(parametros.diasFuturos());
+    }
+
+    public double latitud(int hotel) {
+        return latitud[hotel];
+    }
+
+    public double longitud(int hotel) {
+        return longitud[hotel];
+    }
+
+    public int categoria(int hotel) {
+        return categoria[hotel];
+    }
+
+    public static String nombreHotel(int hotel) {
+        return "Hotel Sintético " + hotel;
+    }
+
+    public static String domicilioHotel(int hotel) {
+        return "Calle " + hotel + " " + (100 + hotel % 900);
+    }
+
+    public static List<String> amenitiesDe(int hotel) {
+        List<String> amenities = new ArrayList<>();
+        for (int i = 0; i < AMENITIES.length; i++) {
+            if ((hotel * 31 + i * 17) % 5 < 2) {
+                amenities.add(AMENITIES[i]);
+            }
+        }
+        return amenities;
+    }
+
+    /** Hotel (1..hoteles) de la habitación con ese id de gestion-svc (1..habitaciones). */
+    public int hotelDe(int habitacion) {
+        return (habitacion - 1) / parametros.habitacionesPorHotel() + 1;
+    }
+
+    public int tipoDe(int habitacion) {
+        return tipo[habitacion];
+    }
+
+    /** Veinte habitaciones por piso: 101..120, 201..220, ... */
+    public int pisoDe(int habitacion) {
+        return (habitacion - 1) % parametros.habitacionesPorHotel() / HABITACIONES_POR_PISO + 1;
+    }
+
+    public int numeroDe(int habitacion) {
+        return 100 * pisoDe(habitacion) + (habitacion - 1) % parametros.habitacionesPorHotel() % HABITACIONES_POR_PISO + 1;
+    }
+
+    public static int capacidadTipo(int tipo) {
+        return CAPACIDAD_TIPO[tipo];
+    }
+
+    public static String nombreTipo(int tipo) {
+        return NOMBRE_TIPO[tipo];
+    }
+
+    /** Tarifa del tipo en la fecha: las tarifas son mensuales, con recargo en temporada alta. */
+    public static double precio(int tipo, LocalDate fecha) {
+        Month mes = fecha.getMonth();
+        double recargo = switch (mes) {
+            case JANUARY, FEBRUARY -> 1.35;
+            case JULY -> 1.25;
+            case DECEMBER -> 1.15;
+            default -> 1.0;
+        };
+        return Math.round(PRECIO_BASE_TIPO[tipo] * recargo);
+    }
+
+    /** El precio que gestion-svc publica hoy para el tipo (tarifa vigente). */
+    public double precioVigente(int tipo) {
+        return precio(tipo, parametros.hoy());
+    }
+
+    /** Ids de Mongo derivados del número, para que sean los mismos en cada corrida. */
+    public static String idHabitacionMongo(int habitacion) {
+        return String.format("%024x", habitacion);
+    }
+
+    static String idReservaMongo(int habitacion, int orden) {
+        return String.format("%024x", (1L << 48) | ((long) habitacion << 20) | orden);
+    }
+
+    public static String nombreUsuario(int id) {
+        return NOMBRES[id % NOMBRES.length] + " " + APELLIDOS[(id / NOMBRES.length) % APELLIDOS.length];
+    }
+
+    public static String dni(int id) {
+        return String.valueOf(DNI_BASE + id);
+    }
+
+    public static String email(int id) {
+        return "huesped" + id + "@generado.test";
+    }
+}
@@ -0,0 +1,21 @@
+package edu.utn.frsf.isi.dan.generador;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/** Datos para abrir conexiones JDBC; las cargas paralelas abren una por hilo. */
+public record ConexionJdbc(String url, String usuario, String clave) {
+
+    public Connection abrir() throws SQLException {
+        return DriverManager.getConnection(url, usuario, clave);
+    }
+
+    /** La misma conexión con el parámetro agregado a la URL si no estaba. */
+    public ConexionJdbc conParametro(String nombre, String valor) {
+        if (url.contains(nombre + "=")) {
+            return this;
+        }
+        return new ConexionJdbc(url + (url.contains("?") ? "&" : "?") + nombre + "=" + valor, usuario, clave);
+    }
+}
@@ -0,0 +1,82 @@
+package edu.utn.frsf.isi.dan.generador;
+
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+/**
+ * Volumen y forma del conjunto de datos. Con los mismos parámetros (incluida la fecha de referencia
+ * <code>hoy</code>) el generador produce exactamente los mismos datos, aunque cambie la cantidad de hilos.
+ *
+ * @param sesgoHoteles   exponente de Zipf de la popularidad de los hoteles: con 1.0 el hotel más pedido recibe
+ *                       muchas más reservas que la mediana (hasta el tope de ocupación de cada habitación)
+ * @param sesgoHuespedes exponente de Zipf de los huéspedes que reservan: unos pocos viajeros frecuentes y una
+ *                       cola larga con una o ninguna reserva
+ * @param diasPasados    la ventana de reservas empieza esta cantidad de días antes de <code>hoy</code>
+ * @param diasFuturos    y termina esta cantidad de días después
+ */
+@Builder(toBuilder = true)
+public record ParametrosGeneracion(int habitaciones, int habitacionesPorHotel, int reservas, int usuarios, long semilla,
+        double sesgoHoteles, double sesgoHuespedes, int diasPasados, int diasFuturos, LocalDate hoy, int hilos,
+        int tamanioLote) {
+
+    /** Volúmenes de referencia: 50.000 habitaciones, 2.000.000 de reservas y 1.000.000 de usuarios. */
+    public static ParametrosGeneracionBuilder referencia() {
+        return ParametrosGeneracion.builder()
+                .habitaciones(50_000)
+                .habitacionesPorHotel(100)
+                .reservas(2_000_000)
+                .usuarios(1_000_000)
+                .semilla(20250601L)
+                .sesgoHoteles(1.0)
+                .sesgoHuespedes(0.6)
+                .diasPasados(365)
+                .diasFuturos(180)
+                .hoy(LocalDate.now(ZoneOffset.UTC))
+                .hilos(Runtime.getRuntime().availableProcessors())
+                .tamanioLote(5_000);
+    }
+
+    /** Parte de {@link #referencia()} y aplica las opciones presentes (las claves son los nombres de los campos). */
+    public static ParametrosGeneracion desde(Map<String, String> opciones) {
+        ParametrosGeneracion base = referencia().build();
+        return base.toBuilder()
+                .habitaciones(entero(opciones, "habitaciones", base.habitaciones()))
+                .habitacionesPorHotel(entero(opciones, "habitacionesPorHotel", base.habitacionesPorHotel()))
+                .reservas(entero(opciones, "reservas", base.reservas()))
+                .usuarios(entero(opciones, "usuarios", base.usuarios()))
+                .semilla(Long.parseLong(opciones.getOrDefault("semilla", String.valueOf(base.semilla()))))
+                .sesgoHoteles(Double.parseDouble(opciones.getOrDefault("sesgoHoteles", String.valueOf(base.sesgoHoteles()))))
+                .sesgoHuespedes(Double.parseDouble(opciones.getOrDefault("sesgoHuespedes", String.valueOf(base.sesgoHuespedes()))))
+                .diasPasados(entero(opciones, "diasPasados", base.diasPasados()))
+                .diasFuturos(entero(opciones, "diasFuturos", base.diasFuturos()))
+                .hoy(opciones.containsKey("hoy") ? LocalDate.parse(opciones.get("hoy")) : base.hoy())
+                .hilos(entero(opciones, "hilos", base.hilos()))
+                .tamanioLote(entero(opciones, "tamanioLote", base.tamanioLote()))
+                .build();
+    }
+
+    private static int entero(Map<String, String> opciones, String clave, int porDefecto) {
+        String valor = opciones.get(clave);
+        return valor == null ? porDefecto : Integer.parseInt(valor.replace("_", ""));
+    }
+
+    public ParametrosGeneracion {
+        if (habitaciones <= 0 || habitacionesPorHotel <= 0 || usuarios <= 0 || reservas < 0) {
+            throw new IllegalArgumentException("Habitaciones, habitaciones por hotel y usuarios deben ser positivos");
+        }
+        if (hilos <= 0 || tamanioLote <= 0) {
+            throw new IllegalArgumentException("Hilos y tamaño de lote deben ser positivos");
+        }
+    }
+
+    public int hoteles() {
+        return (habitaciones + habitacionesPorHotel - 1) / habitacionesPorHotel;
+    }
+
+    public int diasVentana() {
+        return diasPasados + diasFuturos;
+    }
+}
@@ -0,0 +1,18 @@
+package edu.utn.frsf.isi.dan.generador;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/** Filas o documentos escritos en un destino y cuánto tardó. */
+public record ResumenCarga(String destino, long escritos, Duration duracion) {
+
+    public long porMinuto() {
+        long nanos = duracion.toNanos();
+        return nanos == 0 ? escritos : Math.round(escritos * 60e9 / nanos);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s: %,d en %.1f s (%,d por minuto)", destino, escritos, duracion.toMillis() / 1000.0, porMinuto());
+    }
+}
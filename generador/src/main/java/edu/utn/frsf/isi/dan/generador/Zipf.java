@@ -0,0 +1,53 @@
+package edu.utn.frsf.isi.dan.generador;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Distribución de Zipf sobre los valores 1..n: el de rango k tiene probabilidad proporcional a
+ * <code>1 / k^s</code>. Los rangos se asignan a valores con una permutación fija, para que los más
+ * populares no sean siempre los ids más bajos. Es inmutable: cada hilo muestrea con su propio generador.
+ */
+final class Zipf {
+
+    private final double[] acumulada;
+    private final int[] valorDeRango;
+
+    Zipf(int n, double sesgo, long semilla) {
+        acumulada = new double[n];
+        double suma = 0;
+        for (int rango = 1; rango <= n; rango++) {
+            suma += 1 / Math.pow(rango, sesgo);
+            acumulada[rango - 1] = suma;
+        }
+        for (int i = 0; i < n; i++) {
+            acumulada[i] /= suma;
+        }
+        valorDeRango = new int[n];
+        for (int i = 0; i < n; i++) {
+            valorDeRango[i] = i + 1;
+        }
+        SplittableRandom random = new SplittableRandom(semilla);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = valorDeRango[i];
+            valorDeRango[i] = valorDeRango[j];
+            valorDeRango[j] = tmp;
+        }
+    }
+
+    int muestra(SplittableRandom random) {
+        int pos = Arrays.binarySearch(acumulada, random.nextDouble());
+        int rango = pos >= 0 ? pos : Math.min(-pos - 1, acumulada.length - 1);
+        return valorDeRango[rango];
+    }
+
+    /** Probabilidad de cada valor, indexada por valor - 1. */
+    double[] pesos() {
+        double[] pesos = new double[acumulada.length];
+        for (int rango = 0; rango < acumulada.length; rango++) {
+            pesos[valorDeRango[rango] - 1] = acumulada[rango] - (rango == 0 ? 0 : acumulada[rango - 1]);
+        }
+        return pesos;
+    }
+}
@@ -16,6 +16,14 @@ CREATE TABLE users.cuentas_bancarias (
     FOREIGN KEY (banco_id) REFERENCES users.bancos(id)
 );
 
+-- Ids de usuarios y tarjetas asignados por bloques de 50 (TableGenerator pooled de Hibernate), para que los
+-- INSERT se puedan agrupar en lotes JDBC. En una base existente, sembrar valor = MAX(id) + 50 de cada tabla.
+CREATE TABLE users.secuencias (
+    nombre VARCHAR(64) PRIMARY KEY,
+    valor BIGINT NOT NULL
+);
+INSERT INTO users.secuencias (nombre, valor) VALUES ('usuarios', 1), ('tarjetas_credito', 1);
+
 CREATE TABLE users.usuarios (
     id INT AUTO_INCREMENT PRIMARY KEY,
     nombre VARCHAR(255) NOT NULL,
@@ -26,9 +34,20 @@ CREATE TABLE users.usuarios (
     fecha_nacimiento DATE,
     cuenta_bancaria_id INT,
     hotel_id INT,
+    version BIGINT NOT NULL DEFAULT 0,
     FOREIGN KEY (cuenta_bancaria_id) REFERENCES users.cuentas_bancarias(id)
 );
 
+-- DNI único: garantiza la unicidad y permite búsquedas exactas y por prefijo (LIKE 'x%') por rango
+ALTER TABLE users.usuarios ADD CONSTRAINT uk_usuarios_dni UNIQUE (dni);
+
+-- Email único: confirma duplicados en el alta (solo cuando el filtro de unicidad no los descarta) y rechaza
+-- la segunda de dos altas concurrentes con el mismo email, que pasan juntas la validación
+CREATE UNIQUE INDEX idx_usuarios_email ON users.usuarios (email);
+
+-- Búsqueda por nombre en modo usuarios.busqueda.modo=fulltext (tokens de ngram_token_size=3, ver my.cnf)
+ALTER TABLE users.usuarios ADD FULLTEXT INDEX ft_usuarios_nombre (nombre) WITH PARSER ngram;
+
 
 CREATE TABLE users.tarjetas_credito (
     id INT AUTO_INCREMENT PRIMARY KEY,
@@ -42,3 +61,9 @@ CREATE TABLE users.tarjetas_credito (
     FOREIGN KEY (banco_id) REFERENCES users.bancos(id),
     FOREIGN KEY (usuario_id) REFERENCES users.usuarios(id)
 );
+
+-- A lo sumo una tarjeta principal por huésped: la columna generada vale usuario_id solo en la principal y NULL
+-- en el resto, y el índice único (que admite varios NULL) actúa como índice único parcial
+ALTER TABLE users.tarjetas_credito
+    ADD COLUMN principal_usuario_id INT AS (IF(es_principal, usuario_id, NULL)) STORED,
+    ADD CONSTRAINT uk_tarjetas_credito_principal UNIQUE (principal_usuario_id);
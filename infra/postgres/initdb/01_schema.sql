@@ -9,6 +9,9 @@ begin
     end if;
 end$$;
 
+-- Hibernate reserva ids de a 50 (optimizador pooled): el incremento debe coincidir con allocationSize
+ALTER SEQUENCE tp_dan.hotel_id_seq INCREMENT BY 50;
+
 -- Crear tabla HOTEL
 CREATE TABLE IF NOT EXISTS tp_dan.hotel (
     id integer PRIMARY KEY DEFAULT nextval('tp_dan.hotel_id_seq'),
@@ -60,6 +63,8 @@ BEGIN
     END IF;
 END$$;
 
+ALTER SEQUENCE tp_dan.habitacion_id_seq INCREMENT BY 50;
+
 -- Tabla habitacion
 CREATE TABLE IF NOT EXISTS tp_dan.habitacion (
     id integer PRIMARY KEY DEFAULT nextval('tp_dan.habitacion_id_seq'),
@@ -77,6 +82,8 @@ BEGIN
     END IF;
 END$$;
 
+ALTER SEQUENCE tp_dan.amenity_hotel_id_seq INCREMENT BY 50;
+
 -- Tabla amenity_hotel
 CREATE TABLE IF NOT EXISTS tp_dan.amenity_hotel (
     id integer PRIMARY KEY DEFAULT nextval('tp_dan.amenity_hotel_id_seq'),
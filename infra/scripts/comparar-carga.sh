@@ -0,0 +1,39 @@
+#!/usr/bin/env bash
+# Compara dos resultado.json de dan-carga (java -jar carga/target/dan-carga-*-ejecutable.jar).
+# Correr ambas corridas con la misma tasa, mezcla, datos y máquina:
+#
+#   ./comparar-carga.sh base/resultado.json nuevo/resultado.json [umbral_%]
+#
+# Muestra por endpoint la tasa de errores y los percentiles 50, 99 y 99.9 de ambas corridas con
+# su variación, y marca como REGRESIÓN los endpoints cuyo p99 empeora más que el umbral (10 % por
+# defecto) o cuyos errores aumentan. Sale con código 1 si hay alguna. Requiere jq.
+set -euo pipefail
+
+BASE=${1:?"uso: $0 base.json nuevo.json [umbral_%]"}
+NUEVO=${2:?"uso: $0 base.json nuevo.json [umbral_%]"}
+UMBRAL=${3:-10}
+
+for archivo in "$BASE" "$NUEVO"; do
+  jq -r '"\(input_filename): \(.tasa) sesiones/s, \(.sesiones) sesiones, \(.sesionesDescartadas) descartadas, atraso máx \(.atrasoMaximoMs) ms"' "$archivo"
+done
+echo
+
+aplanar() {
+  jq -r '.endpoints | to_entries[] | [.key, .value.operaciones, .value.errores, .value.p50, .value.p99, .value.p999] | @tsv' "$1"
+}
+
+join -t $'\t' <(aplanar "$BASE" | sort) <(aplanar "$NUEVO" | sort) | awk -F '\t' -v umbral="$UMBRAL" '
+  function cambio(a, b) { return (a == 0) ? 0 : (b - a) / a * 100 }
+  BEGIN {
+    regresiones = 0
+    printf "%-20s %15s %21s %21s %21s\n", "endpoint", "errores %", "p50 ms", "p99 ms", "p99.9 ms"
+  }
+  {
+    errBase = ($2 + $3 == 0) ? 0 : $3 / ($2 + $3) * 100
+    errNuevo = ($7 + $8 == 0) ? 0 : $8 / ($7 + $8) * 100
+    marca = (cambio($5, $10) > umbral || errNuevo > errBase + 0.1) ? "  REGRESIÓN" : ""
+    if (marca != "") regresiones++
+    printf "%-20s %6.2f → %6.2f %8.1f → %8.1f %8.1f → %8.1f %8.1f → %8.1f %+7.1f%%%s\n",
+      $1, errBase, errNuevo, $4, $9, $5, $10, $6, $11, cambio($5, $10), marca
+  }
+  END { if (regresiones > 0) { printf "\n%d endpoints con regresión (p99 > %s%% o más errores)\n", regresiones, umbral; exit 1 } }'
@@ -0,0 +1,31 @@
+#!/usr/bin/env bash
+# Compara dos resultados JSON de dan-benchmarks (java -jar benchmarks/target/benchmarks.jar).
+# Correr los benchmarks en el commit base y en el nuevo, con la misma máquina y parámetros:
+#
+#   ./comparar-jmh.sh resultados/base.json resultados/nuevo.json [umbral_%]
+#
+# Muestra cada benchmark (con sus @Param) con el puntaje de ambos, el error y la variación,
+# y marca como REGRESIÓN las que empeoran más que el umbral (10 % por defecto). Sale con
+# código 1 si hay alguna. Requiere jq.
+set -euo pipefail
+
+BASE=${1:?"uso: $0 base.json nuevo.json [umbral_%]"}
+NUEVO=${2:?"uso: $0 base.json nuevo.json [umbral_%]"}
+UMBRAL=${3:-10}
+
+aplanar() {
+  jq -r '.[] | [(.benchmark + (if .params then " " + (.params | to_entries | map("\(.key)=\(.value)") | join(",")) else "" end)),
+                .mode, .primaryMetric.score, .primaryMetric.scoreError, .primaryMetric.scoreUnit] | @tsv' "$1"
+}
+
+join -t $'\t' <(aplanar "$BASE" | sort) <(aplanar "$NUEVO" | sort) | awk -F '\t' -v umbral="$UMBRAL" '
+  BEGIN { regresiones = 0; printf "%-90s %14s %14s %9s\n", "benchmark", "base", "nuevo", "cambio" }
+  {
+    # En modo avgt/sample/ss menos es mejor; en thrpt más es mejor
+    cambio = ($3 == 0) ? 0 : ($7 - $3) / $3 * 100
+    peor = ($2 == "thrpt") ? -cambio : cambio
+    marca = (peor > umbral) ? "  REGRESIÓN" : ""
+    if (marca != "") regresiones++
+    printf "%-90s %10.2f±%-3.1f %10.2f±%-3.1f %+8.1f%% %s%s\n", $1, $3, $4, $7, $8, cambio, $5, marca
+  }
+  END { if (regresiones > 0) { printf "\n%d regresiones por encima de %s%%\n", regresiones, umbral; exit 1 } }'
@@ -0,0 +1,94 @@
+#!/usr/bin/env bash
+# Mide el arranque de los servicios de docker compose: milisegundos desde que arranca el contenedor hasta que
+# /actuator/health/readiness responde 200, los tiempos que informa Spring ("Started ... in X seconds (process running
+# for Y)") y la memoria residente (RSS) del proceso en ese momento.
+#
+#   ./medir-arranque.sh [repeticiones] [servicio...]
+#
+# Para comparar variantes se reconstruyen las imágenes entre corridas, con la infraestructura (bases y
+# RabbitMQ) ya levantada; cada repetición recrea solo el contenedor del servicio:
+#
+#   mvn -q package -DskipTests && docker compose -f infra/docker-compose.yml build              # capas + CDS
+#   mvn -q -Paot package -DskipTests && SPRING_AOT=true docker compose -f infra/docker-compose.yml build
+#   mvn -q -Pnative -pl services/reservas-svc -am package -DskipTests && \
+#     COMPOSE_FILE=infra/docker-compose.yml:infra/docker-compose.native.yml docker compose build reservas-svc
+#
+# Con COMPOSE_FILE definido se usan esos archivos (así se mide la variante nativa). Imprime una línea por
+# corrida y la mediana por servicio. El RSS se lee de /proc del host; donde no se puede (Docker Desktop) se
+# muestra el uso de memoria del contenedor según docker stats.
+#
+# "listo" incluye el calentamiento: readiness da 503 hasta que se estabilizan las latencias. Para medir solo
+# el arranque de Spring se corre con CALENTAMIENTO_HABILITADO=false.
+set -euo pipefail
+
+RAIZ=$(cd "$(dirname "$0")/../.." && pwd)
+export COMPOSE_FILE=${COMPOSE_FILE:-$RAIZ/infra/docker-compose.yml}
+REPETICIONES=${1:-5}
+shift || true
+if (( $# > 0 )); then
+  SERVICIOS=("$@")
+else
+  SERVICIOS=(user-svc reservas-svc gestion-svc)
+fi
+TIMEOUT_S=${TIMEOUT_S:-180}
+
+declare -A PUERTOS=([user-svc]=8081 [reservas-svc]=8082 [gestion-svc]=8083)
+
+nanos_de() {
+  date -d "$1" +%s%N
+}
+
+# En MB
+rss() {
+  local pid
+  pid=$(docker inspect -f '{{.State.Pid}}' "$1")
+  if [[ -r /proc/$pid/status ]]; then
+    awk '/^VmRSS/ { printf "%.0f", $2 / 1024 }' "/proc/$pid/status"
+  else
+    docker stats --no-stream --format '{{.MemUsage}}' "$1" | awk '{
+      valor = $1 + 0
+      if ($1 ~ /GiB/) valor *= 1024
+      else if ($1 ~ /KiB/) valor /= 1024
+      printf "%.0f", valor
+    }'
+  fi
+}
+
+RESULTADOS=$(mktemp)
+trap 'rm -f "$RESULTADOS"' EXIT
+
+printf "%-14s %7s %10s %10s %10s %8s\n" "servicio" "corrida" "listo ms" "spring s" "proceso s" "rss MB"
+for servicio in "${SERVICIOS[@]}"; do
+  puerto=${PUERTOS[$servicio]:?"servicio desconocido: $servicio"}
+  for ((i = 1; i <= REPETICIONES; i++)); do
+    docker compose rm -sf "$servicio" > /dev/null 2>&1
+    docker compose up -d --no-deps "$servicio" > /dev/null 2>&1
+    inicio=$(nanos_de "$(docker inspect -f '{{.State.StartedAt}}' "$servicio")")
+    until curl -fs -o /dev/null "http://localhost:$puerto/actuator/health/readiness"; do
+      if (( ($(date +%s%N) - inicio) / 1000000000 > TIMEOUT_S )); then
+        echo "$servicio no respondió en $TIMEOUT_S s; últimas líneas del log:" >&2
+        docker logs --tail 20 "$servicio" >&2
+        exit 1
+      fi
+      sleep 0.05
+    done
+    listo=$(( ($(date +%s%N) - inicio) / 1000000 ))
+    memoria=$(rss "$servicio")
+    tiempos=$(docker logs "$servicio" 2>&1 | grep -o 'Started .* in [0-9.]* seconds (process running for [0-9.]*)' | tail -1 || true)
+    spring=$(sed -E 's/.* in ([0-9.]+) seconds.*/\1/' <<< "$tiempos")
+    proceso=$(sed -E 's/.*running for ([0-9.]+)\)/\1/' <<< "$tiempos")
+    printf "%-14s %7d %10d %10s %10s %8d\n" "$servicio" "$i" "$listo" "${spring:--}" "${proceso:--}" "$memoria"
+    printf "%s\t%d\t%d\n" "$servicio" "$listo" "$memoria" >> "$RESULTADOS"
+  done
+done
+
+echo
+echo "Medianas:"
+mediana() {
+  sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+for servicio in "${SERVICIOS[@]}"; do
+  listo=$(awk -F '\t' -v s="$servicio" '$1 == s { print $2 }' "$RESULTADOS" | mediana)
+  memoria=$(awk -F '\t' -v s="$servicio" '$1 == s { print $3 }' "$RESULTADOS" | mediana)
+  printf "%-14s listo %s ms, rss %s MB\n" "$servicio" "$listo" "$memoria"
+done
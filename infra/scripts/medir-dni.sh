@@ -0,0 +1,55 @@
+#!/usr/bin/env bash
+# Mide GET /users/dni/{dni} en user-svc con el escenario usuarioDni de dan-carga: sesiones a tasa fija
+# (lazo abierto) sobre los DNI generados, con latencias medidas desde el momento previsto de cada pedido.
+# Ejecutar antes y después de un cambio con los mismos parámetros y datos, y comparar.
+#
+#   mvn -q -pl carga -am package -DskipTests
+#   ./medir-dni.sh [tasa] [duracion] [salida] [--opcion=valor ...]
+#
+# Las opciones extra se pasan al generador; deben coincidir con las de la carga de datos (--usuarios,
+# --semilla, ...) para que los DNI existan. Para buscar el throughput máximo se repite con tasas crecientes
+# hasta que suben los errores, las sesiones descartadas o el p99. Dos corridas se comparan con
+#
+#   ./comparar-carga.sh antes/resultado.json despues/resultado.json
+#
+# Además muestra el contador y el tiempo total que registra el actuator en http.server.requests para la URI
+# /users/dni/{dni}. Con RESULTADOS=archivo.csv agrega una línea
+# fecha,commit,tasa,segundos,ok/s,errores,p50,p99,p99.9 para conservar la corrida junto a las anteriores.
+# Requiere jq.
+set -euo pipefail
+
+RAIZ=$(cd "$(dirname "$0")/../.." && pwd)
+TASA=${1:-200}
+DURACION=${2:-2m}
+SALIDA=${3:-$RAIZ/carga/resultados/dni-$(date -u +%Y%m%dT%H%M%SZ)}
+shift $(( $# < 3 ? $# : 3 ))
+BASE_URL=${BASE_URL:-http://localhost:8081}
+
+JAR=$(ls "$RAIZ"/carga/target/dan-carga-*-ejecutable.jar 2>/dev/null | head -1)
+if [[ -z "$JAR" ]]; then
+  echo "No se encontró el generador: mvn -q -pl carga -am package -DskipTests" >&2
+  exit 1
+fi
+
+metricas() {
+  curl -s "$BASE_URL/actuator/metrics/http.server.requests?tag=uri:/users/dni/%7Bdni%7D" \
+    | grep -o '"statistic":"\(COUNT\|TOTAL_TIME\)","value":[0-9.E-]*' || echo "(sin métricas todavía)"
+}
+
+echo "Antes:"; metricas
+
+(cd "$RAIZ" && java -jar "$JAR" --mezcla=usuarioDni:1 --tasa="$TASA" --duracion="$DURACION" \
+  --urlUsuarios="$BASE_URL" --salida="$SALIDA" "$@")
+
+echo "Después:"; metricas
+jq -r '"\(.sesiones) sesiones a \(.tasa)/s en \(.segundosMedidos) s, \(.sesionesDescartadas) descartadas" as $s
+  | .endpoints["usuarios.dni"]
+  | "\($s)\nusuarios.dni: \(.operaciones) ok, \(.errores) err, \(.porSegundo | floor) ok/s, p50 \(.p50) ms, p99 \(.p99) ms, p99.9 \(.p999) ms"' \
+  "$SALIDA/resultado.json"
+
+if [[ -n "${RESULTADOS:-}" ]]; then
+  COMMIT=$(git -C "$RAIZ" rev-parse --short HEAD 2>/dev/null || echo "-")
+  jq -r --arg f "$(date -u +%FT%TZ)" --arg h "$COMMIT" \
+    '[$f, $h, .tasa, .segundosMedidos, (.endpoints["usuarios.dni"] | .porSegundo, .errores, .p50, .p99, .p999)] | @csv' \
+    "$SALIDA/resultado.json" | tr -d '"' >> "$RESULTADOS"
+fi
@@ -0,0 +1,91 @@
+package edu.utn.frsf.isi.dan.performance;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Ejecuta una lista de pedidos con una cantidad fija de clientes concurrentes (modelo cerrado: cada cliente
+ * manda el siguiente pedido cuando recibe la respuesta) y registra la latencia de cada uno. Los pedidos se
+ * arman antes de empezar, así que el tiempo de generarlos no entra en la medición.
+ */
+final class Carga {
+
+    private Carga() {
+    }
+
+    record Resultado(String nombre, long[] latencias, int errores, String primerError, long duracionNanos) {
+
+        int operaciones() {
+            return latencias.length;
+        }
+
+        /** Percentil por rango más cercano sobre las operaciones exitosas, en nanosegundos. */
+        long percentil(double cuantil) {
+            if (latencias.length == 0) {
+                return 0;
+            }
+            int rango = (int) Math.ceil(cuantil * latencias.length);
+            return latencias[Math.max(0, Math.min(latencias.length, rango) - 1)];
+        }
+
+        double porSegundo() {
+            return duracionNanos == 0 ? 0 : (latencias.length + errores) * 1e9 / duracionNanos;
+        }
+    }
+
+    static Resultado ejecutar(HttpClient http, String nombre, List<HttpRequest> pedidos, int concurrencia)
+            throws InterruptedException {
+        long[] latencias = new long[pedidos.size()];
+        Arrays.fill(latencias, -1);
+        AtomicInteger errores = new AtomicInteger();
+        AtomicReference<String> primerError = new AtomicReference<>();
+        Semaphore clientes = new Semaphore(concurrencia);
+
+        long inicio = System.nanoTime();
+        try (ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < pedidos.size(); i++) {
+                int indice = i;
+                clientes.acquire();
+                ejecutor.execute(() -> {
+                    HttpRequest pedido = pedidos.get(indice);
+                    try {
+                        long t0 = System.nanoTime();
+                        HttpResponse<String> respuesta = http.send(pedido, HttpResponse.BodyHandlers.ofString());
+                        long nanos = System.nanoTime() - t0;
+                        if (respuesta.statusCode() >= 300) {
+                            errores.incrementAndGet();
+                            primerError.compareAndSet(null, pedido.method() + " " + pedido.uri() + " -> "
+                                    + respuesta.statusCode() + " " + abreviar(respuesta.body()));
+                        } else {
+                            latencias[indice] = nanos;
+                        }
+                    } catch (IOException e) {
+                        errores.incrementAndGet();
+                        primerError.compareAndSet(null, pedido.method() + " " + pedido.uri() + " -> " + e);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        clientes.release();
+                    }
+                });
+            }
+        }
+        long duracion = System.nanoTime() - inicio;
+
+        long[] exitosas = Arrays.stream(latencias).filter(l -> l >= 0).sorted().toArray();
+        return new Resultado(nombre, exitosas, errores.get(), primerError.get(), duracion);
+    }
+
+    private static String abreviar(String cuerpo) {
+        return cuerpo.length() <= 300 ? cuerpo : cuerpo.substring(0, 300) + "...";
+    }
+}
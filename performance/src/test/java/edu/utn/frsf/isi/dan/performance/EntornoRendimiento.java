@@ -0,0 +1,197 @@
+package edu.utn.frsf.isi.dan.performance;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import edu.utn.frsf.isi.dan.generador.Catalogo;
+import edu.utn.frsf.isi.dan.generador.ConexionJdbc;
+import edu.utn.frsf.isi.dan.generador.GeneradorDatos;
+import lombok.extern.log4j.Log4j2;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.containers.wait.strategy.WaitAllStrategy;
+import org.testcontainers.containers.wait.strategy.WaitStrategy;
+import org.testcontainers.images.builder.ImageFromDockerfile;
+import org.testcontainers.lifecycle.Startables;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.MountableFile;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Levanta una vez por JVM el mismo despliegue que <code>infra/docker-compose.yml</code>: MySQL, Postgres,
+ * MongoDB y RabbitMQ con los scripts de <code>infra</code>, los siembra con el {@link GeneradorDatos} y recién
+ * entonces arranca los tres servicios desde sus Dockerfile (los jar los empaqueta el reactor antes de
+ * <code>integration-test</code>). Así los servicios arrancan como en producción: con los filtros, índices en
+ * memoria y caches cargados desde bases con volumen. Testcontainers elimina todo al terminar la JVM.
+ */
+@Log4j2
+final class EntornoRendimiento {
+
+    private static EntornoRendimiento instancia;
+
+    static synchronized EntornoRendimiento obtener() throws SQLException, InterruptedException {
+        if (instancia == null) {
+            EntornoRendimiento entorno = new EntornoRendimiento(VolumenDatos.desdePropiedades());
+            entorno.iniciar();
+            instancia = entorno;
+        }
+        return instancia;
+    }
+
+    private static final Duration ARRANQUE_SERVICIO = Duration.ofMinutes(10);
+    /** Los servicios loguean en DEBUG por defecto; en la medición solo agregaría ruido y latencia. */
+    private static final String LOGGING = "{\"logging.level.edu.utn.frsf.isi.dan\":\"INFO\","
+            + "\"logging.level.edu.utn.frsf.isi.dan.reservas_svc\":\"INFO\","
+            + "\"logging.level.edu.utn.frsf.isi.dan.gestion\":\"INFO\"}";
+
+    private final VolumenDatos volumen;
+    private final Path raiz = Path.of(System.getProperty("perf.raiz", "..")).toAbsolutePath().normalize();
+    private final Network red = Network.newNetwork();
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final MySQLContainer<?> mysql = new MySQLContainer<>(DockerImageName.parse("mysql:8.3"))
+            .withDatabaseName("users")
+            .withUsername("usr_app")
+            .withPassword("usrapp")
+            .withUrlParam("rewriteBatchedStatements", "true")
+            .withCopyFileToContainer(MountableFile.forHostPath(raiz.resolve("infra/mysql/initdb")), "/docker-entrypoint-initdb.d/")
+            .withCopyFileToContainer(MountableFile.forHostPath(raiz.resolve("infra/mysql/my.cnf")), "/etc/mysql/conf.d/dan.cnf")
+            .withNetwork(red)
+            .withNetworkAliases("mysql");
+
+    private final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16"))
+            .withDatabaseName("appdb")
+            .withUsername("appuser")
+            .withPassword("apppwd")
+            .withUrlParam("reWriteBatchedInserts", "true")
+            .withCopyFileToContainer(MountableFile.forHostPath(raiz.resolve("infra/postgres/initdb")), "/docker-entrypoint-initdb.d/")
+            .withNetwork(red)
+            .withNetworkAliases("postgres-db");
+
+    private final MongoDBContainer mongo = new MongoDBContainer(DockerImageName.parse("mongo:7"))
+            .withNetwork(red)
+            .withNetworkAliases("mongodb");
+
+    private final GenericContainer<?> rabbit = new GenericContainer<>(DockerImageName.parse("rabbitmq:3-management"))
+            .withEnv("RABBITMQ_DEFAULT_USER", "admin")
+            .withEnv("RABBITMQ_DEFAULT_PASS", "admin")
+            .withExposedPorts(5672)
+            .waitingFor(Wait.forLogMessage(".*Server startup complete.*", 1))
+            .withNetwork(red)
+            .withNetworkAliases("rabbitmq");
+
+    private Catalogo catalogo;
+    private Servicio usuarios;
+    private Servicio gestion;
+    private Servicio reservas;
+
+    private EntornoRendimiento(VolumenDatos volumen) {
+        this.volumen = volumen;
+    }
+
+    private void iniciar() throws SQLException, InterruptedException {
+        long inicio = System.nanoTime();
+        Startables.deepStart(mysql, postgres, mongo, rabbit).join();
+        log.info("Infraestructura lista en {} s", (System.nanoTime() - inicio) / 1_000_000_000);
+
+        sembrar();
+
+        // El índice de trigramas, los filtros de unicidad y los índices de Mongo se construyen después del
+        // arranque; sin ellos la búsqueda por nombre cae al LIKE, las altas van siempre a la base y la búsqueda
+        // por distancia falla. Readiness espera además el calentamiento, para que las mediciones no incluyan
+        // las primeras ejecuciones interpretadas
+        GenericContainer<?> contenedorUsuarios = servicio("user-svc", Map.of(
+                "SPRING_DATASOURCE_URL", "jdbc:mysql://mysql:3306/users?allowPublicKeyRetrieval=true&useSSL=false"
+                        + "&serverTimezone=UTC&rewriteBatchedStatements=true",
+                "SPRING_DATASOURCE_USERNAME", "usr_app",
+                "SPRING_DATASOURCE_PASSWORD", "usrapp",
+                "SPRING_JPA_SHOW_SQL", "false"),
+                new WaitAllStrategy(WaitAllStrategy.Mode.WITH_MAXIMUM_OUTER_TIMEOUT)
+                        .withStrategy(Wait.forHttp("/actuator/health/readiness").forStatusCode(200))
+                        .withStrategy(Wait.forLogMessage(".*trigramas construido.*", 1))
+                        .withStrategy(Wait.forLogMessage(".*Filtros de unicidad construidos.*", 1))
+                        .withStartupTimeout(ARRANQUE_SERVICIO));
+        GenericContainer<?> contenedorGestion = servicio("gestion-svc", Map.of(
+                "SPRING_DATASOURCE_URL", "jdbc:postgresql://postgres-db:5432/appdb",
+                "SPRING_DATASOURCE_USERNAME", "appuser",
+                "SPRING_DATASOURCE_PASSWORD", "apppwd",
+                "SPRING_JPA_SHOW_SQL", "false"),
+                Wait.forHttp("/actuator/health/readiness").forStatusCode(200).withStartupTimeout(ARRANQUE_SERVICIO));
+        GenericContainer<?> contenedorReservas = servicio("reservas-svc", Map.of(
+                "SPRING_DATA_MONGODB_URI", "mongodb://mongodb:27017/reservas?directConnection=true",
+                "GESTION_URL", "http://gestion-svc:8080"),
+                new WaitAllStrategy(WaitAllStrategy.Mode.WITH_MAXIMUM_OUTER_TIMEOUT)
+                        .withStrategy(Wait.forHttp("/actuator/health/readiness").forStatusCode(200))
+                        .withStrategy(Wait.forLogMessage(".*Índices de Mongo verificados.*", 1))
+                        .withStartupTimeout(ARRANQUE_SERVICIO));
+
+        inicio = System.nanoTime();
+        Startables.deepStart(contenedorUsuarios, contenedorGestion, contenedorReservas).join();
+        log.info("Servicios listos en {} s", (System.nanoTime() - inicio) / 1_000_000_000);
+
+        usuarios = new Servicio("user-svc", url(contenedorUsuarios), http);
+        gestion = new Servicio("gestion-svc", url(contenedorGestion), http);
+        reservas = new Servicio("reservas-svc", url(contenedorReservas), http);
+    }
+
+    private void sembrar() throws SQLException, InterruptedException {
+        GeneradorDatos generador = new GeneradorDatos(volumen.parametros());
+        generador.cargarUsuarios(new ConexionJdbc(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword()), false);
+        generador.cargarGestion(new ConexionJdbc(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()), false);
+        try (MongoClient cliente = MongoClients.create(mongo.getConnectionString() + "/?directConnection=true")) {
+            generador.cargarReservas(cliente.getDatabase("reservas"), false);
+        }
+        catalogo = generador.catalogo();
+    }
+
+    private GenericContainer<?> servicio(String nombre, Map<String, String> entorno, WaitStrategy listo) {
+        ImageFromDockerfile imagen = new ImageFromDockerfile("dan-perf/" + nombre, false)
+                .withDockerfile(raiz.resolve("services").resolve(nombre).resolve("Dockerfile"));
+        return new GenericContainer<>(imagen)
+                .withEnv(entorno)
+                .withEnv("SPRING_APPLICATION_JSON", LOGGING)
+                .withExposedPorts(8080)
+                .waitingFor(listo)
+                .withNetwork(red)
+                .withNetworkAliases(nombre);
+    }
+
+    private static String url(GenericContainer<?> contenedor) {
+        return "http://" + contenedor.getHost() + ":" + contenedor.getMappedPort(8080);
+    }
+
+    VolumenDatos volumen() {
+        return volumen;
+    }
+
+    Catalogo catalogo() {
+        return catalogo;
+    }
+
+    HttpClient http() {
+        return http;
+    }
+
+    Servicio usuarios() {
+        return usuarios;
+    }
+
+    Servicio gestion() {
+        return gestion;
+    }
+
+    Servicio reservas() {
+        return reservas;
+    }
+}
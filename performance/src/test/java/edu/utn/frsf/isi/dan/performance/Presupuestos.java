@@ -0,0 +1,169 @@
+package edu.utn.frsf.isi.dan.performance;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Presupuestos versionados en <code>presupuestos.properties</code> y lo medido contra ellos. Cada carga tiene
+ * <code>&lt;carga&gt;.p95</code> y <code>&lt;carga&gt;.p99</code> (duraciones) y
+ * <code>&lt;carga&gt;.consultas.&lt;servicio&gt;</code> (consultas a la base por operación, en promedio). Una
+ * medición sin presupuesto es un error: toda carga nueva tiene que entrar con su cota.
+ *
+ * <p>Lo medido se escribe en <code>resultado.json</code> bajo <code>perf.resultados</code>, para comparar
+ * corridas aunque todas estén dentro del presupuesto.</p>
+ *
+ * <p>Mientras el archivo no registre la corrida de la que salieron (<code>calibracion.fecha</code>), los
+ * presupuestos de latencia son estimaciones y se aplican multiplicados por <code>margen-sin-calibrar</code>;
+ * los de consultas, que no dependen del equipo, se aplican tal cual. Con <code>-Dperf.calibrar=true</code> se
+ * escribe además
+ * <code>presupuestos-calibrados.properties</code>: lo medido más un margen (<code>perf.calibrar.margen</code>,
+ * 1.3 por defecto) y los datos de la corrida, para revisarlo y reemplazar el archivo versionado.</p>
+ */
+final class Presupuestos {
+
+    private final Properties valores;
+    private final Map<String, Object> medido = new LinkedHashMap<>();
+    private final List<String> excedidos = new ArrayList<>();
+    /** Lo medido por clave de presupuesto, en nanosegundos o consultas por operación, para la calibración. */
+    private final Map<String, Number> calibracion = new LinkedHashMap<>();
+    private int informados;
+    /** 1 con presupuestos calibrados; si no, el margen versionado para las estimaciones de latencia. */
+    private final double margenLatencias;
+
+    private Presupuestos(Properties valores) {
+        this.valores = valores;
+        this.margenLatencias = calibrados() ? 1.0 : Double.parseDouble(requerido("margen-sin-calibrar"));
+        medido.put("margen-latencias", margenLatencias);
+    }
+
+    static Presupuestos cargar() {
+        Properties valores = new Properties();
+        try (InputStream entrada = Presupuestos.class.getResourceAsStream("/presupuestos.properties")) {
+            if (entrada == null) {
+                throw new IllegalStateException("No se encontró presupuestos.properties en el classpath");
+            }
+            valores.load(entrada);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Presupuestos(valores);
+    }
+
+    /** p95 y p99 de una carga medida en el cliente, más p50, máximo y ritmo para el reporte. */
+    void latencias(Carga.Resultado resultado) {
+        String carga = resultado.nombre();
+        medido.put(carga + ".operaciones", resultado.operaciones());
+        medido.put(carga + ".por-segundo", Math.round(resultado.porSegundo()));
+        medido.put(carga + ".p50-ms", resultado.percentil(0.50) / 1e6);
+        latencia(carga, "p95", resultado.percentil(0.95));
+        latencia(carga, "p99", resultado.percentil(0.99));
+        medido.put(carga + ".max-ms", resultado.percentil(1.0) / 1e6);
+    }
+
+    /** Compara un percentil (en nanosegundos; <code>Long.MAX_VALUE</code> si no está acotado) con su presupuesto. */
+    void latencia(String carga, String percentil, long nanos) {
+        String clave = carga + "." + percentil;
+        long presupuesto = Math.round(DurationStyle.detectAndParse(requerido(clave)).toNanos() * margenLatencias);
+        medido.put(clave + "-ms", nanos == Long.MAX_VALUE ? "sin cota" : nanos / 1e6);
+        calibracion.put(clave, nanos);
+        if (nanos > presupuesto) {
+            excedidos.add(String.format("%s: %s ms > %s%s", clave,
+                    nanos == Long.MAX_VALUE ? "más allá del último bucket" : String.format("%.1f", nanos / 1e6),
+                    requerido(clave), margenLatencias == 1.0 ? "" : " x " + margenLatencias + " (sin calibrar)"));
+        }
+    }
+
+    void consultas(String carga, String servicio, long consultas, int operaciones) {
+        String clave = carga + ".consultas." + servicio;
+        double porOperacion = operaciones == 0 ? 0 : (double) consultas / operaciones;
+        double presupuesto = Double.parseDouble(requerido(clave));
+        medido.put(clave, Math.round(porOperacion * 100) / 100.0);
+        calibracion.put(clave, porOperacion);
+        if (porOperacion > presupuesto) {
+            excedidos.add(String.format("%s: %.2f consultas por operación > %s", clave, porOperacion, requerido(clave)));
+        }
+    }
+
+    /** Si el archivo registra la corrida de referencia de la que salieron los valores. */
+    boolean calibrados() {
+        return valores.getProperty("calibracion.fecha") != null;
+    }
+
+    /** Los presupuestos excedidos desde la llamada anterior (el reporte conserva todos). */
+    List<String> tomarExcedidos() {
+        List<String> nuevos = List.copyOf(excedidos.subList(informados, excedidos.size()));
+        informados = excedidos.size();
+        return nuevos;
+    }
+
+    void escribir(Path directorio, VolumenDatos volumen) {
+        Map<String, Object> reporte = new LinkedHashMap<>();
+        reporte.put("volumen", volumen);
+        reporte.put("medido", medido);
+        reporte.put("excedidos", excedidos);
+        try {
+            Files.createDirectories(directorio);
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(directorio.resolve("resultado.json").toFile(), reporte);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Propuesta de presupuestos a partir de esta corrida: latencias por el margen, redondeadas hacia arriba a
+     * 5 ms, y consultas por operación redondeadas hacia arriba. Un percentil sin cota conserva el valor actual.
+     */
+    void escribirCalibracion(Path directorio, VolumenDatos volumen, double margen) {
+        StringBuilder archivo = new StringBuilder()
+                .append("# Propuesta de presupuestos-calibrados.properties, medido x ").append(margen).append('\n')
+                .append("calibracion.fecha=").append(LocalDate.now()).append('\n')
+                .append("calibracion.commit=").append(System.getProperty("perf.commit", "desconocido")).append('\n')
+                .append("calibracion.equipo=").append(Runtime.getRuntime().availableProcessors()).append(" cpus, ")
+                .append(System.getProperty("os.name")).append(' ').append(System.getProperty("os.arch"))
+                .append(", Java ").append(Runtime.version()).append('\n')
+                .append("calibracion.volumen=").append(volumen.habitaciones()).append(" habitaciones, ")
+                .append(volumen.reservas()).append(" reservas, ").append(volumen.usuarios()).append(" usuarios\n");
+        calibracion.forEach((clave, valor) -> {
+            archivo.append(clave).append('=');
+            if (valor instanceof Long nanos) {
+                if (nanos == Long.MAX_VALUE) {
+                    archivo.append(requerido(clave)).append("  # sin cota en esta corrida");
+                } else {
+                    long ms = (long) Math.ceil(nanos * margen / 1e6);
+                    archivo.append(Math.max(5, (ms + 4) / 5 * 5)).append("ms");
+                }
+            } else {
+                archivo.append((long) Math.ceil(valor.doubleValue()));
+            }
+            archivo.append('\n');
+        });
+        try {
+            Files.createDirectories(directorio);
+            Files.writeString(directorio.resolve("presupuestos-calibrados.properties"), archivo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String requerido(String clave) {
+        String valor = valores.getProperty(clave);
+        if (valor == null) {
+            throw new IllegalStateException("Falta el presupuesto " + clave + " en presupuestos.properties");
+        }
+        return valor.strip();
+    }
+}
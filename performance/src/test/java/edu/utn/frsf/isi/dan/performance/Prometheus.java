@@ -0,0 +1,82 @@
+package edu.utn.frsf.isi.dan.performance;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Lectura mínima del formato de texto de <code>/actuator/prometheus</code>: sumas de una serie filtrada por
+ * etiquetas y percentiles aproximados a partir de los buckets de SLO (el percentil es la cota superior del
+ * bucket donde cae, así que el presupuesto se compara contra un valor igual o mayor al real).
+ */
+final class Prometheus {
+
+    private Prometheus() {
+    }
+
+    /** Suma de los valores de la serie en las líneas que contienen todas las etiquetas dadas (p. ej. <code>etapa="aplicado"</code>). */
+    static double suma(String texto, String serie, String... etiquetas) {
+        double total = 0;
+        for (String linea : texto.split("\n")) {
+            if (coincide(linea, serie, etiquetas)) {
+                total += valor(linea);
+            }
+        }
+        return total;
+    }
+
+    /** Cuentas acumuladas por cota superior (<code>le</code>) de un histograma, sumadas entre las series que coinciden. */
+    static NavigableMap<Double, Double> buckets(String texto, String serie, String... etiquetas) {
+        NavigableMap<Double, Double> buckets = new TreeMap<>();
+        for (String linea : texto.split("\n")) {
+            if (coincide(linea, serie + "_bucket", etiquetas)) {
+                int desde = linea.indexOf("le=\"") + 4;
+                String le = linea.substring(desde, linea.indexOf('"', desde));
+                double cota = "+Inf".equals(le) ? Double.POSITIVE_INFINITY : Double.parseDouble(le);
+                buckets.merge(cota, valor(linea), Double::sum);
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Percentil, en la unidad del histograma, de las observaciones registradas entre dos lecturas; infinito si
+     * cae más allá del último bucket con cota.
+     */
+    static double percentil(NavigableMap<Double, Double> antes, NavigableMap<Double, Double> despues, double cuantil) {
+        double total = delta(antes, despues, Double.POSITIVE_INFINITY);
+        if (total <= 0) {
+            return 0;
+        }
+        for (Map.Entry<Double, Double> bucket : despues.entrySet()) {
+            if (delta(antes, despues, bucket.getKey()) >= cuantil * total) {
+                return bucket.getKey();
+            }
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    private static double delta(NavigableMap<Double, Double> antes, NavigableMap<Double, Double> despues, double cota) {
+        return despues.getOrDefault(cota, 0.0) - antes.getOrDefault(cota, 0.0);
+    }
+
+    private static boolean coincide(String linea, String serie, String... etiquetas) {
+        if (!linea.startsWith(serie) || linea.length() == serie.length()) {
+            return false;
+        }
+        char siguiente = linea.charAt(serie.length());
+        if (siguiente != '{' && siguiente != ' ') {
+            return false;
+        }
+        for (String etiqueta : etiquetas) {
+            if (!linea.contains(etiqueta)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double valor(String linea) {
+        return Double.parseDouble(linea.substring(linea.lastIndexOf(' ') + 1));
+    }
+}
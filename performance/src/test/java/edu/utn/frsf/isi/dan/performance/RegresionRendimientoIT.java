@@ -0,0 +1,270 @@
+package edu.utn.frsf.isi.dan.performance;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.utn.frsf.isi.dan.generador.Catalogo;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cargas guionadas contra los controladores reales, comparadas con <code>presupuestos.properties</code>. Cada
+ * carga corre primero un calentamiento que no se mide, reinicia <code>/actuator/consultas</code> del servicio y
+ * después mide. Las búsquedas van antes que las escrituras para que vean siempre los datos sembrados.
+ *
+ * <p>Parámetros: <code>perf.operaciones</code> (2000), <code>perf.calentamiento</code> (300),
+ * <code>perf.concurrencia</code> (16) y <code>perf.rafaga.concurrencia</code> (64) para las altas de reservas.
+ * Con volúmenes distintos de los de referencia o con <code>perf.calibrar=true</code> los presupuestos se
+ * reportan pero no hacen fallar la suite.</p>
+ */
+@Log4j2
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class RegresionRendimientoIT {
+
+    private static final int OPERACIONES = Integer.getInteger("perf.operaciones", 2000);
+    private static final int CALENTAMIENTO = Integer.getInteger("perf.calentamiento", 300);
+    private static final int CONCURRENCIA = Integer.getInteger("perf.concurrencia", 16);
+    private static final int CONCURRENCIA_RAFAGA = Integer.getInteger("perf.rafaga.concurrencia", 64);
+    private static final Duration ESPERA_EVENTOS = Duration.ofMinutes(2);
+    private static final boolean CALIBRAR = Boolean.getBoolean("perf.calibrar");
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static EntornoRendimiento entorno;
+    private static Presupuestos presupuestos;
+
+    @BeforeAll
+    static void iniciar() throws Exception {
+        entorno = EntornoRendimiento.obtener();
+        presupuestos = Presupuestos.cargar();
+    }
+
+    @AfterAll
+    static void reportar() {
+        if (presupuestos != null) {
+            Path resultados = Path.of(System.getProperty("perf.resultados", "target/rendimiento"));
+            presupuestos.escribir(resultados, entorno.volumen());
+            if (CALIBRAR) {
+                presupuestos.escribirCalibracion(resultados, entorno.volumen(),
+                        Double.parseDouble(System.getProperty("perf.calibrar.margen", "1.3")));
+            }
+        }
+    }
+
+    @Test
+    @Order(1)
+    void busquedaDeHabitaciones() throws Exception {
+        Catalogo catalogo = entorno.catalogo();
+        SplittableRandom random = new SplittableRandom(1);
+        Instant hoy = Instant.now().truncatedTo(ChronoUnit.DAYS);
+        List<HttpRequest> pedidos = pedidos(random, r -> {
+            int hotel = 1 + r.nextInt(entorno.volumen().hoteles());
+            Instant checkIn = hoy.plus(1 + r.nextInt(150), ChronoUnit.DAYS).plus(14, ChronoUnit.HOURS);
+            Map<String, Object> criterios = new LinkedHashMap<>();
+            criterios.put("fechaCheckIn", checkIn.toString());
+            criterios.put("fechaCheckOut", checkIn.plus(1 + r.nextInt(7), ChronoUnit.DAYS).minus(4, ChronoUnit.HOURS).toString());
+            criterios.put("cantidadHuespedes", 1 + r.nextInt(4));
+            criterios.put("latitud", catalogo.latitud(hotel));
+            criterios.put("longitud", catalogo.longitud(hotel));
+            criterios.put("distanciaMaximaMetros", 5_000.0 + r.nextInt(45_000));
+            if (r.nextBoolean()) {
+                criterios.put("precioMinimo", 40_000.0);
+                criterios.put("precioMaximo", 40_000.0 + r.nextInt(80_000));
+            }
+            if (r.nextInt(3) == 0) {
+                criterios.put("categoriaMinima", 1 + r.nextInt(3));
+            }
+            if (r.nextInt(4) == 0) {
+                criterios.put("amenities", List.of(Catalogo.AMENITIES[r.nextInt(Catalogo.AMENITIES.length)]));
+            }
+            return entorno.reservas().post("/habitaciones/buscar", json(criterios));
+        });
+        medir("busqueda", entorno.reservas(), pedidos, CONCURRENCIA);
+    }
+
+    @Test
+    @Order(2)
+    void busquedaDeUsuariosPorNombre() throws Exception {
+        List<HttpRequest> pedidos = pedidos(new SplittableRandom(2), r -> {
+            String apellido = Catalogo.APELLIDOS[r.nextInt(Catalogo.APELLIDOS.length)];
+            String consulta = r.nextBoolean()
+                    ? Catalogo.NOMBRES[r.nextInt(Catalogo.NOMBRES.length)] + " " + apellido.substring(0, 3)
+                    : apellido.substring(0, 3 + r.nextInt(apellido.length() - 2));
+            return entorno.usuarios().get("/users?size=20&page=" + r.nextInt(5) + "&nombre="
+                    + URLEncoder.encode(consulta, StandardCharsets.UTF_8));
+        });
+        medir("usuarios.nombre", entorno.usuarios(), pedidos, CONCURRENCIA);
+    }
+
+    @Test
+    @Order(3)
+    void busquedaDeUsuariosPorDni() throws Exception {
+        List<HttpRequest> pedidos = pedidos(new SplittableRandom(3), r -> entorno.usuarios()
+                .get("/users/dni/" + Catalogo.dni(1 + r.nextInt(entorno.volumen().usuarios()))));
+        medir("usuarios.dni", entorno.usuarios(), pedidos, CONCURRENCIA);
+    }
+
+    @Test
+    @Order(4)
+    void rafagaDeReservas() throws Exception {
+        Catalogo catalogo = entorno.catalogo();
+        // Fechas posteriores a la ventana sembrada, para no alterar lo que ven las búsquedas
+        Instant desde = Instant.now().truncatedTo(ChronoUnit.DAYS).plus(400, ChronoUnit.DAYS);
+        List<HttpRequest> pedidos = pedidos(new SplittableRandom(4), r -> {
+            int habitacion = 1 + r.nextInt(entorno.volumen().habitaciones());
+            int usuario = 1 + r.nextInt(entorno.volumen().usuarios());
+            int noches = 1 + r.nextInt(5);
+            Instant checkIn = desde.plus(r.nextInt(300), ChronoUnit.DAYS).plus(14, ChronoUnit.HOURS);
+            double precio = Catalogo.precio(catalogo.tipoDe(habitacion), LocalDate.ofInstant(checkIn, ZoneOffset.UTC));
+            Map<String, Object> reserva = new LinkedHashMap<>();
+            reserva.put("idHabitacion", Catalogo.idHabitacionMongo(habitacion));
+            reserva.put("hotelId", catalogo.hotelDe(habitacion));
+            reserva.put("checkIn", checkIn.toString());
+            reserva.put("checkOut", checkIn.plus(noches, ChronoUnit.DAYS).minus(4, ChronoUnit.HOURS).toString());
+            reserva.put("precioNoche", precio);
+            reserva.put("precioTotal", precio * noches);
+            reserva.put("huesped", Map.of("idUsuario", String.valueOf(usuario),
+                    "nombreApellido", Catalogo.nombreUsuario(usuario), "email", Catalogo.email(usuario)));
+            return entorno.reservas().post("/reservas", json(reserva));
+        });
+        medir("reservas", entorno.reservas(), pedidos, CONCURRENCIA_RAFAGA);
+    }
+
+    /**
+     * Inunda gestion-svc con modificaciones de habitaciones (cada una publica un evento) y espera a que
+     * reservas-svc las aplique todas. Se mide la respuesta del PUT, la demora de propagación según el
+     * histograma de reservas-svc y las consultas por evento de cada lado.
+     */
+    @Test
+    @Order(5)
+    void inundacionDeEventosDeHabitacion() throws Exception {
+        Catalogo catalogo = entorno.catalogo();
+        Servicio gestion = entorno.gestion();
+        Servicio reservas = entorno.reservas();
+        List<HttpRequest> pedidos = pedidos(new SplittableRandom(5), r -> {
+            int id = 1 + r.nextInt(entorno.volumen().habitaciones());
+            Map<String, Object> habitacion = new LinkedHashMap<>();
+            habitacion.put("numero", catalogo.numeroDe(id));
+            habitacion.put("piso", catalogo.pisoDe(id));
+            habitacion.put("tipoHabitacion", Map.of("id", catalogo.tipoDe(id)));
+            habitacion.put("hotel", Map.of("id", catalogo.hotelDe(id)));
+            return gestion.put("/habitaciones/" + id, json(habitacion));
+        });
+
+        double procesados = eventosProcesados(reservas.prometheus());
+        Carga.ejecutar(entorno.http(), "eventos.publicacion", pedidos.subList(0, CALENTAMIENTO), CONCURRENCIA);
+        esperarEventos(reservas, procesados + CALENTAMIENTO);
+
+        gestion.reiniciarConsultas();
+        reservas.reiniciarConsultas();
+        String antes = reservas.prometheus();
+        Carga.Resultado publicacion = Carga.ejecutar(entorno.http(), "eventos.publicacion",
+                pedidos.subList(CALENTAMIENTO, pedidos.size()), CONCURRENCIA);
+        assertEquals(0, publicacion.errores(), () -> "Errores en eventos.publicacion: " + publicacion.primerError());
+        String despues = esperarEventos(reservas, eventosProcesados(antes) + publicacion.operaciones());
+
+        presupuestos.latencias(publicacion);
+        presupuestos.consultas("eventos.publicacion", gestion.nombre(), gestion.consultasEjecutadas(), publicacion.operaciones());
+
+        String serie = "reservas_eventos_habitacion_seconds_count";
+        assertEquals(0, Prometheus.suma(despues, serie, "resultado=\"error\"") - Prometheus.suma(antes, serie, "resultado=\"error\""),
+                "reservas-svc no pudo aplicar algunos eventos");
+        String demora = "reservas_eventos_habitacion_demora_seconds";
+        NavigableMap<Double, Double> bucketsAntes = Prometheus.buckets(antes, demora, "etapa=\"aplicado\"");
+        NavigableMap<Double, Double> bucketsDespues = Prometheus.buckets(despues, demora, "etapa=\"aplicado\"");
+        presupuestos.latencia("eventos.propagacion", "p95", nanos(Prometheus.percentil(bucketsAntes, bucketsDespues, 0.95)));
+        presupuestos.latencia("eventos.propagacion", "p99", nanos(Prometheus.percentil(bucketsAntes, bucketsDespues, 0.99)));
+        presupuestos.consultas("eventos.propagacion", reservas.nombre(), reservas.consultasEjecutadas(), publicacion.operaciones());
+        verificarPresupuestos();
+    }
+
+    private static List<HttpRequest> pedidos(SplittableRandom random, Function<SplittableRandom, HttpRequest> armar) {
+        List<HttpRequest> pedidos = new ArrayList<>(CALENTAMIENTO + OPERACIONES);
+        for (int i = 0; i < CALENTAMIENTO + OPERACIONES; i++) {
+            pedidos.add(armar.apply(random));
+        }
+        return pedidos;
+    }
+
+    private static void medir(String carga, Servicio servicio, List<HttpRequest> pedidos, int concurrencia) throws InterruptedException {
+        Carga.ejecutar(entorno.http(), carga, pedidos.subList(0, CALENTAMIENTO), concurrencia);
+        servicio.reiniciarConsultas();
+        Carga.Resultado resultado = Carga.ejecutar(entorno.http(), carga, pedidos.subList(CALENTAMIENTO, pedidos.size()), concurrencia);
+        long consultas = servicio.consultasEjecutadas();
+        log.info("{}: {} operaciones, {} errores, p50 {} ms, p99 {} ms, {} op/s", carga, resultado.operaciones(),
+                resultado.errores(), resultado.percentil(0.50) / 1_000_000, resultado.percentil(0.99) / 1_000_000,
+                Math.round(resultado.porSegundo()));
+        assertEquals(0, resultado.errores(), () -> "Errores en " + carga + ": " + resultado.primerError());
+
+        presupuestos.latencias(resultado);
+        presupuestos.consultas(carga, servicio.nombre(), consultas, resultado.operaciones());
+        verificarPresupuestos();
+    }
+
+    /** Falla con los presupuestos excedidos hasta ahora; no con volúmenes reducidos ni al calibrar. */
+    private static void verificarPresupuestos() {
+        List<String> excedidos = presupuestos.tomarExcedidos();
+        String motivo = CALIBRAR ? "calibrando" : !entorno.volumen().esReferencia() ? "volumen reducido" : null;
+        if (motivo != null) {
+            excedidos.forEach(e -> log.warn("Presupuesto excedido ({}, no se verifica): {}", motivo, e));
+            return;
+        }
+        assertTrue(excedidos.isEmpty(), () -> "Presupuestos excedidos:\n" + String.join("\n", excedidos));
+    }
+
+    private static double eventosProcesados(String prometheus) {
+        return Prometheus.suma(prometheus, "reservas_eventos_habitacion_seconds_count");
+    }
+
+    /** Espera a que el listener de reservas-svc haya procesado la cantidad dada de eventos y devuelve las métricas. */
+    private static String esperarEventos(Servicio reservas, double esperados) throws InterruptedException {
+        long limite = System.currentTimeMillis() + ESPERA_EVENTOS.toMillis();
+        while (true) {
+            String metricas = reservas.prometheus();
+            if (eventosProcesados(metricas) >= esperados) {
+                return metricas;
+            }
+            if (System.currentTimeMillis() > limite) {
+                throw new AssertionError("reservas-svc no procesó los eventos a tiempo: " + eventosProcesados(metricas)
+                        + " de " + (long) esperados);
+            }
+            Thread.sleep(250);
+        }
+    }
+
+    private static long nanos(double segundos) {
+        return Double.isInfinite(segundos) ? Long.MAX_VALUE : Math.round(segundos * 1e9);
+    }
+
+    private static String json(Object valor) {
+        try {
+            return JSON.writeValueAsString(valor);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package edu.utn.frsf.isi.dan.performance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * Un servicio corriendo en su contenedor, visto desde la JVM de la suite: arma los pedidos de las cargas y
+ * lee sus endpoints de actuator (<code>consultas</code> de la librería común y <code>prometheus</code>).
+ */
+final class Servicio {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final String nombre;
+    private final String base;
+    private final HttpClient http;
+
+    Servicio(String nombre, String base, HttpClient http) {
+        this.nombre = nombre;
+        this.base = base;
+        this.http = http;
+    }
+
+    String nombre() {
+        return nombre;
+    }
+
+    HttpRequest get(String ruta) {
+        return HttpRequest.newBuilder(URI.create(base + ruta)).GET().build();
+    }
+
+    HttpRequest post(String ruta, String json) {
+        return HttpRequest.newBuilder(URI.create(base + ruta))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    HttpRequest put(String ruta, String json) {
+        return HttpRequest.newBuilder(URI.create(base + ruta))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    /** Pone en cero los totales por forma de <code>/actuator/consultas</code> para medir una ventana. */
+    void reiniciarConsultas() {
+        enviar(HttpRequest.newBuilder(URI.create(base + "/actuator/consultas")).DELETE().build());
+    }
+
+    /** Consultas a la base ejecutadas desde el último reinicio, sumando todas las formas. */
+    long consultasEjecutadas() {
+        try {
+            JsonNode resumen = JSON.readTree(enviar(get("/actuator/consultas?limite=100000")));
+            long total = 0;
+            for (JsonNode forma : resumen.path("formas")) {
+                total += forma.path("ejecuciones").asLong();
+            }
+            return total;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    String prometheus() {
+        return enviar(get("/actuator/prometheus"));
+    }
+
+    private String enviar(HttpRequest pedido) {
+        try {
+            HttpResponse<String> respuesta = http.send(pedido, HttpResponse.BodyHandlers.ofString());
+            if (respuesta.statusCode() >= 300) {
+                throw new IllegalStateException(nombre + " respondió " + respuesta.statusCode() + " a " + pedido.uri());
+            }
+            return respuesta.body();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package edu.utn.frsf.isi.dan.performance;
+
+import edu.utn.frsf.isi.dan.generador.ParametrosGeneracion;
+
+/**
+ * Cantidades a sembrar antes de correr las cargas. Por defecto son los volúmenes de referencia de la suite;
+ * se achican con <code>-Dperf.habitaciones=...</code>, <code>-Dperf.reservas=...</code>,
+ * <code>-Dperf.usuarios=...</code> para una corrida rápida en una máquina de desarrollo (los presupuestos solo
+ * valen para los volúmenes de referencia).
+ */
+record VolumenDatos(int habitaciones, int habitacionesPorHotel, int reservas, int usuarios, long semilla) {
+
+    static VolumenDatos desdePropiedades() {
+        return new VolumenDatos(
+                Integer.getInteger("perf.habitaciones", 50_000),
+                Integer.getInteger("perf.habitaciones-por-hotel", 100),
+                Integer.getInteger("perf.reservas", 2_000_000),
+                Integer.getInteger("perf.usuarios", 1_000_000),
+                Long.getLong("perf.semilla", 20250601L));
+    }
+
+    /** La forma de los datos (popularidad, ventana de reservas) es la de referencia del generador. */
+    ParametrosGeneracion parametros() {
+        return ParametrosGeneracion.referencia()
+                .habitaciones(habitaciones)
+                .habitacionesPorHotel(habitacionesPorHotel)
+                .reservas(reservas)
+                .usuarios(usuarios)
+                .semilla(semilla)
+                .build();
+    }
+
+    int hoteles() {
+        return (habitaciones + habitacionesPorHotel - 1) / habitacionesPorHotel;
+    }
+
+    boolean esReferencia() {
+        return habitaciones == 50_000 && reservas == 2_000_000 && usuarios == 1_000_000;
+    }
+}
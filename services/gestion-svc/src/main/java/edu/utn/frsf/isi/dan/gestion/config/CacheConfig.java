@@ -0,0 +1,68 @@
+package edu.utn.frsf.isi.dan.gestion.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Cache de segundo nivel de Hibernate para las entidades de referencia
+ * (tipos de habitación, hoteles y sus amenities), respaldado por Ehcache vía JCache.
+ *
+ * <p>Las regiones, su tamaño y su TTL se definen en <code>ehcache.xml</code>. Se exponen por actuator
+ * los desalojos de cada región (<code>cache.evictions</code>) y el hit ratio calculado a partir de las
+ * estadísticas de Hibernate (<code>hibernate.l2.hit.ratio</code>).</p>
+ */
+@Configuration
+public class CacheConfig {
+
+    static final List<String> REGIONES = List.of("tipoHabitacion", "hotel", "amenityHotel", "hotel.amenities");
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() throws IOException {
+        return Caching.getCachingProvider(EhcacheCachingProvider.class.getName())
+                .getCacheManager(new ClassPathResource("ehcache.xml").getURI(), getClass().getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateSecondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    @Bean
+    public MeterBinder hibernateCacheMetrics(CacheManager hibernateCacheManager, EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            for (String nombre : hibernateCacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(nombre), Tags.empty());
+            }
+            Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String region : REGIONES) {
+                Gauge.builder("hibernate.l2.hit.ratio", estadisticas, s -> hitRatio(s.getDomainDataRegionStatistics(region)))
+                        .tag("region", region)
+                        .description("Proporción de lecturas resueltas por el cache de segundo nivel")
+                        .register(registry);
+            }
+        };
+    }
+
+    private static double hitRatio(CacheRegionStatistics region) {
+        long lecturas = region.getHitCount() + region.getMissCount();
+        return lecturas == 0 ? 0.0 : (double) region.getHitCount() / lecturas;
+    }
+}
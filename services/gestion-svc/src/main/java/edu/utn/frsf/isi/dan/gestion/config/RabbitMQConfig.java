@@ -22,6 +22,8 @@ public class RabbitMQConfig {
             final MessageConverter messageConverter) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
         rabbitTemplate.setMessageConverter(messageConverter);
+        // Propaga el contexto de traza en los headers (traceparent) hasta el listener de reservas-svc
+        rabbitTemplate.setObservationEnabled(true);
         return rabbitTemplate;
     }
 
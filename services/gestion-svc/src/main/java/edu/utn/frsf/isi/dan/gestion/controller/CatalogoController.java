@@ -0,0 +1,38 @@
+package edu.utn.frsf.isi.dan.gestion.controller;
+
+import edu.utn.frsf.isi.dan.gestion.service.CatalogoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+/**
+ * Catálogo agregado (hoteles, tipos de habitación, tarifas y habitaciones) en una sola respuesta.
+ *
+ * <ul>
+ *     <li><b>GET /catalogo</b>: Catálogo completo con su <code>version</code>.</li>
+ *     <li><b>GET /catalogo?since={version}</b>: Solo las filas modificadas y los ids eliminados desde esa
+ *     versión; si ya no puede resolverse como delta se devuelve el catálogo completo (<code>completo=true</code>).</li>
+ * </ul>
+ * La respuesta lleva un ETag derivado de la versión, de modo que un <code>If-None-Match</code> vigente obtiene 304.
+ */
+@RestController
+@RequestMapping("/catalogo")
+public class CatalogoController {
+    @Autowired
+    private CatalogoService catalogoService;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getCatalogo(@RequestParam(required = false) Long since) throws JsonProcessingException {
+        CatalogoService.Respuesta respuesta = catalogoService.obtener(since);
+        String etag = "\"catalogo-" + (since == null ? "" : since + "-") + respuesta.version() + "\"";
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(respuesta.json());
+    }
+}
@@ -8,6 +8,7 @@
  *     <li><b>POST /habitaciones</b>: Crea una nueva habitación.</li>
  *     <li><b>GET /habitaciones/{id}</b>: Obtiene una habitación por su identificador.</li>
  *     <li><b>GET /habitaciones</b>: Obtiene la lista de todas las habitaciones.</li>
+ *     <li><b>GET /habitaciones/catalogo</b>: Obtiene una página del catálogo desnormalizado, paginado por id (keyset).</li>
  *     <li><b>PUT /habitaciones/{id}</b>: Actualiza una habitación existente.</li>
  *     <li><b>DELETE /habitaciones/{id}</b>: Elimina una habitación por su identificador.</li>
  * </ul>
@@ -17,10 +18,14 @@
 package edu.utn.frsf.isi.dan.gestion.controller;
 
 import edu.utn.frsf.isi.dan.gestion.model.Habitacion;
+import edu.utn.frsf.isi.dan.gestion.service.CatalogoVersiones;
+import edu.utn.frsf.isi.dan.gestion.service.CatalogoVersiones.Coleccion;
 import edu.utn.frsf.isi.dan.gestion.service.HabitacionService;
+import edu.utn.frsf.isi.dan.shared.LoteHabitacionesDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -30,6 +35,9 @@ public class HabitacionController {
     @Autowired
     private HabitacionService habitacionService;
 
+    @Autowired
+    private CatalogoVersiones catalogoVersiones;
+
     @PostMapping
     public ResponseEntity<?> create(@RequestBody Habitacion habitacion) {
         try {
@@ -45,15 +53,23 @@ public class HabitacionController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Habitacion> getById(@PathVariable Integer id) {
-        return habitacionService.findById(id)
+    public ResponseEntity<Habitacion> getById(@PathVariable Integer id, WebRequest request) {
+        return catalogoVersiones.condicional(request, Coleccion.HABITACIONES, () -> habitacionService.findById(id)
                 .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+                .orElse(ResponseEntity.notFound().build()));
     }
 
     @GetMapping
-    public List<Habitacion> getAll() {
-        return habitacionService.findAll();
+    public ResponseEntity<List<Habitacion>> getAll(WebRequest request) {
+        return catalogoVersiones.condicional(request, Coleccion.HABITACIONES, () -> ResponseEntity.ok(habitacionService.findAll()));
+    }
+
+    private static final int LIMITE_MAXIMO_CATALOGO = 2000;
+
+    @GetMapping("/catalogo")
+    public LoteHabitacionesDTO getCatalogo(@RequestParam(defaultValue = "0") Integer desdeId,
+            @RequestParam(defaultValue = "500") Integer limite) {
+        return habitacionService.loteCatalogo(desdeId, Math.max(1, Math.min(limite, LIMITE_MAXIMO_CATALOGO)));
     }
 
     @PutMapping("/{id}")
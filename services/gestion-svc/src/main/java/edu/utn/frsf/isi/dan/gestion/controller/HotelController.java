@@ -1,11 +1,14 @@
 package edu.utn.frsf.isi.dan.gestion.controller;
 
 import edu.utn.frsf.isi.dan.gestion.model.Hotel;
+import edu.utn.frsf.isi.dan.gestion.service.CatalogoVersiones;
+import edu.utn.frsf.isi.dan.gestion.service.CatalogoVersiones.Coleccion;
 import edu.utn.frsf.isi.dan.gestion.service.HotelService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,6 +23,9 @@ public class HotelController {
     @Autowired
     private HotelService hotelService;
 
+    @Autowired
+    private CatalogoVersiones catalogoVersiones;
+
     @Operation(summary = "Crear hotel", description = "Crea un nuevo hotel",
         responses = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Hotel creado"),
@@ -41,10 +47,10 @@ public class HotelController {
         }
     )
     @GetMapping("/{id}")
-    public ResponseEntity<Hotel> getById(@PathVariable Integer id) {
-        return hotelService.findById(id)
+    public ResponseEntity<Hotel> getById(@PathVariable Integer id, WebRequest request) {
+        return catalogoVersiones.condicional(request, Coleccion.HOTELES, () -> hotelService.findById(id)
                 .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+                .orElse(ResponseEntity.notFound().build()));
     }
 
     @Operation(summary = "Listar hoteles", description = "Lista todos los hoteles",
@@ -54,8 +60,8 @@ public class HotelController {
         }
     )
     @GetMapping
-    public List<Hotel> getAll() {
-        return hotelService.findAll();
+    public ResponseEntity<List<Hotel>> getAll(WebRequest request) {
+        return catalogoVersiones.condicional(request, Coleccion.HOTELES, () -> ResponseEntity.ok(hotelService.findAll()));
     }
 
     @Operation(summary = "Actualizar hotel", description = "Actualiza un hotel existente",
@@ -0,0 +1,60 @@
+package edu.utn.frsf.isi.dan.gestion.controller;
+
+import edu.utn.frsf.isi.dan.gestion.dto.OnboardingRequest;
+import edu.utn.frsf.isi.dan.gestion.dto.OnboardingResultado;
+import edu.utn.frsf.isi.dan.gestion.service.OnboardingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "Onboarding Controller", description = "Alta masiva de hoteles y habitaciones")
+@RestController
+@RequestMapping("/onboarding")
+public class OnboardingController {
+    @Autowired
+    private OnboardingService onboardingService;
+
+    @Operation(summary = "Alta de hotel con habitaciones", description = "Crea un hotel, sus amenities y todas sus habitaciones en una sola operación",
+        responses = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Hotel y habitaciones creados"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Solicitud inválida")
+        }
+    )
+    @PostMapping("/hoteles")
+    public ResponseEntity<?> onboarding(@RequestBody OnboardingRequest request) {
+        try {
+            OnboardingResultado resultado = onboardingService.onboarding(request);
+            return new ResponseEntity<>(resultado, HttpStatus.CREATED);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Importar habitaciones desde CSV", description = "Importa habitaciones de un hotel existente desde un CSV numero,piso,idTipoHabitacion. "
+            + "Las líneas inválidas se informan en la respuesta, con su número y motivo, sin interrumpir la importación",
+        responses = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Habitaciones importadas (puede haber líneas rechazadas)"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Ninguna línea válida o hotel inexistente")
+        }
+    )
+    @PostMapping(value = "/hoteles/{id}/habitaciones", consumes = "text/csv")
+    public ResponseEntity<?> importarHabitaciones(@PathVariable Integer id, InputStream csv) {
+        try {
+            OnboardingResultado resultado = onboardingService.importarHabitacionesCsv(id, csv);
+            HttpStatus estado = resultado.getHabitacionesCreadas() == 0 && resultado.getLineasRechazadas() > 0
+                    ? HttpStatus.BAD_REQUEST : HttpStatus.CREATED;
+            return new ResponseEntity<>(resultado, estado);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IOException e) {
+            return ResponseEntity.status(500).body("Error leyendo el archivo: " + e.getMessage());
+        }
+    }
+}
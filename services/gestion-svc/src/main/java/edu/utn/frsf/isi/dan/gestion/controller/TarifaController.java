@@ -1,10 +1,13 @@
 package edu.utn.frsf.isi.dan.gestion.controller;
 
 import edu.utn.frsf.isi.dan.gestion.model.Tarifa;
+import edu.utn.frsf.isi.dan.gestion.service.CatalogoVersiones;
+import edu.utn.frsf.isi.dan.gestion.service.CatalogoVersiones.Coleccion;
 import edu.utn.frsf.isi.dan.gestion.service.TarifaService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,21 +17,24 @@ public class TarifaController {
     @Autowired
     private TarifaService tarifaService;
 
+    @Autowired
+    private CatalogoVersiones catalogoVersiones;
+
     @PostMapping
     public ResponseEntity<Tarifa> create(@RequestBody Tarifa tarifa) {
         return ResponseEntity.ok(tarifaService.save(tarifa));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Tarifa> getById(@PathVariable Integer id) {
-        return tarifaService.findById(id)
+    public ResponseEntity<Tarifa> getById(@PathVariable Integer id, WebRequest request) {
+        return catalogoVersiones.condicional(request, Coleccion.TARIFAS, () -> tarifaService.findById(id)
                 .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+                .orElse(ResponseEntity.notFound().build()));
     }
 
     @GetMapping
-    public List<Tarifa> getAll() {
-        return tarifaService.findAll();
+    public ResponseEntity<List<Tarifa>> getAll(WebRequest request) {
+        return catalogoVersiones.condicional(request, Coleccion.TARIFAS, () -> ResponseEntity.ok(tarifaService.findAll()));
     }
 
     @PutMapping("/{id}")
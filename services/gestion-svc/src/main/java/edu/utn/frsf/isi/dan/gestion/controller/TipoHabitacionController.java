@@ -1,10 +1,13 @@
 package edu.utn.frsf.isi.dan.gestion.controller;
 
 import edu.utn.frsf.isi.dan.gestion.model.TipoHabitacion;
+import edu.utn.frsf.isi.dan.gestion.service.CatalogoVersiones;
+import edu.utn.frsf.isi.dan.gestion.service.CatalogoVersiones.Coleccion;
 import edu.utn.frsf.isi.dan.gestion.service.TipoHabitacionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,21 +17,24 @@ public class TipoHabitacionController {
     @Autowired
     private TipoHabitacionService tipoHabitacionService;
 
+    @Autowired
+    private CatalogoVersiones catalogoVersiones;
+
     @PostMapping
     public ResponseEntity<TipoHabitacion> create(@RequestBody TipoHabitacion tipoHabitacion) {
         return ResponseEntity.ok(tipoHabitacionService.save(tipoHabitacion));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TipoHabitacion> getById(@PathVariable Integer id) {
-        return tipoHabitacionService.findById(id)
+    public ResponseEntity<TipoHabitacion> getById(@PathVariable Integer id, WebRequest request) {
+        return catalogoVersiones.condicional(request, Coleccion.TIPOS_HABITACION, () -> tipoHabitacionService.findById(id)
                 .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+                .orElse(ResponseEntity.notFound().build()));
     }
 
     @GetMapping
-    public List<TipoHabitacion> getAll() {
-        return tipoHabitacionService.findAll();
+    public ResponseEntity<List<TipoHabitacion>> getAll(WebRequest request) {
+        return catalogoVersiones.condicional(request, Coleccion.TIPOS_HABITACION, () -> ResponseEntity.ok(tipoHabitacionService.findAll()));
     }
 
     @PutMapping("/{id}")
@@ -0,0 +1,23 @@
+package edu.utn.frsf.isi.dan.gestion.dao;
+
+import edu.utn.frsf.isi.dan.gestion.model.Amenity;
+import edu.utn.frsf.isi.dan.gestion.model.AmenityHotel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AmenityHotelRepository extends JpaRepository<AmenityHotel, Long> {
+
+    @Query("select a.hotel.id as hotelId, a.amenity as amenity from AmenityHotel a where a.hotel.id in :hotelIds")
+    List<AmenityPorHotel> findAmenitiesPorHotel(@Param("hotelIds") Collection<Integer> hotelIds);
+
+    interface AmenityPorHotel {
+        Integer getHotelId();
+        Amenity getAmenity();
+    }
+}
@@ -1,9 +1,21 @@
 package edu.utn.frsf.isi.dan.gestion.dao;
 
 import edu.utn.frsf.isi.dan.gestion.model.Habitacion;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface HabitacionRepository extends JpaRepository<Habitacion, Integer> {
+
+    /**
+     * Habitaciones con id mayor al cursor, con tipo y hotel resueltos en la misma consulta.
+     * El tamaño de la página se toma del {@link Pageable}; no se ejecuta COUNT.
+     */
+    @Query("select h from Habitacion h join fetch h.tipoHabitacion left join fetch h.hotel where h.id > :desdeId order by h.id")
+    List<Habitacion> findLoteDesde(@Param("desdeId") Integer desdeId, Pageable pageable);
 }
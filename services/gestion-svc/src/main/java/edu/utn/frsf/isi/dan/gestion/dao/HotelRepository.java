@@ -1,9 +1,19 @@
 package edu.utn.frsf.isi.dan.gestion.dao;
 
 import edu.utn.frsf.isi.dan.gestion.model.Hotel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface HotelRepository extends JpaRepository<Hotel, Integer> {
+
+    /** Listado resuelto desde el cache de consultas; Hibernate lo invalida al modificarse la tabla. */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Hotel> findAll();
 }
@@ -0,0 +1,89 @@
+package edu.utn.frsf.isi.dan.gestion.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catálogo completo (o sus cambios desde una versión) en una sola respuesta.
+ * Las relaciones se expresan por id y los amenities van embebidos en cada hotel.
+ * En modo delta, <code>eliminados</code> lista por colección los ids borrados desde <code>since</code>.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class CatalogoSnapshot {
+
+    private long version;
+    private boolean completo;
+    private List<HotelFila> hoteles;
+    private List<TipoHabitacionFila> tiposHabitacion;
+    private List<TarifaFila> tarifas;
+    private List<HabitacionFila> habitaciones;
+    private Map<String, List<Integer>> eliminados;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class HotelFila {
+        private Integer id;
+        private String nombre;
+        private String cuit;
+        private String domicilio;
+        private Double latitud;
+        private Double longitud;
+        private String telefono;
+        private String correoContacto;
+        private Integer categoria;
+        private List<String> amenities;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class TipoHabitacionFila {
+        private Integer id;
+        private String nombre;
+        private String descripcion;
+        private Integer capacidad;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class TarifaFila {
+        private Integer id;
+        private Integer idTipoHabitacion;
+        private LocalDate fechaInicio;
+        private LocalDate fechaFin;
+        private Double precioNoche;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class HabitacionFila {
+        private Integer id;
+        private Integer numero;
+        private Integer piso;
+        private Integer idHotel;
+        private Integer idTipoHabitacion;
+    }
+}
@@ -0,0 +1,16 @@
+package edu.utn.frsf.isi.dan.gestion.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HabitacionOnboarding {
+    private Integer numero;
+    private Integer piso;
+    private Integer idTipoHabitacion;
+}
@@ -0,0 +1,21 @@
+package edu.utn.frsf.isi.dan.gestion.dto;
+
+import java.util.List;
+
+import edu.utn.frsf.isi.dan.gestion.model.Hotel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Alta de un hotel completo (datos, amenities y habitaciones) en una sola solicitud.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OnboardingRequest {
+    private Hotel hotel;
+    private List<HabitacionOnboarding> habitaciones;
+}
@@ -0,0 +1,29 @@
+package edu.utn.frsf.isi.dan.gestion.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resumen de un alta masiva. En la importación CSV, <code>lineasRechazadas</code> cuenta las líneas que no se
+ * importaron y <code>errores</code> detalla las primeras (hasta <code>onboarding.maximo-errores</code>); las
+ * demás líneas del archivo se importan igual, así que un reintento solo debe reenviar las rechazadas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OnboardingResultado {
+    private Integer hotelId;
+    private int habitacionesCreadas;
+    private int eventosPublicados;
+    private long duracionMs;
+    private int lineasRechazadas;
+    private List<ErrorLinea> errores;
+
+    public record ErrorLinea(int linea, String mensaje) {
+    }
+}
@@ -1,9 +1,11 @@
 package edu.utn.frsf.isi.dan.gestion.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
@@ -16,6 +18,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "amenity_hotel", schema = "tp_dan")
@@ -23,10 +27,13 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "amenityHotel")
 public class AmenityHotel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "amenity_hotel_seq")
+    @SequenceGenerator(name = "amenity_hotel_seq", schema = "tp_dan", sequenceName = "amenity_hotel_id_seq", allocationSize = 50)
     private Long id;
     @ManyToOne
     @JoinColumn(name = "id_hotel")
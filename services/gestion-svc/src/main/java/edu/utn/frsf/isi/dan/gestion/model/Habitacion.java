@@ -11,7 +11,8 @@ import lombok.*;
 @Builder
 public class Habitacion {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "habitacion_seq")
+    @SequenceGenerator(name = "habitacion_seq", schema = "tp_dan", sequenceName = "habitacion_id_seq", allocationSize = 50)
     private Integer id;
     private Integer numero;
     private Integer piso;
@@ -6,6 +6,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "hotel", schema = "tp_dan")
@@ -13,9 +15,12 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "hotel")
 public class Hotel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hotel_seq")
+    @SequenceGenerator(name = "hotel_seq", schema = "tp_dan", sequenceName = "hotel_id_seq", allocationSize = 50)
     private Integer id;
     private String nombre;
     private String cuit;
@@ -30,6 +35,7 @@ public class Hotel {
     private List<Habitacion> habitaciones;
     
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, mappedBy = "hotel")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "hotel.amenities")
     private List<AmenityHotel> amenities;
 
 }
@@ -2,6 +2,8 @@ package edu.utn.frsf.isi.dan.gestion.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "tipo_habitacion", schema = "tp_dan")
@@ -9,6 +11,8 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tipoHabitacion")
 public class TipoHabitacion {
     @Id
     private Integer id;
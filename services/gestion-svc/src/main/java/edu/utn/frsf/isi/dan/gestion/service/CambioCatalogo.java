@@ -0,0 +1,12 @@
+package edu.utn.frsf.isi.dan.gestion.service;
+
+import edu.utn.frsf.isi.dan.gestion.service.CatalogoVersiones.Coleccion;
+
+import java.util.List;
+
+/**
+ * Evento publicado después de cada escritura confirmada sobre el catálogo.
+ * <code>ids == null</code> indica que no se conocen las filas afectadas y la colección debe recargarse.
+ */
+public record CambioCatalogo(Coleccion coleccion, List<Integer> ids) {
+}
@@ -0,0 +1,318 @@
+package edu.utn.frsf.isi.dan.gestion.service;
+
+import edu.utn.frsf.isi.dan.gestion.dto.CatalogoSnapshot;
+import edu.utn.frsf.isi.dan.gestion.dto.CatalogoSnapshot.HabitacionFila;
+import edu.utn.frsf.isi.dan.gestion.dto.CatalogoSnapshot.HotelFila;
+import edu.utn.frsf.isi.dan.gestion.dto.CatalogoSnapshot.TarifaFila;
+import edu.utn.frsf.isi.dan.gestion.dto.CatalogoSnapshot.TipoHabitacionFila;
+import edu.utn.frsf.isi.dan.gestion.service.CatalogoVersiones.Coleccion;
+import lombok.extern.log4j.Log4j2;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Snapshot en memoria del catálogo (hoteles, tipos, tarifas y habitaciones) servido por <code>/catalogo</code>.
+ *
+ * <p>Se construye con una consulta por colección y luego se mantiene de forma incremental: cada
+ * {@link CambioCatalogo} deja pendientes los ids afectados y la siguiente lectura los vuelve a leer con
+ * una consulta <code>IN</code> por colección. Cada fila guarda la versión en que cambió por última vez y
+ * las bajas se conservan como marcas (acotadas a {@value #MAXIMO_BAJAS} por colección), lo que permite
+ * responder <code>?since=version</code> solo con lo modificado.</p>
+ *
+ * <p>Las versiones son monótonas y nunca menores al reloj en milisegundos, así que una versión obtenida
+ * antes de un reinicio es anterior a la primera carga y recibe el catálogo completo.</p>
+ */
+@Service
+@Log4j2
+public class CatalogoService {
+
+    static final int MAXIMO_BAJAS = 10_000;
+    /** Ids por consulta <code>IN</code>, lejos del límite de parámetros de PostgreSQL. */
+    static final int IDS_POR_CONSULTA = 1_000;
+
+    private static final String SQL_HOTELES = """
+            select h.id, h.nombre, h.cuit, h.domicilio, h.latitud, h.longitud, h.telefono, h.correo_contacto, h.categoria,
+                   string_agg(a.amenity, ',' order by a.amenity) as amenities
+            from tp_dan.hotel h left join tp_dan.amenity_hotel a on a.id_hotel = h.id
+            """;
+    private static final String SQL_TIPOS = "select id, nombre, descripcion, capacidad from tp_dan.tipo_habitacion";
+    private static final String SQL_TARIFAS = "select id, id_tipo_habitacion, fecha_inicio, fecha_fin, precio_noche from tp_dan.tarifa";
+    private static final String SQL_HABITACIONES = "select id, numero, piso, id_hotel, id_tipo from tp_dan.habitacion";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private record Versionada(Object fila, long version) {
+    }
+
+    /** JSON listo para enviar y la versión del catálogo que representa. */
+    public record Respuesta(long version, byte[] json) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Coleccion, Map<Integer, Versionada>> filas = new EnumMap<>(Coleccion.class);
+    private final Map<Coleccion, LinkedHashMap<Integer, Long>> bajas = new EnumMap<>(Coleccion.class);
+    private final Map<Coleccion, Set<Integer>> pendientes = new EnumMap<>(Coleccion.class);
+    private final Set<Coleccion> recargasPendientes = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<Respuesta> completo = new AtomicReference<>();
+
+    private long version = 0;
+    /** Versiones anteriores a esta ya no pueden resolverse con un delta (primera carga o marcas descartadas). */
+    private long versionMinimaDelta = Long.MAX_VALUE;
+
+    public CatalogoService() {
+        for (Coleccion coleccion : Coleccion.values()) {
+            filas.put(coleccion, new TreeMap<>());
+            bajas.put(coleccion, new LinkedHashMap<>());
+            pendientes.put(coleccion, ConcurrentHashMap.newKeySet());
+            recargasPendientes.add(coleccion);
+        }
+    }
+
+    @EventListener
+    public void onCambio(CambioCatalogo cambio) {
+        if (cambio.ids() == null) {
+            recargasPendientes.add(cambio.coleccion());
+        } else {
+            pendientes.get(cambio.coleccion()).addAll(cambio.ids());
+        }
+    }
+
+    /**
+     * JSON del catálogo completo o, si <code>since</code> es una versión todavía resoluble, solo de los
+     * cambios posteriores. El catálogo completo se serializa una vez por versión.
+     */
+    public Respuesta obtener(Long since) throws JsonProcessingException {
+        aplicarPendientes();
+        lock.readLock().lock();
+        try {
+            if (since != null && since >= versionMinimaDelta) {
+                return new Respuesta(version, objectMapper.writeValueAsBytes(delta(since)));
+            }
+            Respuesta actual = completo.get();
+            if (actual == null || actual.version() != version) {
+                actual = new Respuesta(version, objectMapper.writeValueAsBytes(delta(null)));
+                completo.set(actual);
+            }
+            return actual;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private CatalogoSnapshot delta(Long since) {
+        long desde = since == null ? Long.MIN_VALUE : since;
+        Map<String, List<Integer>> eliminados = new LinkedHashMap<>();
+        if (since != null) {
+            for (Coleccion coleccion : Coleccion.values()) {
+                List<Integer> ids = new ArrayList<>();
+                bajas.get(coleccion).forEach((id, v) -> {
+                    if (v > desde) {
+                        ids.add(id);
+                    }
+                });
+                if (!ids.isEmpty()) {
+                    eliminados.put(coleccion.getPrefijo(), ids);
+                }
+            }
+        }
+        return CatalogoSnapshot.builder()
+                .version(version)
+                .completo(since == null)
+                .hoteles(filasDesde(Coleccion.HOTELES, desde, HotelFila.class))
+                .tiposHabitacion(filasDesde(Coleccion.TIPOS_HABITACION, desde, TipoHabitacionFila.class))
+                .tarifas(filasDesde(Coleccion.TARIFAS, desde, TarifaFila.class))
+                .habitaciones(filasDesde(Coleccion.HABITACIONES, desde, HabitacionFila.class))
+                .eliminados(eliminados)
+                .build();
+    }
+
+    private <T> List<T> filasDesde(Coleccion coleccion, long desde, Class<T> tipo) {
+        List<T> resultado = new ArrayList<>();
+        for (Versionada v : filas.get(coleccion).values()) {
+            if (v.version() > desde) {
+                resultado.add(tipo.cast(v.fila()));
+            }
+        }
+        return resultado;
+    }
+
+    private boolean hayPendientes() {
+        return !recargasPendientes.isEmpty() || pendientes.values().stream().anyMatch(p -> !p.isEmpty());
+    }
+
+    private void aplicarPendientes() {
+        if (!hayPendientes()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            long nueva = Math.max(version + 1, System.currentTimeMillis());
+            boolean primeraCarga = version == 0;
+            boolean hubo = false;
+            for (Coleccion coleccion : Coleccion.values()) {
+                boolean recargar = recargasPendientes.remove(coleccion);
+                Set<Integer> ids = drenar(pendientes.get(coleccion));
+                if (!recargar && ids.isEmpty()) {
+                    continue;
+                }
+                try {
+                    hubo |= recargar
+                            ? aplicar(coleccion, cargar(coleccion, null), null, nueva)
+                            : aplicar(coleccion, cargar(coleccion, ids), ids, nueva);
+                } catch (RuntimeException e) {
+                    recargasPendientes.add(coleccion);
+                    throw e;
+                }
+            }
+            if (hubo || primeraCarga) {
+                version = nueva;
+            }
+            if (primeraCarga) {
+                versionMinimaDelta = nueva;
+                log.info("Snapshot del catálogo construido en la versión {}", nueva);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Set<Integer> drenar(Set<Integer> pendientes) {
+        Set<Integer> ids = new HashSet<>();
+        for (Iterator<Integer> it = pendientes.iterator(); it.hasNext(); ) {
+            ids.add(it.next());
+            it.remove();
+        }
+        return ids;
+    }
+
+    /**
+     * Incorpora las filas leídas: las nuevas o distintas a la versión en memoria toman la versión
+     * <code>nueva</code>; las que se pidieron (o todas, en una recarga) y ya no existen pasan a bajas.
+     */
+    private boolean aplicar(Coleccion coleccion, Map<Integer, Object> leidas, Collection<Integer> ids, long nueva) {
+        Map<Integer, Versionada> actuales = filas.get(coleccion);
+        LinkedHashMap<Integer, Long> bajasColeccion = bajas.get(coleccion);
+        boolean hubo = false;
+        for (Map.Entry<Integer, Object> leida : leidas.entrySet()) {
+            Versionada anterior = actuales.get(leida.getKey());
+            if (anterior == null || !anterior.fila().equals(leida.getValue())) {
+                actuales.put(leida.getKey(), new Versionada(leida.getValue(), nueva));
+                bajasColeccion.remove(leida.getKey());
+                hubo = true;
+            }
+        }
+        for (Integer id : ids != null ? ids : new ArrayList<>(actuales.keySet())) {
+            if (!leidas.containsKey(id) && actuales.remove(id) != null) {
+                bajasColeccion.put(id, nueva);
+                hubo = true;
+            }
+        }
+        for (Iterator<Long> it = bajasColeccion.values().iterator(); bajasColeccion.size() > MAXIMO_BAJAS; ) {
+            versionMinimaDelta = Math.max(versionMinimaDelta, it.next());
+            it.remove();
+        }
+        return hubo;
+    }
+
+    private Map<Integer, Object> cargar(Coleccion coleccion, Collection<Integer> ids) {
+        Map<Integer, Object> leidas = new LinkedHashMap<>();
+        if (ids == null) {
+            cargar(coleccion, null, leidas);
+            return leidas;
+        }
+        List<Integer> lista = new ArrayList<>(ids);
+        for (int i = 0; i < lista.size(); i += IDS_POR_CONSULTA) {
+            cargar(coleccion, lista.subList(i, Math.min(i + IDS_POR_CONSULTA, lista.size())), leidas);
+        }
+        return leidas;
+    }
+
+    private void cargar(Coleccion coleccion, List<Integer> ids, Map<Integer, Object> leidas) {
+        MapSqlParameterSource parametros = new MapSqlParameterSource("ids", ids);
+        switch (coleccion) {
+            case HOTELES -> jdbcTemplate.query(SQL_HOTELES + (ids == null ? "" : " where h.id in (:ids)") + " group by h.id",
+                    parametros, rs -> {
+                        leidas.put(rs.getInt("id"), mapHotel(rs));
+                    });
+            case TIPOS_HABITACION -> jdbcTemplate.query(SQL_TIPOS + (ids == null ? "" : " where id in (:ids)"),
+                    parametros, rs -> {
+                        leidas.put(rs.getInt("id"), TipoHabitacionFila.builder()
+                                .id(rs.getInt("id"))
+                                .nombre(rs.getString("nombre"))
+                                .descripcion(rs.getString("descripcion"))
+                                .capacidad(rs.getObject("capacidad", Integer.class))
+                                .build());
+                    });
+            case TARIFAS -> jdbcTemplate.query(SQL_TARIFAS + (ids == null ? "" : " where id in (:ids)"),
+                    parametros, rs -> {
+                        leidas.put(rs.getInt("id"), TarifaFila.builder()
+                                .id(rs.getInt("id"))
+                                .idTipoHabitacion(rs.getObject("id_tipo_habitacion", Integer.class))
+                                .fechaInicio(fecha(rs.getDate("fecha_inicio")))
+                                .fechaFin(fecha(rs.getDate("fecha_fin")))
+                                .precioNoche(rs.getObject("precio_noche") == null ? null : rs.getDouble("precio_noche"))
+                                .build());
+                    });
+            case HABITACIONES -> jdbcTemplate.query(SQL_HABITACIONES + (ids == null ? "" : " where id in (:ids)"),
+                    parametros, rs -> {
+                        leidas.put(rs.getInt("id"), HabitacionFila.builder()
+                                .id(rs.getInt("id"))
+                                .numero(rs.getObject("numero", Integer.class))
+                                .piso(rs.getObject("piso", Integer.class))
+                                .idHotel(rs.getObject("id_hotel", Integer.class))
+                                .idTipoHabitacion(rs.getObject("id_tipo", Integer.class))
+                                .build());
+                    });
+        }
+    }
+
+    private static HotelFila mapHotel(ResultSet rs) throws SQLException {
+        String amenities = rs.getString("amenities");
+        return HotelFila.builder()
+                .id(rs.getInt("id"))
+                .nombre(rs.getString("nombre"))
+                .cuit(rs.getString("cuit"))
+                .domicilio(rs.getString("domicilio"))
+                .latitud(rs.getObject("latitud") == null ? null : rs.getDouble("latitud"))
+                .longitud(rs.getObject("longitud") == null ? null : rs.getDouble("longitud"))
+                .telefono(rs.getString("telefono"))
+                .correoContacto(rs.getString("correo_contacto"))
+                .categoria(rs.getObject("categoria", Integer.class))
+                .amenities(amenities == null ? List.of() : Arrays.asList(amenities.split(",")))
+                .build();
+    }
+
+    private static LocalDate fecha(Date fecha) {
+        return fecha == null ? null : fecha.toLocalDate();
+    }
+}
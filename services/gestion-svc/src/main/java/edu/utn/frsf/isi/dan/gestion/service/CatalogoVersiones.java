@@ -0,0 +1,148 @@
+package edu.utn.frsf.isi.dan.gestion.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Versión en memoria de cada colección del catálogo, usada como ETag fuerte de los endpoints de lectura.
+ *
+ * <p>Los servicios llaman a {@link #registrarCambio(Coleccion)} después de cada escritura; la versión
+ * de la colección (y la de las colecciones cuya representación JSON la incluye) se incrementa. Las
+ * lecturas comparan <code>If-None-Match</code> contra la versión actual antes de ir a la base, y
+ * responden 304 sin consultarla cuando coincide.</p>
+ *
+ * <p>Cada cambio se publica además como {@link CambioCatalogo} con los ids afectados, para que el
+ * snapshot de {@link CatalogoService} se actualice de forma incremental.</p>
+ *
+ * <p>El ETag incluye el instante de arranque, así que un reinicio invalida las copias de los clientes.
+ * Los contadores son locales a la instancia: con más de una réplica de gestion-svc hace falta
+ * afinidad de sesión o una versión compartida.</p>
+ */
+@Component
+public class CatalogoVersiones {
+
+    public enum Coleccion {
+        HOTELES("hoteles"),
+        TIPOS_HABITACION("tipos"),
+        TARIFAS("tarifas"),
+        HABITACIONES("habitaciones");
+
+        private final String prefijo;
+
+        Coleccion(String prefijo) {
+            this.prefijo = prefijo;
+        }
+
+        public String getPrefijo() {
+            return prefijo;
+        }
+    }
+
+    /** Colecciones que embeben en su JSON entidades de otra (p.ej. una habitación incluye su hotel y su tipo). */
+    private static final Map<Coleccion, List<Coleccion>> DEPENDIENTES = Map.of(
+            Coleccion.HOTELES, List.of(Coleccion.HABITACIONES),
+            Coleccion.TIPOS_HABITACION, List.of(Coleccion.TARIFAS, Coleccion.HABITACIONES));
+
+    private record Version(long numero, long modificado) {
+        Version siguiente() {
+            return new Version(numero + 1, System.currentTimeMillis());
+        }
+    }
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final long arranque = System.currentTimeMillis();
+    private final Map<Coleccion, AtomicReference<Version>> versiones = new EnumMap<>(Coleccion.class);
+
+    public CatalogoVersiones() {
+        for (Coleccion coleccion : Coleccion.values()) {
+            versiones.put(coleccion, new AtomicReference<>(new Version(0, arranque)));
+        }
+    }
+
+    /** Cambio en filas no identificadas de la colección (p.ej. borrados en cascada): se recarga completa. */
+    public void registrarCambio(Coleccion coleccion) {
+        incrementar(coleccion);
+        eventPublisher.publishEvent(new CambioCatalogo(coleccion, null));
+    }
+
+    public void registrarCambio(Coleccion coleccion, Integer id) {
+        registrarCambio(coleccion, List.of(id));
+    }
+
+    /** Alta, modificación o baja de las filas indicadas; la baja se detecta al no encontrarlas. */
+    public void registrarCambio(Coleccion coleccion, Collection<Integer> ids) {
+        incrementar(coleccion);
+        eventPublisher.publishEvent(new CambioCatalogo(coleccion, List.copyOf(ids)));
+    }
+
+    private void incrementar(Coleccion coleccion) {
+        versiones.get(coleccion).updateAndGet(Version::siguiente);
+        for (Coleccion dependiente : DEPENDIENTES.getOrDefault(coleccion, List.of())) {
+            versiones.get(dependiente).updateAndGet(Version::siguiente);
+        }
+    }
+
+    public ETag etag(Coleccion coleccion) {
+        return new ETag(coleccion.prefijo + "-" + arranque + "-" + versiones.get(coleccion).get().numero(), false);
+    }
+
+    public long ultimaModificacion(Coleccion coleccion) {
+        return versiones.get(coleccion).get().modificado();
+    }
+
+    /**
+     * GET condicional: si el cliente ya tiene la versión actual de la colección responde 304 sin invocar
+     * <code>carga</code>; si no, ejecuta la carga y agrega ETag y Last-Modified a las respuestas 2xx.
+     * La versión se lee antes de la carga, de modo que una escritura concurrente nunca queda oculta.
+     */
+    public <T> ResponseEntity<T> condicional(WebRequest request, Coleccion coleccion, Supplier<ResponseEntity<T>> carga) {
+        ETag etag = etag(coleccion);
+        long modificado = ultimaModificacion(coleccion);
+        if (coincide(request.getHeaderValues(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag.formattedTag())
+                    .lastModified(modificado)
+                    .build();
+        }
+        ResponseEntity<T> respuesta = carga.get();
+        if (!respuesta.getStatusCode().is2xxSuccessful()) {
+            return respuesta;
+        }
+        return ResponseEntity.status(respuesta.getStatusCode())
+                .headers(respuesta.getHeaders())
+                .eTag(etag.formattedTag())
+                .lastModified(modificado)
+                .cacheControl(CacheControl.noCache())
+                .body(respuesta.getBody());
+    }
+
+    private static boolean coincide(String[] ifNoneMatch, ETag actual) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String valor : ifNoneMatch) {
+            for (ETag etag : ETag.parse(valor)) {
+                if (etag.isWildcard() || etag.compare(actual, false)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -1,5 +1,7 @@
 package edu.utn.frsf.isi.dan.gestion.service;
 
+import edu.utn.frsf.isi.dan.gestion.dao.AmenityHotelRepository;
+import edu.utn.frsf.isi.dan.gestion.dao.AmenityHotelRepository.AmenityPorHotel;
 import edu.utn.frsf.isi.dan.gestion.dao.HabitacionRepository;
 import edu.utn.frsf.isi.dan.gestion.dao.HotelRepository;
 import edu.utn.frsf.isi.dan.gestion.dao.TarifaRepository;
@@ -8,24 +10,36 @@ import edu.utn.frsf.isi.dan.gestion.model.Habitacion;
 import edu.utn.frsf.isi.dan.gestion.model.Hotel;
 import edu.utn.frsf.isi.dan.gestion.model.Tarifa;
 import edu.utn.frsf.isi.dan.gestion.model.TipoHabitacion;
+import edu.utn.frsf.isi.dan.gestion.service.CatalogoVersiones.Coleccion;
 import edu.utn.frsf.isi.dan.shared.HabitacionDTO;
 import edu.utn.frsf.isi.dan.shared.HabitacionEvent;
 import edu.utn.frsf.isi.dan.shared.HotelDTO;
+import edu.utn.frsf.isi.dan.shared.LoteHabitacionesDTO;
 import edu.utn.frsf.isi.dan.shared.TipoEvento;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.log4j.Log4j2;
 
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -44,12 +58,21 @@ public class HabitacionService {
     @Autowired
     private HotelRepository hotelRepository;
 
+    @Autowired
+    private AmenityHotelRepository amenityHotelRepository;
+
+    @Autowired
+    private CatalogoVersiones catalogoVersiones;
+
     @Autowired
     private RabbitTemplate rabbitTemplate;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Value("${rabbitmq.exchange:dan.exchange}")
     private String exchange;
     @Value("${rabbitmq.routingkey:dan.habitacion.event}")
@@ -76,6 +99,7 @@ public class HabitacionService {
         try {
             boolean isNew = Objects.isNull(habitacion.getId());
             Habitacion newHabitacion = habitacionRepository.save(habitacion);
+            catalogoVersiones.registrarCambio(Coleccion.HABITACIONES, newHabitacion.getId());
             enviarHabitacionJms(newHabitacion, isNew);
             return newHabitacion;
         } catch (Exception e) {
@@ -87,6 +111,7 @@ public class HabitacionService {
     public void deleteById(Integer id) {
         enviarHabitacionJms(id);
         habitacionRepository.deleteById(id);
+        catalogoVersiones.registrarCambio(Coleccion.HABITACIONES, id);
     }
 
     public Optional<Habitacion> findById(Integer id) {
@@ -98,6 +123,8 @@ public class HabitacionService {
     }
 
     public void enviarHabitacionJms(Habitacion habitacion, boolean isNew) {
+        Timer.Sample muestra = Timer.start(meterRegistry);
+        boolean enviado = false;
         try {
             TipoHabitacion tipoHabitacion = tipoHabitacionRepository.findById(habitacion.getTipoHabitacion().getId())
                     .orElseThrow(() -> new RuntimeException("TipoHabitacion no encontrado"));
@@ -107,63 +134,171 @@ public class HabitacionService {
                 hotel = hotelRepository.findById(habitacion.getHotel().getId()).orElse(null);
             }
 
-            Double precio = 0.0;
-            Optional<Tarifa> tarifaOpt = tarifaRepository.findAll().stream()
-                    .filter(t -> t.getTipoHabitacion().getId().equals(tipoHabitacion.getId()))
-                    .filter(t -> (t.getFechaInicio() == null || !t.getFechaInicio().isAfter(LocalDate.now())) &&
-                            (t.getFechaFin() == null || !t.getFechaFin().isBefore(LocalDate.now())))
-                    .findFirst();
+            Double precio = preciosVigentes().getOrDefault(tipoHabitacion.getId(), 0.0);
 
-            if (tarifaOpt.isPresent()) {
-                precio = tarifaOpt.get().getPrecioNoche();
-            }
+            HabitacionEvent msgEvent = construirEvento(habitacion, tipoHabitacion, mapHotel(hotel), amenitiesDe(hotel),
+                    precio, isNew ? TipoEvento.CREAR : TipoEvento.ACTUALIZAR_DATOS);
+            publicar(msgEvent);
+            enviado = true;
 
-            HotelDTO hotelDto = null;
-            List<String> amenities = new ArrayList<>();
-            if (hotel != null) {
-                hotelDto = HotelDTO.builder()
-                        .id(hotel.getId())
-                        .nombre(hotel.getNombre())
-                        .cuit(hotel.getCuit())
-                        .domicilio(hotel.getDomicilio())
-                        .latitud(hotel.getLatitud())
-                        .longitud(hotel.getLongitud())
-                        .telefono(hotel.getTelefono())
-                        .correoContacto(hotel.getCorreoContacto())
-                        .categoria(hotel.getCategoria())
-                        .build();
-
-                if (hotel.getAmenities() != null) {
-                    amenities = hotel.getAmenities().stream()
-                            .map(a -> a.getAmenity().name())
-                            .collect(Collectors.toList());
-                }
+        } catch (Exception e) {
+            log.error("Error enviando mensaje RabbitMQ para Habitacion ID: " + habitacion.getId(), e);
+        } finally {
+            registrarEnvio(muestra, isNew ? TipoEvento.CREAR : TipoEvento.ACTUALIZAR_DATOS, enviado);
+        }
+    }
+
+    /**
+     * Registra en <code>gestion.habitacion.envio</code> el tiempo de armar y publicar un evento, por tipo de
+     * evento y resultado. Los envíos que fallan no se propagan, así que esta es la única señal de que se perdieron.
+     */
+    private void registrarEnvio(Timer.Sample muestra, TipoEvento tipo, boolean enviado) {
+        muestra.stop(Timer.builder("gestion.habitacion.envio")
+                .description("Duración del armado y publicación de eventos de habitación")
+                .tag("tipo", tipo.name())
+                .tag("resultado", enviado ? "ok" : "error")
+                .register(meterRegistry));
+    }
+
+    /**
+     * Precio por noche vigente hoy para cada tipo de habitación (idTipoHabitacion -> precio).
+     * Se resuelve con una sola lectura de tarifas para poder reutilizarlo en cargas masivas.
+     */
+    public Map<Integer, Double> preciosVigentes() {
+        LocalDate hoy = LocalDate.now();
+        Map<Integer, Double> precios = new HashMap<>();
+        for (Tarifa t : tarifaRepository.findAll()) {
+            if ((t.getFechaInicio() == null || !t.getFechaInicio().isAfter(hoy)) &&
+                    (t.getFechaFin() == null || !t.getFechaFin().isBefore(hoy))) {
+                precios.putIfAbsent(t.getTipoHabitacion().getId(), t.getPrecioNoche());
             }
+        }
+        return precios;
+    }
 
-            HabitacionDTO dto = HabitacionDTO.builder()
-                    .habitacionId(habitacion.getId().longValue())
-                    .numero(habitacion.getNumero())
-                    .tipoHabitacionId(tipoHabitacion.getId())
-                    .tipoHabitacion(tipoHabitacion.getNombre())
-                    .tipoHabitacionDescripcion(tipoHabitacion.getDescripcion())
-                    .capacidad(tipoHabitacion.getCapacidad())
-                    .precioNoche(precio)
-                    .amenities(amenities)
-                    .hotel(hotelDto)
-                    .build();
-
-            HabitacionEvent msgEvent = HabitacionEvent.builder()
-                    .tipoEvento(isNew ? TipoEvento.CREAR : TipoEvento.ACTUALIZAR_DATOS)
-                    .habitacion(dto)
-                    .build();
-
-            String msgToSend = objectMapper.writeValueAsString(msgEvent);
-            log.debug("[RabbitMQ] Enviando mensaje: {}", msgToSend);
-            rabbitTemplate.convertAndSend(exchange, routingKey, msgToSend);
+    public HotelDTO mapHotel(Hotel hotel) {
+        if (hotel == null) {
+            return null;
+        }
+        return HotelDTO.builder()
+                .id(hotel.getId())
+                .nombre(hotel.getNombre())
+                .cuit(hotel.getCuit())
+                .domicilio(hotel.getDomicilio())
+                .latitud(hotel.getLatitud())
+                .longitud(hotel.getLongitud())
+                .telefono(hotel.getTelefono())
+                .correoContacto(hotel.getCorreoContacto())
+                .categoria(hotel.getCategoria())
+                .build();
+    }
 
-        } catch (Exception e) {
-            log.error("Error enviando mensaje RabbitMQ para Habitacion ID: " + habitacion.getId(), e);
+    public List<String> amenitiesDe(Hotel hotel) {
+        if (hotel == null || hotel.getAmenities() == null) {
+            return new ArrayList<>();
         }
+        return hotel.getAmenities().stream()
+                .map(a -> a.getAmenity().name())
+                .collect(Collectors.toList());
+    }
+
+    public HabitacionEvent construirEvento(Habitacion habitacion, TipoHabitacion tipoHabitacion, HotelDTO hotelDto,
+            List<String> amenities, Double precio, TipoEvento tipoEvento) {
+        return HabitacionEvent.builder()
+                .tipoEvento(tipoEvento)
+                .habitacion(construirDTO(habitacion, tipoHabitacion, hotelDto, amenities, precio))
+                .build();
+    }
+
+    public HabitacionDTO construirDTO(Habitacion habitacion, TipoHabitacion tipoHabitacion, HotelDTO hotelDto,
+            List<String> amenities, Double precio) {
+        return HabitacionDTO.builder()
+                .habitacionId(habitacion.getId().longValue())
+                .numero(habitacion.getNumero())
+                .tipoHabitacionId(tipoHabitacion.getId())
+                .tipoHabitacion(tipoHabitacion.getNombre())
+                .tipoHabitacionDescripcion(tipoHabitacion.getDescripcion())
+                .capacidad(tipoHabitacion.getCapacidad())
+                .precioNoche(precio)
+                .amenities(amenities)
+                .hotel(hotelDto)
+                .build();
+    }
+
+    /**
+     * Devuelve una página del catálogo completo de habitaciones con id mayor a <code>desdeId</code>,
+     * ya desnormalizada (hotel, tipo, precio vigente y amenities) como la consume reservas-svc.
+     * Cada página se arma con tres consultas fijas: habitaciones con tipo y hotel, amenities de
+     * los hoteles de la página y tarifas vigentes.
+     */
+    @Transactional(readOnly = true)
+    public LoteHabitacionesDTO loteCatalogo(Integer desdeId, int limite) {
+        List<Habitacion> habitaciones = habitacionRepository.findLoteDesde(
+                desdeId == null ? 0 : desdeId, PageRequest.of(0, limite));
+
+        Set<Integer> hotelIds = habitaciones.stream()
+                .filter(h -> h.getHotel() != null)
+                .map(h -> h.getHotel().getId())
+                .collect(Collectors.toSet());
+        Map<Integer, List<String>> amenitiesPorHotel = hotelIds.isEmpty() ? Map.of()
+                : amenityHotelRepository.findAmenitiesPorHotel(hotelIds).stream()
+                        .collect(Collectors.groupingBy(AmenityPorHotel::getHotelId,
+                                Collectors.mapping(a -> a.getAmenity().name(), Collectors.toList())));
+        Map<Integer, Double> precios = habitaciones.isEmpty() ? Map.of() : preciosVigentes();
+
+        Map<Integer, HotelDTO> hoteles = new HashMap<>();
+        List<HabitacionDTO> dtos = new ArrayList<>(habitaciones.size());
+        for (Habitacion h : habitaciones) {
+            Hotel hotel = h.getHotel();
+            HotelDTO hotelDto = hotel == null ? null : hoteles.computeIfAbsent(hotel.getId(), id -> mapHotel(hotel));
+            List<String> amenities = hotel == null ? new ArrayList<>()
+                    : amenitiesPorHotel.getOrDefault(hotel.getId(), new ArrayList<>());
+            dtos.add(construirDTO(h, h.getTipoHabitacion(), hotelDto, amenities,
+                    precios.getOrDefault(h.getTipoHabitacion().getId(), 0.0)));
+        }
+
+        return LoteHabitacionesDTO.builder()
+                .habitaciones(dtos)
+                .siguienteId(habitaciones.isEmpty() ? desdeId : habitaciones.get(habitaciones.size() - 1).getId())
+                .ultimo(habitaciones.size() < limite)
+                .build();
+    }
+
+    public void publicar(HabitacionEvent evento) throws JsonProcessingException {
+        String msgToSend = objectMapper.writeValueAsString(evento);
+        log.debug("[RabbitMQ] Enviando mensaje: {}", msgToSend);
+        rabbitTemplate.convertAndSend(exchange, routingKey, msgToSend, HabitacionService::marcarPublicacion);
+    }
+
+    /**
+     * Publica un lote de eventos reutilizando un único canal de RabbitMQ,
+     * en lugar de obtener y liberar un canal por cada mensaje.
+     */
+    public void publicar(List<HabitacionEvent> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        rabbitTemplate.invoke(operaciones -> {
+            for (HabitacionEvent evento : eventos) {
+                try {
+                    operaciones.convertAndSend(exchange, routingKey, objectMapper.writeValueAsString(evento),
+                            HabitacionService::marcarPublicacion);
+                } catch (JsonProcessingException e) {
+                    log.error("Error serializando evento de Habitacion ID: " + evento.getHabitacion().getHabitacionId(), e);
+                }
+            }
+            return null;
+        });
+        log.debug("[RabbitMQ] Lote de {} eventos de habitación enviado", eventos.size());
+    }
+
+    /**
+     * Marca el momento de publicación en la propiedad <code>timestamp</code> del mensaje AMQP, no en el cuerpo
+     * del evento, para que reservas-svc mida la demora de propagación sin cambiar el contrato compartido.
+     */
+    private static Message marcarPublicacion(Message mensaje) {
+        mensaje.getMessageProperties().setTimestamp(new Date());
+        return mensaje;
     }
 
     public void enviarHabitacionJms(Integer id) {
@@ -173,12 +308,15 @@ public class HabitacionService {
                 .tipoEvento(TipoEvento.ELIMINAR)
                 .habitacion(dto)
                 .build();
+        Timer.Sample muestra = Timer.start(meterRegistry);
+        boolean enviado = false;
         try {
-            String msgToSend = objectMapper.writeValueAsString(msgEvent);
-            log.debug("[RabbitMQ] Enviando mensaje: {}", msgToSend);
-            rabbitTemplate.convertAndSend(exchange, routingKey, msgToSend);
+            publicar(msgEvent);
+            enviado = true;
         } catch (Exception e) {
             log.error("Error enviando mensaje RabbitMQ para eliminacion de Habitacion ID: " + id, e);
+        } finally {
+            registrarEnvio(muestra, TipoEvento.ELIMINAR, enviado);
         }
     }
 }
@@ -2,6 +2,10 @@ package edu.utn.frsf.isi.dan.gestion.service;
 
 import edu.utn.frsf.isi.dan.gestion.dao.HotelRepository;
 import edu.utn.frsf.isi.dan.gestion.model.Hotel;
+import edu.utn.frsf.isi.dan.gestion.service.CatalogoVersiones.Coleccion;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+import org.hibernate.Cache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -13,16 +17,39 @@ public class HotelService {
     @Autowired
     private HotelRepository hotelRepository;
 
+    @Autowired
+    private CatalogoVersiones catalogoVersiones;
+
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+
     public Hotel save(Hotel hotel) {
         // Establecer la referencia bidireccional para los amenities
         if (hotel.getAmenities() != null) {
             hotel.getAmenities().forEach(amenity -> amenity.setHotel(hotel));
         }
-        return hotelRepository.save(hotel);
+        Hotel guardado = hotelRepository.save(hotel);
+        evictarAmenities(guardado.getId());
+        catalogoVersiones.registrarCambio(Coleccion.HOTELES, guardado.getId());
+        return guardado;
     }
 
     public void deleteById(Integer id) {
         hotelRepository.deleteById(id);
+        evictarAmenities(id);
+        catalogoVersiones.registrarCambio(Coleccion.HOTELES, id);
+        // Las habitaciones del hotel se eliminan en cascada
+        catalogoVersiones.registrarCambio(Coleccion.HABITACIONES);
+    }
+
+    /**
+     * La colección <code>amenities</code> es el lado inverso de la relación: Hibernate no invalida su
+     * región del cache de segundo nivel cuando cambia <code>AmenityHotel.hotel</code>, así que se
+     * descarta explícitamente después de cada escritura del hotel.
+     */
+    private void evictarAmenities(Integer hotelId) {
+        entityManagerFactory.getCache().unwrap(Cache.class)
+                .evictCollectionData(Hotel.class.getName() + ".amenities", hotelId);
     }
 
     public Optional<Hotel> findById(Integer id) {
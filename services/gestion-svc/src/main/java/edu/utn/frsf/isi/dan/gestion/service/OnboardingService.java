@@ -0,0 +1,267 @@
+package edu.utn.frsf.isi.dan.gestion.service;
+
+import edu.utn.frsf.isi.dan.gestion.dao.HabitacionRepository;
+import edu.utn.frsf.isi.dan.gestion.dao.HotelRepository;
+import edu.utn.frsf.isi.dan.gestion.dao.TipoHabitacionRepository;
+import edu.utn.frsf.isi.dan.gestion.dto.HabitacionOnboarding;
+import edu.utn.frsf.isi.dan.gestion.dto.OnboardingRequest;
+import edu.utn.frsf.isi.dan.gestion.dto.OnboardingResultado;
+import edu.utn.frsf.isi.dan.gestion.model.Habitacion;
+import edu.utn.frsf.isi.dan.gestion.model.Hotel;
+import edu.utn.frsf.isi.dan.gestion.model.TipoHabitacion;
+import edu.utn.frsf.isi.dan.gestion.service.CatalogoVersiones.Coleccion;
+import edu.utn.frsf.isi.dan.shared.HabitacionEvent;
+import edu.utn.frsf.isi.dan.shared.HotelDTO;
+import edu.utn.frsf.isi.dan.shared.TipoEvento;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.log4j.Log4j2;
+
+import org.hibernate.Hibernate;
+import org.springframework.amqp.AmqpException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Alta masiva de hoteles y habitaciones.
+ *
+ * <p>A diferencia de {@link HabitacionService#save(Habitacion)}, que resuelve cada referencia y publica
+ * un mensaje por habitación, aquí las referencias se validan con una sola consulta, las habitaciones se
+ * insertan por lotes JDBC (ids de secuencia con asignación pooled) y los eventos se publican en lote
+ * una vez confirmada cada transacción.</p>
+ */
+@Service
+@Log4j2
+public class OnboardingService {
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private HabitacionRepository habitacionRepository;
+
+    @Autowired
+    private TipoHabitacionRepository tipoHabitacionRepository;
+
+    @Autowired
+    private HabitacionService habitacionService;
+
+    @Autowired
+    private CatalogoVersiones catalogoVersiones;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${onboarding.tamanio-lote:500}")
+    private int tamanioLote = 500;
+
+    @Value("${onboarding.maximo-errores:1000}")
+    private int maximoErrores = 1000;
+
+    /**
+     * Crea el hotel con sus amenities y todas sus habitaciones en una única transacción.
+     */
+    public OnboardingResultado onboarding(OnboardingRequest request) {
+        long inicio = System.currentTimeMillis();
+        if (request.getHotel() == null) {
+            throw new IllegalArgumentException("Hotel es requerido");
+        }
+        List<HabitacionOnboarding> filas = request.getHabitaciones() != null ? request.getHabitaciones() : List.of();
+        Map<Integer, TipoHabitacion> tipos = validarTipos(filas);
+
+        Hotel hotel = request.getHotel();
+        hotel.setId(null);
+        if (hotel.getAmenities() != null) {
+            hotel.getAmenities().forEach(amenity -> amenity.setHotel(hotel));
+        }
+
+        List<Habitacion> creadas = transactionTemplate.execute(status -> {
+            Hotel guardado = hotelRepository.save(hotel);
+            List<Habitacion> habitaciones = new ArrayList<>(filas.size());
+            for (int i = 0; i < filas.size(); i += tamanioLote) {
+                List<Habitacion> lote = filas.subList(i, Math.min(i + tamanioLote, filas.size())).stream()
+                        .map(fila -> nuevaHabitacion(fila.getNumero(), fila.getPiso(), guardado, tipos.get(fila.getIdTipoHabitacion())))
+                        .collect(Collectors.toList());
+                persistirLote(lote);
+                habitaciones.addAll(lote);
+            }
+            return habitaciones;
+        });
+        catalogoVersiones.registrarCambio(Coleccion.HOTELES, hotel.getId());
+        catalogoVersiones.registrarCambio(Coleccion.HABITACIONES, ids(creadas));
+
+        int publicados = publicarEventos(creadas, habitacionService.mapHotel(hotel), habitacionService.amenitiesDe(hotel),
+                habitacionService.preciosVigentes());
+
+        log.info("Onboarding del hotel {}: {} habitaciones en {} ms", hotel.getId(), creadas.size(),
+                System.currentTimeMillis() - inicio);
+        return OnboardingResultado.builder()
+                .hotelId(hotel.getId())
+                .habitacionesCreadas(creadas.size())
+                .eventosPublicados(publicados)
+                .duracionMs(System.currentTimeMillis() - inicio)
+                .build();
+    }
+
+    /**
+     * Importa habitaciones de un hotel existente desde un CSV <code>numero,piso,idTipoHabitacion</code>
+     * (encabezado opcional). El archivo se lee en streaming y cada lote se confirma y publica por separado,
+     * por lo que la memoria utilizada no depende del tamaño del archivo. Una línea inválida no corta la
+     * importación: se informa en el resultado con su número y motivo y se sigue con la siguiente, para que
+     * el cliente sepa exactamente qué quedó creado y qué reenviar.
+     */
+    public OnboardingResultado importarHabitacionesCsv(Integer hotelId, InputStream csv) throws IOException {
+        long inicio = System.currentTimeMillis();
+        Hotel hotel = transactionTemplate.execute(status -> {
+            Hotel h = hotelRepository.findById(hotelId)
+                    .orElseThrow(() -> new IllegalArgumentException("Hotel no encontrado con ID: " + hotelId));
+            Hibernate.initialize(h.getAmenities());
+            return h;
+        });
+        HotelDTO hotelDto = habitacionService.mapHotel(hotel);
+        List<String> amenities = habitacionService.amenitiesDe(hotel);
+        Map<Integer, TipoHabitacion> tipos = tipoHabitacionRepository.findAll().stream()
+                .collect(Collectors.toMap(TipoHabitacion::getId, Function.identity()));
+        Map<Integer, Double> precios = habitacionService.preciosVigentes();
+
+        int creadas = 0;
+        int publicados = 0;
+        int rechazadas = 0;
+        List<OnboardingResultado.ErrorLinea> errores = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            List<Habitacion> lote = new ArrayList<>(tamanioLote);
+            String linea;
+            int numeroLinea = 0;
+            while ((linea = reader.readLine()) != null) {
+                numeroLinea++;
+                if (linea.isBlank() || (numeroLinea == 1 && !Character.isDigit(linea.strip().charAt(0)))) {
+                    continue;
+                }
+                try {
+                    lote.add(parsearLinea(linea, numeroLinea, hotel, tipos));
+                } catch (IllegalArgumentException e) {
+                    rechazadas++;
+                    if (errores.size() < maximoErrores) {
+                        errores.add(new OnboardingResultado.ErrorLinea(numeroLinea, e.getMessage()));
+                    }
+                    continue;
+                }
+                if (lote.size() == tamanioLote) {
+                    transactionTemplate.executeWithoutResult(status -> persistirLote(lote));
+                    catalogoVersiones.registrarCambio(Coleccion.HABITACIONES, ids(lote));
+                    creadas += lote.size();
+                    publicados += publicarEventos(lote, hotelDto, amenities, precios);
+                    lote.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> persistirLote(lote));
+                catalogoVersiones.registrarCambio(Coleccion.HABITACIONES, ids(lote));
+                creadas += lote.size();
+                publicados += publicarEventos(lote, hotelDto, amenities, precios);
+            }
+        }
+
+        log.info("Importación CSV del hotel {}: {} habitaciones, {} líneas rechazadas en {} ms", hotelId, creadas,
+                rechazadas, System.currentTimeMillis() - inicio);
+        return OnboardingResultado.builder()
+                .hotelId(hotelId)
+                .habitacionesCreadas(creadas)
+                .eventosPublicados(publicados)
+                .duracionMs(System.currentTimeMillis() - inicio)
+                .lineasRechazadas(rechazadas)
+                .errores(errores)
+                .build();
+    }
+
+    private Map<Integer, TipoHabitacion> validarTipos(List<HabitacionOnboarding> filas) {
+        Set<Integer> ids = filas.stream()
+                .map(HabitacionOnboarding::getIdTipoHabitacion)
+                .collect(Collectors.toCollection(HashSet::new));
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException("TipoHabitacion es requerido");
+        }
+        Map<Integer, TipoHabitacion> tipos = tipoHabitacionRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(TipoHabitacion::getId, Function.identity()));
+        ids.removeAll(tipos.keySet());
+        if (!ids.isEmpty()) {
+            throw new IllegalArgumentException("TipoHabitacion no encontrado con ID: " + ids);
+        }
+        return tipos;
+    }
+
+    static Habitacion parsearLinea(String linea, int numeroLinea, Hotel hotel, Map<Integer, TipoHabitacion> tipos) {
+        String[] columnas = linea.split(",");
+        if (columnas.length < 3) {
+            throw new IllegalArgumentException("Línea " + numeroLinea + " inválida: se esperaba numero,piso,idTipoHabitacion");
+        }
+        try {
+            Integer idTipo = Integer.valueOf(columnas[2].strip());
+            TipoHabitacion tipo = tipos.get(idTipo);
+            if (tipo == null) {
+                throw new IllegalArgumentException("Línea " + numeroLinea + ": TipoHabitacion no encontrado con ID: " + idTipo);
+            }
+            return nuevaHabitacion(Integer.valueOf(columnas[0].strip()), Integer.valueOf(columnas[1].strip()), hotel, tipo);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Línea " + numeroLinea + " inválida: " + linea);
+        }
+    }
+
+    private static Habitacion nuevaHabitacion(Integer numero, Integer piso, Hotel hotel, TipoHabitacion tipo) {
+        return Habitacion.builder()
+                .numero(numero)
+                .piso(piso)
+                .hotel(hotel)
+                .tipoHabitacion(tipo)
+                .build();
+    }
+
+    /**
+     * Inserta el lote (en sentencias JDBC agrupadas según hibernate.jdbc.batch_size) y vacía el contexto
+     * de persistencia para que no crezca con el tamaño de la carga.
+     */
+    private void persistirLote(List<Habitacion> lote) {
+        habitacionRepository.saveAll(lote);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static List<Integer> ids(List<Habitacion> habitaciones) {
+        return habitaciones.stream().map(Habitacion::getId).collect(Collectors.toList());
+    }
+
+    private int publicarEventos(List<Habitacion> habitaciones, HotelDTO hotelDto, List<String> amenities,
+            Map<Integer, Double> precios) {
+        List<HabitacionEvent> eventos = new ArrayList<>(habitaciones.size());
+        for (Habitacion habitacion : habitaciones) {
+            TipoHabitacion tipo = habitacion.getTipoHabitacion();
+            eventos.add(habitacionService.construirEvento(habitacion, tipo, hotelDto, amenities,
+                    precios.getOrDefault(tipo.getId(), 0.0), TipoEvento.CREAR));
+        }
+        try {
+            habitacionService.publicar(eventos);
+            return eventos.size();
+        } catch (AmqpException e) {
+            log.error("Error enviando lote de {} eventos de habitación", eventos.size(), e);
+            return 0;
+        }
+    }
+}
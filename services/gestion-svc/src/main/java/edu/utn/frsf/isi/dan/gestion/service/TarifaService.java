@@ -2,6 +2,7 @@ package edu.utn.frsf.isi.dan.gestion.service;
 
 import edu.utn.frsf.isi.dan.gestion.dao.TarifaRepository;
 import edu.utn.frsf.isi.dan.gestion.model.Tarifa;
+import edu.utn.frsf.isi.dan.gestion.service.CatalogoVersiones.Coleccion;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -13,12 +14,18 @@ public class TarifaService {
     @Autowired
     private TarifaRepository tarifaRepository;
 
+    @Autowired
+    private CatalogoVersiones catalogoVersiones;
+
     public Tarifa save(Tarifa tarifa) {
-        return tarifaRepository.save(tarifa);
+        Tarifa guardada = tarifaRepository.save(tarifa);
+        catalogoVersiones.registrarCambio(Coleccion.TARIFAS, guardada.getId());
+        return guardada;
     }
 
     public void deleteById(Integer id) {
         tarifaRepository.deleteById(id);
+        catalogoVersiones.registrarCambio(Coleccion.TARIFAS, id);
     }
 
     public Optional<Tarifa> findById(Integer id) {
@@ -2,6 +2,7 @@ package edu.utn.frsf.isi.dan.gestion.service;
 
 import edu.utn.frsf.isi.dan.gestion.dao.TipoHabitacionRepository;
 import edu.utn.frsf.isi.dan.gestion.model.TipoHabitacion;
+import edu.utn.frsf.isi.dan.gestion.service.CatalogoVersiones.Coleccion;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -13,12 +14,18 @@ public class TipoHabitacionService {
     @Autowired
     private TipoHabitacionRepository tipoHabitacionRepository;
 
+    @Autowired
+    private CatalogoVersiones catalogoVersiones;
+
     public TipoHabitacion save(TipoHabitacion tipoHabitacion) {
-        return tipoHabitacionRepository.save(tipoHabitacion);
+        TipoHabitacion guardado = tipoHabitacionRepository.save(tipoHabitacion);
+        catalogoVersiones.registrarCambio(Coleccion.TIPOS_HABITACION, guardado.getId());
+        return guardado;
     }
 
     public void deleteById(Integer id) {
         tipoHabitacionRepository.deleteById(id);
+        catalogoVersiones.registrarCambio(Coleccion.TIPOS_HABITACION, id);
     }
 
     public Optional<TipoHabitacion> findById(Integer id) {
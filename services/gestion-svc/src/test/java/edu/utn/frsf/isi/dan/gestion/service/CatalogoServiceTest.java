@@ -0,0 +1,205 @@
+package edu.utn.frsf.isi.dan.gestion.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.utn.frsf.isi.dan.gestion.dto.CatalogoSnapshot;
+import edu.utn.frsf.isi.dan.gestion.dto.CatalogoSnapshot.HabitacionFila;
+import edu.utn.frsf.isi.dan.gestion.service.CatalogoVersiones.Coleccion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class CatalogoServiceTest {
+
+    @InjectMocks
+    private CatalogoService catalogoService;
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    /** Tabla tp_dan.habitacion; las demás colecciones quedan vacías. */
+    private final Map<Integer, HabitacionFila> habitaciones = new TreeMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(catalogoService, "objectMapper", objectMapper);
+        for (int id = 1; id <= 3; id++) {
+            habitaciones.put(id, habitacion(id, 100 + id));
+        }
+
+        AtomicReference<HabitacionFila> actual = new AtomicReference<>();
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getInt("id")).thenAnswer(inv -> actual.get().getId());
+        when(rs.getObject(eq("numero"), eq(Integer.class))).thenAnswer(inv -> actual.get().getNumero());
+        when(rs.getObject(eq("piso"), eq(Integer.class))).thenAnswer(inv -> actual.get().getPiso());
+        when(rs.getObject(eq("id_hotel"), eq(Integer.class))).thenAnswer(inv -> actual.get().getIdHotel());
+        when(rs.getObject(eq("id_tipo"), eq(Integer.class))).thenAnswer(inv -> actual.get().getIdTipoHabitacion());
+        doAnswer(inv -> {
+            if (!inv.<String>getArgument(0).contains("from tp_dan.habitacion")) {
+                return null;
+            }
+            Collection<Integer> ids = (Collection<Integer>) inv.<MapSqlParameterSource>getArgument(1).getValue("ids");
+            RowCallbackHandler handler = inv.getArgument(2);
+            for (HabitacionFila fila : List.copyOf(habitaciones.values())) {
+                if (ids == null || ids.contains(fila.getId())) {
+                    actual.set(fila);
+                    handler.processRow(rs);
+                }
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    public void testPrimeraLecturaEsCompleta() throws Exception {
+        CatalogoSnapshot snapshot = obtener(null);
+
+        assertTrue(snapshot.isCompleto());
+        assertEquals(List.of(1, 2, 3), ids(snapshot));
+        assertNull(snapshot.getEliminados());
+        assertTrue(snapshot.getVersion() > 0);
+    }
+
+    @Test
+    public void testSinceIgualALaVersionActualDevuelveDeltaVacio() throws Exception {
+        long v1 = obtener(null).getVersion();
+
+        CatalogoSnapshot delta = obtener(v1);
+
+        assertFalse(delta.isCompleto());
+        assertEquals(v1, delta.getVersion());
+        assertEquals(List.of(), ids(delta));
+        assertNull(delta.getEliminados());
+    }
+
+    @Test
+    public void testSinceAnteriorALaPrimeraCargaDevuelveCompleto() throws Exception {
+        long v1 = obtener(null).getVersion();
+
+        CatalogoSnapshot snapshot = obtener(v1 - 1);
+
+        assertTrue(snapshot.isCompleto());
+        assertEquals(List.of(1, 2, 3), ids(snapshot));
+    }
+
+    @Test
+    public void testModificacionSoloApareceEnDeltasAnteriores() throws Exception {
+        long v1 = obtener(null).getVersion();
+        habitaciones.put(2, habitacion(2, 202));
+        catalogoService.onCambio(new CambioCatalogo(Coleccion.HABITACIONES, List.of(2)));
+
+        CatalogoSnapshot delta = obtener(v1);
+        long v2 = delta.getVersion();
+
+        assertTrue(v2 > v1);
+        assertEquals(List.of(2), ids(delta));
+        assertEquals(202, delta.getHabitaciones().get(0).getNumero());
+        assertEquals(List.of(), ids(obtener(v2)));
+    }
+
+    @Test
+    public void testFilaSinCambiosNoAvanzaLaVersion() throws Exception {
+        long v1 = obtener(null).getVersion();
+        catalogoService.onCambio(new CambioCatalogo(Coleccion.HABITACIONES, List.of(1)));
+
+        CatalogoSnapshot delta = obtener(v1);
+
+        assertEquals(v1, delta.getVersion());
+        assertEquals(List.of(), ids(delta));
+    }
+
+    @Test
+    public void testBajaApareceComoMarca() throws Exception {
+        long v1 = obtener(null).getVersion();
+        habitaciones.remove(3);
+        catalogoService.onCambio(new CambioCatalogo(Coleccion.HABITACIONES, List.of(3)));
+
+        CatalogoSnapshot delta = obtener(v1);
+
+        assertEquals(List.of(), ids(delta));
+        assertEquals(Map.of("habitaciones", List.of(3)), delta.getEliminados());
+        assertNull(obtener(delta.getVersion()).getEliminados());
+        CatalogoSnapshot completo = obtener(null);
+        assertEquals(List.of(1, 2), ids(completo));
+        assertNull(completo.getEliminados());
+    }
+
+    @Test
+    public void testRecargaDetectaBajas() throws Exception {
+        long v1 = obtener(null).getVersion();
+        habitaciones.remove(1);
+        catalogoService.onCambio(new CambioCatalogo(Coleccion.HABITACIONES, null));
+
+        CatalogoSnapshot delta = obtener(v1);
+
+        assertEquals(Map.of("habitaciones", List.of(1)), delta.getEliminados());
+    }
+
+    @Test
+    public void testAltaConElMismoIdQuitaLaMarca() throws Exception {
+        long v1 = obtener(null).getVersion();
+        habitaciones.remove(3);
+        catalogoService.onCambio(new CambioCatalogo(Coleccion.HABITACIONES, List.of(3)));
+        obtener(v1);
+        habitaciones.put(3, habitacion(3, 303));
+        catalogoService.onCambio(new CambioCatalogo(Coleccion.HABITACIONES, List.of(3)));
+
+        CatalogoSnapshot delta = obtener(v1);
+
+        assertEquals(List.of(3), ids(delta));
+        assertNull(delta.getEliminados());
+    }
+
+    @Test
+    public void testMarcasDescartadasObliganAlCompleto() throws Exception {
+        for (int id = 4; id <= CatalogoService.MAXIMO_BAJAS + 4; id++) {
+            habitaciones.put(id, habitacion(id, id));
+        }
+        long v1 = obtener(null).getVersion();
+        habitaciones.keySet().removeIf(id -> id > 3);
+        catalogoService.onCambio(new CambioCatalogo(Coleccion.HABITACIONES, null));
+
+        CatalogoSnapshot snapshot = obtener(v1);
+
+        // Las marcas que no entran se descartan y desde v1 ya no se puede armar un delta fiel
+        assertTrue(snapshot.isCompleto());
+        assertEquals(List.of(1, 2, 3), ids(snapshot));
+        assertFalse(obtener(snapshot.getVersion()).isCompleto());
+    }
+
+    private CatalogoSnapshot obtener(Long since) throws Exception {
+        return objectMapper.readValue(catalogoService.obtener(since).json(), CatalogoSnapshot.class);
+    }
+
+    private static List<Integer> ids(CatalogoSnapshot snapshot) {
+        return snapshot.getHabitaciones() == null ? List.of()
+                : snapshot.getHabitaciones().stream().map(HabitacionFila::getId).toList();
+    }
+
+    private static HabitacionFila habitacion(int id, int numero) {
+        return HabitacionFila.builder().id(id).numero(numero).piso(numero / 100).idHotel(1).idTipoHabitacion(1).build();
+    }
+}
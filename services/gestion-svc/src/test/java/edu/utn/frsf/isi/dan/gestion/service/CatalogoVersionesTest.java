@@ -0,0 +1,133 @@
+package edu.utn.frsf.isi.dan.gestion.service;
+
+import edu.utn.frsf.isi.dan.gestion.service.CatalogoVersiones.Coleccion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+public class CatalogoVersionesTest {
+
+    @InjectMocks
+    private CatalogoVersiones catalogoVersiones;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final AtomicInteger cargas = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    public void testCambioIncrementaLaColeccionYSusDependientes() {
+        ETag hoteles = catalogoVersiones.etag(Coleccion.HOTELES);
+        ETag habitaciones = catalogoVersiones.etag(Coleccion.HABITACIONES);
+        ETag tarifas = catalogoVersiones.etag(Coleccion.TARIFAS);
+
+        catalogoVersiones.registrarCambio(Coleccion.HOTELES, 3);
+
+        assertNotEquals(hoteles, catalogoVersiones.etag(Coleccion.HOTELES));
+        assertNotEquals(habitaciones, catalogoVersiones.etag(Coleccion.HABITACIONES));
+        assertEquals(tarifas, catalogoVersiones.etag(Coleccion.TARIFAS));
+        verify(eventPublisher).publishEvent(new CambioCatalogo(Coleccion.HOTELES, List.of(3)));
+    }
+
+    @Test
+    public void testCambioDeTipoInvalidaTarifasYHabitaciones() {
+        ETag tarifas = catalogoVersiones.etag(Coleccion.TARIFAS);
+        ETag habitaciones = catalogoVersiones.etag(Coleccion.HABITACIONES);
+        ETag hoteles = catalogoVersiones.etag(Coleccion.HOTELES);
+
+        catalogoVersiones.registrarCambio(Coleccion.TIPOS_HABITACION);
+
+        assertNotEquals(tarifas, catalogoVersiones.etag(Coleccion.TARIFAS));
+        assertNotEquals(habitaciones, catalogoVersiones.etag(Coleccion.HABITACIONES));
+        assertEquals(hoteles, catalogoVersiones.etag(Coleccion.HOTELES));
+    }
+
+    @Test
+    public void testSinIfNoneMatchCargaYAgregaEncabezados() {
+        ResponseEntity<String> respuesta = catalogoVersiones.condicional(pedido(null), Coleccion.HOTELES, this::cargar);
+
+        assertEquals(HttpStatus.OK, respuesta.getStatusCode());
+        assertEquals("hoteles", respuesta.getBody());
+        assertEquals(catalogoVersiones.etag(Coleccion.HOTELES).formattedTag(), respuesta.getHeaders().getETag());
+        assertTrue(respuesta.getHeaders().getLastModified() > 0);
+        assertEquals("no-cache", respuesta.getHeaders().getCacheControl());
+        assertEquals(1, cargas.get());
+    }
+
+    @Test
+    public void testEtagVigenteResponde304SinCargar() {
+        String etag = catalogoVersiones.etag(Coleccion.HOTELES).formattedTag();
+
+        ResponseEntity<String> respuesta = catalogoVersiones.condicional(pedido(etag), Coleccion.HOTELES, this::cargar);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, respuesta.getStatusCode());
+        assertNull(respuesta.getBody());
+        assertEquals(etag, respuesta.getHeaders().getETag());
+        assertEquals(0, cargas.get());
+    }
+
+    @Test
+    public void testEtagDeUnaVersionAnteriorVuelveACargar() {
+        String etag = catalogoVersiones.etag(Coleccion.HOTELES).formattedTag();
+        catalogoVersiones.registrarCambio(Coleccion.HOTELES, 3);
+
+        ResponseEntity<String> respuesta = catalogoVersiones.condicional(pedido(etag), Coleccion.HOTELES, this::cargar);
+
+        assertEquals(HttpStatus.OK, respuesta.getStatusCode());
+        assertNotEquals(etag, respuesta.getHeaders().getETag());
+        assertEquals(1, cargas.get());
+    }
+
+    @Test
+    public void testEtagDeOtraColeccionNoCoincide() {
+        String etag = catalogoVersiones.etag(Coleccion.TARIFAS).formattedTag();
+
+        ResponseEntity<String> respuesta = catalogoVersiones.condicional(pedido(etag), Coleccion.HOTELES, this::cargar);
+
+        assertEquals(HttpStatus.OK, respuesta.getStatusCode());
+        assertEquals(1, cargas.get());
+    }
+
+    @Test
+    public void testRespuestaNoExitosaSinEtag() {
+        ResponseEntity<String> respuesta = catalogoVersiones.condicional(pedido(null), Coleccion.HOTELES,
+                () -> ResponseEntity.notFound().build());
+
+        assertEquals(HttpStatus.NOT_FOUND, respuesta.getStatusCode());
+        assertNull(respuesta.getHeaders().getETag());
+    }
+
+    private ResponseEntity<String> cargar() {
+        cargas.incrementAndGet();
+        return ResponseEntity.ok("hoteles");
+    }
+
+    private static WebRequest pedido(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hoteles");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request);
+    }
+}
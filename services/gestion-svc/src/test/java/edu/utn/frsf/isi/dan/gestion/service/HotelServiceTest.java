@@ -0,0 +1,70 @@
+package edu.utn.frsf.isi.dan.gestion.service;
+
+import edu.utn.frsf.isi.dan.gestion.dao.HotelRepository;
+import edu.utn.frsf.isi.dan.gestion.model.AmenityHotel;
+import edu.utn.frsf.isi.dan.gestion.model.Hotel;
+import edu.utn.frsf.isi.dan.gestion.service.CatalogoVersiones.Coleccion;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.*;
+
+public class HotelServiceTest {
+
+    private static final String REGION_AMENITIES = Hotel.class.getName() + ".amenities";
+
+    @InjectMocks
+    private HotelService hotelService;
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Mock
+    private CatalogoVersiones catalogoVersiones;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache cache;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        jakarta.persistence.Cache cacheJpa = mock(jakarta.persistence.Cache.class);
+        when(entityManagerFactory.getCache()).thenReturn(cacheJpa);
+        when(cacheJpa.unwrap(Cache.class)).thenReturn(cache);
+    }
+
+    @Test
+    public void testSaveEnlazaAmenitiesYDescartaLaColeccionCacheada() {
+        AmenityHotel wifi = new AmenityHotel();
+        Hotel hotel = Hotel.builder().id(3).nombre("Hotel Santa Fe").amenities(List.of(wifi)).build();
+        when(hotelRepository.save(hotel)).thenReturn(hotel);
+
+        Hotel guardado = hotelService.save(hotel);
+
+        assertSame(hotel, guardado);
+        assertSame(hotel, wifi.getHotel());
+        verify(cache).evictCollectionData(REGION_AMENITIES, 3);
+        verify(catalogoVersiones).registrarCambio(Coleccion.HOTELES, 3);
+    }
+
+    @Test
+    public void testDeleteDescartaAmenitiesEInvalidaHabitaciones() {
+        hotelService.deleteById(3);
+
+        verify(hotelRepository).deleteById(3);
+        verify(cache).evictCollectionData(REGION_AMENITIES, 3);
+        verify(catalogoVersiones).registrarCambio(Coleccion.HOTELES, 3);
+        verify(catalogoVersiones).registrarCambio(Coleccion.HABITACIONES);
+    }
+}
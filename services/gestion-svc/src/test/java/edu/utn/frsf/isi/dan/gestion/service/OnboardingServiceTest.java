@@ -0,0 +1,208 @@
+package edu.utn.frsf.isi.dan.gestion.service;
+
+import edu.utn.frsf.isi.dan.gestion.dao.HabitacionRepository;
+import edu.utn.frsf.isi.dan.gestion.dao.HotelRepository;
+import edu.utn.frsf.isi.dan.gestion.dao.TipoHabitacionRepository;
+import edu.utn.frsf.isi.dan.gestion.dto.HabitacionOnboarding;
+import edu.utn.frsf.isi.dan.gestion.dto.OnboardingRequest;
+import edu.utn.frsf.isi.dan.gestion.dto.OnboardingResultado;
+import edu.utn.frsf.isi.dan.gestion.model.Habitacion;
+import edu.utn.frsf.isi.dan.gestion.model.Hotel;
+import edu.utn.frsf.isi.dan.gestion.model.TipoHabitacion;
+import edu.utn.frsf.isi.dan.gestion.service.CatalogoVersiones.Coleccion;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class OnboardingServiceTest {
+
+    private static final Map<Integer, TipoHabitacion> TIPOS = Map.of(
+            1, TipoHabitacion.builder().id(1).nombre("SINGLE").capacidad(1).build(),
+            3, TipoHabitacion.builder().id(3).nombre("DOBLE").capacidad(2).build());
+
+    @InjectMocks
+    private OnboardingService onboardingService;
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Mock
+    private HabitacionRepository habitacionRepository;
+
+    @Mock
+    private TipoHabitacionRepository tipoHabitacionRepository;
+
+    @Mock
+    private HabitacionService habitacionService;
+
+    @Mock
+    private CatalogoVersiones catalogoVersiones;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final Hotel hotel = Hotel.builder().id(7).nombre("Hotel Santa Fe").amenities(new ArrayList<>()).build();
+    private final AtomicInteger proximoId = new AtomicInteger(100);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(onboardingService, "tamanioLote", 2);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
+        doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(habitacionRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Habitacion> lote = inv.getArgument(0);
+            lote.forEach(h -> h.setId(proximoId.getAndIncrement()));
+            return lote;
+        });
+        when(hotelRepository.findById(7)).thenReturn(Optional.of(hotel));
+        when(tipoHabitacionRepository.findAll()).thenReturn(List.copyOf(TIPOS.values()));
+        when(habitacionService.preciosVigentes()).thenReturn(Map.of(1, 35_000.0, 3, 55_000.0));
+    }
+
+    @Test
+    public void testParsearLinea() {
+        Habitacion habitacion = OnboardingService.parsearLinea(" 101, 1 ,3", 2, hotel, TIPOS);
+
+        assertEquals(101, habitacion.getNumero());
+        assertEquals(1, habitacion.getPiso());
+        assertSame(TIPOS.get(3), habitacion.getTipoHabitacion());
+        assertSame(hotel, habitacion.getHotel());
+        assertNull(habitacion.getId());
+    }
+
+    @Test
+    public void testParsearLineaColumnasFaltantes() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> OnboardingService.parsearLinea("101,1", 4, hotel, TIPOS));
+        assertTrue(e.getMessage().startsWith("Línea 4"));
+    }
+
+    @Test
+    public void testParsearLineaNoNumerica() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> OnboardingService.parsearLinea("101,planta baja,1", 5, hotel, TIPOS));
+        assertTrue(e.getMessage().startsWith("Línea 5"));
+    }
+
+    @Test
+    public void testParsearLineaTipoInexistente() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> OnboardingService.parsearLinea("101,1,9", 3, hotel, TIPOS));
+        assertTrue(e.getMessage().contains("TipoHabitacion no encontrado con ID: 9"));
+    }
+
+    @Test
+    public void testImportarCsvPorLotes() throws Exception {
+        InputStream csv = csv("numero,piso,idTipoHabitacion\n101,1,1\n\n102,1,3\n201,2,3\n");
+
+        OnboardingResultado resultado = onboardingService.importarHabitacionesCsv(7, csv);
+
+        assertEquals(7, resultado.getHotelId());
+        assertEquals(3, resultado.getHabitacionesCreadas());
+        assertEquals(3, resultado.getEventosPublicados());
+        verify(habitacionRepository, times(2)).saveAll(anyList());
+        verify(entityManager, times(2)).clear();
+        verify(catalogoVersiones).registrarCambio(Coleccion.HABITACIONES, List.of(100, 101));
+        verify(catalogoVersiones).registrarCambio(Coleccion.HABITACIONES, List.of(102));
+        verify(habitacionService, times(2)).publicar(anyList());
+        verify(habitacionService).construirEvento(any(), eq(TIPOS.get(1)), any(), any(), eq(35_000.0), any());
+    }
+
+    @Test
+    public void testImportarCsvLineasInvalidasSeInformanYNoCortanLaImportacion() throws Exception {
+        InputStream csv = csv("101,1,1\n102,1,3\n103,1,x\n104,1\n105,1,9\n106,1,1\n");
+
+        OnboardingResultado resultado = onboardingService.importarHabitacionesCsv(7, csv);
+
+        assertEquals(3, resultado.getHabitacionesCreadas());
+        assertEquals(3, resultado.getEventosPublicados());
+        assertEquals(3, resultado.getLineasRechazadas());
+        assertEquals(List.of(3, 4, 5), resultado.getErrores().stream().map(OnboardingResultado.ErrorLinea::linea).toList());
+        assertTrue(resultado.getErrores().get(2).mensaje().contains("TipoHabitacion no encontrado con ID: 9"));
+        verify(catalogoVersiones).registrarCambio(Coleccion.HABITACIONES, List.of(100, 101));
+        verify(catalogoVersiones).registrarCambio(Coleccion.HABITACIONES, List.of(102));
+    }
+
+    @Test
+    public void testImportarCsvErroresDetalladosAcotados() throws Exception {
+        ReflectionTestUtils.setField(onboardingService, "maximoErrores", 2);
+
+        OnboardingResultado resultado = onboardingService.importarHabitacionesCsv(7, csv("1,a,1\n2,b,1\n3,c,1\n4,d,1\n"));
+
+        assertEquals(0, resultado.getHabitacionesCreadas());
+        assertEquals(4, resultado.getLineasRechazadas());
+        assertEquals(2, resultado.getErrores().size());
+        verify(habitacionRepository, never()).saveAll(anyList());
+        verify(habitacionService, never()).publicar(anyList());
+    }
+
+    @Test
+    public void testImportarCsvHotelInexistente() {
+        assertThrows(IllegalArgumentException.class, () -> onboardingService.importarHabitacionesCsv(8, csv("101,1,1\n")));
+        verify(habitacionRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    public void testOnboardingRechazaTiposInexistentesAntesDeGuardar() {
+        when(tipoHabitacionRepository.findAllById(any())).thenReturn(List.of(TIPOS.get(1)));
+        OnboardingRequest request = OnboardingRequest.builder()
+                .hotel(Hotel.builder().nombre("Nuevo").build())
+                .habitaciones(List.of(
+                        HabitacionOnboarding.builder().numero(1).piso(1).idTipoHabitacion(1).build(),
+                        HabitacionOnboarding.builder().numero(2).piso(1).idTipoHabitacion(9).build()))
+                .build();
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> onboardingService.onboarding(request));
+
+        assertTrue(e.getMessage().contains("[9]"));
+        verify(hotelRepository, never()).save(any());
+        verify(habitacionRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    public void testOnboardingSinTipoFalla() {
+        OnboardingRequest request = OnboardingRequest.builder()
+                .hotel(Hotel.builder().nombre("Nuevo").build())
+                .habitaciones(List.of(HabitacionOnboarding.builder().numero(1).piso(1).build()))
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> onboardingService.onboarding(request));
+        verify(hotelRepository, never()).save(any());
+    }
+
+    private static InputStream csv(String contenido) {
+        return new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,84 @@
+package edu.utn.frsf.isi.dan.reservas_svc.calentamiento;
+
+import edu.utn.frsf.isi.dan.reservas_svc.config.MongoConfig;
+import edu.utn.frsf.isi.dan.reservas_svc.dto.HabitacionSearchCriteria;
+import edu.utn.frsf.isi.dan.reservas_svc.model.Habitacion;
+import edu.utn.frsf.isi.dan.reservas_svc.service.HabitacionService;
+import edu.utn.frsf.isi.dan.shared.calentamiento.TareaCalentamiento;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Búsquedas de habitaciones disponibles con las 64 combinaciones de filtros (capacidad, precio, categoría,
+ * amenities, distancia y fechas) alrededor de hoteles reales. Arma la consulta con
+ * {@link HabitacionService#construirConsulta} y la ejecuta con un límite, para calentar el armado, el driver,
+ * el mapeo de resultados y el pool de conexiones sin cargar la base ni sumar a las métricas de búsqueda.
+ */
+@Component
+public class BusquedaCalentamiento implements TareaCalentamiento {
+
+    private static final int COMBINACIONES = 1 << 6;
+    private static final int LIMITE = 20;
+
+    @Autowired
+    private HabitacionService habitacionService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoConfig mongoConfig;
+
+    @Autowired
+    private MuestraHabitaciones muestra;
+
+    @Override
+    public String nombre() {
+        return "busqueda";
+    }
+
+    /** La búsqueda por distancia necesita el índice 2dsphere. */
+    @Override
+    public boolean lista() {
+        return mongoConfig.isIndicesCreados();
+    }
+
+    @Override
+    public void preparar() {
+        muestra.habitaciones();
+    }
+
+    @Override
+    public void ejecutar(int iteracion) {
+        int filtros = iteracion % COMBINACIONES;
+        Habitacion habitacion = muestra.get(iteracion / COMBINACIONES);
+        HabitacionSearchCriteria.HabitacionSearchCriteriaBuilder criterio = HabitacionSearchCriteria.builder();
+        if ((filtros & 1) != 0) {
+            criterio.cantidadHuespedes(1 + iteracion % 4);
+        }
+        if ((filtros & 2) != 0 && habitacion.getPrecioNoche() != null) {
+            criterio.precioMinimo(habitacion.getPrecioNoche() * 0.5).precioMaximo(habitacion.getPrecioNoche() * 1.5);
+        }
+        if ((filtros & 4) != 0) {
+            criterio.categoriaMinima(1 + iteracion % 3);
+        }
+        if ((filtros & 8) != 0 && habitacion.getAmenities() != null && !habitacion.getAmenities().isEmpty()) {
+            criterio.amenities(List.of(habitacion.getAmenities().get(0)));
+        }
+        if ((filtros & 16) != 0 && habitacion.getHotel() != null && habitacion.getHotel().getUbicacion() != null) {
+            criterio.latitud(habitacion.getHotel().getUbicacion().getY())
+                    .longitud(habitacion.getHotel().getUbicacion().getX())
+                    .distanciaMaximaMetros(5_000.0 + 1_000.0 * (iteracion % 45));
+        }
+        if ((filtros & 32) != 0) {
+            Instant entrada = Instant.now().truncatedTo(ChronoUnit.DAYS).plus(1 + iteracion % 180, ChronoUnit.DAYS);
+            criterio.fechaCheckIn(entrada).fechaCheckOut(entrada.plus(1 + iteracion % 7, ChronoUnit.DAYS));
+        }
+        mongoTemplate.find(habitacionService.construirConsulta(criterio.build()).limit(LIMITE), Habitacion.class);
+    }
+}
@@ -0,0 +1,99 @@
+package edu.utn.frsf.isi.dan.reservas_svc.calentamiento;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.utn.frsf.isi.dan.reservas_svc.model.Habitacion;
+import edu.utn.frsf.isi.dan.reservas_svc.service.HabitacionService;
+import edu.utn.frsf.isi.dan.shared.HabitacionDTO;
+import edu.utn.frsf.isi.dan.shared.HabitacionEvent;
+import edu.utn.frsf.isi.dan.shared.HotelDTO;
+import edu.utn.frsf.isi.dan.shared.TarifaDTO;
+import edu.utn.frsf.isi.dan.shared.TipoEvento;
+import edu.utn.frsf.isi.dan.shared.calentamiento.TareaCalentamiento;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lo que hace {@link edu.utn.frsf.isi.dan.reservas_svc.messaging.GestionMessageListener} con un evento de
+ * gestion-svc hasta antes de escribir: decodificar el JSON, mapear la habitación y convertirla a BSON. Los
+ * eventos se arman a partir de habitaciones reales y no se aplican.
+ */
+@Component
+public class EventoHabitacionCalentamiento implements TareaCalentamiento {
+
+    private static final int EVENTOS = 50;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private HabitacionService habitacionService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MuestraHabitaciones muestra;
+
+    private volatile List<String> payloads = List.of();
+
+    @Override
+    public String nombre() {
+        return "eventos";
+    }
+
+    @Override
+    public void preparar() {
+        List<String> armados = new ArrayList<>(EVENTOS);
+        TipoEvento[] tipos = { TipoEvento.CREAR, TipoEvento.ACTUALIZAR_DATOS, TipoEvento.ACTUALIZAR_PRECIO };
+        for (int i = 0; i < EVENTOS; i++) {
+            Habitacion habitacion = muestra.get(i);
+            TipoEvento tipo = tipos[i % tipos.length];
+            HabitacionEvent evento = HabitacionEvent.builder()
+                    .tipoEvento(tipo)
+                    .habitacion(tipo == TipoEvento.ACTUALIZAR_PRECIO ? null : dto(habitacion))
+                    .tarifa(tipo == TipoEvento.ACTUALIZAR_PRECIO
+                            ? new TarifaDTO(habitacion.getIdTipoHabitacion(), habitacion.getPrecioNoche()) : null)
+                    .build();
+            try {
+                armados.add(objectMapper.writeValueAsString(evento));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("No se pudo armar el evento de calentamiento", e);
+            }
+        }
+        payloads = armados;
+    }
+
+    @Override
+    public void ejecutar(int iteracion) throws Exception {
+        HabitacionEvent evento = objectMapper.readValue(payloads.get(iteracion % payloads.size()), HabitacionEvent.class);
+        if (evento.getHabitacion() != null) {
+            mongoTemplate.getConverter().write(habitacionService.mapFromHabitacion(evento.getHabitacion()), new Document());
+        }
+    }
+
+    private static HabitacionDTO dto(Habitacion habitacion) {
+        HotelDTO hotel = habitacion.getHotel() == null ? null : HotelDTO.builder()
+                .id(habitacion.getHotel().getId())
+                .nombre(habitacion.getHotel().getNombre())
+                .domicilio(habitacion.getHotel().getDomicilio())
+                .categoria(habitacion.getHotel().getCategoria())
+                .latitud(habitacion.getHotel().getUbicacion() == null ? null : habitacion.getHotel().getUbicacion().getY())
+                .longitud(habitacion.getHotel().getUbicacion() == null ? null : habitacion.getHotel().getUbicacion().getX())
+                .build();
+        return HabitacionDTO.builder()
+                .habitacionId(habitacion.getHabitacionId())
+                .tipoHabitacionId(habitacion.getIdTipoHabitacion())
+                .tipoHabitacion(habitacion.getTipoHabitacion())
+                .capacidad(habitacion.getCapacidad())
+                .precioNoche(habitacion.getPrecioNoche())
+                .amenities(habitacion.getAmenities())
+                .hotel(hotel)
+                .build();
+    }
+}
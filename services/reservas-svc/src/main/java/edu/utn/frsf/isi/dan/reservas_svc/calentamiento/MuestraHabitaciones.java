@@ -0,0 +1,66 @@
+package edu.utn.frsf.isi.dan.reservas_svc.calentamiento;
+
+import edu.utn.frsf.isi.dan.reservas_svc.model.Habitacion;
+import edu.utn.frsf.isi.dan.reservas_svc.model.Hotel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Habitaciones reales para armar los pedidos sintéticos del calentamiento, leídas una sola vez y compartidas
+ * entre las tareas. Con la base vacía se usa una habitación inventada en Santa Fe: las consultas no devuelven
+ * nada, pero recorren el mismo código.
+ */
+@Component
+class MuestraHabitaciones {
+
+    private static final int TAMANIO = 200;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private volatile List<Habitacion> habitaciones;
+
+    List<Habitacion> habitaciones() {
+        List<Habitacion> leidas = habitaciones;
+        if (leidas == null) {
+            synchronized (this) {
+                if (habitaciones == null) {
+                    List<Habitacion> encontradas = mongoTemplate.find(
+                            new Query(Criteria.where("hotel.ubicacion").exists(true)).limit(TAMANIO), Habitacion.class);
+                    habitaciones = encontradas.isEmpty() ? List.of(inventada()) : List.copyOf(encontradas);
+                }
+                leidas = habitaciones;
+            }
+        }
+        return leidas;
+    }
+
+    Habitacion get(int iteracion) {
+        List<Habitacion> todas = habitaciones();
+        return todas.get(Math.floorMod(iteracion, todas.size()));
+    }
+
+    private static Habitacion inventada() {
+        return Habitacion.builder()
+                .habitacionId(0L)
+                .capacidad(2)
+                .precioNoche(60_000.0)
+                .amenities(List.of("WIFI", "AIRE_ACONDICIONADO"))
+                .idTipoHabitacion(1)
+                .tipoHabitacion("Doble")
+                .hotel(Hotel.builder()
+                        .id(0)
+                        .nombre("Hotel de calentamiento")
+                        .categoria(3)
+                        .domicilio("Lavaise 610, Santa Fe")
+                        .ubicacion(new GeoJsonPoint(-60.7, -31.63))
+                        .build())
+                .build();
+    }
+}
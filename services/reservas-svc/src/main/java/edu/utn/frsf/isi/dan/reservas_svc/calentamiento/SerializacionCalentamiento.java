@@ -0,0 +1,45 @@
+package edu.utn.frsf.isi.dan.reservas_svc.calentamiento;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.utn.frsf.isi.dan.reservas_svc.model.Habitacion;
+import edu.utn.frsf.isi.dan.shared.calentamiento.TareaCalentamiento;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serialización a JSON, con el mismo {@link ObjectMapper} que usa Spring MVC, de listas de habitaciones del
+ * tamaño de una respuesta típica de la búsqueda.
+ */
+@Component
+public class SerializacionCalentamiento implements TareaCalentamiento {
+
+    private static final int POR_RESPUESTA = 20;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MuestraHabitaciones muestra;
+
+    @Override
+    public String nombre() {
+        return "serializacion";
+    }
+
+    @Override
+    public void preparar() {
+        muestra.habitaciones();
+    }
+
+    @Override
+    public void ejecutar(int iteracion) throws Exception {
+        List<Habitacion> respuesta = new ArrayList<>(POR_RESPUESTA);
+        for (int i = 0; i < POR_RESPUESTA; i++) {
+            respuesta.add(muestra.get(iteracion + i));
+        }
+        objectMapper.writeValueAsBytes(respuesta);
+    }
+}
@@ -0,0 +1,152 @@
+package edu.utn.frsf.isi.dan.reservas_svc.config;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import edu.utn.frsf.isi.dan.shared.consultas.RegistroConsultas;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registra cada comando que reservas-svc envía a Mongo en {@link RegistroConsultas}, agrupado por forma:
+ * comando, colección y la estructura del filtro, el sort o el pipeline con los valores reemplazados por
+ * <code>?</code>. De la respuesta se toman los documentos devueltos (<code>firstBatch</code>/<code>nextBatch</code>)
+ * y los afectados (<code>n</code>). Mongo no informa los documentos examinados en las respuestas normales:
+ * para eso están las muestras lentas, cuya forma se puede reproducir con <code>explain</code>.
+ */
+public class ComandosMongoListener implements CommandListener {
+
+    static final String FUENTE = "mongo";
+
+    private static final Set<String> IGNORADOS = Set.of("hello", "ismaster", "isMaster", "ping", "buildInfo",
+            "saslStart", "saslContinue", "endSessions", "killCursors", "getLastError");
+    private static final Set<String> IRRELEVANTES = Set.of("$db", "lsid", "$clusterTime", "txnNumber", "$readPreference",
+            "readConcern", "writeConcern", "apiVersion", "apiStrict", "apiDeprecationErrors", "ordered", "documents",
+            "batchSize", "limit", "skip", "singleBatch", "cursor", "maxTimeMS", "comment", "new", "upsert",
+            "bypassDocumentValidation", "allowDiskUse", "autocommit", "startTransaction");
+    private static final int LARGO_MAXIMO = 1000;
+
+    private final RegistroConsultas registro;
+    /** Comandos en curso por requestId: el evento de inicio es el único que trae el comando. */
+    private final Map<Integer, RegistroConsultas.Forma> enCurso = new ConcurrentHashMap<>();
+
+    public ComandosMongoListener(RegistroConsultas registro) {
+        this.registro = registro;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (IGNORADOS.contains(event.getCommandName())) {
+            return;
+        }
+        // El documento solo es válido durante el callback: se resuelve la forma acá
+        String forma = forma(event.getCommandName(), event.getCommand());
+        enCurso.put(event.getRequestId(), registro.formaNormalizada(FUENTE, forma, event.getCommandName()));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        RegistroConsultas.Forma forma = enCurso.remove(event.getRequestId());
+        if (forma == null) {
+            return;
+        }
+        BsonDocument respuesta = event.getResponse();
+        long devueltos = devueltos(respuesta);
+        long afectados = respuesta.isNumber("n") ? respuesta.getNumber("n").longValue() : 0;
+        forma.ejecucion(event.getElapsedTime(TimeUnit.NANOSECONDS), devueltos + afectados);
+        forma.devueltas(devueltos);
+        forma.afectadas(afectados);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        RegistroConsultas.Forma forma = enCurso.remove(event.getRequestId());
+        if (forma != null) {
+            forma.error(event.getElapsedTime(TimeUnit.NANOSECONDS));
+        }
+    }
+
+    private static long devueltos(BsonDocument respuesta) {
+        if (!respuesta.isDocument("cursor")) {
+            return 0;
+        }
+        BsonDocument cursor = respuesta.getDocument("cursor");
+        if (cursor.isArray("firstBatch")) {
+            return cursor.getArray("firstBatch").size();
+        }
+        return cursor.isArray("nextBatch") ? cursor.getArray("nextBatch").size() : 0;
+    }
+
+    /**
+     * <code>find reserva {"filter": {"huesped.idUsuario": ?}}</code>: nombre del comando, colección y el resto
+     * del comando sin las claves de sesión/lectura, con todos los valores escalares como <code>?</code>. De
+     * <code>updates</code> y <code>deletes</code> se toma solo la primera sentencia.
+     */
+    static String forma(String nombre, BsonDocument comando) {
+        BsonValue coleccion = comando.get(nombre);
+        StringBuilder forma = new StringBuilder(nombre);
+        if (coleccion != null && coleccion.isString()) {
+            forma.append(' ').append(coleccion.asString().getValue());
+        }
+        BsonDocument resto = new BsonDocument();
+        for (Map.Entry<String, BsonValue> entrada : comando.entrySet()) {
+            String clave = entrada.getKey();
+            if (clave.equals(nombre) || IRRELEVANTES.contains(clave)) {
+                continue;
+            }
+            BsonValue valor = entrada.getValue();
+            if ((clave.equals("updates") || clave.equals("deletes")) && valor.isArray() && !valor.asArray().isEmpty()) {
+                valor = valor.asArray().get(0);
+            }
+            resto.put(clave, valor);
+        }
+        if (!resto.isEmpty()) {
+            forma.append(' ');
+            estructura(resto, forma);
+        }
+        String resultado = forma.toString();
+        return resultado.length() > LARGO_MAXIMO ? resultado.substring(0, LARGO_MAXIMO) + "..." : resultado;
+    }
+
+    private static void estructura(BsonValue valor, StringBuilder destino) {
+        if (valor.isDocument()) {
+            destino.append('{');
+            boolean primero = true;
+            for (Map.Entry<String, BsonValue> entrada : valor.asDocument().entrySet()) {
+                if (!primero) {
+                    destino.append(", ");
+                }
+                primero = false;
+                destino.append('"').append(entrada.getKey()).append("\": ");
+                estructura(entrada.getValue(), destino);
+            }
+            destino.append('}');
+        } else if (valor.isArray()) {
+            BsonArray arreglo = valor.asArray();
+            // Un $in con 3 o con 300 valores tiene la misma forma; un pipeline conserva sus etapas
+            boolean escalares = arreglo.stream().noneMatch(v -> v.isDocument() || v.isArray());
+            destino.append('[');
+            if (escalares) {
+                destino.append(arreglo.isEmpty() ? "" : "?...");
+            } else {
+                for (int i = 0; i < arreglo.size(); i++) {
+                    if (i > 0) {
+                        destino.append(", ");
+                    }
+                    estructura(arreglo.get(i), destino);
+                }
+            }
+            destino.append(']');
+        } else {
+            destino.append('?');
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package edu.utn.frsf.isi.dan.reservas_svc.config;
+
+import edu.utn.frsf.isi.dan.shared.consultas.RegistroConsultas;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Agrega {@link ComandosMongoListener} al cliente de Mongo. Va separado de {@link MongoConfig}, que depende
+ * de <code>MongoTemplate</code> y por lo tanto del cliente que este customizer configura.
+ */
+@Configuration
+public class ConsultasMongoConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer comandosMongoMedidos(ObjectProvider<RegistroConsultas> registro) {
+        return settings -> registro.ifAvailable(r -> settings.addCommandListener(new ComandosMongoListener(r)));
+    }
+}
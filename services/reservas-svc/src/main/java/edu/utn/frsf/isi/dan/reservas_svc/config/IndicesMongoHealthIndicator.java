@@ -0,0 +1,38 @@
+package edu.utn.frsf.isi.dan.reservas_svc.config;
+
+import edu.utn.frsf.isi.dan.shared.calentamiento.CalentamientoHealthIndicator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Indicador <code>indicesMongo</code>: {@link CalentamientoHealthIndicator#CALENTANDO} mientras {@link MongoConfig}
+ * crea los índices. Va en el grupo de readiness para que una base recién creada no reciba búsquedas por
+ * distancia sin el índice 2dsphere; igual que el calentamiento, no afecta a <code>/actuator/health</code>.
+ * Si la creación falla {@link MongoConfig#FALLOS_PARA_DOWN} veces seguidas ya no es un arranque lento: pasa a
+ * DOWN, también en la salud general, con el último error en el detalle.
+ */
+@Component
+public class IndicesMongoHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private MongoConfig mongoConfig;
+
+    @Override
+    public Health health() {
+        if (mongoConfig.isIndicesCreados()) {
+            return Health.up().build();
+        }
+        int fallos = mongoConfig.getFallos();
+        Health.Builder salud = fallos >= MongoConfig.FALLOS_PARA_DOWN ? Health.down()
+                : Health.status(CalentamientoHealthIndicator.CALENTANDO);
+        salud.withDetail("indices", fallos == 0 ? "creándose" : "reintentando").withDetail("intentosFallidos", fallos);
+        RuntimeException error = mongoConfig.getUltimoError();
+        if (error != null) {
+            salud.withDetail("ultimoError", error.toString());
+        }
+        return salud.build();
+    }
+}
@@ -1,30 +1,121 @@
 package edu.utn.frsf.isi.dan.reservas_svc.config;
 
+import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
 import org.springframework.data.mongodb.core.index.GeospatialIndex;
+import org.springframework.data.mongodb.core.index.Index;
 
-import jakarta.annotation.PostConstruct;
+import java.time.Duration;
 
 /**
  * Configuración de MongoDB para crear índices geoespaciales.
  * Esta clase asegura que el índice 2dsphere esté creado en la colección de habitaciones
- * para permitir búsquedas geoespaciales eficientes basadas en la ubicación del hotel.
+ * para permitir búsquedas geoespaciales eficientes basadas en la ubicación del hotel,
+ * junto con el índice por <code>habitacionId</code> que usan los eventos de gestion-svc
+ * y el de <code>huesped.idUsuario</code> en reservas que usan los eventos de user-svc.
+ *
+ * <p>Los índices se crean en segundo plano una vez que la aplicación está lista, para no atar el
+ * arranque (ni la corrida de entrenamiento de CDS de la imagen, que no tiene Mongo) a la base. En una
+ * base que ya los tiene es solo una verificación. Hasta que terminan, {@link IndicesMongoHealthIndicator}
+ * mantiene el servicio fuera de readiness, porque sin el índice 2dsphere las búsquedas por distancia
+ * fallan.</p>
  */
 @Configuration
+@Log4j2
 public class MongoConfig {
 
+    private static final Duration ESPERA_INICIAL = Duration.ofSeconds(1);
+    private static final Duration ESPERA_MAXIMA = Duration.ofSeconds(30);
+    /** Fallos seguidos a partir de los cuales {@link IndicesMongoHealthIndicator} deja de informar CALENTANDO y pasa a DOWN. */
+    static final int FALLOS_PARA_DOWN = 10;
+
     @Autowired
     private MongoTemplate mongoTemplate;
 
-    @PostConstruct
-    public void initIndexes() {
-        mongoTemplate.indexOps("habitacion")
+    private volatile boolean indicesCreados;
+    private volatile int fallos;
+    private volatile RuntimeException ultimoError;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void crearIndicesAlIniciar() {
+        Thread.ofVirtual().name("indices-mongo").start(this::initIndexes);
+    }
+
+    public boolean isIndicesCreados() {
+        return indicesCreados;
+    }
+
+    /** Intentos fallidos seguidos hasta ahora; se mantiene después de crearlos para el log. */
+    public int getFallos() {
+        return fallos;
+    }
+
+    /** Último error al crear los índices, o <code>null</code> si ya se crearon. */
+    public RuntimeException getUltimoError() {
+        return ultimoError;
+    }
+
+    /**
+     * Crea los índices; si Mongo todavía no está disponible reintenta sin límite, con una espera que se duplica
+     * desde 1 s hasta 30 s. Pasados {@link #FALLOS_PARA_DOWN} fallos se registra como error y el indicador de
+     * salud pasa a DOWN, pero se sigue intentando: si Mongo vuelve, el servicio queda listo sin reiniciarlo.
+     */
+    void initIndexes() {
+        long espera = ESPERA_INICIAL.toMillis();
+        while (!intentarCrearIndices()) {
+            try {
+                Thread.sleep(espera);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                log.warn("Se interrumpió la creación de los índices de Mongo tras {} intentos", fallos);
+                return;
+            }
+            espera = Math.min(espera * 2, ESPERA_MAXIMA.toMillis());
+        }
+    }
+
+    /** Un intento de crear los índices; devuelve si quedaron creados. */
+    boolean intentarCrearIndices() {
+        try {
+            long inicio = System.nanoTime();
+            crearIndicesHabitacion("habitacion");
+            mongoTemplate.indexOps("reserva")
+                    .createIndex(new Index("huesped.idUsuario", Sort.Direction.ASC));
+            indicesCreados = true;
+            ultimoError = null;
+            log.info("Índices de Mongo verificados en {} ms (intentos fallidos: {})",
+                    (System.nanoTime() - inicio) / 1_000_000, fallos);
+            return true;
+        } catch (RuntimeException e) {
+            ultimoError = e;
+            int intento = ++fallos;
+            if (intento == FALLOS_PARA_DOWN) {
+                log.error("No se pudieron crear los índices de Mongo en {} intentos; el servicio queda DOWN y se "
+                        + "sigue reintentando", intento, e);
+            } else {
+                log.warn("No se pudieron crear los índices de Mongo (intento {}): {}", intento, e.getMessage());
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Crea los índices de habitaciones sobre la colección indicada; se usa también para
+     * la colección sombra de la resincronización, que conserva sus índices al renombrarse.
+     */
+    public void crearIndicesHabitacion(String coleccion) {
+        mongoTemplate.indexOps(coleccion)
                 .createIndex(
                         new GeospatialIndex("hotel.ubicacion")
                                 .typed(GeoSpatialIndexType.GEO_2DSPHERE)
                 );
+        mongoTemplate.indexOps(coleccion)
+                .createIndex(new Index("habitacionId", Sort.Direction.ASC));
     }
 }
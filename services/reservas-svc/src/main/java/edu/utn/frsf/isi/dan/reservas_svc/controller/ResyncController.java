@@ -0,0 +1,36 @@
+package edu.utn.frsf.isi.dan.reservas_svc.controller;
+
+import edu.utn.frsf.isi.dan.reservas_svc.dto.ResyncEstado;
+import edu.utn.frsf.isi.dan.reservas_svc.service.CatalogoResyncService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Resincronización completa del catálogo de habitaciones desde gestion-svc.
+ * <ul>
+ *     <li><b>POST /catalogo/resync</b>: Inicia la resincronización en segundo plano.</li>
+ *     <li><b>GET /catalogo/resync</b>: Devuelve el progreso y el throughput de la última ejecución.</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping("/catalogo/resync")
+public class ResyncController {
+    @Autowired
+    private CatalogoResyncService catalogoResyncService;
+
+    @PostMapping
+    public ResponseEntity<?> iniciar() {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(catalogoResyncService.iniciar());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    @GetMapping
+    public ResyncEstado estado() {
+        return catalogoResyncService.getEstado();
+    }
+}
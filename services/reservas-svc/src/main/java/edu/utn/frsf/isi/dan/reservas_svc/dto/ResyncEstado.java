@@ -0,0 +1,29 @@
+package edu.utn.frsf.isi.dan.reservas_svc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Progreso de la resincronización del catálogo de habitaciones desde gestion-svc.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class ResyncEstado {
+
+    public enum Fase { INACTIVO, EN_CURSO, COMPLETADO, ERROR }
+
+    private Fase fase;
+    private Instant inicio;
+    private Instant fin;
+    private Integer ultimoId;
+    private int lotes;
+    private long habitaciones;
+    private double habitacionesPorSegundo;
+    private String error;
+}
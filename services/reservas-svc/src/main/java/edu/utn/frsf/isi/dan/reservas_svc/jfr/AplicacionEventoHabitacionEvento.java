@@ -0,0 +1,32 @@
+package edu.utn.frsf.isi.dan.reservas_svc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/** La aplicación de un evento de habitación de gestion-svc sobre el catálogo local. */
+@Name("dan.reservas.EventoHabitacion")
+@Label("Evento de habitación aplicado")
+@Description("Procesamiento de un HabitacionEvent recibido por RabbitMQ")
+@Category({ "DAN", "Reservas" })
+@StackTrace(false)
+public class AplicacionEventoHabitacionEvento extends Event {
+
+    @Label("Tipo de evento")
+    public String tipo;
+
+    @Label("Resultado")
+    public String resultado;
+
+    @Label("Habitación")
+    public long habitacionId;
+
+    @Label("Demora desde gestion-svc")
+    @Description("Desde que gestion-svc produjo el evento hasta que terminó de aplicarse; -1 si no se conoce")
+    @Timespan(Timespan.MILLISECONDS)
+    public long demora = -1;
+}
@@ -0,0 +1,41 @@
+package edu.utn.frsf.isi.dan.reservas_svc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Una búsqueda de habitaciones disponibles, con qué filtros traía y cuántas habitaciones devolvió. */
+@Name("dan.reservas.Busqueda")
+@Label("Búsqueda de habitaciones")
+@Description("Ejecución de HabitacionService.buscarHabitacionesDisponibles")
+@Category({ "DAN", "Reservas" })
+@StackTrace(false)
+public class BusquedaHabitacionesEvento extends Event {
+
+    @Label("Resultado")
+    public String resultado;
+
+    @Label("Habitaciones devueltas")
+    public int habitaciones;
+
+    @Label("Filtro de capacidad")
+    public boolean capacidad;
+
+    @Label("Filtro de precio")
+    public boolean precio;
+
+    @Label("Filtro de categoría")
+    public boolean categoria;
+
+    @Label("Filtro de amenities")
+    public boolean amenities;
+
+    @Label("Filtro de distancia")
+    public boolean distancia;
+
+    @Label("Filtro de fechas")
+    public boolean fechas;
+}
@@ -0,0 +1,33 @@
+package edu.utn.frsf.isi.dan.reservas_svc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Una transición de estado de una reserva, con las mismas dimensiones que el timer
+ * <code>reservas.transicion</code>; en la grabación continua permite cruzar una transición lenta con las
+ * muestras de CPU, asignaciones y esperas de locks del mismo hilo.
+ */
+@Name("dan.reservas.Transicion")
+@Label("Transición de reserva")
+@Description("Operación sobre una reserva de ReservaService")
+@Category({ "DAN", "Reservas" })
+@StackTrace(false)
+public class TransicionReservaEvento extends Event {
+
+    @Label("Operación")
+    public String operacion;
+
+    @Label("Resultado")
+    public String resultado;
+
+    @Label("Motivo")
+    public String motivo;
+
+    @Label("Estado final")
+    public String estado;
+}
@@ -0,0 +1,79 @@
+package edu.utn.frsf.isi.dan.reservas_svc.messaging;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mensajes pendientes y consumidores de las colas que escucha reservas-svc, como gauges
+ * <code>reservas.eventos.cola.mensajes</code> y <code>reservas.eventos.cola.consumidores</code>. Un backlog que
+ * crece (por ejemplo, mientras la resincronización del catálogo tiene pausado el listener) explica una demora
+ * de propagación alta antes de que llegue a medirse en los eventos.
+ *
+ * <p>Consultar la cola es un pedido al broker, así que el valor se cachea durante
+ * <code>reservas.eventos.cola.refresco</code> y cada scrape reutiliza el último.</p>
+ */
+@Component
+@Log4j2
+public class ColaEventosMetricas {
+
+    private static final List<String> COLAS = List.of("habitacion.topic", "usuario.topic");
+
+    @Autowired
+    private AmqpAdmin amqpAdmin;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${reservas.eventos.cola.refresco:5s}")
+    private Duration refresco = Duration.ofSeconds(5);
+
+    private record Lectura(long mensajes, long consumidores, long leidaEn) {
+    }
+
+    private final Map<String, Lectura> lecturas = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void registrarMetricas() {
+        for (String cola : COLAS) {
+            Gauge.builder("reservas.eventos.cola.mensajes", () -> leer(cola).mensajes())
+                    .tag("cola", cola)
+                    .description("Mensajes listos en la cola, sin consumir")
+                    .register(meterRegistry);
+            Gauge.builder("reservas.eventos.cola.consumidores", () -> leer(cola).consumidores())
+                    .tag("cola", cola)
+                    .register(meterRegistry);
+        }
+    }
+
+    private Lectura leer(String cola) {
+        Lectura anterior = lecturas.get(cola);
+        long ahora = System.nanoTime();
+        if (anterior != null && ahora - anterior.leidaEn() < refresco.toNanos()) {
+            return anterior;
+        }
+        Lectura nueva;
+        try {
+            QueueInformation info = amqpAdmin.getQueueInfo(cola);
+            nueva = info == null ? new Lectura(0, 0, ahora) : new Lectura(info.getMessageCount(), info.getConsumerCount(), ahora);
+        } catch (RuntimeException e) {
+            log.debug("No se pudo leer la cola {}: {}", cola, e.getMessage());
+            // Se conserva el último valor conocido y se reintenta en el próximo refresco
+            nueva = new Lectura(anterior == null ? 0 : anterior.mensajes(), anterior == null ? 0 : anterior.consumidores(), ahora);
+        }
+        lecturas.put(cola, nueva);
+        return nueva;
+    }
+}
@@ -2,6 +2,7 @@ package edu.utn.frsf.isi.dan.reservas_svc.messaging;
 
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.amqp.rabbit.annotation.QueueBinding;
@@ -12,26 +13,40 @@ import org.springframework.stereotype.Component;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rabbitmq.client.Channel;
 
+import edu.utn.frsf.isi.dan.reservas_svc.jfr.AplicacionEventoHabitacionEvento;
 import edu.utn.frsf.isi.dan.reservas_svc.model.Habitacion;
 import edu.utn.frsf.isi.dan.reservas_svc.repository.HabitacionRepository;
 import edu.utn.frsf.isi.dan.reservas_svc.service.HabitacionService;
 import edu.utn.frsf.isi.dan.shared.HabitacionEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.log4j.Log4j2;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
 
 
+@RegisterReflectionForBinding(HabitacionEvent.class)
 @Component
 @Log4j2
 public class GestionMessageListener {
 
+    /** Id del contenedor, para poder pausarlo durante la resincronización del catálogo. */
+    public static final String LISTENER_ID = "gestionListener";
+
     @Autowired
     private ObjectMapper objectMapper;
 
     @Autowired
     private HabitacionService habitacionService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @RabbitListener(
+        id = LISTENER_ID,
         bindings = @QueueBinding(
             value = @Queue(value = "habitacion.topic", durable = "true"),
             exchange = @Exchange(value = "dan.exchange", type = "topic"),
@@ -40,13 +55,32 @@ public class GestionMessageListener {
         ackMode = "MANUAL"
     )
     //public void receiveMessage(Message message, com.rabbitmq.client.Channel channel) throws Exception {
-    public void receiveMessage(String payload, Channel channel, @Header(AmqpHeaders.DELIVERY_TAG) long deliveryTag ){
+    public void receiveMessage(String payload, Channel channel, @Header(AmqpHeaders.DELIVERY_TAG) long deliveryTag,
+            @Header(name = AmqpHeaders.TIMESTAMP, required = false) Date publicadoEn) {
+        Timer.Sample muestra = Timer.start(meterRegistry);
+        AplicacionEventoHabitacionEvento evento = new AplicacionEventoHabitacionEvento();
+        evento.begin();
+        String tipo = "desconocido";
+        String resultado = "error";
         try {
             log.debug("[RabbitMQ] Mensaje recibido: {}", payload);
             HabitacionEvent habitacionEvent = objectMapper.readValue(payload, HabitacionEvent.class);
+            if (habitacionEvent.getTipoEvento() != null) {
+                tipo = habitacionEvent.getTipoEvento().name();
+            }
+            if (habitacionEvent.getHabitacion() != null && habitacionEvent.getHabitacion().getHabitacionId() != null) {
+                evento.habitacionId = habitacionEvent.getHabitacion().getHabitacionId();
+            }
+            Instant producidoEn = publicadoEn == null ? null : publicadoEn.toInstant();
+            registrarDemora("consumo", tipo, producidoEn);
             log.info("Evento recibido: {}", habitacionEvent);
             // Aquí puedes procesar el evento recibido
             habitacionService.handleEvent(habitacionEvent);
+            registrarDemora("aplicado", tipo, producidoEn);
+            if (producidoEn != null) {
+                evento.demora = Duration.between(producidoEn, Instant.now()).toMillis();
+            }
+            resultado = "ok";
             channel.basicAck(deliveryTag, false);
         } catch (Exception e) {
             log.error("Error procesando mensaje: {}", e.getMessage());
@@ -56,6 +90,38 @@ public class GestionMessageListener {
             } catch (IOException e1) {
                 log.error("Error rechazando mensaje: {}", e.getMessage());
             } 
+        } finally {
+            muestra.stop(Timer.builder("reservas.eventos.habitacion")
+                    .description("Latencia de aplicación de los eventos de habitación de gestion-svc")
+                    .tag("tipo", tipo)
+                    .tag("resultado", resultado)
+                    .register(meterRegistry));
+            if (evento.shouldCommit()) {
+                evento.tipo = tipo;
+                evento.resultado = resultado;
+                evento.commit();
+            }
+        }
+    }
+
+    /**
+     * Demora desde que gestion-svc publicó el evento (propiedad <code>timestamp</code> del mensaje AMQP) hasta
+     * que se recibe (<code>consumo</code>) o hasta que el cambio ya es visible en las búsquedas
+     * (<code>aplicado</code>), en <code>reservas.eventos.habitacion.demora</code>. Compara relojes de dos
+     * servicios: los buckets de SLO incluyen el objetivo de 2 s, muy por encima del desfasaje esperable entre
+     * contenedores del mismo host, y una demora negativa por ese desfasaje cuenta como cero. Los mensajes sin
+     * marca (publicados por versiones anteriores) no se miden.
+     */
+    private void registrarDemora(String etapa, String tipo, Instant producidoEn) {
+        if (producidoEn == null) {
+            return;
         }
+        Duration demora = Duration.between(producidoEn, Instant.now());
+        Timer.builder("reservas.eventos.habitacion.demora")
+                .description("Demora de propagación de eventos de habitación desde gestion-svc")
+                .tag("etapa", etapa)
+                .tag("tipo", tipo)
+                .register(meterRegistry)
+                .record(demora.isNegative() ? Duration.ZERO : demora);
     }
 }
@@ -0,0 +1,64 @@
+package edu.utn.frsf.isi.dan.reservas_svc.messaging;
+
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+
+import edu.utn.frsf.isi.dan.reservas_svc.service.ReservaService;
+import edu.utn.frsf.isi.dan.shared.TipoEvento;
+import edu.utn.frsf.isi.dan.shared.UsuarioEvent;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+
+/**
+ * Consume los cambios de usuarios que publica user-svc y actualiza la copia del huésped en las reservas,
+ * para que las lecturas nunca tengan que consultar a user-svc.
+ */
+@RegisterReflectionForBinding(UsuarioEvent.class)
+@Component
+@Log4j2
+public class UsuarioMessageListener {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @RabbitListener(
+        bindings = @QueueBinding(
+            value = @Queue(value = "usuario.topic", durable = "true"),
+            exchange = @Exchange(value = "dan.exchange", type = "topic"),
+            key = "dan.usuario.#"
+        ),
+        ackMode = "MANUAL"
+    )
+    public void receiveMessage(String payload, Channel channel, @Header(AmqpHeaders.DELIVERY_TAG) long deliveryTag) {
+        try {
+            log.debug("[RabbitMQ] Mensaje recibido: {}", payload);
+            UsuarioEvent usuarioEvent = objectMapper.readValue(payload, UsuarioEvent.class);
+            if (usuarioEvent.getTipoEvento() == TipoEvento.ACTUALIZAR_DATOS) {
+                reservaService.actualizarHuesped(usuarioEvent);
+            }
+            channel.basicAck(deliveryTag, false);
+        } catch (Exception e) {
+            log.error("Error procesando mensaje: {}", e.getMessage());
+            // Igual que con los eventos de gestion: el mensaje no se reentrega
+            try {
+                channel.basicReject(deliveryTag, false);
+            } catch (IOException e1) {
+                log.error("Error rechazando mensaje: {}", e1.getMessage());
+            }
+        }
+    }
+}
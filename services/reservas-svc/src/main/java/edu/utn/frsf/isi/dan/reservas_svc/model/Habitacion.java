@@ -5,7 +5,9 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 @Data
 @NoArgsConstructor
@@ -13,6 +15,11 @@ import java.util.List;
 @Builder
 @Document(collection = "habitacion")
 public class Habitacion {
+
+    /** Estados en que una reserva ocupa la habitación; los mismos que excluye la búsqueda por fechas. */
+    public static final Set<EstadoReserva> ESTADOS_QUE_OCUPAN = EnumSet.of(
+            EstadoReserva.CONFIRMADA, EstadoReserva.EFECTUADA, EstadoReserva.BLOQUEADA, EstadoReserva.CERRADA);
+
     @Id
     private String id;
     private Long habitacionId;
@@ -14,4 +14,6 @@ public class Huesped {
         private String idUsuario;
         private String nombreApellido;
         private String email;
+        /** Versión del último evento de user-svc aplicado a esta copia (ver UsuarioEvent). */
+        private Long versionUsuario;
 }
@@ -0,0 +1,267 @@
+package edu.utn.frsf.isi.dan.reservas_svc.service;
+
+import edu.utn.frsf.isi.dan.reservas_svc.config.MongoConfig;
+import edu.utn.frsf.isi.dan.reservas_svc.dto.ResyncEstado;
+import edu.utn.frsf.isi.dan.reservas_svc.dto.ResyncEstado.Fase;
+import edu.utn.frsf.isi.dan.reservas_svc.messaging.GestionMessageListener;
+import edu.utn.frsf.isi.dan.reservas_svc.model.Habitacion;
+import edu.utn.frsf.isi.dan.shared.HabitacionDTO;
+import edu.utn.frsf.isi.dan.shared.LoteHabitacionesDTO;
+import lombok.extern.log4j.Log4j2;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.RenameCollectionOptions;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Reconstruye la colección <code>habitacion</code> a partir del catálogo completo de gestion-svc.
+ *
+ * <p>El catálogo se pide en páginas de tamaño fijo (cursor por id) y cada página se aplica con
+ * upserts en bloque sobre una colección sombra, de modo que la memoria usada no depende del tamaño
+ * del catálogo. Al terminar se copian las reservas embebidas de la colección vigente y se reemplaza
+ * la colección vigente por la sombra con un <code>renameCollection</code>.</p>
+ *
+ * <p>Mientras dura la resincronización se detiene el listener de eventos de gestion-svc: los mensajes
+ * quedan en la cola durable y se aplican sobre la colección nueva al reanudarlo. Las reservas, en cambio,
+ * se siguen escribiendo en la colección vigente a través de {@link #escribirReservas}: las habitaciones
+ * tocadas mientras se copian las reservas se vuelven a copiar antes del reemplazo, y durante el reemplazo
+ * las escrituras esperan, así ninguna se pierde con el <code>renameCollection</code>.</p>
+ */
+@RegisterReflectionForBinding(LoteHabitacionesDTO.class)
+@Service
+@Log4j2
+public class CatalogoResyncService {
+
+    static final String COLECCION = "habitacion";
+    static final String COLECCION_SOMBRA = "habitacion_resync";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoConfig mongoConfig;
+
+    @Autowired
+    private HabitacionService habitacionService;
+
+    @Autowired
+    private RabbitListenerEndpointRegistry listenerRegistry;
+
+    @Autowired
+    private RestClient.Builder restClientBuilder;
+
+    @Value("${gestion.url:http://gestion-svc:8080}")
+    private String gestionUrl;
+
+    @Value("${resync.tamanio-lote:500}")
+    private int tamanioLote;
+
+    private final AtomicBoolean enCurso = new AtomicBoolean(false);
+    /** Compartido por las escrituras de reservas embebidas, exclusivo durante el reemplazo de la colección. */
+    private final ReadWriteLock reemplazo = new ReentrantReadWriteLock();
+    /** Habitaciones cuyas reservas embebidas cambiaron desde que empezó la copia; null fuera de ella. */
+    private volatile Set<String> tocadas;
+    private final AtomicReference<ResyncEstado> estado = new AtomicReference<>(
+            ResyncEstado.builder().fase(Fase.INACTIVO).build());
+
+    public ResyncEstado getEstado() {
+        return estado.get();
+    }
+
+    /**
+     * Inicia la resincronización en segundo plano y devuelve el estado inicial.
+     * Falla si ya hay una resincronización en curso.
+     */
+    public ResyncEstado iniciar() {
+        if (!enCurso.compareAndSet(false, true)) {
+            throw new IllegalStateException("Ya hay una resincronización del catálogo en curso");
+        }
+        ResyncEstado inicial = ResyncEstado.builder()
+                .fase(Fase.EN_CURSO)
+                .inicio(Instant.now())
+                .ultimoId(0)
+                .build();
+        estado.set(inicial);
+        Thread.ofVirtual().name("resync-catalogo").start(this::ejecutar);
+        return inicial;
+    }
+
+    private void ejecutar() {
+        MessageListenerContainer listener = listenerRegistry.getListenerContainer(GestionMessageListener.LISTENER_ID);
+        if (listener != null) {
+            listener.stop();
+        }
+        try {
+            RestClient gestion = restClientBuilder.baseUrl(gestionUrl).build();
+            mongoTemplate.dropCollection(COLECCION_SOMBRA);
+            mongoConfig.crearIndicesHabitacion(COLECCION_SOMBRA);
+
+            Integer desdeId = 0;
+            boolean ultimo = false;
+            while (!ultimo) {
+                final Integer cursor = desdeId;
+                LoteHabitacionesDTO lote = gestion.get()
+                        .uri(uri -> uri.path("/habitaciones/catalogo")
+                                .queryParam("desdeId", cursor)
+                                .queryParam("limite", tamanioLote)
+                                .build())
+                        .retrieve()
+                        .body(LoteHabitacionesDTO.class);
+                if (lote == null) {
+                    throw new IllegalStateException("gestion-svc devolvió una página vacía desde id " + cursor);
+                }
+                aplicarLote(lote.getHabitaciones());
+                desdeId = lote.getSiguienteId();
+                ultimo = lote.isUltimo();
+                registrarAvance(desdeId, lote.getHabitaciones().size());
+            }
+
+            reemplazarColeccion();
+
+            estado.updateAndGet(e -> e.toBuilder().fase(Fase.COMPLETADO).fin(Instant.now()).build());
+            log.info("Resincronización del catálogo completada: {}", estado.get());
+        } catch (Exception e) {
+            log.error("Error en la resincronización del catálogo", e);
+            estado.updateAndGet(actual -> actual.toBuilder()
+                    .fase(Fase.ERROR).fin(Instant.now()).error(e.getMessage()).build());
+        } finally {
+            if (listener != null) {
+                listener.start();
+            }
+            enCurso.set(false);
+        }
+    }
+
+    /**
+     * Ejecuta una escritura sobre las reservas embebidas de la habitación en la colección vigente. Si hay una
+     * copia de reservas en curso anota la habitación para volver a copiarla; si se está reemplazando la
+     * colección, espera a que termine y escribe sobre la nueva.
+     */
+    public void escribirReservas(String idHabitacion, Runnable escritura) {
+        reemplazo.readLock().lock();
+        try {
+            escritura.run();
+            Set<String> pendientes = tocadas;
+            if (pendientes != null && idHabitacion != null) {
+                pendientes.add(idHabitacion);
+            }
+        } finally {
+            reemplazo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copia las reservas a la sombra sin bloquear a nadie y, ya con las escrituras de reservas detenidas,
+     * vuelve a copiar las de las habitaciones que cambiaron mientras tanto y renombra la sombra.
+     */
+    void reemplazarColeccion() {
+        tocadas = ConcurrentHashMap.newKeySet();
+        try {
+            copiarReservas(null);
+            reemplazo.writeLock().lock();
+            try {
+                if (!tocadas.isEmpty()) {
+                    log.info("Resync catálogo: {} habitaciones con reservas modificadas durante la copia", tocadas.size());
+                    copiarReservas(List.copyOf(tocadas));
+                }
+                mongoTemplate.getCollection(COLECCION_SOMBRA).renameCollection(
+                        new MongoNamespace(mongoTemplate.getDb().getName(), COLECCION),
+                        new RenameCollectionOptions().dropTarget(true));
+            } finally {
+                reemplazo.writeLock().unlock();
+            }
+        } finally {
+            tocadas = null;
+        }
+    }
+
+    /**
+     * Upsert en bloque de una página sobre la colección sombra. Se conserva el <code>_id</code>
+     * que cada habitación tiene en la colección vigente para no romper referencias existentes.
+     */
+    private void aplicarLote(List<HabitacionDTO> habitaciones) {
+        if (habitaciones.isEmpty()) {
+            return;
+        }
+        List<Long> ids = habitaciones.stream().map(HabitacionDTO::getHabitacionId).toList();
+        Query vigentes = new Query(Criteria.where("habitacionId").in(ids));
+        vigentes.fields().include("habitacionId");
+        Map<Long, String> idsVigentes = mongoTemplate.find(vigentes, Habitacion.class, COLECCION).stream()
+                .collect(Collectors.toMap(Habitacion::getHabitacionId, Habitacion::getId, (a, b) -> a));
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, Habitacion.class, COLECCION_SOMBRA);
+        for (HabitacionDTO dto : habitaciones) {
+            Habitacion habitacion = habitacionService.mapFromHabitacion(dto);
+            habitacion.setId(idsVigentes.get(dto.getHabitacionId()));
+            bulk.replaceOne(new Query(Criteria.where("habitacionId").is(dto.getHabitacionId())),
+                    habitacion, FindAndReplaceOptions.options().upsert());
+        }
+        bulk.execute();
+    }
+
+    /**
+     * Copia las reservas embebidas de la colección vigente a la sombra en el servidor, con un
+     * <code>$merge</code>; las habitaciones que ya no existen en gestion-svc se descartan. Con
+     * <code>habitaciones</code> copia solo esas, también si se quedaron sin reservas.
+     */
+    private void copiarReservas(List<String> habitaciones) {
+        Document filtro = habitaciones == null
+                ? new Document("reservas.0", new Document("$exists", true))
+                : new Document("_id", new Document("$in", habitaciones.stream().map(CatalogoResyncService::idMongo).toList()));
+        List<Document> pipeline = List.of(
+                new Document("$match", filtro),
+                new Document("$project", new Document("reservas", 1)),
+                new Document("$merge", new Document("into", COLECCION_SOMBRA)
+                        .append("on", "_id")
+                        .append("whenMatched", List.of(
+                                new Document("$set", new Document("reservas", "$$new.reservas"))))
+                        .append("whenNotMatched", "discard")));
+        mongoTemplate.getCollection(COLECCION).aggregate(pipeline).toCollection();
+    }
+
+    /** Las reservas guardan el id de la habitación como texto; en la colección es un ObjectId. */
+    private static Object idMongo(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    private void registrarAvance(Integer ultimoId, int cantidad) {
+        estado.updateAndGet(e -> {
+            long total = e.getHabitaciones() + cantidad;
+            double segundos = Math.max(Duration.between(e.getInicio(), Instant.now()).toMillis(), 1) / 1000.0;
+            return e.toBuilder()
+                    .ultimoId(ultimoId)
+                    .lotes(e.getLotes() + 1)
+                    .habitaciones(total)
+                    .habitacionesPorSegundo(total / segundos)
+                    .build();
+        });
+        log.debug("Resync catálogo: {}", estado.get());
+    }
+}
@@ -1,7 +1,7 @@
 package edu.utn.frsf.isi.dan.reservas_svc.service;
 
 import edu.utn.frsf.isi.dan.reservas_svc.dto.HabitacionSearchCriteria;
-import edu.utn.frsf.isi.dan.reservas_svc.model.EstadoReserva;
+import edu.utn.frsf.isi.dan.reservas_svc.jfr.BusquedaHabitacionesEvento;
 import edu.utn.frsf.isi.dan.reservas_svc.model.Habitacion;
 import edu.utn.frsf.isi.dan.reservas_svc.model.Hotel;
 import edu.utn.frsf.isi.dan.reservas_svc.repository.HabitacionRepository;
@@ -9,6 +9,9 @@ import edu.utn.frsf.isi.dan.shared.HabitacionDTO;
 import edu.utn.frsf.isi.dan.shared.HabitacionEvent;
 import edu.utn.frsf.isi.dan.shared.HotelDTO;
 import edu.utn.frsf.isi.dan.shared.TarifaDTO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.geo.Distance;
@@ -34,6 +37,9 @@ public class HabitacionService {
     @Autowired
     private MongoTemplate mongoTemplate;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     public List<Habitacion> findAll() {
         return habitacionRepository.findAll();
     }
@@ -91,7 +97,8 @@ public class HabitacionService {
                 .nombre(dto.getNombre())
                 .domicilio(dto.getDomicilio())
                 .categoria(dto.getCategoria())
-                .ubicacion(new GeoJsonPoint(dto.getLatitud(), dto.getLongitud()))
+                .ubicacion(dto.getLatitud() != null && dto.getLongitud() != null
+                        ? new GeoJsonPoint(dto.getLatitud(), dto.getLongitud()) : null)
                 .build();
     }
 
@@ -124,7 +131,78 @@ public class HabitacionService {
         mongoTemplate.remove(query, Habitacion.class);
     }
 
+    /**
+     * Busca las habitaciones que cumplen los criterios. Cada búsqueda se mide en <code>reservas.busqueda</code>
+     * (con el resultado y si filtró por fechas o distancia, que son los filtros caros), la cantidad de
+     * habitaciones devueltas en <code>reservas.busqueda.resultados</code> y el uso de cada filtro en
+     * <code>reservas.busqueda.filtros</code>.
+     */
     public List<Habitacion> buscarHabitacionesDisponibles(HabitacionSearchCriteria criteria) {
+        List<String> filtros = filtrosActivos(criteria);
+        Timer.Sample muestra = Timer.start(meterRegistry);
+        BusquedaHabitacionesEvento evento = new BusquedaHabitacionesEvento();
+        evento.begin();
+        String resultado = "error";
+        int cantidad = 0;
+        try {
+            List<Habitacion> habitaciones = mongoTemplate.find(construirConsulta(criteria), Habitacion.class);
+            resultado = habitaciones.isEmpty() ? "vacio" : "con_resultados";
+            cantidad = habitaciones.size();
+            DistributionSummary.builder("reservas.busqueda.resultados")
+                    .description("Habitaciones devueltas por búsqueda")
+                    .register(meterRegistry)
+                    .record(habitaciones.size());
+            return habitaciones;
+        } finally {
+            muestra.stop(Timer.builder("reservas.busqueda")
+                    .description("Duración de la búsqueda de habitaciones disponibles")
+                    .tag("resultado", resultado)
+                    .tag("fechas", String.valueOf(filtros.contains("fechas")))
+                    .tag("distancia", String.valueOf(filtros.contains("distancia")))
+                    .register(meterRegistry));
+            for (String filtro : filtros) {
+                meterRegistry.counter("reservas.busqueda.filtros", "filtro", filtro).increment();
+            }
+            if (evento.shouldCommit()) {
+                evento.resultado = resultado;
+                evento.habitaciones = cantidad;
+                evento.capacidad = filtros.contains("capacidad");
+                evento.precio = filtros.contains("precio");
+                evento.categoria = filtros.contains("categoria");
+                evento.amenities = filtros.contains("amenities");
+                evento.distancia = filtros.contains("distancia");
+                evento.fechas = filtros.contains("fechas");
+                evento.commit();
+            }
+        }
+    }
+
+    /** Nombres de los filtros que trae la búsqueda, con las mismas condiciones que {@link #construirConsulta}. */
+    static List<String> filtrosActivos(HabitacionSearchCriteria criteria) {
+        List<String> filtros = new ArrayList<>();
+        if (criteria.getCantidadHuespedes() != null) {
+            filtros.add("capacidad");
+        }
+        if (criteria.getPrecioMinimo() != null || criteria.getPrecioMaximo() != null) {
+            filtros.add("precio");
+        }
+        if (criteria.getCategoriaMinima() != null || criteria.getCategoriaMaxima() != null) {
+            filtros.add("categoria");
+        }
+        if (criteria.getAmenities() != null && !criteria.getAmenities().isEmpty()) {
+            filtros.add("amenities");
+        }
+        if (criteria.getLatitud() != null && criteria.getLongitud() != null && criteria.getDistanciaMaximaMetros() != null) {
+            filtros.add("distancia");
+        }
+        if (criteria.getFechaCheckIn() != null && criteria.getFechaCheckOut() != null) {
+            filtros.add("fechas");
+        }
+        return filtros;
+    }
+
+    /** Arma la consulta de {@link #buscarHabitacionesDisponibles} sin ejecutarla; público para los benchmarks. */
+    public Query construirConsulta(HabitacionSearchCriteria criteria) {
         Query query = new Query();
         List<Criteria> criteriaList = new ArrayList<>();
 
@@ -186,12 +264,7 @@ public class HabitacionService {
                 // Todas las reservas que se solapan están canceladas o finalizadas
                 // Excluye: CONFIRMADA, EFECTUADA, BLOQUEADA, CERRADA
                 Criteria.where("reservas").not().elemMatch(
-                    Criteria.where("estadoReserva").in(
-                        EstadoReserva.CONFIRMADA,
-                        EstadoReserva.EFECTUADA,
-                        EstadoReserva.BLOQUEADA,
-                        EstadoReserva.CERRADA
-                    )
+                    Criteria.where("estadoReserva").in(Habitacion.ESTADOS_QUE_OCUPAN)
                         .and("checkIn").lt(criteria.getFechaCheckOut())
                         .and("checkOut").gt(criteria.getFechaCheckIn())
                 )
@@ -204,7 +277,7 @@ public class HabitacionService {
             query.addCriteria(new Criteria().andOperator(criteriaList.toArray(new Criteria[0])));
         }
 
-        return mongoTemplate.find(query, Habitacion.class);
+        return query;
     }
 
     public void updatePreciosByTipoHabitacion(TarifaDTO tarifa) {
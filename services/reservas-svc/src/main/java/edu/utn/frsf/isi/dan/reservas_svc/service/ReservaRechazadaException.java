@@ -0,0 +1,32 @@
+package edu.utn.frsf.isi.dan.reservas_svc.service;
+
+import java.util.Locale;
+
+/**
+ * Transición de una reserva que no se puede aplicar por una regla de negocio. El mensaje es el que ve el
+ * cliente; el {@link Motivo} es acotado y se usa como tag de las métricas de rechazos.
+ */
+public class ReservaRechazadaException extends RuntimeException {
+
+    public enum Motivo {
+        NO_ENCONTRADA,
+        ESTADO_INVALIDO,
+        CON_PAGOS,
+        ANTES_DEL_CHECKOUT;
+
+        public String etiqueta() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final Motivo motivo;
+
+    public ReservaRechazadaException(Motivo motivo, String mensaje) {
+        super(mensaje);
+        this.motivo = motivo;
+    }
+
+    public Motivo getMotivo() {
+        return motivo;
+    }
+}
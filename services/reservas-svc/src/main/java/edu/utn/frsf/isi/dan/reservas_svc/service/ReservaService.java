@@ -1,11 +1,16 @@
 package edu.utn.frsf.isi.dan.reservas_svc.service;
 
+import edu.utn.frsf.isi.dan.reservas_svc.jfr.TransicionReservaEvento;
 import edu.utn.frsf.isi.dan.reservas_svc.model.EstadoReserva;
 import edu.utn.frsf.isi.dan.reservas_svc.model.Habitacion;
 import edu.utn.frsf.isi.dan.reservas_svc.model.Pago;
 import edu.utn.frsf.isi.dan.reservas_svc.model.Reserva;
 import edu.utn.frsf.isi.dan.reservas_svc.model.Review;
 import edu.utn.frsf.isi.dan.reservas_svc.repository.ReservaRepository;
+import edu.utn.frsf.isi.dan.reservas_svc.service.ReservaRechazadaException.Motivo;
+import edu.utn.frsf.isi.dan.shared.UsuarioEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.mongodb.core.MongoTemplate;
@@ -18,6 +23,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @Service
 @Log4j2
@@ -28,6 +34,15 @@ public class ReservaService {
     @Autowired
     private MongoTemplate mongoTemplate;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /** Coordina las escrituras de reservas embebidas con el reemplazo de la colección en una resincronización. */
+    @Autowired
+    private CatalogoResyncService catalogoResyncService;
+
+    private static final String SIN_VALOR = "ninguno";
+
     public List<Reserva> findAll() {
         return reservaRepository.findAll();
     }
@@ -41,23 +56,70 @@ public class ReservaService {
      * y la agrega a la lista de reservas de la habitación
      */
     public Reserva save(Reserva reserva) {
-        // Si es nueva reserva, establecer valores por defecto
-        if (reserva.get_id() == null) {
-            reserva.setEstadoReserva(EstadoReserva.RESERVADA); // Estado inicial: RESERVADA
-            reserva.setStatus("RESERVADA");
-            if (reserva.getPago() == null) {
-                reserva.setPago(new ArrayList<>());
+        return medir(reserva.get_id() == null ? "crear" : "guardar", () -> {
+            // Si es nueva reserva, establecer valores por defecto
+            if (reserva.get_id() == null) {
+                reserva.setEstadoReserva(EstadoReserva.RESERVADA); // Estado inicial: RESERVADA
+                reserva.setStatus("RESERVADA");
+                if (reserva.getPago() == null) {
+                    reserva.setPago(new ArrayList<>());
+                }
+
+                log.info("Creando nueva reserva en estado RESERVADA");
+                Reserva nuevaReserva = reservaRepository.save(reserva);
+                agregarReservaAHabitacion(nuevaReserva);
+
+                return nuevaReserva;
             }
 
-            log.info("Creando nueva reserva en estado RESERVADA");
-            Reserva nuevaReserva = reservaRepository.save(reserva);
-            agregarReservaAHabitacion(nuevaReserva);
+            log.info("Guardando reserva con estado: {}", reserva.getEstadoReserva());
+            return reservaRepository.save(reserva);
+        });
+    }
 
-            return nuevaReserva;
+    /**
+     * Mide una transición en <code>reservas.transicion</code>, con la operación, el resultado
+     * (<code>ok</code>, <code>rechazada</code> o <code>error</code>), el motivo del rechazo y el estado en que
+     * quedó la reserva. Los buckets de SLO se configuran en <code>management.metrics.distribution.slo</code>.
+     * Emite además un {@link TransicionReservaEvento} para la grabación continua de JFR.
+     */
+    private Reserva medir(String operacion, Supplier<Reserva> transicion) {
+        Timer.Sample muestra = Timer.start(meterRegistry);
+        TransicionReservaEvento evento = new TransicionReservaEvento();
+        evento.begin();
+        String resultado = "error";
+        String motivo = SIN_VALOR;
+        String estado = SIN_VALOR;
+        try {
+            Reserva reserva = transicion.get();
+            resultado = "ok";
+            if (reserva.getEstadoReserva() != null) {
+                estado = reserva.getEstadoReserva().name();
+            }
+            return reserva;
+        } catch (ReservaRechazadaException e) {
+            resultado = "rechazada";
+            motivo = e.getMotivo().etiqueta();
+            throw e;
+        } catch (RuntimeException e) {
+            motivo = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            muestra.stop(Timer.builder("reservas.transicion")
+                    .description("Duración de las transiciones de estado de las reservas")
+                    .tag("operacion", operacion)
+                    .tag("resultado", resultado)
+                    .tag("motivo", motivo)
+                    .tag("estado", estado)
+                    .register(meterRegistry));
+            if (evento.shouldCommit()) {
+                evento.operacion = operacion;
+                evento.resultado = resultado;
+                evento.motivo = motivo;
+                evento.estado = estado;
+                evento.commit();
+            }
         }
-
-        log.info("Guardando reserva con estado: {}", reserva.getEstadoReserva());
-        return reservaRepository.save(reserva);
     }
 
     /**
@@ -76,7 +138,8 @@ public class ReservaService {
                     .build();
 
             Update update = new Update().addToSet("reservas", reservaSimple);
-            mongoTemplate.updateFirst(query, update, Habitacion.class);
+            catalogoResyncService.escribirReservas(reserva.getIdHabitacion(),
+                    () -> mongoTemplate.updateFirst(query, update, Habitacion.class));
 
             log.info("Reserva {} agregada a habitación {}", reserva.get_id(), reserva.getIdHabitacion());
         } catch (Exception e) {
@@ -91,7 +154,8 @@ public class ReservaService {
         try {
             Query query = new Query(Criteria.where("_id").is(reserva.getIdHabitacion()));
             Update update = new Update().pull("reservas", Query.query(Criteria.where("_id").is(reserva.get_id())));
-            mongoTemplate.updateFirst(query, update, Habitacion.class);
+            catalogoResyncService.escribirReservas(reserva.getIdHabitacion(),
+                    () -> mongoTemplate.updateFirst(query, update, Habitacion.class));
 
             log.info("Reserva {} eliminada de habitación {}", reserva.get_id(), reserva.getIdHabitacion());
         } catch (Exception e) {
@@ -109,7 +173,8 @@ public class ReservaService {
                             .and("reservas._id").is(reserva.get_id())
             );
             Update update = new Update().set("reservas.$.estadoReserva", reserva.getEstadoReserva());
-            mongoTemplate.updateFirst(query, update, Habitacion.class);
+            catalogoResyncService.escribirReservas(reserva.getIdHabitacion(),
+                    () -> mongoTemplate.updateFirst(query, update, Habitacion.class));
 
             log.info("Estado de reserva {} actualizado en habitación {}", reserva.get_id(), reserva.getIdHabitacion());
         } catch (Exception e) {
@@ -122,35 +187,37 @@ public class ReservaService {
      * Si tiene al menos un pago aprobado, la reserva pasa a CONFIRMADA
      */
     public Reserva registrarPago(String reservaId, Pago pago) {
-        Reserva reserva = reservaRepository.findById(reservaId)
-                .orElseThrow(() -> new RuntimeException("Reserva no encontrada: " + reservaId));
-
-        // Validar que la reserva esté en estado que permita pagos
-        if (reserva.getEstadoReserva() == EstadoReserva.CANCELADA ||
-                reserva.getEstadoReserva() == EstadoReserva.FINALIZADA) {
-            throw new RuntimeException("No se pueden registrar pagos en reservas CANCELADAS o FINALIZADAS");
-        }
+        return medir("pago", () -> {
+            Reserva reserva = reservaRepository.findById(reservaId)
+                    .orElseThrow(() -> new ReservaRechazadaException(Motivo.NO_ENCONTRADA, "Reserva no encontrada: " + reservaId));
+
+            // Validar que la reserva esté en estado que permita pagos
+            if (reserva.getEstadoReserva() == EstadoReserva.CANCELADA ||
+                    reserva.getEstadoReserva() == EstadoReserva.FINALIZADA) {
+                throw new ReservaRechazadaException(Motivo.ESTADO_INVALIDO, "No se pueden registrar pagos en reservas CANCELADAS o FINALIZADAS");
+            }
 
-        // Agregar el pago a la lista
-        if (reserva.getPago() == null) {
-            reserva.setPago(new ArrayList<>());
-        }
-        reserva.getPago().add(pago);
+            // Agregar el pago a la lista
+            if (reserva.getPago() == null) {
+                reserva.setPago(new ArrayList<>());
+            }
+            reserva.getPago().add(pago);
 
-        // Si tiene al menos un pago aprobado, pasa a CONFIRMADA
-        boolean tienePagoAprobado = reserva.getPago().stream()
-                .anyMatch(p -> "APPROVED".equals(p.getStatus()));
+            // Si tiene al menos un pago aprobado, pasa a CONFIRMADA
+            boolean tienePagoAprobado = reserva.getPago().stream()
+                    .anyMatch(p -> "APPROVED".equals(p.getStatus()));
 
-        if (tienePagoAprobado && reserva.getEstadoReserva() == EstadoReserva.RESERVADA) {
-            reserva.setEstadoReserva(EstadoReserva.CONFIRMADA);
-            reserva.setStatus("CONFIRMADA");
-            log.info("Reserva {} cambiada a CONFIRMADA (tiene al menos un pago)", reservaId);
-        }
+            if (tienePagoAprobado && reserva.getEstadoReserva() == EstadoReserva.RESERVADA) {
+                reserva.setEstadoReserva(EstadoReserva.CONFIRMADA);
+                reserva.setStatus("CONFIRMADA");
+                log.info("Reserva {} cambiada a CONFIRMADA (tiene al menos un pago)", reservaId);
+            }
 
-        Reserva reservaActualizada = reservaRepository.save(reserva);
-        actualizarEstadoReservaEnHabitacion(reservaActualizada);
+            Reserva reservaActualizada = reservaRepository.save(reserva);
+            actualizarEstadoReservaEnHabitacion(reservaActualizada);
 
-        return reservaActualizada;
+            return reservaActualizada;
+        });
     }
 
     /**
@@ -158,22 +225,24 @@ public class ReservaService {
      * La reserva pasa de CONFIRMADA a EFECTUADA
      */
     public Reserva efectuarCheckIn(String reservaId) {
-        Reserva reserva = reservaRepository.findById(reservaId)
-                .orElseThrow(() -> new RuntimeException("Reserva no encontrada: " + reservaId));
+        return medir("check_in", () -> {
+            Reserva reserva = reservaRepository.findById(reservaId)
+                    .orElseThrow(() -> new ReservaRechazadaException(Motivo.NO_ENCONTRADA, "Reserva no encontrada: " + reservaId));
 
-        // Validar que la reserva esté en estado CONFIRMADA
-        if (reserva.getEstadoReserva() != EstadoReserva.CONFIRMADA) {
-            throw new RuntimeException("Solo se puede hacer check-in en reservas CONFIRMADAS");
-        }
+            // Validar que la reserva esté en estado CONFIRMADA
+            if (reserva.getEstadoReserva() != EstadoReserva.CONFIRMADA) {
+                throw new ReservaRechazadaException(Motivo.ESTADO_INVALIDO, "Solo se puede hacer check-in en reservas CONFIRMADAS");
+            }
 
-        reserva.setEstadoReserva(EstadoReserva.EFECTUADA);
-        reserva.setStatus("EFECTUADA");
-        log.info("Check-in efectuado para reserva {}", reservaId);
+            reserva.setEstadoReserva(EstadoReserva.EFECTUADA);
+            reserva.setStatus("EFECTUADA");
+            log.info("Check-in efectuado para reserva {}", reservaId);
 
-        Reserva reservaActualizada = reservaRepository.save(reserva);
-        actualizarEstadoReservaEnHabitacion(reservaActualizada);
+            Reserva reservaActualizada = reservaRepository.save(reserva);
+            actualizarEstadoReservaEnHabitacion(reservaActualizada);
 
-        return reservaActualizada;
+            return reservaActualizada;
+        });
     }
 
     /**
@@ -182,71 +251,75 @@ public class ReservaService {
      * Si falta alguno, pasa a ADEUDADA, sino a FINALIZADA
      */
     public Reserva efectuarCheckOut(String reservaId, Review hostReview) {
-        Reserva reserva = reservaRepository.findById(reservaId)
-                .orElseThrow(() -> new RuntimeException("Reserva no encontrada: " + reservaId));
+        return medir("check_out", () -> {
+            Reserva reserva = reservaRepository.findById(reservaId)
+                    .orElseThrow(() -> new ReservaRechazadaException(Motivo.NO_ENCONTRADA, "Reserva no encontrada: " + reservaId));
 
-        // Validar que la reserva esté en estado EFECTUADA
-        if (reserva.getEstadoReserva() != EstadoReserva.EFECTUADA) {
-            throw new RuntimeException("Solo se puede hacer check-out en reservas EFECTUADAS");
-        }
+            // Validar que la reserva esté en estado EFECTUADA
+            if (reserva.getEstadoReserva() != EstadoReserva.EFECTUADA) {
+                throw new ReservaRechazadaException(Motivo.ESTADO_INVALIDO, "Solo se puede hacer check-out en reservas EFECTUADAS");
+            }
 
-        // Verificar si tiene review del dueño
-        boolean tieneReviewDueno = hostReview != null && hostReview.getRating() > 0;
-
-        // Verificar si el pago está completo
-        double totalPagado = reserva.getPago() != null ? reserva.getPago().stream()
-                .filter(p -> "APPROVED".equals(p.getStatus()))
-                .mapToDouble(Pago::getAmount)
-                .sum() : 0.0;
-        boolean pagoCompleto = totalPagado >= reserva.getPrecioTotal();
-
-        // Establecer el estado según las validaciones
-        if (!tieneReviewDueno || !pagoCompleto) {
-            reserva.setEstadoReserva(EstadoReserva.ADEUDADA);
-            reserva.setStatus("ADEUDADA");
-            log.warn("Check-out marca reserva {} como ADEUDADA. Review: {}, Pago completo: {}",
-                    reservaId, tieneReviewDueno, pagoCompleto);
-        } else {
-            reserva.setEstadoReserva(EstadoReserva.FINALIZADA);
-            reserva.setStatus("FINALIZADA");
-            log.info("Check-out completado para reserva {} - FINALIZADA", reservaId);
-        }
+            // Verificar si tiene review del dueño
+            boolean tieneReviewDueno = hostReview != null && hostReview.getRating() > 0;
+
+            // Verificar si el pago está completo
+            double totalPagado = reserva.getPago() != null ? reserva.getPago().stream()
+                    .filter(p -> "APPROVED".equals(p.getStatus()))
+                    .mapToDouble(Pago::getAmount)
+                    .sum() : 0.0;
+            boolean pagoCompleto = totalPagado >= reserva.getPrecioTotal();
+
+            // Establecer el estado según las validaciones
+            if (!tieneReviewDueno || !pagoCompleto) {
+                reserva.setEstadoReserva(EstadoReserva.ADEUDADA);
+                reserva.setStatus("ADEUDADA");
+                log.warn("Check-out marca reserva {} como ADEUDADA. Review: {}, Pago completo: {}",
+                        reservaId, tieneReviewDueno, pagoCompleto);
+            } else {
+                reserva.setEstadoReserva(EstadoReserva.FINALIZADA);
+                reserva.setStatus("FINALIZADA");
+                log.info("Check-out completado para reserva {} - FINALIZADA", reservaId);
+            }
 
-        // Guardar el review del dueño si se proporcionó
-        if (tieneReviewDueno) {
-            hostReview.setCreatedAt(Instant.now().toString());
-            reserva.setHostReview(hostReview);
-        }
+            // Guardar el review del dueño si se proporcionó
+            if (tieneReviewDueno) {
+                hostReview.setCreatedAt(Instant.now().toString());
+                reserva.setHostReview(hostReview);
+            }
 
-        Reserva reservaActualizada = reservaRepository.save(reserva);
-        actualizarEstadoReservaEnHabitacion(reservaActualizada);
+            Reserva reservaActualizada = reservaRepository.save(reserva);
+            actualizarEstadoReservaEnHabitacion(reservaActualizada);
 
-        return reservaActualizada;
+            return reservaActualizada;
+        });
     }
 
     /**
      * Agrega un rating del cliente a la reserva después del checkout
      */
     public Reserva agregarRatingCliente(String reservaId, Review rating) {
-        Reserva reserva = reservaRepository.findById(reservaId)
-                .orElseThrow(() -> new RuntimeException("Reserva no encontrada: " + reservaId));
-
-        // Validar que la reserva esté FINALIZADA o ADEUDADA
-        if (reserva.getEstadoReserva() != EstadoReserva.FINALIZADA &&
-                reserva.getEstadoReserva() != EstadoReserva.ADEUDADA) {
-            throw new RuntimeException("Solo se puede agregar rating en reservas FINALIZADAS o ADEUDADAS");
-        }
+        return medir("rating", () -> {
+            Reserva reserva = reservaRepository.findById(reservaId)
+                    .orElseThrow(() -> new ReservaRechazadaException(Motivo.NO_ENCONTRADA, "Reserva no encontrada: " + reservaId));
+
+            // Validar que la reserva esté FINALIZADA o ADEUDADA
+            if (reserva.getEstadoReserva() != EstadoReserva.FINALIZADA &&
+                    reserva.getEstadoReserva() != EstadoReserva.ADEUDADA) {
+                throw new ReservaRechazadaException(Motivo.ESTADO_INVALIDO, "Solo se puede agregar rating en reservas FINALIZADAS o ADEUDADAS");
+            }
 
-        // Validar que ya pasó la fecha de checkout
-        if (Instant.now().isBefore(reserva.getCheckOut())) {
-            throw new RuntimeException("Solo se puede agregar rating después de la fecha de check-out");
-        }
+            // Validar que ya pasó la fecha de checkout
+            if (Instant.now().isBefore(reserva.getCheckOut())) {
+                throw new ReservaRechazadaException(Motivo.ANTES_DEL_CHECKOUT, "Solo se puede agregar rating después de la fecha de check-out");
+            }
 
-        rating.setCreatedAt(Instant.now().toString());
-        reserva.setClientReview(rating);
-        log.info("Rating del cliente agregado a reserva {}: {} estrellas", reservaId, rating.getRating());
+            rating.setCreatedAt(Instant.now().toString());
+            reserva.setClientReview(rating);
+            log.info("Rating del cliente agregado a reserva {}: {} estrellas", reservaId, rating.getRating());
 
-        return reservaRepository.save(reserva);
+            return reservaRepository.save(reserva);
+        });
     }
 
     /**
@@ -255,60 +328,66 @@ public class ReservaService {
      * Al cancelar, se elimina de la lista de reservas de la habitación
      */
     public Reserva cancelarReserva(String reservaId) {
-        Reserva reserva = reservaRepository.findById(reservaId)
-                .orElseThrow(() -> new RuntimeException("Reserva no encontrada: " + reservaId));
-
-        // Validar que no esté en estado que no se puede cancelar
-        if (reserva.getEstadoReserva() == EstadoReserva.EFECTUADA ||
-                reserva.getEstadoReserva() == EstadoReserva.FINALIZADA ||
-                reserva.getEstadoReserva() == EstadoReserva.ADEUDADA) {
-            throw new RuntimeException("No se puede cancelar una reserva EFECTUADA, FINALIZADA o ADEUDADA");
-        }
+        return medir("cancelar", () -> {
+            Reserva reserva = reservaRepository.findById(reservaId)
+                    .orElseThrow(() -> new ReservaRechazadaException(Motivo.NO_ENCONTRADA, "Reserva no encontrada: " + reservaId));
+
+            // Validar que no esté en estado que no se puede cancelar
+            if (reserva.getEstadoReserva() == EstadoReserva.EFECTUADA ||
+                    reserva.getEstadoReserva() == EstadoReserva.FINALIZADA ||
+                    reserva.getEstadoReserva() == EstadoReserva.ADEUDADA) {
+                throw new ReservaRechazadaException(Motivo.ESTADO_INVALIDO, "No se puede cancelar una reserva EFECTUADA, FINALIZADA o ADEUDADA");
+            }
 
-        // Verificar que NO tenga pagos
-        boolean tienePagos = reserva.getPago() != null && !reserva.getPago().isEmpty();
-        if (tienePagos) {
-            throw new RuntimeException("No se puede cancelar una reserva que ya tiene pagos registrados");
-        }
+            // Verificar que NO tenga pagos
+            boolean tienePagos = reserva.getPago() != null && !reserva.getPago().isEmpty();
+            if (tienePagos) {
+                throw new ReservaRechazadaException(Motivo.CON_PAGOS, "No se puede cancelar una reserva que ya tiene pagos registrados");
+            }
 
-        reserva.setEstadoReserva(EstadoReserva.CANCELADA);
-        reserva.setStatus("CANCELADA");
-        log.info("Reserva {} cancelada", reservaId);
+            reserva.setEstadoReserva(EstadoReserva.CANCELADA);
+            reserva.setStatus("CANCELADA");
+            log.info("Reserva {} cancelada", reservaId);
 
-        Reserva reservaCancelada = reservaRepository.save(reserva);
+            Reserva reservaCancelada = reservaRepository.save(reserva);
 
-        // Eliminar la reserva de la lista de reservas de la habitación
-        eliminarReservaDeHabitacion(reservaCancelada);
+            // Eliminar la reserva de la lista de reservas de la habitación
+            eliminarReservaDeHabitacion(reservaCancelada);
 
-        return reservaCancelada;
+            return reservaCancelada;
+        });
     }
 
     /**
      * Bloquea una habitación creando una reserva en estado BLOQUEADA
      */
     public Reserva bloquearHabitacion(Reserva reserva) {
-        reserva.setEstadoReserva(EstadoReserva.BLOQUEADA);
-        reserva.setStatus("BLOQUEADA");
+        return medir("bloquear", () -> {
+            reserva.setEstadoReserva(EstadoReserva.BLOQUEADA);
+            reserva.setStatus("BLOQUEADA");
 
-        Reserva reservaBloqueada = reservaRepository.save(reserva);
-        agregarReservaAHabitacion(reservaBloqueada);
+            Reserva reservaBloqueada = reservaRepository.save(reserva);
+            agregarReservaAHabitacion(reservaBloqueada);
 
-        log.info("Habitación {} bloqueada con reserva {}", reserva.getIdHabitacion(), reservaBloqueada.get_id());
-        return reservaBloqueada;
+            log.info("Habitación {} bloqueada con reserva {}", reserva.getIdHabitacion(), reservaBloqueada.get_id());
+            return reservaBloqueada;
+        });
     }
 
     /**
      * Cierra una habitación creando una reserva en estado CERRADA
      */
     public Reserva cerrarHabitacion(Reserva reserva) {
-        reserva.setEstadoReserva(EstadoReserva.CERRADA);
-        reserva.setStatus("CERRADA");
+        return medir("cerrar", () -> {
+            reserva.setEstadoReserva(EstadoReserva.CERRADA);
+            reserva.setStatus("CERRADA");
 
-        Reserva reservaCerrada = reservaRepository.save(reserva);
-        agregarReservaAHabitacion(reservaCerrada);
+            Reserva reservaCerrada = reservaRepository.save(reserva);
+            agregarReservaAHabitacion(reservaCerrada);
 
-        log.info("Habitación {} cerrada con reserva {}", reserva.getIdHabitacion(), reservaCerrada.get_id());
-        return reservaCerrada;
+            log.info("Habitación {} cerrada con reserva {}", reserva.getIdHabitacion(), reservaCerrada.get_id());
+            return reservaCerrada;
+        });
     }
 
     /**
@@ -326,4 +405,24 @@ public class ReservaService {
         }
         reservaRepository.deleteById(id);
     }
+
+    /**
+     * Actualiza la copia del huésped en todas sus reservas con un único <code>updateMulti</code> sobre
+     * <code>huesped.idUsuario</code> (indexado). Las reservas que ya tienen una versión posterior no se tocan,
+     * así un evento que llega desordenado no pisa datos más nuevos.
+     */
+    public long actualizarHuesped(UsuarioEvent evento) {
+        Criteria version = new Criteria().orOperator(
+                Criteria.where("huesped.versionUsuario").exists(false),
+                Criteria.where("huesped.versionUsuario").lte(evento.getVersion()));
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("huesped.idUsuario").is(String.valueOf(evento.getIdUsuario())), version));
+        Update update = new Update()
+                .set("huesped.nombreApellido", evento.getNombre())
+                .set("huesped.email", evento.getEmail())
+                .set("huesped.versionUsuario", evento.getVersion());
+        long modificadas = mongoTemplate.updateMulti(query, update, Reserva.class).getModifiedCount();
+        log.info("Huésped {} actualizado en {} reservas", evento.getIdUsuario(), modificadas);
+        return modificadas;
+    }
 }
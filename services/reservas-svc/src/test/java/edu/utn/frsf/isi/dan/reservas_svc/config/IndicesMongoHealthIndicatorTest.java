@@ -0,0 +1,86 @@
+package edu.utn.frsf.isi.dan.reservas_svc.config;
+
+import com.mongodb.MongoTimeoutException;
+import edu.utn.frsf.isi.dan.shared.calentamiento.CalentamientoHealthIndicator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class IndicesMongoHealthIndicatorTest {
+
+    @InjectMocks
+    private MongoConfig mongoConfig;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    private IndicesMongoHealthIndicator indicador;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mongoTemplate.indexOps(anyString())).thenReturn(indexOperations);
+        indicador = new IndicesMongoHealthIndicator();
+        ReflectionTestUtils.setField(indicador, "mongoConfig", mongoConfig);
+    }
+
+    @Test
+    public void testCalentandoHastaCrearLosIndices() {
+        assertEquals(CalentamientoHealthIndicator.CALENTANDO, indicador.health().getStatus());
+
+        mongoConfig.initIndexes();
+
+        assertEquals(Status.UP, indicador.health().getStatus());
+        verify(indexOperations, times(3)).createIndex(any(IndexDefinition.class));
+    }
+
+    @Test
+    public void testFallosPocosSiguenCalentandoConElError() {
+        when(indexOperations.createIndex(any(IndexDefinition.class))).thenThrow(new MongoTimeoutException("sin mongo"));
+
+        assertFalse(mongoConfig.intentarCrearIndices());
+
+        Health salud = indicador.health();
+        assertEquals(CalentamientoHealthIndicator.CALENTANDO, salud.getStatus());
+        assertEquals(1, salud.getDetails().get("intentosFallidos"));
+        assertTrue(salud.getDetails().get("ultimoError").toString().contains("sin mongo"));
+    }
+
+    @Test
+    public void testFallosSeguidosPasanADownYSeRecupera() {
+        when(indexOperations.createIndex(any(IndexDefinition.class))).thenThrow(new MongoTimeoutException("sin mongo"));
+        for (int i = 1; i < MongoConfig.FALLOS_PARA_DOWN; i++) {
+            assertFalse(mongoConfig.intentarCrearIndices());
+        }
+        assertEquals(CalentamientoHealthIndicator.CALENTANDO, indicador.health().getStatus());
+
+        assertFalse(mongoConfig.intentarCrearIndices());
+
+        Health salud = indicador.health();
+        assertEquals(Status.DOWN, salud.getStatus());
+        assertEquals(MongoConfig.FALLOS_PARA_DOWN, salud.getDetails().get("intentosFallidos"));
+        assertTrue(salud.getDetails().get("ultimoError").toString().contains("sin mongo"));
+
+        reset(indexOperations);
+        assertTrue(mongoConfig.intentarCrearIndices());
+
+        assertEquals(Status.UP, indicador.health().getStatus());
+        assertNull(mongoConfig.getUltimoError());
+    }
+}
@@ -0,0 +1,71 @@
+package edu.utn.frsf.isi.dan.reservas_svc.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import edu.utn.frsf.isi.dan.reservas_svc.service.HabitacionService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+
+public class GestionMessageListenerTest {
+
+    private static final String EVENTO = "{\"tipoEvento\":\"ELIMINAR\",\"habitacion\":{\"habitacionId\":5}}";
+
+    @InjectMocks
+    private GestionMessageListener listener;
+
+    @Mock
+    private HabitacionService habitacionService;
+
+    @Mock
+    private Channel channel;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(listener, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(listener, "meterRegistry", meterRegistry);
+    }
+
+    @Test
+    public void testDemoraSeMideDesdeElTimestampDelMensaje() throws Exception {
+        Date publicadoEn = new Date(System.currentTimeMillis() - 1500);
+
+        listener.receiveMessage(EVENTO, channel, 21L, publicadoEn);
+
+        verify(habitacionService).handleEvent(any());
+        verify(channel).basicAck(21L, false);
+        Timer consumo = meterRegistry.find("reservas.eventos.habitacion.demora")
+                .tag("etapa", "consumo").tag("tipo", "ELIMINAR").timer();
+        assertEquals(1, consumo.count());
+        assertTrue(consumo.totalTime(TimeUnit.MILLISECONDS) >= 1500);
+        assertEquals(1, meterRegistry.find("reservas.eventos.habitacion.demora")
+                .tag("etapa", "aplicado").timer().count());
+    }
+
+    @Test
+    public void testMensajeSinTimestampSeAplicaSinMedirDemora() throws Exception {
+        listener.receiveMessage(EVENTO, channel, 22L, null);
+
+        verify(habitacionService).handleEvent(any());
+        verify(channel).basicAck(22L, false);
+        assertNull(meterRegistry.find("reservas.eventos.habitacion.demora").timer());
+    }
+}
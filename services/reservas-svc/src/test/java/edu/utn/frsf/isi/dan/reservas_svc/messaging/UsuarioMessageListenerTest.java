@@ -0,0 +1,78 @@
+package edu.utn.frsf.isi.dan.reservas_svc.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import edu.utn.frsf.isi.dan.reservas_svc.service.ReservaService;
+import edu.utn.frsf.isi.dan.shared.UsuarioEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class UsuarioMessageListenerTest {
+
+    @InjectMocks
+    private UsuarioMessageListener listener;
+
+    @Mock
+    private ReservaService reservaService;
+
+    @Mock
+    private Channel channel;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(listener, "objectMapper", new ObjectMapper());
+    }
+
+    @Test
+    public void testActualizarDatosAplicaYConfirma() throws Exception {
+        listener.receiveMessage("""
+                {"idUsuario":7,"nombre":"Ana","email":"ana@mail.com","version":5,"tipoEvento":"ACTUALIZAR_DATOS"}""",
+                channel, 11L);
+
+        ArgumentCaptor<UsuarioEvent> evento = ArgumentCaptor.forClass(UsuarioEvent.class);
+        verify(reservaService).actualizarHuesped(evento.capture());
+        assertEquals(7L, evento.getValue().getIdUsuario());
+        assertEquals(5L, evento.getValue().getVersion());
+        verify(channel).basicAck(11L, false);
+        verify(channel, never()).basicReject(anyLong(), anyBoolean());
+    }
+
+    @Test
+    public void testOtroTipoSeConfirmaSinAplicar() throws Exception {
+        listener.receiveMessage("{\"idUsuario\":7,\"tipoEvento\":\"ELIMINAR\"}", channel, 12L);
+
+        verify(reservaService, never()).actualizarHuesped(any());
+        verify(channel).basicAck(12L, false);
+    }
+
+    @Test
+    public void testMensajeInvalidoSeRechazaSinReencolar() throws Exception {
+        listener.receiveMessage("{no es json", channel, 13L);
+
+        verify(reservaService, never()).actualizarHuesped(any());
+        verify(channel).basicReject(13L, false);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    public void testErrorAlAplicarSeRechaza() throws Exception {
+        when(reservaService.actualizarHuesped(any())).thenThrow(new IllegalStateException("mongo caído"));
+
+        listener.receiveMessage("{\"idUsuario\":7,\"version\":5,\"tipoEvento\":\"ACTUALIZAR_DATOS\"}", channel, 14L);
+
+        verify(channel).basicReject(14L, false);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+}
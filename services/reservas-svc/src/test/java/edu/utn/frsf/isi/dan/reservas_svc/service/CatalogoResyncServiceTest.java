@@ -0,0 +1,137 @@
+package edu.utn.frsf.isi.dan.reservas_svc.service;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.RenameCollectionOptions;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class CatalogoResyncServiceTest {
+
+    private static final String HABITACION = new ObjectId().toHexString();
+
+    @InjectMocks
+    private CatalogoResyncService resyncService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> vigente;
+
+    @Mock
+    private MongoCollection<Document> sombra;
+
+    @Mock
+    private AggregateIterable<Document> resultado;
+
+    private final List<List<Document>> pipelines = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        MongoDatabase db = mock(MongoDatabase.class);
+        when(db.getName()).thenReturn("reservas");
+        when(mongoTemplate.getDb()).thenReturn(db);
+        when(mongoTemplate.getCollection(CatalogoResyncService.COLECCION)).thenReturn(vigente);
+        when(mongoTemplate.getCollection(CatalogoResyncService.COLECCION_SOMBRA)).thenReturn(sombra);
+        when(vigente.aggregate(anyList())).thenAnswer(inv -> {
+            pipelines.add(List.copyOf(inv.<List<Document>>getArgument(0)));
+            return resultado;
+        });
+    }
+
+    @Test
+    public void testSinEscriturasCopiaUnaSolaVez() {
+        resyncService.reemplazarColeccion();
+
+        assertEquals(1, pipelines.size());
+        verify(sombra).renameCollection(any(MongoNamespace.class), any(RenameCollectionOptions.class));
+    }
+
+    @Test
+    public void testEscrituraDuranteLaCopiaSeVuelveACopiarAntesDelRename() {
+        AtomicBoolean escrita = new AtomicBoolean();
+        // Una reserva se agrega a la colección vigente mientras el $merge inicial está corriendo
+        doAnswer(inv -> {
+            if (pipelines.size() == 1) {
+                Thread escritor = Thread.ofVirtual().start(
+                        () -> resyncService.escribirReservas(HABITACION, () -> escrita.set(true)));
+                escritor.join();
+            }
+            return null;
+        }).when(resultado).toCollection();
+
+        resyncService.reemplazarColeccion();
+
+        assertTrue(escrita.get());
+        assertEquals(2, pipelines.size());
+        Document match = pipelines.get(1).get(0).get("$match", Document.class);
+        assertEquals(List.of(new ObjectId(HABITACION)), match.get("_id", Document.class).get("$in"));
+        InOrder orden = inOrder(resultado, sombra);
+        orden.verify(resultado, times(2)).toCollection();
+        orden.verify(sombra).renameCollection(any(MongoNamespace.class), any(RenameCollectionOptions.class));
+    }
+
+    @Test
+    public void testEscrituraDuranteElRenameEsperaYNoSeVuelveACopiar() throws Exception {
+        CountDownLatch escritorEsperando = new CountDownLatch(1);
+        AtomicBoolean escritaAntesDelRename = new AtomicBoolean();
+        AtomicBoolean renombrada = new AtomicBoolean();
+        AtomicBoolean escrita = new AtomicBoolean();
+        List<Thread> escritores = new ArrayList<>();
+        doAnswer(inv -> {
+            escritores.add(Thread.ofVirtual().start(() -> {
+                escritorEsperando.countDown();
+                resyncService.escribirReservas(HABITACION, () -> {
+                    escritaAntesDelRename.set(!renombrada.get());
+                    escrita.set(true);
+                });
+            }));
+            assertTrue(escritorEsperando.await(5, TimeUnit.SECONDS));
+            Thread.sleep(200);
+            assertFalse(escrita.get(), "la escritura no debe ejecutarse mientras se reemplaza la colección");
+            renombrada.set(true);
+            return null;
+        }).when(sombra).renameCollection(any(MongoNamespace.class), any(RenameCollectionOptions.class));
+
+        resyncService.reemplazarColeccion();
+        escritores.get(0).join(5_000);
+
+        assertTrue(escrita.get());
+        assertFalse(escritaAntesDelRename.get());
+        assertEquals(1, pipelines.size());
+    }
+
+    @Test
+    public void testFueraDeUnaResincronizacionNoAnota() {
+        AtomicBoolean escrita = new AtomicBoolean();
+
+        resyncService.escribirReservas(HABITACION, () -> escrita.set(true));
+        resyncService.reemplazarColeccion();
+
+        assertTrue(escrita.get());
+        assertEquals(1, pipelines.size());
+    }
+}
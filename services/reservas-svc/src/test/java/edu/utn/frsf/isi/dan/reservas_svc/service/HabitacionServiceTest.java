@@ -0,0 +1,53 @@
+package edu.utn.frsf.isi.dan.reservas_svc.service;
+
+import edu.utn.frsf.isi.dan.reservas_svc.dto.HabitacionSearchCriteria;
+import edu.utn.frsf.isi.dan.reservas_svc.model.Habitacion;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HabitacionServiceTest {
+
+    private static final Instant CHECK_IN = Instant.parse("2026-03-01T00:00:00Z");
+    private static final Instant CHECK_OUT = Instant.parse("2026-03-04T00:00:00Z");
+
+    private final HabitacionService habitacionService = new HabitacionService();
+
+    @Test
+    public void testDisponibilidadExcluyeLosEstadosQueOcupanYSolapan() {
+        Document consulta = habitacionService.construirConsulta(HabitacionSearchCriteria.builder()
+                .fechaCheckIn(CHECK_IN)
+                .fechaCheckOut(CHECK_OUT)
+                .build()).getQueryObject();
+
+        List<Document> alternativas = primerCriterio(consulta).getList("$or", Document.class);
+        assertEquals(3, alternativas.size());
+        Document solapada = alternativas.get(2).get("reservas", Document.class)
+                .get("$not", Document.class).get("$elemMatch", Document.class);
+        Collection<?> estados = solapada.get("estadoReserva", Document.class).get("$in", Collection.class);
+        assertEquals(Habitacion.ESTADOS_QUE_OCUPAN, new HashSet<>(estados));
+        assertEquals(CHECK_OUT, solapada.get("checkIn", Document.class).get("$lt"));
+        assertEquals(CHECK_IN, solapada.get("checkOut", Document.class).get("$gt"));
+    }
+
+    @Test
+    public void testSinFechasNoFiltraPorReservas() {
+        Document consulta = habitacionService.construirConsulta(HabitacionSearchCriteria.builder()
+                .cantidadHuespedes(2)
+                .fechaCheckIn(CHECK_IN)
+                .build()).getQueryObject();
+
+        assertEquals(new Document("capacidad", new Document("$gte", 2)), primerCriterio(consulta));
+        assertEquals(1, consulta.getList("$and", Document.class).size());
+    }
+
+    private static Document primerCriterio(Document consulta) {
+        return consulta.getList("$and", Document.class).get(0);
+    }
+}
@@ -0,0 +1,82 @@
+package edu.utn.frsf.isi.dan.reservas_svc.service;
+
+import com.mongodb.client.result.UpdateResult;
+import edu.utn.frsf.isi.dan.reservas_svc.model.Reserva;
+import edu.utn.frsf.isi.dan.shared.TipoEvento;
+import edu.utn.frsf.isi.dan.shared.UsuarioEvent;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ReservaServiceTest {
+
+    @InjectMocks
+    private ReservaService reservaService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private final ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+    private final ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Reserva.class)))
+                .thenReturn(UpdateResult.acknowledged(3, 3L, null));
+    }
+
+    @Test
+    public void testActualizarHuespedUnSoloUpdateMulti() {
+        long modificadas = reservaService.actualizarHuesped(evento(7L, 5L));
+
+        assertEquals(3, modificadas);
+        verify(mongoTemplate).updateMulti(query.capture(), update.capture(), eq(Reserva.class));
+        Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+        assertEquals("Ana María", set.get("huesped.nombreApellido"));
+        assertEquals("ana@mail.com", set.get("huesped.email"));
+        assertEquals(5L, set.get("huesped.versionUsuario"));
+    }
+
+    @Test
+    public void testActualizarHuespedNoPisaVersionesPosteriores() {
+        reservaService.actualizarHuesped(evento(7L, 5L));
+
+        verify(mongoTemplate).updateMulti(query.capture(), any(Update.class), eq(Reserva.class));
+        // Solo copias del usuario sin versión o con una versión que no supera la del evento
+        Document filtro = query.getValue().getQueryObject();
+        List<?> condiciones = filtro.getList("$and", Object.class);
+        assertEquals(new Document("huesped.idUsuario", "7"), condiciones.get(0));
+        assertEquals(new Document("$or", List.of(
+                new Document("huesped.versionUsuario", new Document("$exists", false)),
+                new Document("huesped.versionUsuario", new Document("$lte", 5L)))), condiciones.get(1));
+    }
+
+    @Test
+    public void testEventoAtrasadoNoModificaReservas() {
+        // Mongo no encuentra copias con versión <= 4 porque ya se aplicó la 5
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Reserva.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        assertEquals(0, reservaService.actualizarHuesped(evento(7L, 4L)));
+    }
+
+    private static UsuarioEvent evento(Long id, Long version) {
+        return UsuarioEvent.builder().idUsuario(id).nombre("Ana María").email("ana@mail.com")
+                .version(version).tipoEvento(TipoEvento.ACTUALIZAR_DATOS).build();
+    }
+}
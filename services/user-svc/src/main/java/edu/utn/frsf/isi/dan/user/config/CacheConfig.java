@@ -0,0 +1,16 @@
+package edu.utn.frsf.isi.dan.user.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Habilita el cache de Spring (Caffeine). Tamaño y expiración se configuran con
+ * <code>spring.cache.caffeine.spec</code>; las estadísticas quedan expuestas en <code>cache.gets</code>.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USUARIO_POR_DNI = "usuarioPorDni";
+    public static final String CONTEO_USUARIOS = "conteoUsuarios";
+}
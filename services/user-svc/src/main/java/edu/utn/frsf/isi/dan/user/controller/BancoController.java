@@ -2,36 +2,40 @@ package edu.utn.frsf.isi.dan.user.controller;
 
 import edu.utn.frsf.isi.dan.user.model.Banco;
 import edu.utn.frsf.isi.dan.user.dao.BancoRepository;
+import edu.utn.frsf.isi.dan.user.service.BancoCache;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/bancos")
 public class BancoController {
 
     private final BancoRepository bancoRepository;
+    private final BancoCache bancoCache;
 
-    public BancoController(BancoRepository bancoRepository) {
+    public BancoController(BancoRepository bancoRepository, BancoCache bancoCache) {
         this.bancoRepository = bancoRepository;
+        this.bancoCache = bancoCache;
     }
 
+    /** Sirve el JSON ya serializado del snapshot de bancos, sin consultar la base. */
     @GetMapping
-    public List<Banco> listarBancos() {
-        return bancoRepository.findAll();
+    public ResponseEntity<byte[]> listarBancos() {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(bancoCache.json());
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<Banco> obtenerBanco(@PathVariable Integer id) {
-        return bancoRepository.findById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        Banco banco = bancoCache.obtener(id);
+        if (banco == null) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(banco);
     }
 
     @PostMapping
     public ResponseEntity<Banco> crearBanco(@RequestBody Banco banco) {
         Banco nuevoBanco = bancoRepository.save(banco);
+        bancoCache.recargar();
         return ResponseEntity.ok(nuevoBanco);
     }
 
@@ -41,7 +45,9 @@ public class BancoController {
                 .map(banco -> {
                     banco.setNombre(datos.getNombre());
                     banco.setCbu(datos.getCbu());
-                    return ResponseEntity.ok(bancoRepository.save(banco));
+                    Banco actualizado = bancoRepository.save(banco);
+                    bancoCache.recargar();
+                    return ResponseEntity.ok(actualizado);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -52,6 +58,7 @@ public class BancoController {
             return ResponseEntity.notFound().build();
         }
         bancoRepository.deleteById(id);
+        bancoCache.recargar();
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
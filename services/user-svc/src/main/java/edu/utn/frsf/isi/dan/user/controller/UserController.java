@@ -1,15 +1,25 @@
 package edu.utn.frsf.isi.dan.user.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.utn.frsf.isi.dan.user.dto.HuespedRecord;
+import edu.utn.frsf.isi.dan.user.dto.LoteUsuariosRequest;
 import edu.utn.frsf.isi.dan.user.dto.PropietarioRecord;
+import edu.utn.frsf.isi.dan.user.dto.ResultadoImportacion;
+import edu.utn.frsf.isi.dan.user.dto.UsuarioDetalle;
+import edu.utn.frsf.isi.dan.user.dto.UsuarioResumen;
+import edu.utn.frsf.isi.dan.user.dto.VentanaUsuarios;
 import edu.utn.frsf.isi.dan.user.service.UserService;
 import edu.utn.frsf.isi.dan.user.service.HuespedService;
+import edu.utn.frsf.isi.dan.user.service.ImportacionHuespedesService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import edu.utn.frsf.isi.dan.user.model.Usuario;
 import edu.utn.frsf.isi.dan.user.model.Huesped;
@@ -20,17 +30,31 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
 @Tag(name = "User Controller", description = "Operaciones para la gestión de usuarios")
 @RestController
 @RequestMapping("/users")
 public class UserController {
 
+    private static final int MAXIMO_VENTANA = 500;
+    private static final String NDJSON = "application/x-ndjson";
+
     @Autowired
     private UserService userService;
 
     @Autowired
     private HuespedService huespedService;
 
+    @Autowired
+    private ImportacionHuespedesService importacionHuespedesService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Operation(summary = "Crear usuario huesped", 
                 description = "Crea un nuevo usuario de tipo huesped",
                 responses = {
@@ -44,6 +68,22 @@ public class UserController {
         return new ResponseEntity<>(HttpStatus.CREATED);
     }
 
+    @Operation(summary = "Importar huéspedes", description = "Alta masiva de huéspedes desde NDJSON (un huésped por línea, mismo formato que POST /users/huesped) "
+            + "o CSV nombre,email,telefono,dni,fechaNacimiento,numeroCC,nombreTitular,fechaVencimientoCC,cvcCC,esPrincipalCC,idBanco. "
+            + "Las filas con error se informan en la respuesta sin interrumpir la importación",
+        responses = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Importación procesada"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Error leyendo el archivo")
+        }
+    )
+    @PostMapping(value = "/huesped/importacion", consumes = { NDJSON, "text/csv" })
+    public ResponseEntity<ResultadoImportacion> importarHuespedes(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream cuerpo) throws IOException {
+        boolean csv = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.valueOf("text/csv"));
+        return ResponseEntity.ok(importacionHuespedesService.importar(cuerpo, csv));
+    }
+
     @Operation(summary = "Actualizar datos de usuario huesped", description = "Actualiza los datos de un usuario huesped existente",
         responses = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Datos actualizados correctamente"),
@@ -135,13 +175,71 @@ public class UserController {
         }
     )
     @GetMapping
-    public Page<Usuario> buscarUsuariosPorNombre(@RequestParam(required = false) String nombre, Pageable pageable) {
+    public Page<UsuarioResumen> buscarUsuariosPorNombre(@RequestParam(required = false) String nombre, Pageable pageable) {
         if (nombre == null || nombre.isEmpty()) {
             return userService.buscarPorNombre("", pageable);
         }
         return userService.buscarPorNombre(nombre, pageable);
     }
 
+    @Operation(summary = "Listar usuarios por ventanas", description = "Recorre usuarios por keyset sobre el id, filtrando opcionalmente por nombre. "
+            + "Pasar el campo siguiente de la respuesta como despuesDe para pedir la próxima ventana; no ejecuta COUNT salvo que se pida el total (aproximado)",
+        responses = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Ventana de usuarios"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Solicitud inválida")
+        }
+    )
+    @GetMapping("/ventana")
+    public VentanaUsuarios listarUsuariosPorVentana(@RequestParam(required = false) String nombre,
+            @RequestParam(required = false) Long despuesDe,
+            @RequestParam(defaultValue = "50") int tamanio,
+            @RequestParam(defaultValue = "false") boolean total) {
+        return userService.ventanaPorNombre(nombre, despuesDe, Math.min(tamanio, MAXIMO_VENTANA), total);
+    }
+
+    @Operation(summary = "Buscar usuarios por lote", description = "Devuelve el resumen de los usuarios con los ids o DNI indicados en una sola consulta. "
+            + "Con Accept: application/x-ndjson admite lotes mayores y escribe una línea por usuario a medida que resuelve cada tramo",
+        responses = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Usuarios encontrados (los inexistentes se omiten)"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Lote demasiado grande")
+        }
+    )
+    @PostMapping(value = "/lote", produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<UsuarioResumen> buscarLote(@RequestBody LoteUsuariosRequest request) {
+        return userService.buscarLote(request);
+    }
+
+    @PostMapping(value = "/lote", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> buscarLoteNdjson(@RequestBody LoteUsuariosRequest request) {
+        // Se valida antes de empezar a escribir, para poder responder 400
+        LoteUsuariosRequest lote = userService.validarLoteStream(request);
+        StreamingResponseBody cuerpo = salida -> userService.buscarLotePorTramos(lote, tramo -> {
+            try {
+                for (UsuarioResumen usuario : tramo) {
+                    salida.write(objectMapper.writeValueAsBytes(usuario));
+                    salida.write('\n');
+                }
+                salida.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.valueOf(NDJSON)).body(cuerpo);
+    }
+
+    @Operation(summary = "Obtener detalle de usuario", description = "Devuelve el usuario con sus tarjetas de crédito (huésped) o su cuenta bancaria (propietario)",
+        responses = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Usuario encontrado"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Usuario no encontrado")
+        }
+    )
+    @GetMapping("/{id}")
+    public ResponseEntity<Usuario> obtenerUsuario(@PathVariable Long id) {
+        Usuario usuario = userService.obtenerDetalle(id);
+        if (usuario == null) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(usuario);
+    }
+
     @Operation(summary = "Buscar usuario por DNI exacto", description = "Busca un usuario por su DNI exacto",
         responses = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Usuario encontrado"),
@@ -151,8 +249,8 @@ public class UserController {
         }
     )
     @GetMapping("/dni/{dni}")
-    public ResponseEntity<Usuario> buscarUsuarioPorDni(@PathVariable String dni) {
-        Usuario usuario = userService.buscarPorDniExacto(dni);
+    public ResponseEntity<UsuarioDetalle> buscarUsuarioPorDni(@PathVariable String dni) {
+        UsuarioDetalle usuario = userService.buscarPorDniExacto(dni);
         if (usuario == null) return ResponseEntity.notFound().build();
         return ResponseEntity.ok(usuario);
     }
@@ -165,7 +263,21 @@ public class UserController {
         }
     )
     @GetMapping("/buscar-dni")
-    public Page<Usuario> buscarUsuariosPorDni(@RequestParam String dni, Pageable pageable) {
+    public Page<UsuarioResumen> buscarUsuariosPorDni(@RequestParam String dni, Pageable pageable) {
         return userService.buscarPorDni(dni, pageable);
     }
+
+    @Operation(summary = "Buscar usuarios por DNI por ventanas", description = "Recorre por keyset los usuarios cuyo DNI empieza con el valor dado, en orden de DNI",
+        responses = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Ventana de usuarios"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Solicitud inválida")
+        }
+    )
+    @GetMapping("/buscar-dni/ventana")
+    public VentanaUsuarios buscarUsuariosPorDniPorVentana(@RequestParam String dni,
+            @RequestParam(required = false) String despuesDe,
+            @RequestParam(defaultValue = "50") int tamanio,
+            @RequestParam(defaultValue = "false") boolean total) {
+        return userService.ventanaPorDni(dni, despuesDe, Math.min(tamanio, MAXIMO_VENTANA), total);
+    }
 }
\ No newline at end of file
@@ -1,9 +1,22 @@
 package edu.utn.frsf.isi.dan.user.dao;
 
 import edu.utn.frsf.isi.dan.user.model.Huesped;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface HuespedRepository extends JpaRepository<Huesped, Long> {
-}
\ No newline at end of file
+
+    /** Detalle del huésped con sus tarjetas y el banco de cada una en una sola consulta. */
+    @EntityGraph(attributePaths = { "tarjetaCredito", "tarjetaCredito.banco" })
+    Optional<Huesped> findConTarjetasById(Long id);
+
+    /** DNI del huésped sin cargar la entidad: confirma que existe y da la clave de la cache por DNI. */
+    @Query("select h.dni from Huesped h where h.id = :id")
+    Optional<String> findDniById(@Param("id") Long id);
+}
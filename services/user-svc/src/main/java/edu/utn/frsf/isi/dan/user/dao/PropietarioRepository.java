@@ -1,9 +1,16 @@
 package edu.utn.frsf.isi.dan.user.dao;
 
 import edu.utn.frsf.isi.dan.user.model.Propietario;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface PropietarioRepository extends JpaRepository<Propietario, Long> {
-}
\ No newline at end of file
+
+    /** Detalle del propietario con su cuenta bancaria y el banco en una sola consulta. */
+    @EntityGraph(attributePaths = { "cuentaBancaria", "cuentaBancaria.banco" })
+    Optional<Propietario> findConCuentaById(Long id);
+}
@@ -2,8 +2,43 @@ package edu.utn.frsf.isi.dan.user.dao;
 
 import edu.utn.frsf.isi.dan.user.model.TarjetaCredito;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+
+import java.util.Optional;
+
 @Repository
-public interface TarjetaCreditoRepository extends JpaRepository<TarjetaCredito, Long> {
-}
\ No newline at end of file
+public interface TarjetaCreditoRepository extends JpaRepository<TarjetaCredito, Integer> {
+
+    boolean existsByIdAndHuespedId(Integer id, Long huespedId);
+
+    /** Bloquea la tarjeta del huésped (SELECT ... FOR UPDATE) para que no se borre mientras pasa a ser la principal. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.id from TarjetaCredito t where t.id = :id and t.huesped.id = :huespedId")
+    Optional<Integer> bloquearDelHuesped(@Param("id") Integer id, @Param("huespedId") Long huespedId);
+
+    /**
+     * Deja como principal solo la tarjeta indicada en un único UPDATE. Se actualiza primero la principal
+     * actual para que el índice único sobre <code>principal_usuario_id</code>, que MySQL verifica fila por
+     * fila, nunca vea dos principales a la vez.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = "update tarjetas_credito set es_principal = (id = :tarjetaId) where usuario_id = :huespedId "
+            + "order by es_principal desc", nativeQuery = true)
+    int marcarPrincipal(@Param("huespedId") Long huespedId, @Param("tarjetaId") Integer tarjetaId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update TarjetaCredito t set t.esPrincipal = false where t.huesped.id = :huespedId and t.esPrincipal = true")
+    int desmarcarPrincipal(@Param("huespedId") Long huespedId);
+
+    /** Borra la tarjeta solo si es del huésped y no es la principal; devuelve las filas borradas. */
+    @Modifying(clearAutomatically = true)
+    @Query("delete from TarjetaCredito t where t.id = :id and t.huesped.id = :huespedId "
+            + "and (t.esPrincipal = false or t.esPrincipal is null)")
+    int borrarNoPrincipal(@Param("id") Integer id, @Param("huespedId") Long huespedId);
+}
@@ -1,15 +1,64 @@
 package edu.utn.frsf.isi.dan.user.dao;
 
+import edu.utn.frsf.isi.dan.user.dto.UsuarioResumen;
 import edu.utn.frsf.isi.dan.user.model.Usuario;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
-    Page<Usuario> findByNombreContainingIgnoreCase(String nombre, Pageable pageable);
-    Page<Usuario> findByDniContaining(String dni, Pageable pageable);
+    /**
+     * Los listados devuelven {@link UsuarioResumen}: Spring Data arma un <code>select new</code> con las columnas
+     * de <code>usuarios</code>, sin instanciar entidades ni disparar la carga de tarjetas o cuentas por fila.
+     */
+    Page<UsuarioResumen> findResumenByNombreContainingIgnoreCase(String nombre, Pageable pageable);
+    /** <code>LIKE 'x%'</code>: se resuelve como rango sobre el índice único <code>uk_usuarios_dni</code>. */
+    Page<UsuarioResumen> findResumenByDniStartingWith(String dni, Pageable pageable);
+    List<UsuarioResumen> findResumenByIdIn(Collection<Long> ids);
+    List<UsuarioResumen> findResumenByDniIn(Collection<String> dnis);
+    List<UsuarioResumen> findResumenByIdInOrDniIn(Collection<Long> ids, Collection<String> dnis);
     Usuario findByDni(String dni);
-}
\ No newline at end of file
+    boolean existsByDni(String dni);
+    /** Usa <code>idx_usuarios_email</code>; solo se llama cuando el filtro de unicidad no descarta el email. */
+    boolean existsByEmail(String email);
+
+    /** Página sin la consulta COUNT que agrega {@link #findAll(Pageable)}. */
+    List<UsuarioResumen> findResumenBy(Pageable pageable);
+
+    /** Ventanas por keyset: <code>id &gt; ?</code> recorre la clave primaria desde el cursor, sin OFFSET ni COUNT. */
+    List<UsuarioResumen> findResumenByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    List<UsuarioResumen> findResumenByIdGreaterThanAndNombreContainingIgnoreCaseOrderByIdAsc(Long id, String nombre, Limit limit);
+    /** Rango sobre <code>uk_usuarios_dni</code> a partir del último DNI devuelto. */
+    List<UsuarioResumen> findResumenByDniStartingWithAndDniGreaterThanOrderByDniAsc(String prefijo, String dni, Limit limit);
+
+    /** DNI y emails de la lista que ya existen: una consulta por lote de importación en lugar de una por fila. */
+    @Query("select u.dni from Usuario u where u.dni in :dnis")
+    Set<String> findDnisExistentes(@Param("dnis") Collection<String> dnis);
+
+    @Query("select u.email from Usuario u where u.email in :emails")
+    Set<String> findEmailsExistentes(@Param("emails") Collection<String> emails);
+
+    long countByNombreContainingIgnoreCase(String nombre);
+    long countByDniStartingWith(String prefijo);
+
+    /** Búsqueda por el índice FULLTEXT (parser ngram) de <code>usuarios.nombre</code>, ordenada por relevancia. */
+    @Query(value = "select cast(id as signed) from usuarios where match(nombre) against (:consulta in boolean mode) "
+            + "order by match(nombre) against (:consulta in boolean mode) desc, id limit :limite offset :desde",
+            nativeQuery = true)
+    List<Long> buscarIdsPorNombreFullText(@Param("consulta") String consulta, @Param("limite") int limite,
+            @Param("desde") long desde);
+
+    @Query(value = "select count(*) from usuarios where match(nombre) against (:consulta in boolean mode)",
+            nativeQuery = true)
+    long contarPorNombreFullText(@Param("consulta") String consulta);
+}
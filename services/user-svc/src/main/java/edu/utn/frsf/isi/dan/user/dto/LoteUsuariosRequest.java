@@ -0,0 +1,10 @@
+package edu.utn.frsf.isi.dan.user.dto;
+
+import java.util.List;
+
+/** Ids y/o DNI a resolver en una sola consulta; cualquiera de las dos listas puede omitirse. */
+public record LoteUsuariosRequest(
+    List<Long> ids,
+    List<String> dnis
+) {
+}
@@ -0,0 +1,20 @@
+package edu.utn.frsf.isi.dan.user.dto;
+
+import java.util.List;
+
+/**
+ * Resumen de una importación masiva. <code>errores</code> trae el detalle de las primeras filas rechazadas
+ * (hasta <code>usuarios.importacion.maximo-errores</code>); <code>conError</code> las cuenta todas.
+ */
+public record ResultadoImportacion(
+    int procesadas,
+    int creadas,
+    int conError,
+    List<ErrorFila> errores,
+    long duracionMs,
+    double filasPorSegundo
+) {
+
+    public record ErrorFila(int linea, String mensaje) {
+    }
+}
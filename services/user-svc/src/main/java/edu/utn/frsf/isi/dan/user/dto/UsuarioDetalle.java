@@ -0,0 +1,100 @@
+package edu.utn.frsf.isi.dan.user.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import edu.utn.frsf.isi.dan.user.model.Banco;
+import edu.utn.frsf.isi.dan.user.model.CuentaBancaria;
+import edu.utn.frsf.isi.dan.user.model.Huesped;
+import edu.utn.frsf.isi.dan.user.model.Propietario;
+import edu.utn.frsf.isi.dan.user.model.TarjetaCredito;
+import edu.utn.frsf.isi.dan.user.model.Usuario;
+
+/**
+ * Copia inmutable de un usuario con sus relaciones, armada dentro de la transacción de lectura. Es lo que
+ * guarda el cache de <code>GET /users/dni/{dni}</code>: no retiene entidades desprendidas ni colecciones de
+ * Hibernate, y se serializa con los mismos campos que {@link Huesped} o {@link Propietario}.
+ */
+public sealed interface UsuarioDetalle permits UsuarioDetalle.HuespedDetalle, UsuarioDetalle.PropietarioDetalle {
+
+    Long id();
+
+    String dni();
+
+    static UsuarioDetalle de(Usuario usuario) {
+        if (usuario instanceof Huesped huesped) {
+            return new HuespedDetalle(huesped.getId(), huesped.getNombre(), huesped.getEmail(), huesped.getTelefono(),
+                    huesped.getDni(), huesped.getTipo(), huesped.getFechaNacimiento(),
+                    huesped.getTarjetaCredito() == null ? null
+                            : huesped.getTarjetaCredito().stream().map(TarjetaDetalle::de).toList());
+        }
+        if (usuario instanceof Propietario propietario) {
+            return new PropietarioDetalle(propietario.getId(), propietario.getNombre(), propietario.getEmail(),
+                    propietario.getTelefono(), propietario.getDni(), propietario.getTipo(),
+                    CuentaDetalle.de(propietario.getCuentaBancaria()), propietario.getIdHotel());
+        }
+        return null;
+    }
+
+    record HuespedDetalle(
+        Long id,
+        String nombre,
+        String email,
+        String telefono,
+        String dni,
+        String tipo,
+        LocalDate fechaNacimiento,
+        List<TarjetaDetalle> tarjetaCredito
+    ) implements UsuarioDetalle {
+    }
+
+    record PropietarioDetalle(
+        Long id,
+        String nombre,
+        String email,
+        String telefono,
+        String dni,
+        String tipo,
+        CuentaDetalle cuentaBancaria,
+        Long idHotel
+    ) implements UsuarioDetalle {
+    }
+
+    record TarjetaDetalle(
+        Integer id,
+        String numero,
+        String nombreTitular,
+        String fechaVencimiento,
+        String cvc,
+        Boolean esPrincipal,
+        BancoDetalle banco
+    ) {
+        static TarjetaDetalle de(TarjetaCredito tarjeta) {
+            return new TarjetaDetalle(tarjeta.getId(), tarjeta.getNumero(), tarjeta.getNombreTitular(),
+                    tarjeta.getFechaVencimiento(), tarjeta.getCvc(), tarjeta.getEsPrincipal(), BancoDetalle.de(tarjeta.getBanco()));
+        }
+    }
+
+    record CuentaDetalle(
+        Integer id,
+        String numeroCuenta,
+        String cbu,
+        String alias,
+        BancoDetalle banco
+    ) {
+        static CuentaDetalle de(CuentaBancaria cuenta) {
+            return cuenta == null ? null : new CuentaDetalle(cuenta.getId(), cuenta.getNumeroCuenta(), cuenta.getCbu(),
+                    cuenta.getAlias(), BancoDetalle.de(cuenta.getBanco()));
+        }
+    }
+
+    record BancoDetalle(
+        Integer id,
+        String nombre,
+        String cbu
+    ) {
+        static BancoDetalle de(Banco banco) {
+            return banco == null ? null : new BancoDetalle(banco.getId(), banco.getNombre(), banco.getCbu());
+        }
+    }
+}
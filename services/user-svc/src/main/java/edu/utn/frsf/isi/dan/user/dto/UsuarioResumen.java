@@ -0,0 +1,16 @@
+package edu.utn.frsf.isi.dan.user.dto;
+
+/**
+ * Proyección de listados y búsquedas: solo columnas de <code>usuarios</code>, sin tarjetas ni cuenta bancaria.
+ * Los repositorios la arman con una expresión de constructor, así que una página es una única consulta.
+ * El detalle con relaciones se obtiene en <code>GET /users/{id}</code>.
+ */
+public record UsuarioResumen(
+    Long id,
+    String tipo,
+    String nombre,
+    String email,
+    String telefono,
+    String dni
+) {
+}
@@ -0,0 +1,19 @@
+package edu.utn.frsf.isi.dan.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Página por keyset: <code>siguiente</code> es el cursor a pasar como <code>despuesDe</code> para pedir la
+ * próxima ventana (el último id o DNI devuelto). No incluye el total salvo que se pida, y en ese caso es
+ * aproximado (sale del índice en memoria o de un conteo cacheado).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record VentanaUsuarios(
+    List<UsuarioResumen> contenido,
+    String siguiente,
+    boolean hayMas,
+    Long totalAproximado
+) {
+}
@@ -2,6 +2,8 @@ package edu.utn.frsf.isi.dan.user.model;
 
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.*;
 
 @Entity
@@ -24,6 +26,7 @@ public class CuentaBancaria {
     private Banco banco;
 
     @OneToOne(mappedBy = "cuentaBancaria")
+    @JsonIgnore
     private Propietario propietario;
 
 }
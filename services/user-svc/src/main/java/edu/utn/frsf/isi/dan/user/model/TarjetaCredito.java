@@ -20,7 +20,9 @@ import jakarta.persistence.*;
 public class TarjetaCredito {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "tarjetas_credito_gen")
+    @TableGenerator(name = "tarjetas_credito_gen", table = "secuencias", pkColumnName = "nombre", valueColumnName = "valor",
+            pkColumnValue = "tarjetas_credito", allocationSize = 50)
     private Integer id;
 
     @Column(name = "numero_tarjeta")
@@ -1,6 +1,9 @@
 package edu.utn.frsf.isi.dan.user.model;
 
 import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import jakarta.persistence.*;
@@ -13,12 +16,23 @@ import jakarta.persistence.*;
 @NoArgsConstructor
 public abstract class Usuario {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "usuarios_gen")
+    @TableGenerator(name = "usuarios_gen", table = "secuencias", pkColumnName = "nombre", valueColumnName = "valor",
+            pkColumnValue = "usuarios", allocationSize = 50)
     protected Long id;
 
     protected String nombre;
+    @Column(unique = true)
     protected String email;
     protected String telefono;
+    @Column(unique = true)
     protected String dni;
+    /** Discriminador de solo lectura, para poder proyectarlo en consultas (HUESPED o PROPIETARIO). */
+    @Column(insertable = false, updatable = false)
+    protected String tipo;
+    /** Versión optimista: sube en cada UPDATE y ordena los {@code UsuarioEvent} que consume reservas-svc. */
+    @Version
+    @JsonIgnore
+    protected Long version;
     
 }
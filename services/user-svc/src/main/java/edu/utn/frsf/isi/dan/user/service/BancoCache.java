@@ -0,0 +1,118 @@
+package edu.utn.frsf.isi.dan.user.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.utn.frsf.isi.dan.user.dao.BancoRepository;
+import edu.utn.frsf.isi.dan.user.model.Banco;
+import lombok.extern.log4j.Log4j2;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Copia en memoria de la tabla <code>bancos</code>, que casi no cambia y se consulta en cada alta de usuario.
+ *
+ * <p>Cada carga arma un snapshot inmutable (mapa por id, lista y el JSON de <code>GET /bancos</code> ya
+ * serializado) que se reemplaza de forma atómica: los lectores nunca bloquean ni ven un estado intermedio.
+ * {@link edu.utn.frsf.isi.dan.user.controller.BancoController} recarga después de cada escritura; los cambios
+ * hechos por otra instancia se toman al vencer <code>usuarios.bancos.ttl</code>. Los {@link Banco} del
+ * snapshot son compartidos y no deben modificarse.</p>
+ */
+@Component
+@Log4j2
+public class BancoCache {
+
+    @Autowired
+    private BancoRepository bancoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${usuarios.bancos.ttl:5m}")
+    private Duration ttl = Duration.ofMinutes(5);
+
+    private record Snapshot(Map<Integer, Banco> porId, List<Banco> lista, byte[] json, long cargadoEn) {
+    }
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicBoolean recargando = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void precargar() {
+        try {
+            recargar();
+        } catch (RuntimeException e) {
+            // La base puede no estar lista todavía; se carga en el primer uso
+            log.warn("No se pudo precargar la cache de bancos: {}", e.getMessage());
+        }
+    }
+
+    /** Banco con ese id, o <code>null</code> si no existe. */
+    public Banco obtener(Integer id) {
+        return id == null ? null : actual().porId().get(id);
+    }
+
+    public Map<Integer, Banco> mapa() {
+        return actual().porId();
+    }
+
+    public List<Banco> listar() {
+        return actual().lista();
+    }
+
+    /** Respuesta de <code>GET /bancos</code> ya serializada. */
+    public byte[] json() {
+        return actual().json();
+    }
+
+    /** Vuelve a leer la tabla y publica el snapshot nuevo. */
+    public void recargar() {
+        List<Banco> bancos = bancoRepository.findAll().stream()
+                .map(b -> Banco.builder().id(b.getId()).nombre(b.getNombre()).cbu(b.getCbu()).build())
+                .toList();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(bancos);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la lista de bancos", e);
+        }
+        Map<Integer, Banco> porId = bancos.stream().collect(Collectors.toUnmodifiableMap(Banco::getId, Function.identity()));
+        snapshot.set(new Snapshot(porId, bancos, json, System.nanoTime()));
+        log.debug("Cache de bancos recargada: {} bancos", bancos.size());
+    }
+
+    private Snapshot actual() {
+        Snapshot actual = snapshot.get();
+        if (actual == null) {
+            synchronized (this) {
+                if (snapshot.get() == null) {
+                    recargar();
+                }
+            }
+            return snapshot.get();
+        }
+        // Vencido: recarga un solo hilo y el resto sigue usando el snapshot anterior
+        if (System.nanoTime() - actual.cargadoEn() > ttl.toNanos() && recargando.compareAndSet(false, true)) {
+            try {
+                recargar();
+                return snapshot.get();
+            } catch (RuntimeException e) {
+                log.warn("No se pudo recargar la cache de bancos, se sigue con la anterior: {}", e.getMessage());
+            } finally {
+                recargando.set(false);
+            }
+        }
+        return actual;
+    }
+}
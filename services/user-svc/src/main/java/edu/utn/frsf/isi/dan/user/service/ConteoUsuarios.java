@@ -0,0 +1,29 @@
+package edu.utn.frsf.isi.dan.user.service;
+
+import edu.utn.frsf.isi.dan.user.config.CacheConfig;
+import edu.utn.frsf.isi.dan.user.dao.UsuarioRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Conteos cacheados para el total aproximado de las ventanas de usuarios. Quedan desactualizados hasta que
+ * expira la entrada (<code>spring.cache.caffeine.spec</code>); por eso solo se usan cuando el cliente pide el total.
+ */
+@Component
+public class ConteoUsuarios {
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Cacheable(value = CacheConfig.CONTEO_USUARIOS, key = "'nombre:' + #nombre")
+    public long contarPorNombre(String nombre) {
+        return nombre.isEmpty() ? usuarioRepository.count() : usuarioRepository.countByNombreContainingIgnoreCase(nombre);
+    }
+
+    @Cacheable(value = CacheConfig.CONTEO_USUARIOS, key = "'dni:' + #prefijo")
+    public long contarPorPrefijoDni(String prefijo) {
+        return usuarioRepository.countByDniStartingWith(prefijo);
+    }
+}
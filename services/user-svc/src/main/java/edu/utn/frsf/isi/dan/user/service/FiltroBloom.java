@@ -0,0 +1,116 @@
+package edu.utn.frsf.isi.dan.user.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de Bloom sobre cadenas, seguro para escrituras concurrentes.
+ *
+ * <p>Los bits viven en un <code>AtomicLongArray</code> y las <code>k</code> posiciones se derivan de un
+ * único hash de 64 bits por doble hashing (<code>h1 + i * h2</code>). No admite bajas: un valor borrado
+ * sigue dando "puede existir" hasta que el filtro se reconstruye.</p>
+ */
+public final class FiltroBloom {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray palabras;
+    private final long bits;
+    private final int hashes;
+    private final long capacidad;
+    private final LongAdder elementos = new LongAdder();
+
+    /**
+     * Dimensiona el filtro para <code>capacidad</code> elementos con la probabilidad de falso positivo
+     * <code>fpp</code>: <code>m = -n ln p / (ln 2)^2</code> bits y <code>k = m / n ln 2</code> hashes.
+     */
+    public FiltroBloom(long capacidad, double fpp) {
+        if (capacidad <= 0 || fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("Capacidad o probabilidad de falso positivo inválida");
+        }
+        long m = (long) Math.ceil(-capacidad * Math.log(fpp) / (LN2 * LN2));
+        int cantidadPalabras = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (m + 63) / 64));
+        this.palabras = new AtomicLongArray(cantidadPalabras);
+        this.bits = (long) cantidadPalabras * 64;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / capacidad * LN2));
+        this.capacidad = capacidad;
+    }
+
+    /** Agrega el valor; devuelve <code>true</code> si cambió algún bit (el valor no estaba). */
+    public boolean agregar(String valor) {
+        long hash = hash(valor);
+        long h1 = mezclar(hash);
+        long h2 = mezclar(hash ^ 0xC2B2AE3D27D4EB4FL) | 1;
+        boolean cambio = false;
+        for (int i = 0; i < hashes; i++) {
+            long posicion = Long.remainderUnsigned(h1 + i * h2, bits);
+            long mascara = 1L << posicion;
+            long anterior = palabras.getAndAccumulate((int) (posicion >>> 6), mascara, (a, b) -> a | b);
+            cambio |= (anterior & mascara) == 0;
+        }
+        if (cambio) {
+            elementos.increment();
+        }
+        return cambio;
+    }
+
+    /** <code>false</code> garantiza que el valor nunca se agregó; <code>true</code> solo indica que puede estar. */
+    public boolean podriaContener(String valor) {
+        long hash = hash(valor);
+        long h1 = mezclar(hash);
+        long h2 = mezclar(hash ^ 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long posicion = Long.remainderUnsigned(h1 + i * h2, bits);
+            if ((palabras.get((int) (posicion >>> 6)) & (1L << posicion)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getBits() {
+        return bits;
+    }
+
+    public int getHashes() {
+        return hashes;
+    }
+
+    public long getCapacidad() {
+        return capacidad;
+    }
+
+    /** Elementos distintos agregados (aproximado: un valor cuyos bits ya estaban encendidos no se cuenta). */
+    public long getElementos() {
+        return elementos.sum();
+    }
+
+    /** Probabilidad de falso positivo estimada a partir de la fracción de bits encendidos: <code>(x / m)^k</code>. */
+    public double fppEstimada() {
+        long encendidos = 0;
+        for (int i = 0; i < palabras.length(); i++) {
+            encendidos += Long.bitCount(palabras.get(i));
+        }
+        return Math.pow((double) encendidos / bits, hashes);
+    }
+
+    /** FNV-1a de 64 bits sobre los chars del valor. */
+    private static long hash(String valor) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            h ^= valor.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return h;
+    }
+
+    /** Finalizador de MurmurHash3: reparte los bits del FNV para que <code>h1</code> y <code>h2</code> sean independientes. */
+    private static long mezclar(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
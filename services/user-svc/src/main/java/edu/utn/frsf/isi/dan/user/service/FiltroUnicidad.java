@@ -0,0 +1,195 @@
+package edu.utn.frsf.isi.dan.user.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Filtros de Bloom sobre los DNI y emails existentes, para descartar sin ir a MySQL las altas que
+ * seguro no están duplicadas. Solo los "puede existir" se confirman en la base.
+ *
+ * <p>Se construye al arrancar leyendo la tabla en streaming, dimensionado con margen sobre la cantidad
+ * actual de usuarios, y se mantiene desde los servicios en cada alta o modificación. Las bajas no se
+ * quitan (un Bloom no lo permite): solo suman falsos positivos hasta la próxima reconstrucción, que se
+ * dispara sola cuando los elementos superan la capacidad. Mientras no está listo, todo "puede existir".</p>
+ */
+@Component
+@Log4j2
+public class FiltroUnicidad {
+
+    private static final long CAPACIDAD_MINIMA = 100_000;
+    private static final int FACTOR_CRECIMIENTO = 2;
+    private static final int REINTENTOS = 30;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${usuarios.unicidad.fpp:0.01}")
+    private double fpp = 0.01;
+
+    private record Filtros(FiltroBloom dni, FiltroBloom email) {
+    }
+
+    private volatile Filtros filtros;
+    /** Arranca en true: las altas anteriores a la primera construcción también se encolan. */
+    private volatile boolean construyendo = true;
+    /**
+     * Altas desde que se decide construir hasta publicar el filtro nuevo: se vuelven a agregar después del
+     * reemplazo, porque un alta confirmada después de que la lectura tomó su snapshot no aparece en ella.
+     */
+    private final Queue<String[]> pendientes = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean enCurso = new AtomicBoolean();
+    private Timer tiempoReconstruccion;
+
+    @PostConstruct
+    void registrarMetricas() {
+        registrarGauges("dni", Filtros::dni);
+        registrarGauges("email", Filtros::email);
+        tiempoReconstruccion = Timer.builder("usuarios.unicidad.bloom.reconstruccion")
+                .description("Duración de la construcción de los filtros de unicidad")
+                .register(meterRegistry);
+    }
+
+    private void registrarGauges(String campo, Function<Filtros, FiltroBloom> filtro) {
+        Gauge.builder("usuarios.unicidad.bloom.bits", () -> filtros == null ? 0 : filtro.apply(filtros).getBits())
+                .tag("campo", campo).baseUnit("bits").register(meterRegistry);
+        Gauge.builder("usuarios.unicidad.bloom.elementos", () -> filtros == null ? 0 : filtro.apply(filtros).getElementos())
+                .tag("campo", campo).register(meterRegistry);
+        Gauge.builder("usuarios.unicidad.bloom.fpp", () -> filtros == null ? 1 : filtro.apply(filtros).fppEstimada())
+                .tag("campo", campo).description("Probabilidad de falso positivo estimada").register(meterRegistry);
+    }
+
+    public boolean isListo() {
+        return filtros != null;
+    }
+
+    public boolean dniPodriaExistir(String dni) {
+        Filtros actuales = filtros;
+        return actuales == null || actuales.dni().podriaContener(normalizarDni(dni));
+    }
+
+    public boolean emailPodriaExistir(String email) {
+        Filtros actuales = filtros;
+        return actuales == null || actuales.email().podriaContener(normalizarEmail(email));
+    }
+
+    /** Registra los valores de un usuario creado o modificado. */
+    public void registrar(String dni, String email) {
+        if (construyendo) {
+            pendientes.add(new String[] { dni, email });
+        }
+        Filtros actuales = filtros;
+        if (actuales != null) {
+            agregar(actuales, dni, email);
+            if (actuales.dni().getElementos() > actuales.dni().getCapacidad()) {
+                reconstruirEnSegundoPlano();
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void construirAlIniciar() {
+        reconstruirEnSegundoPlano();
+    }
+
+    private void reconstruirEnSegundoPlano() {
+        if (enCurso.compareAndSet(false, true)) {
+            // Antes de arrancar el hilo: las altas desde acá ya se encolan aunque la lectura no haya empezado
+            construyendo = true;
+            Thread.ofVirtual().name("filtro-unicidad").start(() -> {
+                try {
+                    construir();
+                } finally {
+                    enCurso.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Cuenta los usuarios para dimensionar, lee <code>dni, email</code> en streaming (fetch size de MySQL
+     * <code>Integer.MIN_VALUE</code>) y publica los filtros nuevos. Reintenta si la base todavía no está disponible.
+     * Las altas encoladas desde que se marcó la construcción se agregan siempre después del reemplazo.
+     */
+    void construir() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        construyendo = true;
+        try {
+            for (int intento = 1; intento <= REINTENTOS; intento++) {
+                long inicio = System.nanoTime();
+                try {
+                    Long cantidad = jdbcTemplate.queryForObject("select count(*) from usuarios", Long.class);
+                    long capacidad = Math.max(CAPACIDAD_MINIMA, (cantidad == null ? 0 : cantidad) * FACTOR_CRECIMIENTO);
+                    Filtros nuevos = new Filtros(new FiltroBloom(capacidad, fpp), new FiltroBloom(capacidad, fpp));
+                    jdbcTemplate.query("select dni, email from usuarios",
+                            (RowCallbackHandler) rs -> agregar(nuevos, rs.getString("dni"), rs.getString("email")));
+                    // Se publica antes de vaciar la cola: lo que llegue después ya entra directo al filtro nuevo
+                    filtros = nuevos;
+                    construyendo = false;
+                    for (String[] alta; (alta = pendientes.poll()) != null; ) {
+                        agregar(nuevos, alta[0], alta[1]);
+                    }
+                    long nanos = System.nanoTime() - inicio;
+                    tiempoReconstruccion.record(Duration.ofNanos(nanos));
+                    log.info("Filtros de unicidad construidos: {} usuarios, {} bits y {} hashes por filtro en {} ms",
+                            cantidad, nuevos.dni().getBits(), nuevos.dni().getHashes(), nanos / 1_000_000);
+                    return;
+                } catch (RuntimeException e) {
+                    log.warn("No se pudieron construir los filtros de unicidad (intento {}): {}", intento, e.getMessage());
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        } finally {
+            if (construyendo) {
+                // Sin filtro nuevo la cola no tiene destino: las altas ya están en el filtro vigente, si lo hay
+                construyendo = false;
+                pendientes.clear();
+            }
+        }
+    }
+
+    private static void agregar(Filtros destino, String dni, String email) {
+        if (dni != null) {
+            destino.dni().agregar(normalizarDni(dni));
+        }
+        if (email != null) {
+            destino.email().agregar(normalizarEmail(email));
+        }
+    }
+
+    static String normalizarDni(String dni) {
+        return dni.strip();
+    }
+
+    /** La columna usa una collation que no distingue mayúsculas, así que el filtro tampoco. */
+    static String normalizarEmail(String email) {
+        return email.strip().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,81 +1,182 @@
 package edu.utn.frsf.isi.dan.user.service;
 
+import edu.utn.frsf.isi.dan.user.config.CacheConfig;
 import edu.utn.frsf.isi.dan.user.dao.HuespedRepository;
+import edu.utn.frsf.isi.dan.user.dao.TarjetaCreditoRepository;
+import edu.utn.frsf.isi.dan.user.dao.UsuarioRepository;
+import edu.utn.frsf.isi.dan.user.model.Banco;
 import edu.utn.frsf.isi.dan.user.model.Huesped;
 import edu.utn.frsf.isi.dan.user.model.TarjetaCredito;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.Optional;
+import java.util.Objects;
 
 @Service
 public class HuespedService {
     @Autowired
     private HuespedRepository repository;
 
+    @Autowired
+    private TarjetaCreditoRepository tarjetaCreditoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private BancoCache bancoCache;
+
+    @Autowired
+    private IndiceTrigramas indiceTrigramas;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private FiltroUnicidad filtroUnicidad;
+
+    @Autowired
+    private UsuarioEventPublisher usuarioEventPublisher;
+
+    /**
+     * Actualiza los datos personales. Un DNI o email distinto al actual pasa por el mismo control de
+     * unicidad que las altas (filtro de Bloom y, si puede existir, <code>exists</code> en la base).
+     * El flush asigna la nueva <code>@Version</code>, que viaja en el evento publicado al confirmar.
+     */
+    @Transactional
     public Huesped actualizarDatosHuesped(Long huespedId, Huesped datosActualizados) {
         Huesped huesped = repository.findById(huespedId)
                 .orElseThrow(() -> new IllegalArgumentException("Huésped no encontrado"));
+        validarUnicidad(huesped, datosActualizados.getDni(), datosActualizados.getEmail());
+        String dniAnterior = huesped.getDni();
+        boolean cambioCopiado = !Objects.equals(huesped.getNombre(), datosActualizados.getNombre())
+                || !Objects.equals(huesped.getEmail(), datosActualizados.getEmail());
         huesped.setNombre(datosActualizados.getNombre());
         huesped.setEmail(datosActualizados.getEmail());
         huesped.setTelefono(datosActualizados.getTelefono());
         huesped.setDni(datosActualizados.getDni());
         huesped.setFechaNacimiento(datosActualizados.getFechaNacimiento());
-        repository.save(huesped);
+        try {
+            repository.saveAndFlush(huesped);
+        } catch (DataIntegrityViolationException e) {
+            // Otra operación tomó el DNI o el email entre la validación y el flush
+            throw new IllegalArgumentException(
+                    "Ya existe un usuario con DNI: " + huesped.getDni() + " o email: " + huesped.getEmail(), e);
+        }
+        indiceTrigramas.actualizar(huesped.getId(), huesped.getNombre());
+        filtroUnicidad.registrar(huesped.getDni(), huesped.getEmail());
+        evictarPorDni(dniAnterior);
+        evictarPorDni(huesped.getDni());
+        if (cambioCopiado) {
+            // reservas-svc guarda nombre y email del huésped en cada reserva
+            usuarioEventPublisher.publicarCambio(huesped);
+        }
         return huesped;
     }
 
     public void borrarHuesped(Long id) {
-        if (!repository.existsById(id)) {
-            throw new IllegalArgumentException("Huésped no encontrado");
-        }
+        Huesped huesped = repository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Huésped no encontrado"));
         repository.deleteById(id);
+        indiceTrigramas.eliminar(id);
+        evictarPorDni(huesped.getDni());
     }
 
+    /**
+     * Inserta la tarjeta sin cargar las demás del huésped. Si es la principal, la anterior se desmarca con un
+     * único UPDATE; el índice único sobre <code>principal_usuario_id</code> rechaza la segunda de dos altas
+     * concurrentes en lugar de dejar dos principales.
+     */
+    @Transactional
     public Huesped agregarTarjetaCredito(Long huespedId, TarjetaCredito nuevaTarjeta) {
-        Huesped huesped = repository.findById(huespedId)
+        String dni = repository.findDniById(huespedId)
                 .orElseThrow(() -> new IllegalArgumentException("Huésped no encontrado"));
-        nuevaTarjeta.setHuesped(huesped);
-
-        if (Boolean.TRUE.equals(nuevaTarjeta.getEsPrincipal())) {
-            for (TarjetaCredito tarjeta : huesped.getTarjetaCredito()) {
-                tarjeta.setEsPrincipal(false);
+        if (nuevaTarjeta.getBanco() != null && nuevaTarjeta.getBanco().getId() != null) {
+            Banco banco = bancoCache.obtener(nuevaTarjeta.getBanco().getId());
+            if (banco == null) {
+                throw new IllegalArgumentException("Banco no encontrado con ID: " + nuevaTarjeta.getBanco().getId());
             }
+            nuevaTarjeta.setBanco(banco);
         }
-        huesped.getTarjetaCredito().add(nuevaTarjeta);
-        repository.save(huesped);
-        return huesped;
+        if (Boolean.TRUE.equals(nuevaTarjeta.getEsPrincipal())) {
+            tarjetaCreditoRepository.desmarcarPrincipal(huespedId);
+        }
+        nuevaTarjeta.setId(null);
+        nuevaTarjeta.setHuesped(repository.getReferenceById(huespedId));
+        try {
+            tarjetaCreditoRepository.saveAndFlush(nuevaTarjeta);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("Otra operación cambió la tarjeta principal del huésped, reintente", e);
+        }
+        evictarPorDni(dni);
+        return repository.findConTarjetasById(huespedId)
+                .orElseThrow(() -> new IllegalArgumentException("Huésped no encontrado"));
     }
 
+    /** Borra la tarjeta con un DELETE por id y huésped; solo se consulta de nuevo para explicar un rechazo. */
+    @Transactional
     public void eliminarTarjetaCredito(Long huespedId, Integer tarjetaId) {
-        Huesped huesped = repository.findById(huespedId)
+        String dni = repository.findDniById(huespedId)
                 .orElseThrow(() -> new IllegalArgumentException("Huésped no encontrado"));
-        TarjetaCredito tarjeta = huesped.getTarjetaCredito()
-                .stream()
-                .filter(t -> t.getId().equals(tarjetaId))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Tarjeta no encontrada"));
-
-        if (Boolean.TRUE.equals(tarjeta.getEsPrincipal())) {
-            throw new IllegalStateException("No se puede eliminar la tarjeta principal");
+        if (tarjetaCreditoRepository.borrarNoPrincipal(tarjetaId, huespedId) == 0) {
+            if (tarjetaCreditoRepository.existsByIdAndHuespedId(tarjetaId, huespedId)) {
+                throw new IllegalStateException("No se puede eliminar la tarjeta principal");
+            }
+            throw new IllegalArgumentException("Tarjeta no encontrada");
         }
-        huesped.getTarjetaCredito().remove(tarjeta);
-        repository.save(huesped);
+        evictarPorDni(dni);
     }
 
+    /**
+     * Bloquea la tarjeta elegida y reescribe <code>es_principal</code> de todas las del huésped en un solo
+     * UPDATE, sin leerlas: el costo no depende de cuántas tenga y dos cambios concurrentes se serializan.
+     */
+    @Transactional
     public void cambiarTarjetaPrincipal(Long huespedId, Integer tarjetaId) {
-        Huesped huesped = repository.findById(huespedId)
+        String dni = repository.findDniById(huespedId)
                 .orElseThrow(() -> new IllegalArgumentException("Huésped no encontrado"));
-
-        TarjetaCredito tarjetaPrincipal = huesped.getTarjetaCredito()
-                .stream()
-                .filter(t -> t.getId().equals(tarjetaId))
-                .findFirst()
+        tarjetaCreditoRepository.bloquearDelHuesped(tarjetaId, huespedId)
                 .orElseThrow(() -> new IllegalArgumentException("Tarjeta no encontrada"));
+        tarjetaCreditoRepository.marcarPrincipal(huespedId, tarjetaId);
+        evictarPorDni(dni);
+    }
 
-        for (TarjetaCredito tarjeta : huesped.getTarjetaCredito()) {
-            tarjeta.setEsPrincipal(tarjeta.getId().equals(tarjetaId));
+    /** El email se compara sin distinguir mayúsculas, igual que la collation de la columna. */
+    private void validarUnicidad(Huesped actual, String dni, String email) {
+        if (dni != null && !dni.equals(actual.getDni())
+                && filtroUnicidad.dniPodriaExistir(dni) && usuarioRepository.existsByDni(dni)) {
+            throw new IllegalArgumentException("Ya existe un usuario con DNI: " + dni);
+        }
+        if (email != null && !email.equalsIgnoreCase(actual.getEmail())
+                && filtroUnicidad.emailPodriaExistir(email) && usuarioRepository.existsByEmail(email)) {
+            throw new IllegalArgumentException("Ya existe un usuario con email: " + email);
+        }
+    }
+
+    /**
+     * Invalida la lectura cacheada de {@link UserService#buscarPorDniExacto(String)}. Dentro de una transacción
+     * se hace al confirmar: antes, una lectura concurrente podría volver a cachear los datos viejos.
+     */
+    private void evictarPorDni(String dni) {
+        Cache cache = cacheManager.getCache(CacheConfig.USUARIO_POR_DNI);
+        if (cache == null || dni == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(dni);
+                }
+            });
+        } else {
+            cache.evict(dni);
         }
-        repository.save(huesped);
     }
 }
\ No newline at end of file
@@ -0,0 +1,262 @@
+package edu.utn.frsf.isi.dan.user.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.utn.frsf.isi.dan.user.dao.UsuarioRepository;
+import edu.utn.frsf.isi.dan.user.dto.HuespedRecord;
+import edu.utn.frsf.isi.dan.user.dto.ResultadoImportacion;
+import edu.utn.frsf.isi.dan.user.model.Banco;
+import edu.utn.frsf.isi.dan.user.model.Huesped;
+import edu.utn.frsf.isi.dan.user.model.TarjetaCredito;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.log4j.Log4j2;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de huéspedes desde NDJSON (un {@link HuespedRecord} por línea) o CSV con las mismas
+ * columnas en el mismo orden.
+ *
+ * <p>El cuerpo se lee en streaming y se procesa por lotes de <code>usuarios.importacion.tamanio-lote</code>
+ * filas, cada uno en su propia transacción, así que la memoria no depende del tamaño del archivo. Los bancos
+ * se resuelven contra {@link BancoCache}, los duplicados de DNI/email se verifican con una consulta por
+ * lote (solo para los valores que el filtro de unicidad no descarta) y los INSERT de usuarios y tarjetas se
+ * envían en lotes JDBC gracias a los ids por bloques de <code>secuencias</code>. Si un lote falla al
+ * confirmarse, se reintenta fila por fila para aislar las que tienen error.</p>
+ */
+@Service
+@Log4j2
+public class ImportacionHuespedesService {
+
+    static final int COLUMNAS_CSV = 11;
+
+    @Autowired
+    private BancoCache bancoCache;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private FiltroUnicidad filtroUnicidad;
+
+    @Autowired
+    private IndiceTrigramas indiceTrigramas;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${usuarios.importacion.tamanio-lote:1000}")
+    private int tamanioLote;
+
+    @Value("${usuarios.importacion.maximo-errores:1000}")
+    private int maximoErrores;
+
+    private record Fila(int linea, Huesped huesped, TarjetaCredito tarjeta) {
+    }
+
+    /** Contadores de una importación en curso. */
+    private final class Progreso {
+        private int procesadas;
+        private int creadas;
+        private int conError;
+        private final List<ResultadoImportacion.ErrorFila> errores = new ArrayList<>();
+
+        void error(int linea, String mensaje) {
+            conError++;
+            if (errores.size() < maximoErrores) {
+                errores.add(new ResultadoImportacion.ErrorFila(linea, mensaje));
+            }
+        }
+    }
+
+    public ResultadoImportacion importar(InputStream cuerpo, boolean csv) throws IOException {
+        long inicio = System.nanoTime();
+        Map<Integer, Banco> bancos = bancoCache.mapa();
+        Progreso progreso = new Progreso();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(cuerpo, StandardCharsets.UTF_8))) {
+            List<Fila> lote = new ArrayList<>(tamanioLote);
+            String linea;
+            int numeroLinea = 0;
+            while ((linea = reader.readLine()) != null) {
+                numeroLinea++;
+                if (linea.isBlank() || (csv && numeroLinea == 1 && linea.strip().toLowerCase(Locale.ROOT).startsWith("nombre"))) {
+                    continue;
+                }
+                progreso.procesadas++;
+                try {
+                    HuespedRecord huesped = csv ? parsearCsv(linea) : objectMapper.readValue(linea, HuespedRecord.class);
+                    lote.add(armarFila(numeroLinea, huesped, bancos));
+                } catch (JsonProcessingException e) {
+                    progreso.error(numeroLinea, "JSON inválido: " + e.getOriginalMessage());
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    progreso.error(numeroLinea, e.getMessage());
+                }
+                if (lote.size() == tamanioLote) {
+                    procesarLote(lote, progreso);
+                    lote.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                procesarLote(lote, progreso);
+            }
+        }
+
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+        double filasPorSegundo = duracionMs == 0 ? progreso.procesadas : progreso.procesadas * 1000.0 / duracionMs;
+        log.info("Importación de huéspedes: {} filas, {} creadas, {} con error en {} ms ({} filas/s)",
+                progreso.procesadas, progreso.creadas, progreso.conError, duracionMs, Math.round(filasPorSegundo));
+        return new ResultadoImportacion(progreso.procesadas, progreso.creadas, progreso.conError,
+                progreso.errores, duracionMs, filasPorSegundo);
+    }
+
+    /** Columnas: nombre,email,telefono,dni,fechaNacimiento,numeroCC,nombreTitular,fechaVencimientoCC,cvcCC,esPrincipalCC,idBanco. */
+    static HuespedRecord parsearCsv(String linea) {
+        String[] c = linea.split(",", -1);
+        if (c.length != COLUMNAS_CSV) {
+            throw new IllegalArgumentException("Se esperaban " + COLUMNAS_CSV + " columnas y hay " + c.length);
+        }
+        for (int i = 0; i < c.length; i++) {
+            c[i] = c[i].strip();
+        }
+        try {
+            return new HuespedRecord(c[0], c[1], c[2], c[3],
+                    c[4].isEmpty() ? null : LocalDate.parse(c[4]),
+                    c[5], c[6], c[7], c[8], Boolean.valueOf(c[9]),
+                    c[10].isEmpty() ? null : Integer.valueOf(c[10]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("idBanco inválido: " + c[10]);
+        }
+    }
+
+    private static Fila armarFila(int linea, HuespedRecord registro, Map<Integer, Banco> bancos) {
+        if (esVacio(registro.nombre()) || esVacio(registro.dni()) || esVacio(registro.email())) {
+            throw new IllegalArgumentException("Nombre, DNI y email son obligatorios");
+        }
+        if (esVacio(registro.numeroCC())) {
+            throw new IllegalArgumentException("El número de tarjeta es obligatorio");
+        }
+        Banco banco = registro.idBanco() == null ? null : bancos.get(registro.idBanco());
+        if (banco == null) {
+            throw new IllegalArgumentException("Banco no encontrado con ID: " + registro.idBanco());
+        }
+        Huesped huesped = registro.toHuesped();
+        huesped.setTarjetaCredito(new ArrayList<>());
+        TarjetaCredito tarjeta = registro.toTarjetaCredito();
+        tarjeta.setHuesped(huesped);
+        tarjeta.setBanco(banco);
+        return new Fila(linea, huesped, tarjeta);
+    }
+
+    private static boolean esVacio(String valor) {
+        return valor == null || valor.isBlank();
+    }
+
+    private void procesarLote(List<Fila> lote, Progreso progreso) {
+        List<Fila> validas = descartarDuplicados(lote, progreso);
+        if (validas.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> persistir(validas));
+            registrar(validas);
+            progreso.creadas += validas.size();
+        } catch (RuntimeException e) {
+            log.warn("Falló un lote de {} huéspedes, se reintenta fila por fila: {}", validas.size(),
+                    NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            for (Fila fila : validas) {
+                // Los ids asignados en el intento fallido no llegaron a la base
+                fila.huesped().setId(null);
+                fila.tarjeta().setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persistir(List.of(fila)));
+                    registrar(List.of(fila));
+                    progreso.creadas++;
+                } catch (RuntimeException ex) {
+                    progreso.error(fila.linea(), NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Quita las filas con DNI o email repetidos dentro del lote o ya existentes. Solo se consultan en la
+     * base los valores que el filtro de unicidad no puede descartar.
+     */
+    private List<Fila> descartarDuplicados(List<Fila> lote, Progreso progreso) {
+        Set<String> dnisAConsultar = new HashSet<>();
+        Set<String> emailsAConsultar = new HashSet<>();
+        for (Fila fila : lote) {
+            if (filtroUnicidad.dniPodriaExistir(fila.huesped().getDni())) {
+                dnisAConsultar.add(fila.huesped().getDni());
+            }
+            if (filtroUnicidad.emailPodriaExistir(fila.huesped().getEmail())) {
+                emailsAConsultar.add(fila.huesped().getEmail());
+            }
+        }
+        Set<String> dnisExistentes = dnisAConsultar.isEmpty() ? Set.of() : usuarioRepository.findDnisExistentes(dnisAConsultar);
+        Set<String> emailsExistentes = emailsAConsultar.isEmpty() ? Set.of()
+                : usuarioRepository.findEmailsExistentes(emailsAConsultar).stream()
+                        .map(FiltroUnicidad::normalizarEmail).collect(Collectors.toSet());
+
+        Set<String> dnisDelLote = new HashSet<>();
+        Set<String> emailsDelLote = new HashSet<>();
+        List<Fila> validas = new ArrayList<>(lote.size());
+        for (Fila fila : lote) {
+            String dni = fila.huesped().getDni();
+            String email = FiltroUnicidad.normalizarEmail(fila.huesped().getEmail());
+            if (dnisExistentes.contains(dni) || !dnisDelLote.add(dni)) {
+                progreso.error(fila.linea(), "Ya existe un usuario con DNI: " + dni);
+            } else if (emailsExistentes.contains(email) || !emailsDelLote.add(email)) {
+                progreso.error(fila.linea(), "Ya existe un usuario con email: " + fila.huesped().getEmail());
+            } else {
+                validas.add(fila);
+            }
+        }
+        return validas;
+    }
+
+    private void persistir(List<Fila> filas) {
+        for (Fila fila : filas) {
+            entityManager.persist(fila.huesped());
+        }
+        for (Fila fila : filas) {
+            entityManager.persist(fila.tarjeta());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void registrar(List<Fila> filas) {
+        for (Fila fila : filas) {
+            indiceTrigramas.actualizar(fila.huesped().getId(), fila.huesped().getNombre());
+            filtroUnicidad.registrar(fila.huesped().getDni(), fila.huesped().getEmail());
+        }
+    }
+}
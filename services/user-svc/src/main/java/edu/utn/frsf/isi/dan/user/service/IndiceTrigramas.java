@@ -0,0 +1,377 @@
+package edu.utn.frsf.isi.dan.user.service;
+
+import lombok.extern.log4j.Log4j2;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido de trigramas sobre <code>usuarios.nombre</code> para la búsqueda por nombre.
+ *
+ * <p>Cada trigrama del nombre normalizado (minúsculas, sin acentos, espacios colapsados) apunta a una
+ * lista ordenada de ids primitivos. Una consulta interseca las listas de sus trigramas empezando por la
+ * más corta, verifica que el nombre contenga la consulta y ordena por relevancia: coincidencia exacta,
+ * prefijo del nombre, prefijo de una palabra y por último cualquier subcadena; a igual relevancia, los
+ * nombres más cortos primero.</p>
+ *
+ * <p>Se construye al arrancar leyendo la tabla en streaming y se mantiene desde los servicios en cada
+ * alta, modificación o baja. Mientras no está listo, o si la consulta tiene menos de tres caracteres,
+ * {@link #buscar} devuelve <code>null</code> y la búsqueda se resuelve en la base.</p>
+ *
+ * <p>Las listas guardan ids como <code>int</code>; si aparece un id fuera de ese rango el índice se
+ * desactiva (con un error en el log) y todas las búsquedas vuelven a la base.</p>
+ */
+@Component
+@Log4j2
+public class IndiceTrigramas {
+
+    static final int LARGO_TRIGRAMA = 3;
+    private static final int TAMANIO_LOTE = 1_000;
+    private static final int REINTENTOS = 30;
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+
+    @Autowired
+    private DataSource dataSource;
+
+    /** Resultado paginado: ids en orden de relevancia y total de coincidencias. */
+    public record Resultado(List<Long> ids, long total) {
+    }
+
+    /** Lista ordenada de ids sin boxing. */
+    static final class Postings {
+        private int[] ids = new int[4];
+        private int tamanio;
+
+        void agregar(int id) {
+            if (tamanio > 0 && ids[tamanio - 1] < id) {
+                asegurarCapacidad();
+                ids[tamanio++] = id;
+                return;
+            }
+            int pos = Arrays.binarySearch(ids, 0, tamanio, id);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+            asegurarCapacidad();
+            System.arraycopy(ids, pos, ids, pos + 1, tamanio - pos);
+            ids[pos] = id;
+            tamanio++;
+        }
+
+        void quitar(int id) {
+            int pos = Arrays.binarySearch(ids, 0, tamanio, id);
+            if (pos >= 0) {
+                System.arraycopy(ids, pos + 1, ids, pos, tamanio - pos - 1);
+                tamanio--;
+            }
+        }
+
+        private void asegurarCapacidad() {
+            if (tamanio == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    /** Nombre normalizado por id de usuario. */
+    private final Map<Integer, String> nombres = new HashMap<>();
+
+    private volatile boolean listo;
+    private volatile boolean construyendo;
+    /** Se encontró un id que no entra en <code>int</code>: el índice no vuelve a habilitarse. */
+    private volatile boolean desactivado;
+    /** Ids escritos durante la construcción: la lectura inicial no debe pisarlos con valores viejos. */
+    private final Set<Integer> modificadosDuranteConstruccion = ConcurrentHashMap.newKeySet();
+
+    public boolean isListo() {
+        return listo;
+    }
+
+    public int tamanio() {
+        lock.readLock().lock();
+        try {
+            return nombres.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void construirAlIniciar() {
+        Thread.ofVirtual().name("indice-trigramas").start(this::construir);
+    }
+
+    /**
+     * Lee <code>id, nombre</code> de todos los usuarios en streaming (fetch size de MySQL
+     * <code>Integer.MIN_VALUE</code>) y los incorpora por lotes. Reintenta si la base todavía no está disponible.
+     */
+    void construir() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        for (int intento = 1; intento <= REINTENTOS; intento++) {
+            long inicio = System.currentTimeMillis();
+            construyendo = true;
+            try {
+                Map<Long, String> lote = new LinkedHashMap<>();
+                jdbcTemplate.query("select id, nombre from usuarios order by id", rs -> {
+                    lote.put(rs.getLong("id"), rs.getString("nombre"));
+                    if (lote.size() == TAMANIO_LOTE) {
+                        incorporar(lote);
+                        lote.clear();
+                    }
+                });
+                incorporar(lote);
+                listo = !desactivado;
+                log.info("Índice de trigramas construido: {} usuarios, {} trigramas en {} ms",
+                        tamanio(), postings.size(), System.currentTimeMillis() - inicio);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("No se pudo construir el índice de trigramas (intento {}): {}", intento, e.getMessage());
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } finally {
+                construyendo = false;
+                modificadosDuranteConstruccion.clear();
+            }
+        }
+    }
+
+    /** Carga inicial directa, sin base de datos. */
+    void inicializar(Map<Long, String> usuarios) {
+        incorporar(usuarios);
+        listo = !desactivado;
+    }
+
+    private void incorporar(Map<Long, String> lote) {
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<Long, String> usuario : lote.entrySet()) {
+                if (desactivado || !admite(usuario.getKey())) {
+                    return;
+                }
+                if (!modificadosDuranteConstruccion.contains(usuario.getKey().intValue())) {
+                    reemplazar(usuario.getKey().intValue(), usuario.getValue());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void actualizar(Long id, String nombre) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (desactivado || !admite(id)) {
+                return;
+            }
+            if (construyendo) {
+                modificadosDuranteConstruccion.add(id.intValue());
+            }
+            reemplazar(id.intValue(), nombre);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void eliminar(Long id) {
+        actualizar(id, null);
+    }
+
+    /**
+     * Un id que no entra en <code>int</code> no puede indexarse sin mezclarse con otro: se desactiva el
+     * índice para que las búsquedas vuelvan a la base en lugar de devolver resultados incompletos.
+     */
+    private boolean admite(long id) {
+        if (id >= 0 && id <= Integer.MAX_VALUE) {
+            return true;
+        }
+        if (!desactivado) {
+            log.error("Id de usuario {} fuera del rango del índice de trigramas; la búsqueda por nombre vuelve a la base", id);
+        }
+        desactivado = true;
+        listo = false;
+        postings.clear();
+        nombres.clear();
+        return false;
+    }
+
+    private void reemplazar(int id, String nombre) {
+        String nuevo = nombre == null ? null : normalizar(nombre);
+        String anterior = nuevo == null ? nombres.remove(id) : nombres.put(id, nuevo);
+        if (anterior != null) {
+            for (long trigrama : trigramas(anterior)) {
+                Postings lista = postings.get(trigrama);
+                if (lista != null) {
+                    lista.quitar(id);
+                    if (lista.tamanio == 0) {
+                        postings.remove(trigrama);
+                    }
+                }
+            }
+        }
+        if (nuevo != null) {
+            for (long trigrama : trigramas(nuevo)) {
+                postings.computeIfAbsent(trigrama, t -> new Postings()).agregar(id);
+            }
+        }
+    }
+
+    /**
+     * Busca usuarios cuyo nombre contenga <code>consulta</code> y devuelve la página pedida ordenada
+     * por relevancia, o <code>null</code> si el índice no puede resolverla.
+     */
+    public Resultado buscar(String consulta, long desde, int cantidadPagina) {
+        String q = consulta == null ? "" : normalizar(consulta);
+        if (!listo || q.length() < LARGO_TRIGRAMA) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            int[] candidatos = candidatos(q);
+            int n = candidatos.length;
+
+            // Clave de orden: relevancia | largo del nombre | id, para ordenar un long[] sin objetos
+            long[] ordenados = new long[n];
+            int coincidencias = 0;
+            for (int i = 0; i < n; i++) {
+                int id = candidatos[i];
+                String nombre = nombres.get(id);
+                int pos = nombre.indexOf(q);
+                if (pos >= 0) {
+                    ordenados[coincidencias++] = ((long) relevancia(nombre, q, pos) << 48)
+                            | ((long) Math.min(nombre.length(), 0xFFFF) << 32)
+                            | id;
+                }
+            }
+            Arrays.sort(ordenados, 0, coincidencias);
+
+            int inicio = (int) Math.min(desde, coincidencias);
+            int fin = (int) Math.min((long) inicio + cantidadPagina, coincidencias);
+            Long[] ids = new Long[fin - inicio];
+            for (int i = inicio; i < fin; i++) {
+                ids[i - inicio] = ordenados[i] & 0xFFFFFFFFL;
+            }
+            return new Resultado(List.of(ids), coincidencias);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ventana por keyset: hasta <code>cantidadVentana</code> ids mayores a <code>despuesDeId</code> cuyo nombre
+     * contiene la consulta, en orden de id. Las listas ya están ordenadas por id, así que se recorren los
+     * candidatos desde el cursor y se corta apenas se completa la ventana. Devuelve <code>null</code> si el
+     * índice no puede resolverla.
+     */
+    public List<Long> buscarDesdeId(String consulta, long despuesDeId, int cantidadVentana) {
+        String q = consulta == null ? "" : normalizar(consulta);
+        if (!listo || q.length() < LARGO_TRIGRAMA) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            int[] candidatos = candidatos(q);
+            int desde = Arrays.binarySearch(candidatos, (int) Math.min(despuesDeId, Integer.MAX_VALUE));
+            desde = desde >= 0 ? desde + 1 : -desde - 1;
+            List<Long> ids = new ArrayList<>(Math.min(cantidadVentana, candidatos.length));
+            for (int i = desde; i < candidatos.length && ids.size() < cantidadVentana; i++) {
+                if (nombres.get(candidatos[i]).contains(q)) {
+                    ids.add((long) candidatos[i]);
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Ids que tienen todos los trigramas de <code>q</code>, ordenados; hay que verificar la subcadena. */
+    private int[] candidatos(String q) {
+        long[] claves = trigramas(q);
+        Postings[] listas = new Postings[claves.length];
+        for (int i = 0; i < claves.length; i++) {
+            listas[i] = postings.get(claves[i]);
+            if (listas[i] == null) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(listas, Comparator.comparingInt(p -> p.tamanio));
+
+        int[] candidatos = Arrays.copyOf(listas[0].ids, listas[0].tamanio);
+        int n = candidatos.length;
+        for (int i = 1; i < listas.length && n > 0; i++) {
+            n = intersectar(candidatos, n, listas[i]);
+        }
+        return Arrays.copyOf(candidatos, n);
+    }
+
+    /** Deja en <code>candidatos</code> solo los ids presentes en <code>lista</code>; devuelve la nueva cantidad. */
+    private static int intersectar(int[] candidatos, int n, Postings lista) {
+        int m = 0;
+        int desde = 0;
+        for (int i = 0; i < n && desde < lista.tamanio; i++) {
+            int pos = Arrays.binarySearch(lista.ids, desde, lista.tamanio, candidatos[i]);
+            if (pos >= 0) {
+                candidatos[m++] = candidatos[i];
+                desde = pos + 1;
+            } else {
+                desde = -pos - 1;
+            }
+        }
+        return m;
+    }
+
+    private static int relevancia(String nombre, String q, int pos) {
+        if (pos == 0) {
+            return nombre.length() == q.length() ? 0 : 1;
+        }
+        return nombre.charAt(pos - 1) == ' ' ? 2 : 3;
+    }
+
+    static String normalizar(String texto) {
+        String sinAcentos = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACIOS.matcher(sinAcentos.toLowerCase(Locale.ROOT).strip()).replaceAll(" ");
+    }
+
+    /** Trigramas distintos del texto ya normalizado, codificados como tres chars de 16 bits. */
+    static long[] trigramas(String texto) {
+        if (texto.length() < LARGO_TRIGRAMA) {
+            return new long[0];
+        }
+        long[] claves = new long[texto.length() - LARGO_TRIGRAMA + 1];
+        for (int i = 0; i < claves.length; i++) {
+            claves[i] = ((long) texto.charAt(i) << 32) | ((long) texto.charAt(i + 1) << 16) | texto.charAt(i + 2);
+        }
+        return Arrays.stream(claves).distinct().toArray();
+    }
+}
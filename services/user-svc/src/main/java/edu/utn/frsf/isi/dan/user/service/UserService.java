@@ -1,11 +1,17 @@
 package edu.utn.frsf.isi.dan.user.service;
 
-import edu.utn.frsf.isi.dan.user.dao.BancoRepository;
+import edu.utn.frsf.isi.dan.user.config.CacheConfig;
 import edu.utn.frsf.isi.dan.user.dao.CuentaBancariaRepository;
+import edu.utn.frsf.isi.dan.user.dao.HuespedRepository;
+import edu.utn.frsf.isi.dan.user.dao.PropietarioRepository;
 import edu.utn.frsf.isi.dan.user.dao.TarjetaCreditoRepository;
 import edu.utn.frsf.isi.dan.user.dao.UsuarioRepository;
 import edu.utn.frsf.isi.dan.user.dto.HuespedRecord;
+import edu.utn.frsf.isi.dan.user.dto.LoteUsuariosRequest;
 import edu.utn.frsf.isi.dan.user.dto.PropietarioRecord;
+import edu.utn.frsf.isi.dan.user.dto.UsuarioDetalle;
+import edu.utn.frsf.isi.dan.user.dto.UsuarioResumen;
+import edu.utn.frsf.isi.dan.user.dto.VentanaUsuarios;
 import edu.utn.frsf.isi.dan.user.model.Banco;
 import edu.utn.frsf.isi.dan.user.model.CuentaBancaria;
 import edu.utn.frsf.isi.dan.user.model.Huesped;
@@ -14,18 +20,32 @@ import edu.utn.frsf.isi.dan.user.model.TarjetaCredito;
 import edu.utn.frsf.isi.dan.user.model.Usuario;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class UserService {
 
     @Autowired
-    private BancoRepository bancoRepository;
+    private BancoCache bancoCache;
 
     @Autowired 
     private CuentaBancariaRepository cuentaBancariaRepository;
@@ -36,18 +56,49 @@ public class UserService {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private HuespedRepository huespedRepository;
+
+    @Autowired
+    private PropietarioRepository propietarioRepository;
+
+    @Autowired
+    private IndiceTrigramas indiceTrigramas;
+
+    @Autowired
+    private FiltroUnicidad filtroUnicidad;
+
+    @Autowired
+    private ConteoUsuarios conteoUsuarios;
+
+    /** <code>indice</code> (trigramas en memoria), <code>fulltext</code> (índice FULLTEXT ngram de MySQL) o <code>like</code>. */
+    @Value("${usuarios.busqueda.modo:indice}")
+    private String modoBusqueda = "indice";
+
+    /** Máximo de ids + DNI por pedido de lote con respuesta JSON. */
+    @Value("${usuarios.lote.maximo:1000}")
+    private int maximoLote = 1000;
+
+    /** Máximo por pedido de lote con respuesta NDJSON, que se resuelve y escribe por tramos de {@link #TRAMO_LOTE}. */
+    @Value("${usuarios.lote.maximo-stream:100000}")
+    private int maximoLoteStream = 100_000;
+
+    static final int TRAMO_LOTE = 1_000;
+
     public Huesped crearUsuarioHuesped(HuespedRecord huespedRecord) {
+        validarUnicidad(huespedRecord.dni(), huespedRecord.email());
+
         // Buscar el banco por ID
-        Optional<Banco> bancoOptional = bancoRepository.findById(huespedRecord.idBanco());
-        if (bancoOptional.isEmpty()) {
+        Banco banco = bancoCache.obtener(huespedRecord.idBanco());
+        if (banco == null) {
             throw new IllegalArgumentException("Banco no encontrado con ID: " + huespedRecord.idBanco());
         }
 
-        Banco banco = bancoOptional.get();
-
         // Crear y guardar el usuario
         Huesped usuario = huespedRecord.toHuesped();
-        usuarioRepository.save(usuario);
+        guardarUnico(usuario);
+        indiceTrigramas.actualizar(usuario.getId(), usuario.getNombre());
+        filtroUnicidad.registrar(usuario.getDni(), usuario.getEmail());
 
         // Crear y guardar la tarjeta de crédito
         TarjetaCredito tarjetaCredito = huespedRecord.toTarjetaCredito();
@@ -62,30 +113,237 @@ public class UserService {
     }
 
     public void crearUsuarioPropietario(PropietarioRecord propietarioRecord) {
+        validarUnicidad(propietarioRecord.dni(), propietarioRecord.email());
+
         // Buscar el banco por ID
-        Optional<Banco> bancoOptional = bancoRepository.findById(propietarioRecord.cuentaBancaria().idBanco());
-        if (bancoOptional.isEmpty()) {
+        Banco banco = bancoCache.obtener(propietarioRecord.cuentaBancaria().idBanco());
+        if (banco == null) {
             throw new IllegalArgumentException("Banco no encontrado con ID: " + propietarioRecord.cuentaBancaria().idBanco());
         }
 
-        Banco banco = bancoOptional.get();
-
         Propietario propietario = propietarioRecord.toPropietario();
         CuentaBancaria cuentaBancaria = propietarioRecord.cuentaBancaria().toCuentaBancaria();
         cuentaBancaria.setBanco(banco);
         propietario.setCuentaBancaria(cuentaBancariaRepository.save(cuentaBancaria));
-        usuarioRepository.save(propietario);
+        guardarUnico(propietario);
+        indiceTrigramas.actualizar(propietario.getId(), propietario.getNombre());
+        filtroUnicidad.registrar(propietario.getDni(), propietario.getEmail());
+    }
+
+    /**
+     * Inserta con flush para que los índices únicos de DNI y email rechacen acá, como 400, el alta concurrente
+     * que pasó {@link #validarUnicidad(String, String)} al mismo tiempo que otra con los mismos datos.
+     */
+    private void guardarUnico(Usuario usuario) {
+        try {
+            usuarioRepository.saveAndFlush(usuario);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException(
+                    "Ya existe un usuario con DNI: " + usuario.getDni() + " o email: " + usuario.getEmail(), e);
+        }
+    }
+
+    /**
+     * Rechaza DNI o email repetidos. Si el filtro de Bloom dice que el valor no existe no se consulta la
+     * base; solo los posibles duplicados (reales o falsos positivos) se confirman con un <code>exists</code>.
+     */
+    private void validarUnicidad(String dni, String email) {
+        if (dni != null && filtroUnicidad.dniPodriaExistir(dni) && usuarioRepository.existsByDni(dni)) {
+            throw new IllegalArgumentException("Ya existe un usuario con DNI: " + dni);
+        }
+        if (email != null && filtroUnicidad.emailPodriaExistir(email) && usuarioRepository.existsByEmail(email)) {
+            throw new IllegalArgumentException("Ya existe un usuario con email: " + email);
+        }
     }
     
-    public Page<Usuario> buscarPorNombre(String nombre, Pageable pageable) {
-        return usuarioRepository.findByNombreContainingIgnoreCase(nombre, pageable);
+    /**
+     * Sin nombre devuelve una página sin COUNT (el total sale del índice). Con nombre usa el índice de
+     * trigramas o el FULLTEXT según <code>usuarios.busqueda.modo</code>, ordenando por relevancia; las
+     * consultas de menos de tres caracteres o con orden explícito se resuelven con <code>LIKE</code>.
+     */
+    public Page<UsuarioResumen> buscarPorNombre(String nombre, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return usuarioRepository.findResumenByNombreContainingIgnoreCase(nombre == null ? "" : nombre, pageable);
+        }
+        if (nombre == null || nombre.isBlank()) {
+            List<UsuarioResumen> contenido = usuarioRepository.findResumenBy(pageable);
+            long total = indiceTrigramas.isListo() ? indiceTrigramas.tamanio() : usuarioRepository.count();
+            return new PageImpl<>(contenido, pageable, total);
+        }
+        if (!pageable.getSort().isSorted() && nombre.strip().length() >= IndiceTrigramas.LARGO_TRIGRAMA) {
+            if ("fulltext".equals(modoBusqueda)) {
+                String frase = "\"" + nombre.replace("\"", " ").strip() + "\"";
+                List<Long> ids = usuarioRepository.buscarIdsPorNombreFullText(frase, pageable.getPageSize(), pageable.getOffset());
+                return new PageImpl<>(cargarEnOrden(ids), pageable, usuarioRepository.contarPorNombreFullText(frase));
+            }
+            if ("indice".equals(modoBusqueda)) {
+                IndiceTrigramas.Resultado resultado = indiceTrigramas.buscar(nombre, pageable.getOffset(), pageable.getPageSize());
+                if (resultado != null) {
+                    return new PageImpl<>(cargarEnOrden(resultado.ids()), pageable, resultado.total());
+                }
+            }
+        }
+        return usuarioRepository.findResumenByNombreContainingIgnoreCase(nombre, pageable);
+    }
+
+    private List<UsuarioResumen> cargarEnOrden(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, UsuarioResumen> porId = usuarioRepository.findResumenByIdIn(ids).stream()
+                .collect(Collectors.toMap(UsuarioResumen::id, Function.identity()));
+        return ids.stream().map(porId::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * Ventana por keyset sobre el id: una consulta por rango de la clave primaria (o el índice de trigramas
+     * si hay nombre) que trae <code>tamanio + 1</code> filas para saber si hay más, sin OFFSET ni COUNT.
+     * El total solo se calcula si se pide, y es aproximado.
+     */
+    @Transactional(readOnly = true)
+    public VentanaUsuarios ventanaPorNombre(String nombre, Long despuesDeId, int tamanio, boolean conTotal) {
+        validarTamanio(tamanio);
+        String filtro = nombre == null ? "" : nombre.strip();
+        long desde = despuesDeId == null ? 0 : despuesDeId;
+        Limit limite = Limit.of(tamanio + 1);
+
+        List<UsuarioResumen> filas = null;
+        if (filtro.length() >= IndiceTrigramas.LARGO_TRIGRAMA && !"like".equals(modoBusqueda)) {
+            List<Long> ids = indiceTrigramas.buscarDesdeId(filtro, desde, tamanio + 1);
+            if (ids != null) {
+                filas = cargarEnOrden(ids);
+            }
+        }
+        if (filas == null) {
+            filas = filtro.isEmpty()
+                    ? usuarioRepository.findResumenByIdGreaterThanOrderByIdAsc(desde, limite)
+                    : usuarioRepository.findResumenByIdGreaterThanAndNombreContainingIgnoreCaseOrderByIdAsc(desde, filtro, limite);
+        }
+
+        Long total = null;
+        if (conTotal) {
+            IndiceTrigramas.Resultado resultado = filtro.isEmpty() ? null : indiceTrigramas.buscar(filtro, 0, 0);
+            if (resultado != null) {
+                total = resultado.total();
+            } else if (filtro.isEmpty() && indiceTrigramas.isListo()) {
+                total = (long) indiceTrigramas.tamanio();
+            } else {
+                total = conteoUsuarios.contarPorNombre(filtro);
+            }
+        }
+        return armarVentana(filas, tamanio, u -> String.valueOf(u.id()), total);
     }
 
-    public Page<Usuario> buscarPorDni(String dni, Pageable pageable) {
-        return usuarioRepository.findByDniContaining(dni, pageable);
+    /** Ventana por keyset sobre el DNI: rango sobre <code>uk_usuarios_dni</code> a partir del último DNI devuelto. */
+    @Transactional(readOnly = true)
+    public VentanaUsuarios ventanaPorDni(String dni, String despuesDeDni, int tamanio, boolean conTotal) {
+        validarTamanio(tamanio);
+        List<UsuarioResumen> filas = usuarioRepository.findResumenByDniStartingWithAndDniGreaterThanOrderByDniAsc(
+                dni, despuesDeDni == null ? "" : despuesDeDni, Limit.of(tamanio + 1));
+        Long total = conTotal ? conteoUsuarios.contarPorPrefijoDni(dni) : null;
+        return armarVentana(filas, tamanio, UsuarioResumen::dni, total);
+    }
+
+    private static void validarTamanio(int tamanio) {
+        if (tamanio < 1) {
+            throw new IllegalArgumentException("El tamaño de la ventana debe ser mayor a cero");
+        }
+    }
+
+    private static VentanaUsuarios armarVentana(List<UsuarioResumen> filas, int tamanio, Function<UsuarioResumen, String> cursor, Long total) {
+        boolean hayMas = filas.size() > tamanio;
+        List<UsuarioResumen> contenido = hayMas ? filas.subList(0, tamanio) : filas;
+        String siguiente = contenido.isEmpty() ? null : cursor.apply(contenido.get(contenido.size() - 1));
+        return new VentanaUsuarios(contenido, hayMas ? siguiente : null, hayMas, total);
+    }
+
+    /**
+     * Búsqueda por prefijo de DNI. Sin orden explícito se ordena por DNI, que es el orden del índice,
+     * para que MySQL recorra el rango sin ordenar en memoria.
+     */
+    public Page<UsuarioResumen> buscarPorDni(String dni, Pageable pageable) {
+        if (pageable.isPaged() && pageable.getSort().isUnsorted()) {
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("dni"));
+        }
+        return usuarioRepository.findResumenByDniStartingWith(dni, pageable);
+    }
+
+    /**
+     * Resuelve un lote de ids y/o DNI con un único <code>IN (...)</code>. Los que no existen se omiten; el
+     * orden del resultado no está garantizado.
+     */
+    public List<UsuarioResumen> buscarLote(LoteUsuariosRequest request) {
+        List<Long> ids = distintos(request.ids());
+        List<String> dnis = distintos(request.dnis());
+        if (ids.size() + dnis.size() > maximoLote) {
+            throw new IllegalArgumentException("El lote admite hasta " + maximoLote + " ids y DNI; usar application/x-ndjson para lotes mayores");
+        }
+        return buscarTramo(ids, dnis);
+    }
+
+    /** Quita repetidos y nulos de un lote para {@link #buscarLotePorTramos} y controla su tamaño. */
+    public LoteUsuariosRequest validarLoteStream(LoteUsuariosRequest request) {
+        List<Long> ids = distintos(request.ids());
+        List<String> dnis = distintos(request.dnis());
+        if (ids.size() + dnis.size() > maximoLoteStream) {
+            throw new IllegalArgumentException("El lote admite hasta " + maximoLoteStream + " ids y DNI");
+        }
+        return new LoteUsuariosRequest(ids, dnis);
+    }
+
+    /**
+     * Variante para lotes grandes ya validados: consulta por tramos de {@link #TRAMO_LOTE} valores y entrega
+     * cada tramo apenas se resuelve, para que el controlador lo escriba sin juntar todo el resultado en memoria.
+     */
+    public void buscarLotePorTramos(LoteUsuariosRequest lote, Consumer<List<UsuarioResumen>> consumidor) {
+        List<Long> ids = lote.ids();
+        List<String> dnis = lote.dnis();
+        for (int i = 0; i < ids.size(); i += TRAMO_LOTE) {
+            consumidor.accept(buscarTramo(ids.subList(i, Math.min(i + TRAMO_LOTE, ids.size())), List.of()));
+        }
+        for (int i = 0; i < dnis.size(); i += TRAMO_LOTE) {
+            consumidor.accept(buscarTramo(List.of(), dnis.subList(i, Math.min(i + TRAMO_LOTE, dnis.size()))));
+        }
+    }
+
+    private List<UsuarioResumen> buscarTramo(List<Long> ids, List<String> dnis) {
+        if (ids.isEmpty() && dnis.isEmpty()) {
+            return List.of();
+        }
+        if (dnis.isEmpty()) {
+            return usuarioRepository.findResumenByIdIn(ids);
+        }
+        if (ids.isEmpty()) {
+            return usuarioRepository.findResumenByDniIn(dnis);
+        }
+        return usuarioRepository.findResumenByIdInOrDniIn(ids, dnis);
+    }
+
+    private static <T> List<T> distintos(List<T> valores) {
+        return valores == null ? List.of() : valores.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+    }
+
+    /**
+     * Detalle de un usuario con sus relaciones cargadas por entity graph: las tarjetas (y sus bancos) del
+     * huésped o la cuenta bancaria del propietario. Se prueba primero como huésped, que es el caso más común.
+     */
+    @Transactional(readOnly = true)
+    public Usuario obtenerDetalle(Long id) {
+        Optional<Huesped> huesped = huespedRepository.findConTarjetasById(id);
+        if (huesped.isPresent()) {
+            return huesped.get();
+        }
+        return propietarioRepository.findConCuentaById(id).orElse(null);
     }
 
-    public Usuario buscarPorDniExacto(String dni) {
-        return usuarioRepository.findByDni(dni);
+    /**
+     * Lectura por DNI exacto con cache (read-through). Se cachea una copia inmutable armada dentro de la
+     * transacción, con las tarjetas del huésped o la cuenta del propietario, y no la entidad.
+     * La invalidación la hace {@link HuespedService} en cada escritura.
+     */
+    @Cacheable(value = CacheConfig.USUARIO_POR_DNI, unless = "#result == null")
+    @Transactional(readOnly = true)
+    public UsuarioDetalle buscarPorDniExacto(String dni) {
+        return UsuarioDetalle.de(usuarioRepository.findByDni(dni));
     }
 }
\ No newline at end of file
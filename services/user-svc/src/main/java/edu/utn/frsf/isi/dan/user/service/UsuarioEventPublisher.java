@@ -0,0 +1,96 @@
+package edu.utn.frsf.isi.dan.user.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.utn.frsf.isi.dan.shared.TipoEvento;
+import edu.utn.frsf.isi.dan.shared.UsuarioEvent;
+import edu.utn.frsf.isi.dan.user.model.Usuario;
+import lombok.extern.log4j.Log4j2;
+
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Publica en <code>dan.exchange</code> los cambios de nombre o email de un usuario, que reservas-svc copia
+ * en cada reserva.
+ *
+ * <p>{@link #publicarCambio} no envía nada: deja un {@link UsuarioEvent} que se publica recién cuando la
+ * transacción confirma, así un rollback nunca llega a reservas-svc. La versión es la columna
+ * <code>@Version</code> del usuario, que ordena los cambios aunque lleguen desordenados. Si RabbitMQ no
+ * responde se reintenta con espera creciente; agotados los intentos se registra el error y la copia queda
+ * desactualizada hasta el próximo cambio, sin afectar la escritura.</p>
+ */
+@Component
+@Log4j2
+public class UsuarioEventPublisher {
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${rabbitmq.exchange:dan.exchange}")
+    private String exchange;
+    @Value("${rabbitmq.routingkey.usuario:dan.usuario.event}")
+    private String routingKey;
+
+    @Value("${usuarios.eventos.intentos:3}")
+    private int intentos = 3;
+    @Value("${usuarios.eventos.espera-ms:200}")
+    private long esperaMs = 200;
+
+    /** El usuario ya debe estar sincronizado con la base (flush) para que su versión sea la confirmada. */
+    public void publicarCambio(Usuario usuario) {
+        eventPublisher.publishEvent(UsuarioEvent.builder()
+                .idUsuario(usuario.getId())
+                .nombre(usuario.getNombre())
+                .email(usuario.getEmail())
+                .version(usuario.getVersion())
+                .tipoEvento(TipoEvento.ACTUALIZAR_DATOS)
+                .build());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void enviar(UsuarioEvent evento) {
+        String msgToSend;
+        try {
+            msgToSend = objectMapper.writeValueAsString(evento);
+        } catch (JsonProcessingException e) {
+            log.error("No se pudo serializar el cambio del usuario {}: {}", evento.getIdUsuario(), e.getMessage());
+            return;
+        }
+        long espera = esperaMs;
+        for (int intento = 1; ; intento++) {
+            try {
+                log.debug("[RabbitMQ] Enviando mensaje: {}", msgToSend);
+                rabbitTemplate.convertAndSend(exchange, routingKey, msgToSend);
+                return;
+            } catch (AmqpException e) {
+                if (intento >= intentos) {
+                    log.error("No se pudo publicar el cambio del usuario {} (versión {}) tras {} intentos: {}",
+                            evento.getIdUsuario(), evento.getVersion(), intento, e.getMessage());
+                    return;
+                }
+                log.warn("Falló la publicación del cambio del usuario {} (intento {}): {}",
+                        evento.getIdUsuario(), intento, e.getMessage());
+                try {
+                    Thread.sleep(espera);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                espera *= 2;
+            }
+        }
+    }
+}
@@ -4,6 +4,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.utn.frsf.isi.dan.user.dto.CuentaBancariaRecord;
 import edu.utn.frsf.isi.dan.user.dto.HuespedRecord;
 import edu.utn.frsf.isi.dan.user.dto.PropietarioRecord;
+import edu.utn.frsf.isi.dan.user.dto.ResultadoImportacion;
+import edu.utn.frsf.isi.dan.user.service.HuespedService;
+import edu.utn.frsf.isi.dan.user.service.ImportacionHuespedesService;
 import edu.utn.frsf.isi.dan.user.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,10 +17,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.List;
 
 @WebMvcTest(UserController.class)
 public class UserControllerTest {
@@ -28,6 +37,12 @@ public class UserControllerTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private HuespedService huespedService;
+
+    @MockitoBean
+    private ImportacionHuespedesService importacionHuespedesService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -72,4 +87,18 @@ public class UserControllerTest {
                 .content(objectMapper.writeValueAsString(propietarioRecord)))
                 .andExpect(status().isCreated());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testImportarHuespedesCsv() throws Exception {
+        // Arrange
+        when(importacionHuespedesService.importar(any(InputStream.class), eq(true)))
+            .thenReturn(new ResultadoImportacion(1, 1, 0, List.of(), 5, 200.0));
+
+        // Act & Assert
+        mockMvc.perform(post("/users/huesped/importacion")
+                .contentType("text/csv")
+                .content("Jane,jane@example.com,9876543210,12345678,1990-05-15,1234567890123456,martin,12/25,123,true,1\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.creadas").value(1));
+    }
+}
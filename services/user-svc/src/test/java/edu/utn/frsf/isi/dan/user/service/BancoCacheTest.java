@@ -0,0 +1,70 @@
+package edu.utn.frsf.isi.dan.user.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.utn.frsf.isi.dan.user.dao.BancoRepository;
+import edu.utn.frsf.isi.dan.user.model.Banco;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class BancoCacheTest {
+
+    @InjectMocks
+    private BancoCache bancoCache;
+
+    @Mock
+    private BancoRepository bancoRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(bancoRepository.findAll()).thenReturn(List.of(
+                Banco.builder().id(1).nombre("ACME").build(),
+                Banco.builder().id(2).nombre("BWV RIO").build()));
+    }
+
+    @Test
+    public void testCargaUnaSolaVez() {
+        // Act
+        Banco acme = bancoCache.obtener(1);
+        Banco rio = bancoCache.obtener(2);
+
+        // Assert
+        assertEquals("ACME", acme.getNombre());
+        assertEquals("BWV RIO", rio.getNombre());
+        assertNull(bancoCache.obtener(3));
+        verify(bancoRepository, times(1)).findAll();
+    }
+
+    @Test
+    public void testJsonPreSerializado() {
+        String json = new String(bancoCache.json(), StandardCharsets.UTF_8);
+
+        assertTrue(json.contains("\"nombre\":\"ACME\""));
+        assertSame(bancoCache.json(), bancoCache.json());
+    }
+
+    @Test
+    public void testRecargarReemplazaElSnapshot() {
+        bancoCache.obtener(1);
+        when(bancoRepository.findAll()).thenReturn(List.of(Banco.builder().id(3).nombre("Nuevo").build()));
+
+        bancoCache.recargar();
+
+        assertNull(bancoCache.obtener(1));
+        assertEquals("Nuevo", bancoCache.obtener(3).getNombre());
+        assertEquals(1, bancoCache.listar().size());
+    }
+}
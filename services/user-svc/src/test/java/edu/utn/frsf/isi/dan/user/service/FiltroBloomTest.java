@@ -0,0 +1,62 @@
+package edu.utn.frsf.isi.dan.user.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FiltroBloomTest {
+
+    @Test
+    public void testDimensionado() {
+        FiltroBloom filtro = new FiltroBloom(100_000, 0.01);
+
+        // m = -n ln p / (ln 2)^2 ~ 958.506 bits, redondeado a palabras de 64; k = m / n ln 2 ~ 7
+        assertEquals(958_528, filtro.getBits());
+        assertEquals(7, filtro.getHashes());
+    }
+
+    @Test
+    public void testSinFalsosNegativos() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.agregar(String.valueOf(20_000_000 + i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filtro.podriaContener(String.valueOf(20_000_000 + i)));
+        }
+    }
+
+    @Test
+    public void testTasaDeFalsosPositivosCercanaALaPedida() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.agregar("usuario" + i + "@mail.com");
+        }
+        int falsosPositivos = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filtro.podriaContener("otro" + i + "@mail.com")) {
+                falsosPositivos++;
+            }
+        }
+        assertTrue(falsosPositivos < 2_000, "falsos positivos: " + falsosPositivos);
+        assertTrue(filtro.fppEstimada() < 0.02);
+    }
+
+    @Test
+    public void testAgregarRepetidoNoCuentaDosVeces() {
+        FiltroBloom filtro = new FiltroBloom(1_000, 0.01);
+
+        assertTrue(filtro.agregar("30111222"));
+        assertFalse(filtro.agregar("30111222"));
+        assertEquals(1, filtro.getElementos());
+    }
+
+    @Test
+    public void testParametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(1_000, 1));
+    }
+}
@@ -0,0 +1,87 @@
+package edu.utn.frsf.isi.dan.user.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+public class FiltroUnicidadTest {
+
+    @InjectMocks
+    private FiltroUnicidad filtro;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet conteo;
+
+    @Mock
+    private ResultSet filas;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(filtro, "meterRegistry", new SimpleMeterRegistry());
+        filtro.registrarMetricas();
+
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery("select count(*) from usuarios")).thenReturn(conteo);
+        when(statement.executeQuery("select dni, email from usuarios")).thenReturn(filas);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(conteo.getMetaData()).thenReturn(metaData);
+        when(conteo.next()).thenReturn(true, false);
+        when(conteo.getLong(1)).thenReturn(1L);
+        when(filas.getString("dni")).thenReturn("30111001");
+        when(filas.getString("email")).thenReturn("ana@mail.com");
+    }
+
+    @Test
+    public void testAltaAnteriorALaPrimeraConstruccionNoSePierde() throws Exception {
+        when(filas.next()).thenReturn(true, false);
+        // Alta confirmada después del snapshot de la lectura: no viene en las filas
+        filtro.registrar("30111002", "juan@mail.com");
+
+        filtro.construir();
+
+        assertTrue(filtro.isListo());
+        assertTrue(filtro.dniPodriaExistir("30111001"));
+        assertTrue(filtro.dniPodriaExistir("30111002"));
+        assertTrue(filtro.emailPodriaExistir("JUAN@mail.com"));
+    }
+
+    @Test
+    public void testAltaDuranteLaLecturaSeAgregaDespuesDelReemplazo() throws Exception {
+        when(filas.next()).thenAnswer(inv -> {
+            filtro.registrar("30111003", "eva@mail.com");
+            return false;
+        });
+
+        filtro.construir();
+
+        assertTrue(filtro.dniPodriaExistir("30111003"));
+        assertTrue(filtro.emailPodriaExistir("eva@mail.com"));
+        assertFalse(filtro.dniPodriaExistir("30111004"));
+    }
+}
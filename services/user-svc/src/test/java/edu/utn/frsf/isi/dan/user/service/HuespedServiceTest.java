@@ -0,0 +1,258 @@
+package edu.utn.frsf.isi.dan.user.service;
+
+import edu.utn.frsf.isi.dan.user.config.CacheConfig;
+import edu.utn.frsf.isi.dan.user.dao.HuespedRepository;
+import edu.utn.frsf.isi.dan.user.dao.TarjetaCreditoRepository;
+import edu.utn.frsf.isi.dan.user.dao.UsuarioRepository;
+import edu.utn.frsf.isi.dan.user.model.Banco;
+import edu.utn.frsf.isi.dan.user.model.Huesped;
+import edu.utn.frsf.isi.dan.user.model.TarjetaCredito;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+public class HuespedServiceTest {
+
+    @InjectMocks
+    private HuespedService huespedService;
+
+    @Mock
+    private HuespedRepository repository;
+
+    @Mock
+    private TarjetaCreditoRepository tarjetaCreditoRepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private BancoCache bancoCache;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private IndiceTrigramas indiceTrigramas;
+
+    @Mock
+    private FiltroUnicidad filtroUnicidad;
+
+    @Mock
+    private UsuarioEventPublisher usuarioEventPublisher;
+
+    private final Cache usuarioPorDni = new ConcurrentMapCache(CacheConfig.USUARIO_POR_DNI);
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(repository.findDniById(1L)).thenReturn(Optional.of("12345678"));
+        when(cacheManager.getCache(CacheConfig.USUARIO_POR_DNI)).thenReturn(usuarioPorDni);
+    }
+
+    @Test
+    public void testAgregarTarjetaPrincipalDesmarcaLaAnterior() {
+        Banco banco = Banco.builder().id(2).nombre("ACME").build();
+        Huesped huesped = new Huesped();
+        TarjetaCredito tarjeta = TarjetaCredito.builder().numero("4111").esPrincipal(true)
+                .banco(Banco.builder().id(2).build()).build();
+        when(bancoCache.obtener(2)).thenReturn(banco);
+        when(repository.getReferenceById(1L)).thenReturn(huesped);
+        when(repository.findConTarjetasById(1L)).thenReturn(Optional.of(huesped));
+
+        Huesped resultado = huespedService.agregarTarjetaCredito(1L, tarjeta);
+
+        assertSame(huesped, resultado);
+        assertSame(banco, tarjeta.getBanco());
+        verify(tarjetaCreditoRepository).desmarcarPrincipal(1L);
+        verify(tarjetaCreditoRepository).saveAndFlush(tarjeta);
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    public void testAgregarTarjetaNoPrincipalNoTocaLasDemas() {
+        TarjetaCredito tarjeta = TarjetaCredito.builder().numero("4111").esPrincipal(false).build();
+        when(repository.findConTarjetasById(1L)).thenReturn(Optional.of(new Huesped()));
+
+        huespedService.agregarTarjetaCredito(1L, tarjeta);
+
+        verify(tarjetaCreditoRepository, never()).desmarcarPrincipal(any());
+        verify(tarjetaCreditoRepository).saveAndFlush(tarjeta);
+    }
+
+    @Test
+    public void testEliminarTarjetaPrincipalFalla() {
+        when(tarjetaCreditoRepository.borrarNoPrincipal(5, 1L)).thenReturn(0);
+        when(tarjetaCreditoRepository.existsByIdAndHuespedId(5, 1L)).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> huespedService.eliminarTarjetaCredito(1L, 5));
+    }
+
+    @Test
+    public void testEliminarTarjetaInexistente() {
+        when(tarjetaCreditoRepository.borrarNoPrincipal(5, 1L)).thenReturn(0);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> huespedService.eliminarTarjetaCredito(1L, 5));
+        assertEquals("Tarjeta no encontrada", e.getMessage());
+    }
+
+    @Test
+    public void testCambiarTarjetaPrincipalConUnUpdate() {
+        when(tarjetaCreditoRepository.bloquearDelHuesped(5, 1L)).thenReturn(Optional.of(5));
+
+        huespedService.cambiarTarjetaPrincipal(1L, 5);
+
+        verify(tarjetaCreditoRepository).marcarPrincipal(1L, 5);
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    public void testCambiarTarjetaPrincipalDeOtroHuesped() {
+        when(tarjetaCreditoRepository.bloquearDelHuesped(5, 1L)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> huespedService.cambiarTarjetaPrincipal(1L, 5));
+        verify(tarjetaCreditoRepository, never()).marcarPrincipal(any(), any());
+    }
+
+    @Test
+    public void testActualizarDatosEvictaElDniAnteriorYElNuevo() {
+        Huesped huesped = huesped("12345678");
+        when(repository.findById(1L)).thenReturn(Optional.of(huesped));
+        usuarioPorDni.put("12345678", "anterior");
+        usuarioPorDni.put("87654321", "otro usuario con ese dni");
+        usuarioPorDni.put("11111111", "sin relación");
+
+        huespedService.actualizarDatosHuesped(1L, huesped("87654321"));
+
+        assertNull(usuarioPorDni.get("12345678"));
+        assertNull(usuarioPorDni.get("87654321"));
+        assertNotNull(usuarioPorDni.get("11111111"));
+        verify(repository).saveAndFlush(huesped);
+    }
+
+    @Test
+    public void testBorrarHuespedEvictaSuDni() {
+        when(repository.findById(1L)).thenReturn(Optional.of(huesped("12345678")));
+        usuarioPorDni.put("12345678", "huesped");
+
+        huespedService.borrarHuesped(1L);
+
+        assertNull(usuarioPorDni.get("12345678"));
+        verify(repository).deleteById(1L);
+    }
+
+    @Test
+    public void testCambioDeTarjetaEvictaElDni() {
+        when(tarjetaCreditoRepository.bloquearDelHuesped(5, 1L)).thenReturn(Optional.of(5));
+        usuarioPorDni.put("12345678", "huesped");
+
+        huespedService.cambiarTarjetaPrincipal(1L, 5);
+
+        assertNull(usuarioPorDni.get("12345678"));
+    }
+
+    @Test
+    public void testActualizarADniExistenteFalla() {
+        when(repository.findById(1L)).thenReturn(Optional.of(huesped("12345678")));
+        when(filtroUnicidad.dniPodriaExistir("87654321")).thenReturn(true);
+        when(usuarioRepository.existsByDni("87654321")).thenReturn(true);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> huespedService.actualizarDatosHuesped(1L, huesped("87654321")));
+
+        assertEquals("Ya existe un usuario con DNI: 87654321", e.getMessage());
+        verify(repository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void testActualizarAEmailExistenteFalla() {
+        when(repository.findById(1L)).thenReturn(Optional.of(huesped("12345678")));
+        Huesped datos = huesped("12345678");
+        datos.setEmail("otra@mail.com");
+        when(filtroUnicidad.emailPodriaExistir("otra@mail.com")).thenReturn(true);
+        when(usuarioRepository.existsByEmail("otra@mail.com")).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> huespedService.actualizarDatosHuesped(1L, datos));
+        verify(repository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void testActualizarSinCambiarDniNiEmailNoConsultaUnicidad() {
+        when(repository.findById(1L)).thenReturn(Optional.of(huesped("12345678")));
+        Huesped datos = huesped("12345678");
+        datos.setEmail("ANA@mail.com");
+        datos.setNombre("Ana María");
+
+        huespedService.actualizarDatosHuesped(1L, datos);
+
+        verifyNoInteractions(usuarioRepository);
+        verify(filtroUnicidad, never()).dniPodriaExistir(any());
+        verify(filtroUnicidad, never()).emailPodriaExistir(any());
+        verify(repository).saveAndFlush(any(Huesped.class));
+    }
+
+    @Test
+    public void testActualizarADniNuevoDescartadoPorElFiltroNoVaALaBase() {
+        when(repository.findById(1L)).thenReturn(Optional.of(huesped("12345678")));
+        when(filtroUnicidad.dniPodriaExistir("87654321")).thenReturn(false);
+
+        huespedService.actualizarDatosHuesped(1L, huesped("87654321"));
+
+        verify(usuarioRepository, never()).existsByDni(any());
+        verify(filtroUnicidad).registrar("87654321", "ana@mail.com");
+    }
+
+    @Test
+    public void testCambioDeNombrePublicaDespuesDelFlush() {
+        Huesped huesped = huesped("12345678");
+        when(repository.findById(1L)).thenReturn(Optional.of(huesped));
+        // Hibernate incrementa la versión al sincronizar el UPDATE
+        when(repository.saveAndFlush(huesped)).thenAnswer(inv -> {
+            huesped.setVersion(3L);
+            return huesped;
+        });
+        Huesped datos = huesped("12345678");
+        datos.setNombre("Ana María");
+
+        huespedService.actualizarDatosHuesped(1L, datos);
+
+        InOrder orden = inOrder(repository, usuarioEventPublisher);
+        orden.verify(repository).saveAndFlush(huesped);
+        orden.verify(usuarioEventPublisher).publicarCambio(argThat(u -> u.getVersion() == 3L && "Ana María".equals(u.getNombre())));
+    }
+
+    @Test
+    public void testCambioSinDatosCopiadosNoPublica() {
+        when(repository.findById(1L)).thenReturn(Optional.of(huesped("12345678")));
+        Huesped datos = huesped("12345678");
+        datos.setTelefono("342-555");
+
+        huespedService.actualizarDatosHuesped(1L, datos);
+
+        verify(usuarioEventPublisher, never()).publicarCambio(any());
+    }
+
+    private static Huesped huesped(String dni) {
+        Huesped huesped = new Huesped();
+        huesped.setId(1L);
+        huesped.setNombre("Ana");
+        huesped.setEmail("ana@mail.com");
+        huesped.setDni(dni);
+        return huesped;
+    }
+}
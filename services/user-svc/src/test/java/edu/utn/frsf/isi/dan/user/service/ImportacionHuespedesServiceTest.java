@@ -0,0 +1,209 @@
+package edu.utn.frsf.isi.dan.user.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.utn.frsf.isi.dan.user.dao.UsuarioRepository;
+import edu.utn.frsf.isi.dan.user.dto.HuespedRecord;
+import edu.utn.frsf.isi.dan.user.dto.ResultadoImportacion;
+import edu.utn.frsf.isi.dan.user.model.Banco;
+import edu.utn.frsf.isi.dan.user.model.Huesped;
+import edu.utn.frsf.isi.dan.user.model.TarjetaCredito;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ImportacionHuespedesServiceTest {
+
+    @InjectMocks
+    private ImportacionHuespedesService importacionService;
+
+    @Mock
+    private BancoCache bancoCache;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private FiltroUnicidad filtroUnicidad;
+
+    @Mock
+    private IndiceTrigramas indiceTrigramas;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final AtomicLong proximoId = new AtomicLong(100);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(importacionService, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(importacionService, "tamanioLote", 2);
+        ReflectionTestUtils.setField(importacionService, "maximoErrores", 10);
+        when(bancoCache.mapa()).thenReturn(Map.of(1, Banco.builder().id(1).nombre("ACME").build()));
+        doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        // Como el generador por tabla: el id se asigna al persistir
+        doAnswer(inv -> {
+            Object entidad = inv.getArgument(0);
+            if (entidad instanceof Huesped huesped) {
+                if ("99999999".equals(huesped.getDni())) {
+                    throw new IllegalStateException("Duplicate entry '99999999' for key 'uk_usuarios_dni'");
+                }
+                huesped.setId(proximoId.getAndIncrement());
+            } else if (entidad instanceof TarjetaCredito tarjeta) {
+                tarjeta.setId((int) proximoId.getAndIncrement());
+            }
+            return null;
+        }).when(entityManager).persist(any());
+    }
+
+    @Test
+    public void testParsearCsv() {
+        // Act
+        HuespedRecord huesped = ImportacionHuespedesService.parsearCsv(
+                "Jane , jane@example.com,9876543210,12345678,1990-05-15,1234567890123456,martin,12/25,123,true,1");
+
+        // Assert
+        assertEquals("Jane", huesped.nombre());
+        assertEquals("12345678", huesped.dni());
+        assertEquals(LocalDate.of(1990, 5, 15), huesped.fechaNacimiento());
+        assertTrue(huesped.esPrincipalCC());
+        assertEquals(1, huesped.idBanco());
+    }
+
+    @Test
+    public void testParsearCsvSinFechaNiBanco() {
+        HuespedRecord huesped = ImportacionHuespedesService.parsearCsv(
+                "Jane,jane@example.com,9876543210,12345678,,1234567890123456,martin,12/25,123,false,");
+
+        assertNull(huesped.fechaNacimiento());
+        assertNull(huesped.idBanco());
+    }
+
+    @Test
+    public void testParsearCsvColumnasFaltantes() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ImportacionHuespedesService.parsearCsv("Jane,jane@example.com,9876543210"));
+    }
+
+    @Test
+    public void testParsearCsvBancoInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> ImportacionHuespedesService.parsearCsv(
+                "Jane,jane@example.com,9876543210,12345678,,1234567890123456,martin,12/25,123,true,uno"));
+    }
+
+    @Test
+    public void testImportarVariosLotesAsignaIdsYRegistraCadaHuesped() throws Exception {
+        InputStream csv = csv("""
+                nombre,email,telefono,dni,fechaNacimiento,numeroCC,nombreTitular,fechaVencimientoCC,cvcCC,esPrincipalCC,idBanco
+                Ana,ana@mail.com,1,30000001,,4111,Ana,12/30,123,true,1
+                Beto,beto@mail.com,2,30000002,,4112,Beto,12/30,123,true,1
+                Carla,carla@mail.com,3,30000003,,4113,Carla,12/30,123,true,1
+                Dario,dario@mail.com,4,30000004,,4114,Dario,12/30,123,true,1
+                Eva,eva@mail.com,5,30000005,1990-01-02,4115,Eva,12/30,123,true,1
+                """);
+
+        ResultadoImportacion resultado = importacionService.importar(csv, true);
+
+        assertEquals(5, resultado.procesadas());
+        assertEquals(5, resultado.creadas());
+        assertEquals(0, resultado.conError());
+        // Tres lotes (2 + 2 + 1), cada uno en su transacción
+        verify(transactionTemplate, times(3)).executeWithoutResult(any());
+        verify(entityManager, times(3)).flush();
+        // Cada huésped se indexa con el id asignado al persistirlo: huésped y tarjeta alternan por lote
+        InOrder orden = inOrder(indiceTrigramas, filtroUnicidad);
+        orden.verify(indiceTrigramas).actualizar(100L, "Ana");
+        orden.verify(filtroUnicidad).registrar("30000001", "ana@mail.com");
+        orden.verify(indiceTrigramas).actualizar(101L, "Beto");
+        orden.verify(filtroUnicidad).registrar("30000002", "beto@mail.com");
+        orden.verify(indiceTrigramas).actualizar(104L, "Carla");
+        orden.verify(filtroUnicidad).registrar("30000003", "carla@mail.com");
+        orden.verify(indiceTrigramas).actualizar(105L, "Dario");
+        orden.verify(filtroUnicidad).registrar("30000004", "dario@mail.com");
+        orden.verify(indiceTrigramas).actualizar(108L, "Eva");
+        orden.verify(filtroUnicidad).registrar("30000005", "eva@mail.com");
+        verify(filtroUnicidad, times(5)).registrar(anyString(), anyString());
+        // El filtro descarta todos los valores: no hace falta consultar duplicados en la base
+        verify(usuarioRepository, never()).findDnisExistentes(any());
+        verify(usuarioRepository, never()).findEmailsExistentes(any());
+    }
+
+    @Test
+    public void testLoteFallidoSeReintentaFilaPorFila() throws Exception {
+        InputStream csv = csv("""
+                Ana,ana@mail.com,1,30000001,,4111,Ana,12/30,123,true,1
+                Beto,beto@mail.com,2,30000002,,4112,Beto,12/30,123,true,1
+                Carla,carla@mail.com,3,99999999,,4113,Carla,12/30,123,true,1
+                Dario,dario@mail.com,4,30000004,,4114,Dario,12/30,123,true,1
+                """);
+
+        ResultadoImportacion resultado = importacionService.importar(csv, true);
+
+        assertEquals(3, resultado.creadas());
+        assertEquals(1, resultado.conError());
+        assertEquals(3, resultado.errores().get(0).linea());
+        verify(filtroUnicidad, never()).registrar(eq("99999999"), anyString());
+        ArgumentCaptor<Long> ids = ArgumentCaptor.forClass(Long.class);
+        verify(indiceTrigramas, times(3)).actualizar(ids.capture(), anyString());
+        assertEquals(3, Set.copyOf(ids.getAllValues()).size());
+        verify(indiceTrigramas, never()).actualizar(anyLong(), eq("Carla"));
+    }
+
+    @Test
+    public void testDuplicadosContraLaBaseYDentroDelLote() throws Exception {
+        ReflectionTestUtils.setField(importacionService, "tamanioLote", 10);
+        when(filtroUnicidad.dniPodriaExistir(anyString())).thenReturn(true);
+        when(usuarioRepository.findDnisExistentes(any())).thenReturn(Set.of("30000001"));
+        when(usuarioRepository.findEmailsExistentes(any())).thenReturn(Set.of());
+        InputStream csv = csv("""
+                Ana,ana@mail.com,1,30000001,,4111,Ana,12/30,123,true,1
+                Beto,beto@mail.com,2,30000002,,4112,Beto,12/30,123,true,1
+                Beto Bis,BETO@mail.com,2,30000003,,4113,Beto,12/30,123,true,1
+                Sin banco,x@mail.com,2,30000009,,4113,X,12/30,123,true,7
+                """);
+
+        ResultadoImportacion resultado = importacionService.importar(csv, true);
+
+        assertEquals(4, resultado.procesadas());
+        assertEquals(1, resultado.creadas());
+        assertEquals(3, resultado.conError());
+        verify(filtroUnicidad).registrar("30000002", "beto@mail.com");
+        verify(filtroUnicidad, times(1)).registrar(anyString(), anyString());
+    }
+
+    private static InputStream csv(String contenido) {
+        return new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8));
+    }
+}
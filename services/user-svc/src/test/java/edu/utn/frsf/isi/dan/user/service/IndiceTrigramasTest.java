@@ -0,0 +1,131 @@
+package edu.utn.frsf.isi.dan.user.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndiceTrigramasTest {
+
+    private IndiceTrigramas indice;
+
+    @BeforeEach
+    public void setUp() {
+        indice = new IndiceTrigramas();
+        indice.inicializar(Map.of(
+                1L, "Mariana López",
+                2L, "Ana",
+                3L, "Juana Pérez",
+                4L, "Ana María Gómez",
+                5L, "Pedro Anaya"));
+    }
+
+    @Test
+    public void testBuscarOrdenaPorRelevancia() {
+        // Act
+        IndiceTrigramas.Resultado resultado = indice.buscar("ana", 0, 10);
+
+        // Assert: exacto, prefijo del nombre, prefijo de palabra y subcadena (más corto primero)
+        assertEquals(5, resultado.total());
+        assertEquals(List.of(2L, 4L, 5L, 3L, 1L), resultado.ids());
+    }
+
+    @Test
+    public void testBuscarIgnoraMayusculasYAcentos() {
+        // Act
+        IndiceTrigramas.Resultado resultado = indice.buscar("  LOPEZ ", 0, 10);
+
+        // Assert
+        assertEquals(List.of(1L), resultado.ids());
+    }
+
+    @Test
+    public void testBuscarVerificaLaSubcadenaCompleta() {
+        // "maria gom" comparte trigramas con "Mariana López" pero solo un nombre la contiene
+        IndiceTrigramas.Resultado resultado = indice.buscar("maria gom", 0, 10);
+
+        assertEquals(List.of(4L), resultado.ids());
+        assertEquals(0, indice.buscar("zzz", 0, 10).total());
+    }
+
+    @Test
+    public void testBuscarPagina() {
+        // Act
+        IndiceTrigramas.Resultado resultado = indice.buscar("ana", 2, 2);
+
+        // Assert
+        assertEquals(5, resultado.total());
+        assertEquals(List.of(5L, 3L), resultado.ids());
+    }
+
+    @Test
+    public void testConsultaCortaNoSeResuelveConElIndice() {
+        assertNull(indice.buscar("an", 0, 10));
+    }
+
+    @Test
+    public void testActualizarYEliminar() {
+        // Act
+        indice.actualizar(2L, "Beatriz");
+        indice.eliminar(5L);
+        indice.actualizar(6L, "Susana");
+
+        // Assert
+        assertEquals(List.of(4L, 6L, 3L, 1L), indice.buscar("ana", 0, 10).ids());
+        assertEquals(List.of(2L), indice.buscar("beatriz", 0, 10).ids());
+        assertEquals(0, indice.buscar("anaya", 0, 10).total());
+        assertEquals(5, indice.tamanio());
+    }
+
+    @Test
+    public void testBuscarDesdeIdDevuelveVentanaEnOrdenDeId() {
+        // Act: "ana" está en los cinco nombres; ventanas de dos a partir del cursor
+        List<Long> primera = indice.buscarDesdeId("ana", 0, 2);
+        List<Long> segunda = indice.buscarDesdeId("ana", primera.get(1), 2);
+        List<Long> ultima = indice.buscarDesdeId("ana", 4, 2);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), primera);
+        assertEquals(List.of(3L, 4L), segunda);
+        assertEquals(List.of(5L), ultima);
+        assertNull(indice.buscarDesdeId("an", 0, 2));
+    }
+
+    @Test
+    public void testIdsDispersosNoReservanMemoriaPorPosicion() {
+        // Act
+        indice.actualizar((long) Integer.MAX_VALUE, "Ana Belén");
+        indice.actualizar(1_500_000_000L, "Susana");
+
+        // Assert
+        assertEquals(List.of(2L, (long) Integer.MAX_VALUE, 4L, 5L, 1_500_000_000L, 3L, 1L),
+                indice.buscar("ana", 0, 10).ids());
+        assertEquals(7, indice.tamanio());
+    }
+
+    @Test
+    public void testIdFueraDeRangoDesactivaElIndice() {
+        // Act
+        indice.actualizar(Integer.MAX_VALUE + 1L, "Ana");
+        indice.actualizar(7L, "Susana");
+
+        // Assert: la búsqueda vuelve a la base en lugar de omitir al usuario
+        assertFalse(indice.isListo());
+        assertNull(indice.buscar("ana", 0, 10));
+        assertNull(indice.buscarDesdeId("ana", 0, 10));
+        assertEquals(0, indice.tamanio());
+    }
+
+    @Test
+    public void testIdFueraDeRangoEnLaCargaInicial() {
+        IndiceTrigramas otro = new IndiceTrigramas();
+
+        otro.inicializar(Map.of(1L, "Ana", Integer.MAX_VALUE + 1L, "Mariana"));
+
+        assertFalse(otro.isListo());
+        assertNull(otro.buscar("ana", 0, 10));
+    }
+}
@@ -1,12 +1,17 @@
 package edu.utn.frsf.isi.dan.user.service;
 
-import edu.utn.frsf.isi.dan.user.dao.BancoRepository;
 import edu.utn.frsf.isi.dan.user.dao.CuentaBancariaRepository;
+import edu.utn.frsf.isi.dan.user.dao.HuespedRepository;
+import edu.utn.frsf.isi.dan.user.dao.PropietarioRepository;
 import edu.utn.frsf.isi.dan.user.dao.TarjetaCreditoRepository;
 import edu.utn.frsf.isi.dan.user.dao.UsuarioRepository;
 import edu.utn.frsf.isi.dan.user.dto.CuentaBancariaRecord;
 import edu.utn.frsf.isi.dan.user.dto.HuespedRecord;
+import edu.utn.frsf.isi.dan.user.dto.LoteUsuariosRequest;
 import edu.utn.frsf.isi.dan.user.dto.PropietarioRecord;
+import edu.utn.frsf.isi.dan.user.dto.UsuarioDetalle;
+import edu.utn.frsf.isi.dan.user.dto.UsuarioResumen;
+import edu.utn.frsf.isi.dan.user.dto.VentanaUsuarios;
 import edu.utn.frsf.isi.dan.user.model.Banco;
 import edu.utn.frsf.isi.dan.user.model.CuentaBancaria;
 import edu.utn.frsf.isi.dan.user.model.Huesped;
@@ -17,10 +22,20 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 public class UserServiceTest {
@@ -29,7 +44,7 @@ public class UserServiceTest {
     private UserService userService;
 
     @Mock
-    private BancoRepository bancoRepository;
+    private BancoCache bancoCache;
 
     @Mock
     private CuentaBancariaRepository cuentaBancariaRepository;
@@ -40,6 +55,21 @@ public class UserServiceTest {
     @Mock
     private UsuarioRepository usuarioRepository;
 
+    @Mock
+    private HuespedRepository huespedRepository;
+
+    @Mock
+    private PropietarioRepository propietarioRepository;
+
+    @Mock
+    private IndiceTrigramas indiceTrigramas;
+
+    @Mock
+    private FiltroUnicidad filtroUnicidad;
+
+    @Mock
+    private ConteoUsuarios conteoUsuarios;
+
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -54,7 +84,7 @@ public class UserServiceTest {
         Huesped huesped = mock(Huesped.class);
 
         when(huespedRecord.idBanco()).thenReturn(1);
-        when(bancoRepository.findById(1)).thenReturn(Optional.of(banco));
+        when(bancoCache.obtener(1)).thenReturn(banco);
         when(huespedRecord.toHuesped()).thenReturn(huesped);
         when(huespedRecord.toTarjetaCredito()).thenReturn(tarjetaCredito);
         when(tarjetaCreditoRepository.save(any(TarjetaCredito.class))).thenReturn(tarjetaCredito);
@@ -64,9 +94,9 @@ public class UserServiceTest {
 
         // Assert
         assertNotNull(result);
-        verify(usuarioRepository).save(huesped);
+        verify(usuarioRepository).saveAndFlush(huesped);
         verify(tarjetaCreditoRepository).save(tarjetaCredito);
-        verify(bancoRepository).findById(1);
+        verify(bancoCache).obtener(1);
     }
 
     @Test
@@ -80,7 +110,7 @@ public class UserServiceTest {
 
         when(cuentaRecord.idBanco()).thenReturn(1);
         when(propietarioRecord.cuentaBancaria()).thenReturn(cuentaRecord);
-        when(bancoRepository.findById(1)).thenReturn(Optional.of(banco));
+        when(bancoCache.obtener(1)).thenReturn(banco);
         when(propietarioRecord.toPropietario()).thenReturn(propietario);
         when(propietarioRecord.cuentaBancaria().toCuentaBancaria()).thenReturn(cuentaBancaria);
         when(cuentaBancariaRepository.save(cuentaBancaria)).thenReturn(cuentaBancaria);
@@ -89,8 +119,170 @@ public class UserServiceTest {
         userService.crearUsuarioPropietario(propietarioRecord);
 
         // Assert
-        verify(usuarioRepository).save(propietario);
+        verify(usuarioRepository).saveAndFlush(propietario);
         verify(cuentaBancariaRepository).save(cuentaBancaria);
-        verify(bancoRepository).findById(1);
+        verify(bancoCache).obtener(1);
+    }
+
+    @Test
+    public void testCrearUsuarioHuespedDniDescartadoPorFiltroNoConsultaLaBase() {
+        HuespedRecord huespedRecord = mock(HuespedRecord.class);
+        when(huespedRecord.dni()).thenReturn("30111222");
+        when(huespedRecord.email()).thenReturn("ana@mail.com");
+        when(huespedRecord.idBanco()).thenReturn(1);
+        when(bancoCache.obtener(1)).thenReturn(mock(Banco.class));
+        when(huespedRecord.toHuesped()).thenReturn(mock(Huesped.class));
+        when(huespedRecord.toTarjetaCredito()).thenReturn(mock(TarjetaCredito.class));
+        when(filtroUnicidad.dniPodriaExistir("30111222")).thenReturn(false);
+        when(filtroUnicidad.emailPodriaExistir("ana@mail.com")).thenReturn(false);
+
+        userService.crearUsuarioHuesped(huespedRecord);
+
+        verify(usuarioRepository, never()).existsByDni(anyString());
+        verify(usuarioRepository, never()).existsByEmail(anyString());
+        verify(filtroUnicidad).registrar(any(), any());
+    }
+
+    @Test
+    public void testCrearUsuarioHuespedDniDuplicado() {
+        HuespedRecord huespedRecord = mock(HuespedRecord.class);
+        when(huespedRecord.dni()).thenReturn("30111222");
+        when(filtroUnicidad.dniPodriaExistir("30111222")).thenReturn(true);
+        when(usuarioRepository.existsByDni("30111222")).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> userService.crearUsuarioHuesped(huespedRecord));
+
+        verify(usuarioRepository, never()).saveAndFlush(any());
+        verify(bancoCache, never()).obtener(any());
+    }
+
+    @Test
+    public void testCrearUsuarioHuespedConcurrenteRechazadoPorIndiceUnico() {
+        HuespedRecord huespedRecord = mock(HuespedRecord.class);
+        Huesped huesped = new Huesped();
+        huesped.setDni("30111222");
+        huesped.setEmail("ana@mail.com");
+        when(huespedRecord.idBanco()).thenReturn(1);
+        when(bancoCache.obtener(1)).thenReturn(mock(Banco.class));
+        when(huespedRecord.toHuesped()).thenReturn(huesped);
+        when(usuarioRepository.saveAndFlush(huesped))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry for key 'idx_usuarios_email'"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> userService.crearUsuarioHuesped(huespedRecord));
+
+        assertTrue(e.getMessage().contains("ana@mail.com"));
+        verify(filtroUnicidad, never()).registrar(any(), any());
+        verify(tarjetaCreditoRepository, never()).save(any());
+    }
+
+    @Test
+    public void testVentanaPorDniSinCount() {
+        UsuarioResumen primero = new UsuarioResumen(1L, "HUESPED", "Ana", "ana@mail.com", "342", "30111001");
+        UsuarioResumen segundo = new UsuarioResumen(2L, "HUESPED", "Juan", "juan@mail.com", "342", "30111002");
+        UsuarioResumen tercero = new UsuarioResumen(3L, "PROPIETARIO", "Pedro", "pedro@mail.com", "342", "30111003");
+        when(usuarioRepository.findResumenByDniStartingWithAndDniGreaterThanOrderByDniAsc(eq("30111"), eq(""), argThat(limite -> limite.max() == 3)))
+                .thenReturn(List.of(primero, segundo, tercero));
+
+        VentanaUsuarios ventana = userService.ventanaPorDni("30111", null, 2, false);
+
+        assertEquals(List.of(primero, segundo), ventana.contenido());
+        assertEquals("30111002", ventana.siguiente());
+        assertNull(ventana.totalAproximado());
+        verify(usuarioRepository, never()).countByDniStartingWith(anyString());
+        verify(conteoUsuarios, never()).contarPorPrefijoDni(anyString());
+    }
+
+    @Test
+    public void testVentanaPorNombreUltimaVentana() {
+        UsuarioResumen unico = new UsuarioResumen(7L, "HUESPED", "Ana", "ana@mail.com", "342", "30111001");
+        when(usuarioRepository.findResumenByIdGreaterThanOrderByIdAsc(eq(5L), argThat(limite -> limite.max() == 3))).thenReturn(List.of(unico));
+        when(conteoUsuarios.contarPorNombre("")).thenReturn(7L);
+
+        VentanaUsuarios ventana = userService.ventanaPorNombre(null, 5L, 2, true);
+
+        assertEquals(1, ventana.contenido().size());
+        assertFalse(ventana.hayMas());
+        assertNull(ventana.siguiente());
+        assertEquals(Long.valueOf(7), ventana.totalAproximado());
+    }
+
+    @Test
+    public void testObtenerDetallePropietario() {
+        Propietario propietario = new Propietario();
+        when(huespedRepository.findConTarjetasById(9L)).thenReturn(Optional.empty());
+        when(propietarioRepository.findConCuentaById(9L)).thenReturn(Optional.of(propietario));
+
+        assertEquals(propietario, userService.obtenerDetalle(9L));
+    }
+
+    @Test
+    public void testBuscarLoteUnaSolaConsulta() {
+        UsuarioResumen ana = new UsuarioResumen(1L, "HUESPED", "Ana", "ana@mail.com", "342", "30111001");
+        when(usuarioRepository.findResumenByIdInOrDniIn(List.of(1L, 2L), List.of("30111001"))).thenReturn(List.of(ana));
+
+        List<UsuarioResumen> resultado = userService.buscarLote(new LoteUsuariosRequest(List.of(1L, 2L, 1L), List.of("30111001")));
+
+        assertEquals(List.of(ana), resultado);
+        verify(usuarioRepository, times(1)).findResumenByIdInOrDniIn(anyCollection(), anyCollection());
+    }
+
+    @Test
+    public void testBuscarLoteDemasiadoGrande() {
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().toList();
+
+        assertThrows(IllegalArgumentException.class, () -> userService.buscarLote(new LoteUsuariosRequest(ids, null)));
+        verifyNoInteractions(usuarioRepository);
+    }
+
+    @Test
+    public void testBuscarLotePorTramos() {
+        List<Long> ids = LongStream.rangeClosed(1, 2500).boxed().toList();
+        when(usuarioRepository.findResumenByIdIn(anyCollection())).thenReturn(List.of());
+        List<List<UsuarioResumen>> tramos = new ArrayList<>();
+
+        userService.buscarLotePorTramos(userService.validarLoteStream(new LoteUsuariosRequest(ids, null)), tramos::add);
+
+        assertEquals(3, tramos.size());
+        verify(usuarioRepository, times(3)).findResumenByIdIn(anyCollection());
+    }
+
+    @Test
+    public void testBuscarPorDniExactoDevuelveUnaCopiaDelHuesped() {
+        // Arrange
+        Huesped huesped = new Huesped();
+        huesped.setId(7L);
+        huesped.setDni("30111222");
+        huesped.setNombre("Ana");
+        huesped.setTarjetaCredito(new ArrayList<>(List.of(TarjetaCredito.builder().id(3).numero("4111").esPrincipal(true)
+                .banco(Banco.builder().id(2).nombre("ACME").build()).build())));
+        when(usuarioRepository.findByDni("30111222")).thenReturn(huesped);
+
+        // Act
+        UsuarioDetalle detalle = userService.buscarPorDniExacto("30111222");
+        huesped.setNombre("Otro");
+        huesped.getTarjetaCredito().clear();
+
+        // Assert: cambios posteriores en la entidad no alcanzan a lo cacheado
+        UsuarioDetalle.HuespedDetalle copia = assertInstanceOf(UsuarioDetalle.HuespedDetalle.class, detalle);
+        assertEquals("Ana", copia.nombre());
+        assertEquals(1, copia.tarjetaCredito().size());
+        assertEquals("ACME", copia.tarjetaCredito().get(0).banco().nombre());
+    }
+
+    @Test
+    public void testBuscarPorDniExactoPropietarioEInexistente() {
+        // Arrange
+        Propietario propietario = new Propietario();
+        propietario.setDni("20333444");
+        propietario.setIdHotel(5L);
+        when(usuarioRepository.findByDni("20333444")).thenReturn(propietario);
+
+        // Act
+        UsuarioDetalle detalle = userService.buscarPorDniExacto("20333444");
+
+        // Assert
+        assertEquals(5L, assertInstanceOf(UsuarioDetalle.PropietarioDetalle.class, detalle).idHotel());
+        assertNull(userService.buscarPorDniExacto("1"));
     }
-}
\ No newline at end of file
+}
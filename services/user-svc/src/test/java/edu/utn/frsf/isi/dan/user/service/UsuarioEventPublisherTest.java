@@ -0,0 +1,108 @@
+package edu.utn.frsf.isi.dan.user.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.utn.frsf.isi.dan.shared.TipoEvento;
+import edu.utn.frsf.isi.dan.shared.UsuarioEvent;
+import edu.utn.frsf.isi.dan.user.model.Huesped;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.net.ConnectException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class UsuarioEventPublisherTest {
+
+    @InjectMocks
+    private UsuarioEventPublisher publisher;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(publisher, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(publisher, "exchange", "dan.exchange");
+        ReflectionTestUtils.setField(publisher, "routingKey", "dan.usuario.event");
+        ReflectionTestUtils.setField(publisher, "esperaMs", 0L);
+    }
+
+    @Test
+    public void testPublicarCambioUsaLaVersionPersistidaYNoEnvia() {
+        Huesped huesped = new Huesped();
+        huesped.setId(7L);
+        huesped.setNombre("Ana");
+        huesped.setEmail("ana@mail.com");
+        huesped.setVersion(4L);
+
+        publisher.publicarCambio(huesped);
+
+        ArgumentCaptor<UsuarioEvent> evento = ArgumentCaptor.forClass(UsuarioEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertEquals(new UsuarioEvent(7L, "Ana", "ana@mail.com", 4L, TipoEvento.ACTUALIZAR_DATOS), evento.getValue());
+        verifyNoInteractions(rabbitTemplate);
+    }
+
+    @Test
+    public void testEnvioSoloDespuesDelCommit() throws Exception {
+        TransactionalEventListener listener = UsuarioEventPublisher.class.getMethod("enviar", UsuarioEvent.class)
+                .getAnnotation(TransactionalEventListener.class);
+
+        assertEquals(TransactionPhase.AFTER_COMMIT, listener.phase());
+    }
+
+    @Test
+    public void testEnviar() throws Exception {
+        UsuarioEvent evento = evento();
+
+        publisher.enviar(evento);
+
+        ArgumentCaptor<String> mensaje = ArgumentCaptor.forClass(String.class);
+        verify(rabbitTemplate).convertAndSend(eq("dan.exchange"), eq("dan.usuario.event"), mensaje.capture());
+        assertEquals(evento, objectMapper.readValue(mensaje.getValue(), UsuarioEvent.class));
+    }
+
+    @Test
+    public void testEnviarReintentaSiElBrokerFalla() {
+        doThrow(new AmqpConnectException(new ConnectException("rechazada")))
+                .doNothing()
+                .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class));
+
+        publisher.enviar(evento());
+
+        verify(rabbitTemplate, times(2)).convertAndSend(anyString(), anyString(), any(Object.class));
+    }
+
+    @Test
+    public void testEnviarAgotaLosIntentosSinPropagar() {
+        doThrow(new AmqpConnectException(new ConnectException("rechazada")))
+                .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class));
+
+        assertDoesNotThrow(() -> publisher.enviar(evento()));
+
+        verify(rabbitTemplate, times(3)).convertAndSend(anyString(), anyString(), any(Object.class));
+    }
+
+    private static UsuarioEvent evento() {
+        return new UsuarioEvent(7L, "Ana", "ana@mail.com", 4L, TipoEvento.ACTUALIZAR_DATOS);
+    }
+}